@@ -41,6 +41,9 @@ import java.util.Random;
 @Component
 public class DataInitializer implements CommandLineRunner {
 
+    /** Demo employees seeded on an empty database. */
+    static final int FAKE_EMPLOYEES = 60;
+
     @Autowired
     private DirectionRepository directionRepository;
 
@@ -163,7 +166,7 @@ public class DataInitializer implements CommandLineRunner {
         }
 
         if (employeeRepository.count() == 0) {
-            seedFakeEmployees();
+            seedFakeEmployees(1, FAKE_EMPLOYEES);
         }
     }
 
@@ -206,7 +209,12 @@ public class DataInitializer implements CommandLineRunner {
         jobTemplateRepository.save(job);
     }
 
-    private void seedFakeEmployees() {
+    /**
+     * Seeds the demo employees numbered {@code first} to {@code last}, each with its position, contract, skill,
+     * training, review, document and, for about half of them, a promotion. Also driven by
+     * {@code EmployeeSeedBenchmark}, in the caller's transaction.
+     */
+    public void seedFakeEmployees(int first, int last) {
         List<Division> divisions = divisionRepository.findAll();
         List<JobTemplate> jobTemplates = jobTemplateRepository.findAll();
         if (divisions.isEmpty()) {
@@ -226,9 +234,9 @@ public class DataInitializer implements CommandLineRunner {
         String[] contractStatuses = {"ACTIF", "EXPIRÉ"};
         String[] reviewRatings = {"Bon", "Très bon", "Excellent"};
 
-        Random random = new Random(42);
+        Random random = new Random(42L + first - 1);
 
-        for (int i = 1; i <= 60; i++) {
+        for (int i = first; i <= last; i++) {
             Division division = divisions.get(random.nextInt(divisions.size()));
             ServiceUnit serviceUnit = division.getServiceUnit();
             Direction direction = serviceUnit != null ? serviceUnit.getDirection() : null;
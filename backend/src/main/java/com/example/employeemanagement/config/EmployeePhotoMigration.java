@@ -0,0 +1,94 @@
+package com.example.employeemanagement.config;
+
+import com.example.employeemanagement.util.ContentHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copy of the legacy {@code employees.profile_photo} / {@code photo_type} columns into {@code employee_photos}.
+ * Runs at startup while the legacy column still exists and copies, in id order by chunks, the photos of employees
+ * that have none in {@code employee_photos} yet, so an interrupted run resumes and a later startup picks up photos
+ * that instances still on the previous version wrote meanwhile.
+ *
+ * <p>The legacy columns are left in place: during a rolling deploy those instances still read and write them, and
+ * keeping them allows a rollback. {@code sql/migration_v3.sql} copies the last photos and drops the columns, once
+ * every instance runs this version.
+ */
+@Component
+@Order(0)
+public class EmployeePhotoMigration implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeePhotoMigration.class);
+
+    private static final int CHUNK_SIZE = 100;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        if (!legacyColumnExists()) {
+            return;
+        }
+        logger.info("Migrating employee profile photos to employee_photos...");
+
+        long lastId = 0;
+        int migrated = 0;
+        while (true) {
+            // Only employees without a migrated photo: one already in employee_photos may be newer than the legacy one
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT e.id, e.profile_photo, e.photo_type FROM employees e "
+                            + "LEFT JOIN employee_photos p ON p.employee_id = e.id "
+                            + "WHERE e.id > ? AND e.profile_photo IS NOT NULL AND p.employee_id IS NULL "
+                            + "ORDER BY e.id LIMIT " + CHUNK_SIZE,
+                    lastId);
+            if (rows.isEmpty()) {
+                break;
+            }
+            for (Map<String, Object> row : rows) {
+                long id = ((Number) row.get("id")).longValue();
+                byte[] data = (byte[]) row.get("profile_photo");
+                jdbcTemplate.update(
+                        "INSERT INTO employee_photos (employee_id, data, content_type, content_hash, size_bytes, updated_at) "
+                                + "VALUES (?, ?, ?, ?, ?, ?)",
+                        id, data, row.get("photo_type"), ContentHash.sha256(data), data.length,
+                        Timestamp.from(Instant.now()));
+                migrated++;
+                lastId = id;
+            }
+        }
+
+        logger.info("Migrated {} employee profile photos; the legacy columns are dropped by sql/migration_v3.sql.",
+                migrated);
+    }
+
+    private boolean legacyColumnExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // Unquoted identifiers are stored lower-case by MySQL and upper-case by H2
+            for (String table : new String[] {"employees", "EMPLOYEES"}) {
+                try (ResultSet rs = metaData.getColumns(connection.getCatalog(), null, table, "%")) {
+                    while (rs.next()) {
+                        if ("profile_photo".equalsIgnoreCase(rs.getString("COLUMN_NAME"))) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.employeemanagement.config;
+
+import com.example.employeemanagement.exception.LazyLoadOutsideFetchPlanException;
+import org.hibernate.engine.spi.CollectionEntry;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.LoadEvent;
+import org.hibernate.event.spi.LoadEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.util.Locale;
+
+/**
+ * Detects lazy loads on read paths, i.e. data that was not part of the entity graph chosen by the repository
+ * method. Controlled by {@code app.jpa.lazy-load-guard}: {@code off} (default), {@code log} or {@code fail}.
+ * Tests run it in {@code fail} mode so an unplanned lazy load breaks the build instead of adding queries.
+ *
+ * <p>Only read-only transactions are checked: write paths legitimately initialize collections when cascading.
+ */
+@Component
+public class LazyLoadGuard implements InitializeCollectionEventListener, LoadEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(LazyLoadGuard.class);
+
+    enum Mode { OFF, LOG, FAIL }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.jpa.lazy-load-guard:off}")
+    private String configuredMode;
+
+    private Mode mode = Mode.OFF;
+
+    @PostConstruct
+    void register() {
+        mode = Mode.valueOf(configuredMode.trim().toUpperCase(Locale.ROOT));
+        if (mode == Mode.OFF) {
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.prependListeners(EventType.INIT_COLLECTION, this);
+        registry.prependListeners(EventType.LOAD, this);
+        logger.info("Lazy load guard enabled in {} mode", mode);
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        CollectionEntry entry = event.getSession().getPersistenceContext().getCollectionEntry(event.getCollection());
+        // EAGER collections loaded by a secondary select go through the same event; only lazy ones are unplanned
+        if (entry != null && entry.getLoadedPersister() != null && entry.getLoadedPersister().isLazy()) {
+            report("collection " + event.getCollection().getRole());
+        }
+    }
+
+    @Override
+    public void onLoad(LoadEvent event, LoadType loadType) {
+        // IMMEDIATE_LOAD is the load type used when an uninitialized proxy is touched
+        if (loadType == LoadEventListener.IMMEDIATE_LOAD) {
+            report("proxy " + event.getEntityClassName() + "#" + event.getEntityId());
+        }
+    }
+
+    private void report(String what) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        String message = "Lazy load of " + what + " outside the planned fetch graph";
+        if (mode == Mode.FAIL) {
+            throw new LazyLoadOutsideFetchPlanException(message);
+        }
+        logger.warn(message);
+    }
+}
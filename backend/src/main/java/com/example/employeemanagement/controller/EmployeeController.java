@@ -1,28 +1,46 @@
 package com.example.employeemanagement.controller;
 
+import com.example.employeemanagement.dto.BulkDivisionMoveDTO;
+import com.example.employeemanagement.dto.BulkMoveReportDTO;
 import com.example.employeemanagement.dto.EmployeeDTO;
 import com.example.employeemanagement.dto.EmployeeActionDTO;
+import com.example.employeemanagement.dto.EmployeeFilterDTO;
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import com.example.employeemanagement.dto.ImportJobDTO;
+import com.example.employeemanagement.dto.PhotoContentDTO;
 import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.service.EmployeeImportService;
 import com.example.employeemanagement.service.EmployeeService;
 import com.example.employeemanagement.service.OrganizationService;
 import com.example.employeemanagement.service.EmployeeActionService;
+import com.example.employeemanagement.service.EmployeeSearchService;
+import com.example.employeemanagement.service.EmployeeVersionService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import javax.validation.Valid;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import com.example.employeemanagement.dto.EmployeePhotoDTO;
 import org.springframework.web.multipart.MultipartFile;
@@ -38,25 +56,97 @@ public class EmployeeController {
   /** The employee service. */
   @Autowired private EmployeeService employeeService;
   @Autowired private EmployeeActionService employeeActionService;
+  @Autowired private EmployeeSearchService employeeSearchService;
+  @Autowired private EmployeeVersionService employeeVersionService;
+  @Autowired private EmployeeImportService employeeImportService;
   @Autowired private com.example.employeemanagement.service.PdfGeneratorService pdfGeneratorService;
+  @Autowired private ObjectMapper objectMapper;
+
+  private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
   /**
    * Récupère tous les employés.
    */
-  @Operation(summary = "Get all employees", description = "Retrieve a list of all employees")
+  @Operation(summary = "Get all employees", description = "Retrieve the list-view rows of all employees; use /{id} for the full record")
   @GetMapping
-  public List<EmployeeDTO> getAllEmployees() {
-    return employeeService.getAllEmployees();
+  public ResponseEntity<List<EmployeeSummaryDTO>> getAllEmployees(WebRequest request) {
+    String etag = employeeVersionService.getCollectionEtag();
+    if (etag != null && request.checkNotModified(etag)) {
+      return null;
+    }
+    return okWithEtag(etag, employeeService.getAllEmployees());
+  }
+
+  /**
+   * Exporte tous les employés en flux, sans matérialiser la liste complète en mémoire.
+   */
+  @Operation(
+      summary = "Stream all employees",
+      description = "Stream every employee as newline-delimited JSON (format=ndjson, default) or as a chunked JSON "
+          + "array (format=json). Memory use stays flat regardless of headcount.")
+  @GetMapping("/stream")
+  public ResponseEntity<StreamingResponseBody> streamEmployees(@RequestParam(defaultValue = "ndjson") String format) {
+    boolean ndjson = !"json".equalsIgnoreCase(format);
+    StreamingResponseBody body = out -> {
+      JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.setRootValueSeparator(null);
+      if (!ndjson) {
+        generator.writeStartArray();
+      }
+      try {
+        employeeService.forEachEmployee(dto -> {
+          try {
+            objectMapper.writeValue(generator, dto);
+            if (ndjson) {
+              generator.writeRaw('\n');
+            }
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+      if (!ndjson) {
+        generator.writeEndArray();
+      }
+      generator.flush();
+    };
+    return ResponseEntity.ok()
+        .contentType(ndjson ? APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+        .body(body);
+  }
+
+  @Operation(
+      summary = "Search employees",
+      description = "Type-ahead search on names, matricule, email, job title and organization units. Word-prefix "
+          + "matches come first, then typo-tolerant matches.")
+  @GetMapping("/search")
+  public List<EmployeeSummaryDTO> searchEmployees(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+    return employeeSearchService.search(q, limit);
   }
 
   @Operation(
       summary = "Get employees with pagination",
-      description = "Retrieve a paginated list of employees for dashboard usage")
+      description = "Retrieve a paginated list of employees for dashboard usage. Passing `after` (empty for the first "
+          + "page) switches to cursor mode: `page` is ignored and the response carries `nextCursor`. "
+          + "`withTotal=false` skips the count query in offset mode. Facets (org unit ids, gender, statusCategory, "
+          + "administrativeStatus, highestDiploma, hiredFrom/hiredTo, minAge/maxAge) are optional and combined with AND.")
   @GetMapping("/filter")
-  public ResponseEntity<Page<EmployeeDTO>> getEmployeesPage(
+  public ResponseEntity<?> getEmployeesPage(
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "20") int size,
-      @RequestParam(defaultValue = "lastName,asc") String sort) {
+      @RequestParam(defaultValue = "lastName,asc") String sort,
+      @RequestParam(required = false) String after,
+      @RequestParam(defaultValue = "true") boolean withTotal,
+      EmployeeFilterDTO filter,
+      WebRequest request) {
+    // Every collection view shares one version, so a 304 is decided before any query or mapping
+    String etag = employeeVersionService.getCollectionEtag();
+    if (etag != null && request.checkNotModified(etag)) {
+      return null;
+    }
     if (size > 100) {
       size = 100;
     }
@@ -66,9 +156,15 @@ public class EmployeeController {
         sortParts.length > 1 && "desc".equalsIgnoreCase(sortParts[1])
             ? Sort.Direction.DESC
             : Sort.Direction.ASC;
+    if (after != null) {
+      return okWithEtag(etag, employeeService.getEmployeesAfter(filter, sortField, direction, after, size));
+    }
     Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortField));
-    Page<EmployeeDTO> result = employeeService.getEmployeesPage(pageable);
-    return ResponseEntity.ok(result);
+    if (!withTotal) {
+      return okWithEtag(etag, employeeService.getEmployeesSlice(filter, pageable));
+    }
+    Page<EmployeeSummaryDTO> result = employeeService.getEmployeesPage(filter, pageable);
+    return okWithEtag(etag, result);
   }
 
   @Operation(
@@ -94,12 +190,16 @@ public class EmployeeController {
         @ApiResponse(responseCode = "404", description = "Employee not found")
       })
   @GetMapping("/{id}")
-  public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable Long id) {
+  public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable Long id, WebRequest request) {
+    Optional<String> etag = employeeVersionService.getEmployeeEtag(id);
+    if (etag.isPresent() && request.checkNotModified(etag.get())) {
+      return null;
+    }
     EmployeeDTO employee =
         employeeService
             .getEmployeeById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Employé introuvable avec l'identifiant : " + id));
-    return ResponseEntity.ok(employee);
+    return okWithEtag(etag.orElse(null), employee);
   }
 
   /**
@@ -181,11 +281,38 @@ public class EmployeeController {
       return ResponseEntity.ok(dto);
   }
 
+  @GetMapping("/{id}/photo/image")
+  @Operation(summary = "Get profile photo image",
+      description = "Raw photo bytes, optionally a 48, 128 or 512 px thumbnail. Strong ETag on the content hash; "
+          + "pass the hash as v to get a long-lived cacheable URL")
+  public ResponseEntity<byte[]> getPhotoImage(@PathVariable Long id,
+                                              @RequestParam(required = false) Integer size,
+                                              @RequestParam(required = false) String v,
+                                              WebRequest request) {
+      Optional<String> etag = employeeService.getPhotoEtag(id, size);
+      if (etag.isPresent() && request.checkNotModified("\"" + etag.get() + "\"")) {
+          return null;
+      }
+      Optional<PhotoContentDTO> content = employeeService.getPhotoContent(id, size);
+      if (content.isEmpty()) {
+          return ResponseEntity.notFound().build();
+      }
+      PhotoContentDTO photo = content.get();
+      // A URL carrying the current hash never changes content, unless the thumbnail is not ready yet and the
+      // original was served in its place; anything else must be revalidated
+      boolean versioned = v != null && photo.getEtag().equals(size == null ? v : v + "-" + size);
+      return ResponseEntity.ok()
+          .eTag("\"" + photo.getEtag() + "\"")
+          .cacheControl(versioned ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic() : CacheControl.noCache())
+          .contentType(MediaType.parseMediaType(photo.getContentType() != null ? photo.getContentType() : "image/jpeg"))
+          .body(photo.getData());
+  }
+
   @GetMapping("/{id}/pdf")
     @Operation(summary = "Generate Employee PDF", description = "Generate a PDF file for the employee profile")
     @org.springframework.security.access.prepost.PreAuthorize("hasAnyRole('ADMIN', 'HR_MANAGER', 'MANAGER')")
     public ResponseEntity<byte[]> generatePdf(@PathVariable Long id) {
-        EmployeeDTO employee = employeeService.getEmployeeById(id)
+        EmployeeDTO employee = employeeService.getEmployeeForPdf(id)
             .orElseThrow(() -> new ResourceNotFoundException("Employé introuvable avec l'identifiant : " + id));
 
         List<EmployeeActionDTO> history = employeeActionService.getActionsForEmployee(id);
@@ -216,4 +343,42 @@ public class EmployeeController {
       employeeService.changeDivision(id, divisionId, actor);
       return ResponseEntity.ok().build();
   }
+
+  @PutMapping("/change-division/{divisionId}")
+  @Operation(summary = "Move employees to a division",
+      description = "Bulk reassignment of the listed employees, or of every employee of `fromDivisionId`. Returns the "
+          + "outcome per employee (MOVED, UNCHANGED, NOT_FOUND).")
+  public ResponseEntity<BulkMoveReportDTO> changeEmployeesDivision(@PathVariable Long divisionId,
+      @RequestBody BulkDivisionMoveDTO request, @RequestHeader(value = "X-Actor", required = false) String actor) {
+      return ResponseEntity.ok(employeeService.changeDivisions(divisionId, request, actor));
+  }
+
+  @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  @Operation(summary = "Import employees",
+      description = "Queues the creation of the employees listed in a CSV or XLSX file. Poll /import/{jobId} for "
+          + "progress; rejected rows are listed by /import/{jobId}/errors")
+  public ResponseEntity<ImportJobDTO> importEmployees(@RequestParam("file") MultipartFile file,
+      @RequestHeader(value = "X-Actor", required = false) String actor) throws IOException {
+      return ResponseEntity.accepted().body(employeeImportService.submit(file, actor));
+  }
+
+  @GetMapping("/import/{jobId}")
+  @Operation(summary = "Get import status", description = "Progress and outcome of an employee import job")
+  public ResponseEntity<ImportJobDTO> getImportJob(@PathVariable String jobId) {
+      return ResponseEntity.ok(employeeImportService.getJob(jobId));
+  }
+
+  @GetMapping("/import/{jobId}/errors")
+  @Operation(summary = "Download import error report", description = "Rejected rows of an import job, as CSV")
+  public ResponseEntity<byte[]> getImportErrors(@PathVariable String jobId) {
+      byte[] report = employeeImportService.getErrorReport(jobId).getBytes(java.nio.charset.StandardCharsets.UTF_8);
+      return ResponseEntity.ok()
+          .contentType(MediaType.parseMediaType("text/csv;charset=UTF-8"))
+          .header("Content-Disposition", "attachment; filename=import_" + jobId + "_erreurs.csv")
+          .body(report);
+  }
+
+  private static <T> ResponseEntity<T> okWithEtag(String etag, T body) {
+    return etag != null ? ResponseEntity.ok().eTag(etag).body(body) : ResponseEntity.ok(body);
+  }
 }
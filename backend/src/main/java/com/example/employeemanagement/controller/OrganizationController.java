@@ -1,14 +1,30 @@
 package com.example.employeemanagement.controller;
 
+import com.example.employeemanagement.dto.CursorPageDTO;
+import com.example.employeemanagement.dto.DirectionTreeDTO;
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import com.example.employeemanagement.dto.OrganizationEmployeeCountsDTO;
+import com.example.employeemanagement.dto.OrganizationNodeDTO;
 import com.example.employeemanagement.model.Direction;
 import com.example.employeemanagement.model.Division;
 import com.example.employeemanagement.model.ServiceUnit;
+import com.example.employeemanagement.service.EmployeeService;
+import com.example.employeemanagement.service.OrganizationClosureService;
+import com.example.employeemanagement.service.OrganizationHeadcountService;
+import com.example.employeemanagement.service.OrganizationNodeService;
 import com.example.employeemanagement.service.OrganizationService;
+import com.example.employeemanagement.service.OrganizationTreeService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,10 +36,49 @@ public class OrganizationController {
     @Autowired
     private OrganizationService organizationService;
 
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private OrganizationHeadcountService organizationHeadcountService;
+
+    @Autowired
+    private OrganizationTreeService organizationTreeService;
+
+    @Autowired
+    private OrganizationClosureService organizationClosureService;
+
+    @Autowired
+    private OrganizationNodeService organizationNodeService;
+
     @Operation(summary = "Get Organization Structure", description = "Retrieve the full hierarchical structure (Direction -> Service -> Division)")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = DirectionTreeDTO.class))))
     @GetMapping
-    public List<Direction> getOrganizationStructure() {
-        return organizationService.getOrganizationStructure();
+    public ResponseEntity<byte[]> getOrganizationStructure(WebRequest request) {
+        OrganizationTreeService.Snapshot snapshot = organizationTreeService.getSnapshot();
+        if (request.checkNotModified(snapshot.getEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.getJson());
+    }
+
+    // --- Org chart nodes ---
+    @Operation(summary = "Get top-level org chart nodes",
+            description = "Directions as compact nodes (id, name, manager, headcount, hasChildren), without their sub-units")
+    @GetMapping("/nodes")
+    public ResponseEntity<List<OrganizationNodeDTO>> getRootNodes() {
+        return ResponseEntity.ok(organizationNodeService.getRootNodes());
+    }
+
+    @Operation(summary = "Get children of an org chart node",
+            description = "Direct children of a unit as compact nodes. `type` is direction, service or division.")
+    @GetMapping("/nodes/{type}/{id}/children")
+    public ResponseEntity<List<OrganizationNodeDTO>> getChildNodes(@PathVariable String type, @PathVariable Long id) {
+        return ResponseEntity.ok(organizationNodeService.getChildren(type, id));
     }
 
     // --- Directions ---
@@ -94,6 +149,17 @@ public class OrganizationController {
 
     // --- Employee Counts ---
 
+    @Operation(summary = "Get employee counts of every node",
+            description = "Counts for all directions, services and divisions in one call; services include their divisions and directions their services")
+    @GetMapping("/employee-counts")
+    public ResponseEntity<OrganizationEmployeeCountsDTO> getEmployeeCounts(WebRequest request) {
+        String etag = organizationHeadcountService.getEtag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(organizationHeadcountService.getEmployeeCounts());
+    }
+
     @GetMapping("/directions/{id}/employee-count")
     public ResponseEntity<Long> getDirectionEmployeeCount(@PathVariable Long id) {
         return ResponseEntity.ok(organizationService.countEmployeesByDirection(id));
@@ -109,21 +175,35 @@ public class OrganizationController {
         return ResponseEntity.ok(organizationService.countEmployeesByDivision(id));
     }
 
+    @Operation(summary = "Get employees of a subtree",
+            description = "Page of the employees placed anywhere under a unit, ordered by name. `type` is direction, "
+                    + "service or division; employees are matched on their most specific unit. Pages are read by "
+                    + "cursor: omit `after` for the first page, then pass the `nextCursor` of the previous one.")
+    @GetMapping("/{type}/{id}/employees")
+    public ResponseEntity<CursorPageDTO<EmployeeSummaryDTO>> getSubtreeEmployees(
+            @PathVariable String type,
+            @PathVariable Long id,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(organizationClosureService.getSubtreeEmployees(type, id, after, size));
+    }
+
     // --- Division Employees Management ---
     @GetMapping("/divisions/{id}/employees")
-    public ResponseEntity<List<com.example.employeemanagement.model.Employee>> getEmployeesByDivision(@PathVariable Long id) {
-        return ResponseEntity.ok(organizationService.getEmployeesByDivision(id));
+    public ResponseEntity<List<EmployeeSummaryDTO>> getEmployeesByDivision(@PathVariable Long id) {
+        return ResponseEntity.ok(employeeService.getEmployeesByDivision(id));
     }
 
+    /** Like {@code DivisionController}, moves go through EmployeeService, which logs and publishes them. */
     @PostMapping("/divisions/{id}/assign/{employeeId}")
     public ResponseEntity<Void> assignEmployeeToDivision(@PathVariable Long id, @PathVariable Long employeeId, @RequestHeader(value = "X-Actor", required = false) String actor) {
-        organizationService.assignEmployeeToDivision(id, employeeId, actor);
+        employeeService.assignToDivision(id, employeeId, actor);
         return ResponseEntity.ok().build();
     }
 
     @DeleteMapping("/divisions/{id}/remove/{employeeId}")
     public ResponseEntity<Void> removeEmployeeFromDivision(@PathVariable Long id, @PathVariable Long employeeId, @RequestHeader(value = "X-Actor", required = false) String actor) {
-        organizationService.removeEmployeeFromDivision(id, employeeId, actor);
+        employeeService.removeFromDivision(id, employeeId, actor);
         return ResponseEntity.ok().build();
     }
 }
@@ -1,26 +1,74 @@
 package com.example.employeemanagement.controller;
 
 import com.example.employeemanagement.dto.DashboardStatsDTO;
-import com.example.employeemanagement.service.StatsService;
+import com.example.employeemanagement.dto.HeadcountPointDTO;
+import com.example.employeemanagement.dto.ReviewPeriodDTO;
+import com.example.employeemanagement.dto.ReviewStatsDTO;
+import com.example.employeemanagement.model.HeadcountBucket;
+import com.example.employeemanagement.service.HeadcountSeriesService;
+import com.example.employeemanagement.service.ReviewStatsService;
+import com.example.employeemanagement.service.StatsCacheService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/stats")
 @Tag(name = "Stats APIs", description = "API Operations related to dashboard statistics")
 public class StatsController {
 
     @Autowired
-    private StatsService statsService;
+    private StatsCacheService statsCacheService;
+
+    @Autowired
+    private HeadcountSeriesService headcountSeriesService;
+
+    @Autowired
+    private ReviewStatsService reviewStatsService;
 
     @Operation(summary = "Get dashboard statistics", description = "Retrieve aggregated statistics for dashboard")
     @GetMapping("/dashboard")
     public ResponseEntity<DashboardStatsDTO> getDashboardStats() {
-        return ResponseEntity.ok(statsService.getDashboardStats());
+        return ResponseEntity.ok(statsCacheService.getDashboardStats());
+    }
+
+    @Operation(summary = "Get headcount time series",
+            description = "Hires, departures, transfers and end-of-period headcount per unit (ALL, DIRECTION, SERVICE_UNIT or DIVISION), "
+                    + "by DAY, WEEK or MONTH; defaults to the last twelve months")
+    @GetMapping("/headcount")
+    public ResponseEntity<List<HeadcountPointDTO>> getHeadcountSeries(
+            @RequestParam(defaultValue = "ALL") HeadcountBucket.UnitType unitType,
+            @RequestParam(required = false) Long unitId,
+            @RequestParam(defaultValue = "MONTH") HeadcountSeriesService.Granularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1).plusDays(1);
+        return ResponseEntity.ok(headcountSeriesService.getSeries(unitType, unitId, granularity, start, end));
+    }
+
+    @Operation(summary = "Get performance review analytics",
+            description = "Final score percentiles and distribution, and criterion averages, for the organization and each "
+                    + "direction and division; defaults to the most recently reviewed period. Reviews are grouped by the "
+                    + "current direction and division of their employee, not the placement at the time of the review, so "
+                    + "moving an employee also moves their past reviews")
+    @GetMapping("/reviews")
+    public ResponseEntity<ReviewStatsDTO> getReviewStats(@RequestParam(required = false) String period) {
+        return ResponseEntity.ok(statsCacheService.getReviewStats(period));
+    }
+
+    @Operation(summary = "List review periods", description = "Review count and average final score of every period, most recent first")
+    @GetMapping("/reviews/periods")
+    public ResponseEntity<List<ReviewPeriodDTO>> getReviewPeriods() {
+        return ResponseEntity.ok(reviewStatsService.getPeriods());
     }
 }
@@ -0,0 +1,21 @@
+package com.example.employeemanagement.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Body of {@code PUT /api/employees/change-division/{divisionId}}: either the employees to move, or the division
+ * whose employees all move.
+ */
+@Data
+public class BulkDivisionMoveDTO {
+    private List<Long> employeeIds;
+    private Long fromDivisionId;
+
+    // Manual Getters and Setters
+    public List<Long> getEmployeeIds() { return employeeIds; }
+    public void setEmployeeIds(List<Long> employeeIds) { this.employeeIds = employeeIds; }
+    public Long getFromDivisionId() { return fromDivisionId; }
+    public void setFromDivisionId(Long fromDivisionId) { this.fromDivisionId = fromDivisionId; }
+}
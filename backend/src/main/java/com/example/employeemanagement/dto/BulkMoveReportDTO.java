@@ -0,0 +1,42 @@
+package com.example.employeemanagement.dto;
+
+import java.util.List;
+
+/** Outcome of a bulk division move, per requested employee and in total. */
+public class BulkMoveReportDTO {
+
+    public enum Status { MOVED, UNCHANGED, NOT_FOUND }
+
+    private final Long divisionId;
+    private final long moved;
+    private final long unchanged;
+    private final long notFound;
+    private final List<Outcome> outcomes;
+
+    public BulkMoveReportDTO(Long divisionId, List<Outcome> outcomes) {
+        this.divisionId = divisionId;
+        this.outcomes = List.copyOf(outcomes);
+        this.moved = outcomes.stream().filter(o -> o.getStatus() == Status.MOVED).count();
+        this.unchanged = outcomes.stream().filter(o -> o.getStatus() == Status.UNCHANGED).count();
+        this.notFound = outcomes.stream().filter(o -> o.getStatus() == Status.NOT_FOUND).count();
+    }
+
+    public Long getDivisionId() { return divisionId; }
+    public long getMoved() { return moved; }
+    public long getUnchanged() { return unchanged; }
+    public long getNotFound() { return notFound; }
+    public List<Outcome> getOutcomes() { return outcomes; }
+
+    public static class Outcome {
+        private final Long employeeId;
+        private final Status status;
+
+        public Outcome(Long employeeId, Status status) {
+            this.employeeId = employeeId;
+            this.status = status;
+        }
+
+        public Long getEmployeeId() { return employeeId; }
+        public Status getStatus() { return status; }
+    }
+}
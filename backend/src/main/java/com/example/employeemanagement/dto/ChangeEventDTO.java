@@ -0,0 +1,26 @@
+package com.example.employeemanagement.dto;
+
+import java.time.Instant;
+
+/**
+ * Payload of a change notification pushed on /api/events; {@code unitType} is only set for organization changes,
+ * {@code id} is null for a bulk employee change.
+ */
+public class ChangeEventDTO {
+    private final String type;
+    private final Long id;
+    private final String unitType;
+    private final Instant occurredAt;
+
+    public ChangeEventDTO(String type, Long id, String unitType, Instant occurredAt) {
+        this.type = type;
+        this.id = id;
+        this.unitType = unitType;
+        this.occurredAt = occurredAt;
+    }
+
+    public String getType() { return type; }
+    public Long getId() { return id; }
+    public String getUnitType() { return unitType; }
+    public Instant getOccurredAt() { return occurredAt; }
+}
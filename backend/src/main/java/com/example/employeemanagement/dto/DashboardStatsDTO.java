@@ -4,22 +4,26 @@ import java.util.List;
 import java.util.Map;
 
 public class DashboardStatsDTO {
-    private long totalEmployees;
+    private Long totalEmployees;
     private Double averageAge;
-    private long totalOrganizations;
+    private Long totalOrganizations;
     private Double averageTeamSize;
     private Map<String, Long> employeesByOrganization;
     private List<MonthlyCountDTO> growthByMonth;
     private Long maleCount;
     private Long femaleCount;
     private Long otherCount;
+    /** Sections served from their last known value because their query did not answer in time. */
+    private List<String> staleSections = List.of();
+    /** Stale sections that never answered yet: their figures are null rather than zero. */
+    private List<String> unavailableSections = List.of();
 
-    public long getTotalEmployees() { return totalEmployees; }
-    public void setTotalEmployees(long totalEmployees) { this.totalEmployees = totalEmployees; }
+    public Long getTotalEmployees() { return totalEmployees; }
+    public void setTotalEmployees(Long totalEmployees) { this.totalEmployees = totalEmployees; }
     public Double getAverageAge() { return averageAge; }
     public void setAverageAge(Double averageAge) { this.averageAge = averageAge; }
-    public long getTotalOrganizations() { return totalOrganizations; }
-    public void setTotalOrganizations(long totalOrganizations) { this.totalOrganizations = totalOrganizations; }
+    public Long getTotalOrganizations() { return totalOrganizations; }
+    public void setTotalOrganizations(Long totalOrganizations) { this.totalOrganizations = totalOrganizations; }
     public Double getAverageTeamSize() { return averageTeamSize; }
     public void setAverageTeamSize(Double averageTeamSize) { this.averageTeamSize = averageTeamSize; }
     public Map<String, Long> getEmployeesByOrganization() { return employeesByOrganization; }
@@ -32,4 +36,8 @@ public class DashboardStatsDTO {
     public void setFemaleCount(Long femaleCount) { this.femaleCount = femaleCount; }
     public Long getOtherCount() { return otherCount; }
     public void setOtherCount(Long otherCount) { this.otherCount = otherCount; }
+    public List<String> getStaleSections() { return staleSections; }
+    public void setStaleSections(List<String> staleSections) { this.staleSections = staleSections; }
+    public List<String> getUnavailableSections() { return unavailableSections; }
+    public void setUnavailableSections(List<String> unavailableSections) { this.unavailableSections = unavailableSections; }
 }
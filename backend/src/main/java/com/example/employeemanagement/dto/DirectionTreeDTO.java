@@ -0,0 +1,38 @@
+package com.example.employeemanagement.dto;
+
+import java.util.List;
+
+/**
+ * Direction node of the organization tree, with its service units in id order. Same JSON shape as the
+ * {@code Direction} entity the endpoint used to serialize.
+ */
+public class DirectionTreeDTO {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final String address;
+    private final String managerName;
+    private final String missions;
+    private final String objectives;
+    private final List<ServiceUnitTreeDTO> serviceUnits;
+
+    public DirectionTreeDTO(OrganizationUnitRowDTO row, List<ServiceUnitTreeDTO> serviceUnits) {
+        this.id = row.getId();
+        this.name = row.getName();
+        this.description = row.getDescription();
+        this.address = row.getAddress();
+        this.managerName = row.getManagerName();
+        this.missions = row.getMissions();
+        this.objectives = row.getObjectives();
+        this.serviceUnits = List.copyOf(serviceUnits);
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getDescription() { return description; }
+    public String getAddress() { return address; }
+    public String getManagerName() { return managerName; }
+    public String getMissions() { return missions; }
+    public String getObjectives() { return objectives; }
+    public List<ServiceUnitTreeDTO> getServiceUnits() { return serviceUnits; }
+}
@@ -0,0 +1,18 @@
+package com.example.employeemanagement.dto;
+
+/** Number of employees assigned to one division. */
+public class DivisionHeadcountDTO {
+    private final Long divisionId;
+    private final String divisionName;
+    private final long headcount;
+
+    public DivisionHeadcountDTO(Long divisionId, String divisionName, Long headcount) {
+        this.divisionId = divisionId;
+        this.divisionName = divisionName;
+        this.headcount = headcount != null ? headcount : 0;
+    }
+
+    public Long getDivisionId() { return divisionId; }
+    public String getDivisionName() { return divisionName; }
+    public long getHeadcount() { return headcount; }
+}
@@ -0,0 +1,30 @@
+package com.example.employeemanagement.dto;
+
+/** Division node of the organization tree served by {@code GET /api/organization}. */
+public class DivisionTreeDTO {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final String address;
+    private final String managerName;
+    private final String missions;
+    private final String objectives;
+
+    public DivisionTreeDTO(OrganizationUnitRowDTO row) {
+        this.id = row.getId();
+        this.name = row.getName();
+        this.description = row.getDescription();
+        this.address = row.getAddress();
+        this.managerName = row.getManagerName();
+        this.missions = row.getMissions();
+        this.objectives = row.getObjectives();
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getDescription() { return description; }
+    public String getAddress() { return address; }
+    public String getManagerName() { return managerName; }
+    public String getMissions() { return missions; }
+    public String getObjectives() { return objectives; }
+}
@@ -61,6 +61,9 @@ public class EmployeeDTO {
     private String statusCategory;
     private String highestDiploma;
     private String currentAdministrativePosition;
+
+    /** Content hash of the profile photo, null without one; versions the photo URLs. Ignored on writes. */
+    private String photoHash;
     
     private List<SkillDTO> skills;
     private List<TrainingDTO> trainings;
@@ -138,6 +141,8 @@ public class EmployeeDTO {
     public void setHighestDiploma(String highestDiploma) { this.highestDiploma = highestDiploma; }
     public String getCurrentAdministrativePosition() { return currentAdministrativePosition; }
     public void setCurrentAdministrativePosition(String currentAdministrativePosition) { this.currentAdministrativePosition = currentAdministrativePosition; }
+    public String getPhotoHash() { return photoHash; }
+    public void setPhotoHash(String photoHash) { this.photoHash = photoHash; }
     public List<SkillDTO> getSkills() { return skills; }
     public void setSkills(List<SkillDTO> skills) { this.skills = skills; }
     public List<TrainingDTO> getTrainings() { return trainings; }
@@ -0,0 +1,51 @@
+package com.example.employeemanagement.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/** Facets accepted by {@code GET /api/employees/filter}; every field is optional and set fields are AND-ed. */
+@Data
+public class EmployeeFilterDTO {
+    private Long divisionId;
+    private Long serviceUnitId;
+    private Long directionId;
+    private String gender;
+    private String statusCategory;
+    private String administrativeStatus;
+    private String highestDiploma;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate hiredFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate hiredTo;
+
+    private Integer minAge;
+    private Integer maxAge;
+
+    // Manual Getters and Setters
+    public Long getDivisionId() { return divisionId; }
+    public void setDivisionId(Long divisionId) { this.divisionId = divisionId; }
+    public Long getServiceUnitId() { return serviceUnitId; }
+    public void setServiceUnitId(Long serviceUnitId) { this.serviceUnitId = serviceUnitId; }
+    public Long getDirectionId() { return directionId; }
+    public void setDirectionId(Long directionId) { this.directionId = directionId; }
+    public String getGender() { return gender; }
+    public void setGender(String gender) { this.gender = gender; }
+    public String getStatusCategory() { return statusCategory; }
+    public void setStatusCategory(String statusCategory) { this.statusCategory = statusCategory; }
+    public String getAdministrativeStatus() { return administrativeStatus; }
+    public void setAdministrativeStatus(String administrativeStatus) { this.administrativeStatus = administrativeStatus; }
+    public String getHighestDiploma() { return highestDiploma; }
+    public void setHighestDiploma(String highestDiploma) { this.highestDiploma = highestDiploma; }
+    public LocalDate getHiredFrom() { return hiredFrom; }
+    public void setHiredFrom(LocalDate hiredFrom) { this.hiredFrom = hiredFrom; }
+    public LocalDate getHiredTo() { return hiredTo; }
+    public void setHiredTo(LocalDate hiredTo) { this.hiredTo = hiredTo; }
+    public Integer getMinAge() { return minAge; }
+    public void setMinAge(Integer minAge) { this.minAge = minAge; }
+    public Integer getMaxAge() { return maxAge; }
+    public void setMaxAge(Integer maxAge) { this.maxAge = maxAge; }
+}
@@ -7,6 +7,7 @@ public class EmployeePhotoDTO {
     private Long employeeId;
     private String base64Image;
     private String contentType;
+    private String contentHash;
 
     // Manual Getters and Setters
     public Long getEmployeeId() { return employeeId; }
@@ -15,4 +16,6 @@ public class EmployeePhotoDTO {
     public void setBase64Image(String base64Image) { this.base64Image = base64Image; }
     public String getContentType() { return contentType; }
     public void setContentType(String contentType) { this.contentType = contentType; }
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
 }
@@ -0,0 +1,36 @@
+package com.example.employeemanagement.dto;
+
+import java.time.Instant;
+
+/** The columns of one employee that feed the dashboard aggregates. */
+public class EmployeeStatsRowDTO {
+    private final Long id;
+    private final Long divisionId;
+    private final Long serviceUnitId;
+    private final Long directionId;
+    private final String gender;
+    private final Integer age;
+    private final Instant createdAt;
+    private final Instant updatedAt;
+
+    public EmployeeStatsRowDTO(Long id, Long divisionId, Long serviceUnitId, Long directionId, String gender,
+                               Integer age, Instant createdAt, Instant updatedAt) {
+        this.id = id;
+        this.divisionId = divisionId;
+        this.serviceUnitId = serviceUnitId;
+        this.directionId = directionId;
+        this.gender = gender;
+        this.age = age;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getId() { return id; }
+    public Long getDivisionId() { return divisionId; }
+    public Long getServiceUnitId() { return serviceUnitId; }
+    public Long getDirectionId() { return directionId; }
+    public String getGender() { return gender; }
+    public Integer getAge() { return age; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+}
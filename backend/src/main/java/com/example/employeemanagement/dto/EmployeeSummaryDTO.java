@@ -0,0 +1,95 @@
+package com.example.employeemanagement.dto;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * Lightweight employee row for list views. It is built directly by JPQL constructor expressions, so no
+ * Employee entity, association or collection is loaded to produce it.
+ */
+public class EmployeeSummaryDTO {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String gender;
+    private int age;
+    private String matricule;
+    private String jobTitle;
+    private String jobTemplateTitle;
+    private LocalDate hireDate;
+    private String administrativeStatus;
+    private String statusCategory;
+    private Long divisionId;
+    private String divisionName;
+    private Long serviceUnitId;
+    private String serviceUnitName;
+    private Long directionId;
+    private String directionName;
+
+    public EmployeeSummaryDTO() {}
+
+    /** Constructor used by the repository projections; argument order must match the JPQL select list. */
+    public EmployeeSummaryDTO(Long id, String firstName, String lastName, String email, String gender,
+                              int storedAge, LocalDate dateOfBirth, String matricule, String jobTitle,
+                              String jobTemplateTitle, LocalDate hireDate, String administrativeStatus,
+                              String statusCategory, Long divisionId, String divisionName, Long serviceUnitId,
+                              String serviceUnitName, Long directionId, String directionName) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.gender = gender;
+        // Same rule as EmployeeMapper: age from the date of birth when known, stored age otherwise
+        this.age = dateOfBirth != null ? Period.between(dateOfBirth, LocalDate.now()).getYears() : storedAge;
+        this.matricule = matricule;
+        this.jobTitle = jobTitle;
+        this.jobTemplateTitle = jobTemplateTitle;
+        this.hireDate = hireDate;
+        this.administrativeStatus = administrativeStatus;
+        this.statusCategory = statusCategory;
+        this.divisionId = divisionId;
+        this.divisionName = divisionName;
+        this.serviceUnitId = serviceUnitId;
+        this.serviceUnitName = serviceUnitName;
+        this.directionId = directionId;
+        this.directionName = directionName;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    public String getGender() { return gender; }
+    public void setGender(String gender) { this.gender = gender; }
+    public int getAge() { return age; }
+    public void setAge(int age) { this.age = age; }
+    public String getMatricule() { return matricule; }
+    public void setMatricule(String matricule) { this.matricule = matricule; }
+    public String getJobTitle() { return jobTitle; }
+    public void setJobTitle(String jobTitle) { this.jobTitle = jobTitle; }
+    public String getJobTemplateTitle() { return jobTemplateTitle; }
+    public void setJobTemplateTitle(String jobTemplateTitle) { this.jobTemplateTitle = jobTemplateTitle; }
+    public LocalDate getHireDate() { return hireDate; }
+    public void setHireDate(LocalDate hireDate) { this.hireDate = hireDate; }
+    public String getAdministrativeStatus() { return administrativeStatus; }
+    public void setAdministrativeStatus(String administrativeStatus) { this.administrativeStatus = administrativeStatus; }
+    public String getStatusCategory() { return statusCategory; }
+    public void setStatusCategory(String statusCategory) { this.statusCategory = statusCategory; }
+    public Long getDivisionId() { return divisionId; }
+    public void setDivisionId(Long divisionId) { this.divisionId = divisionId; }
+    public String getDivisionName() { return divisionName; }
+    public void setDivisionName(String divisionName) { this.divisionName = divisionName; }
+    public Long getServiceUnitId() { return serviceUnitId; }
+    public void setServiceUnitId(Long serviceUnitId) { this.serviceUnitId = serviceUnitId; }
+    public String getServiceUnitName() { return serviceUnitName; }
+    public void setServiceUnitName(String serviceUnitName) { this.serviceUnitName = serviceUnitName; }
+    public Long getDirectionId() { return directionId; }
+    public void setDirectionId(Long directionId) { this.directionId = directionId; }
+    public String getDirectionName() { return directionName; }
+    public void setDirectionName(String directionName) { this.directionName = directionName; }
+}
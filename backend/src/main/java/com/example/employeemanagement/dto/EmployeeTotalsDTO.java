@@ -0,0 +1,23 @@
+package com.example.employeemanagement.dto;
+
+/** Headcount, average age and gender split of all employees, read by a single aggregate query. */
+public class EmployeeTotalsDTO {
+    private final long total;
+    private final Double averageAge;
+    private final long maleCount;
+    private final long femaleCount;
+
+    public EmployeeTotalsDTO(Long total, Double averageAge, Long maleCount, Long femaleCount) {
+        this.total = total != null ? total : 0;
+        this.averageAge = averageAge;
+        // SUM over an empty table is NULL
+        this.maleCount = maleCount != null ? maleCount : 0;
+        this.femaleCount = femaleCount != null ? femaleCount : 0;
+    }
+
+    public long getTotal() { return total; }
+    public Double getAverageAge() { return averageAge; }
+    public long getMaleCount() { return maleCount; }
+    public long getFemaleCount() { return femaleCount; }
+    public long getOtherCount() { return total - maleCount - femaleCount; }
+}
@@ -0,0 +1,33 @@
+package com.example.employeemanagement.dto;
+
+import java.time.LocalDate;
+
+/** Movements of one organization unit over one period, and its headcount at the end of the period. */
+public class HeadcountPointDTO {
+    private final Long unitId;
+    private final LocalDate periodStart;
+    private final long hires;
+    private final long departures;
+    private final long transfersIn;
+    private final long transfersOut;
+    private final long headcount;
+
+    public HeadcountPointDTO(Long unitId, LocalDate periodStart, long hires, long departures, long transfersIn,
+                             long transfersOut, long headcount) {
+        this.unitId = unitId;
+        this.periodStart = periodStart;
+        this.hires = hires;
+        this.departures = departures;
+        this.transfersIn = transfersIn;
+        this.transfersOut = transfersOut;
+        this.headcount = headcount;
+    }
+
+    public Long getUnitId() { return unitId; }
+    public LocalDate getPeriodStart() { return periodStart; }
+    public long getHires() { return hires; }
+    public long getDepartures() { return departures; }
+    public long getTransfersIn() { return transfersIn; }
+    public long getTransfersOut() { return transfersOut; }
+    public long getHeadcount() { return headcount; }
+}
@@ -0,0 +1,45 @@
+package com.example.employeemanagement.dto;
+
+import java.time.Instant;
+
+/** State of an employee import job, as polled by the client. */
+public class ImportJobDTO {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final String fileName;
+    private final Status status;
+    private final long rowsRead;
+    private final long imported;
+    private final long rejected;
+    private final Instant submittedAt;
+    private final Instant finishedAt;
+    private final String message;
+
+    public ImportJobDTO(String id, String fileName, Status status, long rowsRead, long imported, long rejected,
+                        Instant submittedAt, Instant finishedAt, String message) {
+        this.id = id;
+        this.fileName = fileName;
+        this.status = status;
+        this.rowsRead = rowsRead;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.submittedAt = submittedAt;
+        this.finishedAt = finishedAt;
+        this.message = message;
+    }
+
+    public String getId() { return id; }
+    public String getFileName() { return fileName; }
+    public Status getStatus() { return status; }
+    /** Data rows parsed so far, header excluded. */
+    public long getRowsRead() { return rowsRead; }
+    public long getImported() { return imported; }
+    /** Rows refused so far; each one is listed in the error report. */
+    public long getRejected() { return rejected; }
+    public Instant getSubmittedAt() { return submittedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    /** Reason of a failed job, null otherwise. */
+    public String getMessage() { return message; }
+}
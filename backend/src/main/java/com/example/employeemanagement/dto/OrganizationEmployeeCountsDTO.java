@@ -0,0 +1,27 @@
+package com.example.employeemanagement.dto;
+
+import java.util.Map;
+
+/**
+ * Employee count of every organization node, keyed by node id. Service counts include their divisions and
+ * direction counts include their services; {@code unassigned} counts employees attached to no unit.
+ */
+public class OrganizationEmployeeCountsDTO {
+    private final Map<Long, Long> directions;
+    private final Map<Long, Long> services;
+    private final Map<Long, Long> divisions;
+    private final long unassigned;
+
+    public OrganizationEmployeeCountsDTO(Map<Long, Long> directions, Map<Long, Long> services,
+                                         Map<Long, Long> divisions, long unassigned) {
+        this.directions = directions;
+        this.services = services;
+        this.divisions = divisions;
+        this.unassigned = unassigned;
+    }
+
+    public Map<Long, Long> getDirections() { return directions; }
+    public Map<Long, Long> getServices() { return services; }
+    public Map<Long, Long> getDivisions() { return divisions; }
+    public long getUnassigned() { return unassigned; }
+}
@@ -0,0 +1,31 @@
+package com.example.employeemanagement.dto;
+
+/**
+ * Compact org chart node: what the chart shows for a unit and whether it can be expanded. {@code type} is the
+ * path segment of the unit's children endpoint ({@code direction}, {@code service} or {@code division}), and
+ * {@code headcount} includes the employees of its sub-units.
+ */
+public class OrganizationNodeDTO {
+    private final String type;
+    private final Long id;
+    private final String name;
+    private final String managerName;
+    private final long headcount;
+    private final boolean hasChildren;
+
+    public OrganizationNodeDTO(String type, Long id, String name, String managerName, long headcount, boolean hasChildren) {
+        this.type = type;
+        this.id = id;
+        this.name = name;
+        this.managerName = managerName;
+        this.headcount = headcount;
+        this.hasChildren = hasChildren;
+    }
+
+    public String getType() { return type; }
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getManagerName() { return managerName; }
+    public long getHeadcount() { return headcount; }
+    public boolean isHasChildren() { return hasChildren; }
+}
@@ -0,0 +1,42 @@
+package com.example.employeemanagement.dto;
+
+/**
+ * Flat row of a direction, service unit or division, as read by the organization tree queries. {@code parentId}
+ * is the owning direction of a service unit or the owning service unit of a division, and null for directions.
+ */
+public class OrganizationUnitRowDTO {
+    private final Long id;
+    private final Long parentId;
+    private final String name;
+    private final String description;
+    private final String address;
+    private final String managerName;
+    private final String missions;
+    private final String objectives;
+
+    public OrganizationUnitRowDTO(Long id, String name, String description, String address, String managerName,
+                                  String missions, String objectives) {
+        this(id, null, name, description, address, managerName, missions, objectives);
+    }
+
+    public OrganizationUnitRowDTO(Long id, Long parentId, String name, String description, String address,
+                                  String managerName, String missions, String objectives) {
+        this.id = id;
+        this.parentId = parentId;
+        this.name = name;
+        this.description = description;
+        this.address = address;
+        this.managerName = managerName;
+        this.missions = missions;
+        this.objectives = objectives;
+    }
+
+    public Long getId() { return id; }
+    public Long getParentId() { return parentId; }
+    public String getName() { return name; }
+    public String getDescription() { return description; }
+    public String getAddress() { return address; }
+    public String getManagerName() { return managerName; }
+    public String getMissions() { return missions; }
+    public String getObjectives() { return objectives; }
+}
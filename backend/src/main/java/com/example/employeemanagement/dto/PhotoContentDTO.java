@@ -0,0 +1,18 @@
+package com.example.employeemanagement.dto;
+
+/** Raw image bytes served by the binary photo endpoint, with the strong validator that identifies them. */
+public class PhotoContentDTO {
+    private final byte[] data;
+    private final String contentType;
+    private final String etag;
+
+    public PhotoContentDTO(byte[] data, String contentType, String etag) {
+        this.data = data;
+        this.contentType = contentType;
+        this.etag = etag;
+    }
+
+    public byte[] getData() { return data; }
+    public String getContentType() { return contentType; }
+    public String getEtag() { return etag; }
+}
@@ -0,0 +1,23 @@
+package com.example.employeemanagement.dto;
+
+import java.time.LocalDate;
+
+/** One review period with its review count, average final score and latest review date. */
+public class ReviewPeriodDTO {
+    private final String period;
+    private final long reviewCount;
+    private final Double averageFinalScore;
+    private final LocalDate lastReviewDate;
+
+    public ReviewPeriodDTO(String period, Long reviewCount, Double averageFinalScore, LocalDate lastReviewDate) {
+        this.period = period;
+        this.reviewCount = reviewCount != null ? reviewCount : 0;
+        this.averageFinalScore = averageFinalScore;
+        this.lastReviewDate = lastReviewDate;
+    }
+
+    public String getPeriod() { return period; }
+    public long getReviewCount() { return reviewCount; }
+    public Double getAverageFinalScore() { return averageFinalScore; }
+    public LocalDate getLastReviewDate() { return lastReviewDate; }
+}
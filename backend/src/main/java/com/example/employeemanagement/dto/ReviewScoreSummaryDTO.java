@@ -0,0 +1,56 @@
+package com.example.employeemanagement.dto;
+
+import java.util.Map;
+
+/**
+ * Review scores of one unit (or of the whole organization, with a null unit) for a period: averages of each
+ * criterion, nearest-rank percentiles of the final score and the number of reviews per whole point of final score.
+ */
+public class ReviewScoreSummaryDTO {
+    private final Long unitId;
+    private final String unitName;
+    private final long reviewCount;
+    private final Double averageFinalScore;
+    private final Double averageObjectivesScore;
+    private final Double averageSkillsScore;
+    private final Double averageDisciplineScore;
+    private final Double averageProductivityScore;
+    private final Double finalScoreP25;
+    private final Double finalScoreMedian;
+    private final Double finalScoreP75;
+    private final Double finalScoreP90;
+    private final Map<Integer, Long> finalScoreDistribution;
+
+    public ReviewScoreSummaryDTO(Long unitId, String unitName, long reviewCount, Double averageFinalScore,
+                                 Double averageObjectivesScore, Double averageSkillsScore, Double averageDisciplineScore,
+                                 Double averageProductivityScore, Double finalScoreP25, Double finalScoreMedian,
+                                 Double finalScoreP75, Double finalScoreP90, Map<Integer, Long> finalScoreDistribution) {
+        this.unitId = unitId;
+        this.unitName = unitName;
+        this.reviewCount = reviewCount;
+        this.averageFinalScore = averageFinalScore;
+        this.averageObjectivesScore = averageObjectivesScore;
+        this.averageSkillsScore = averageSkillsScore;
+        this.averageDisciplineScore = averageDisciplineScore;
+        this.averageProductivityScore = averageProductivityScore;
+        this.finalScoreP25 = finalScoreP25;
+        this.finalScoreMedian = finalScoreMedian;
+        this.finalScoreP75 = finalScoreP75;
+        this.finalScoreP90 = finalScoreP90;
+        this.finalScoreDistribution = finalScoreDistribution;
+    }
+
+    public Long getUnitId() { return unitId; }
+    public String getUnitName() { return unitName; }
+    public long getReviewCount() { return reviewCount; }
+    public Double getAverageFinalScore() { return averageFinalScore; }
+    public Double getAverageObjectivesScore() { return averageObjectivesScore; }
+    public Double getAverageSkillsScore() { return averageSkillsScore; }
+    public Double getAverageDisciplineScore() { return averageDisciplineScore; }
+    public Double getAverageProductivityScore() { return averageProductivityScore; }
+    public Double getFinalScoreP25() { return finalScoreP25; }
+    public Double getFinalScoreMedian() { return finalScoreMedian; }
+    public Double getFinalScoreP75() { return finalScoreP75; }
+    public Double getFinalScoreP90() { return finalScoreP90; }
+    public Map<Integer, Long> getFinalScoreDistribution() { return finalScoreDistribution; }
+}
@@ -0,0 +1,27 @@
+package com.example.employeemanagement.dto;
+
+import java.util.List;
+
+/**
+ * Review analytics of one period: the whole organization, then each direction and each division having reviews
+ * in that period. Employees without a direction or division are grouped under a null unit.
+ */
+public class ReviewStatsDTO {
+    private final String period;
+    private final ReviewScoreSummaryDTO overall;
+    private final List<ReviewScoreSummaryDTO> directions;
+    private final List<ReviewScoreSummaryDTO> divisions;
+
+    public ReviewStatsDTO(String period, ReviewScoreSummaryDTO overall, List<ReviewScoreSummaryDTO> directions,
+                          List<ReviewScoreSummaryDTO> divisions) {
+        this.period = period;
+        this.overall = overall;
+        this.directions = directions;
+        this.divisions = divisions;
+    }
+
+    public String getPeriod() { return period; }
+    public ReviewScoreSummaryDTO getOverall() { return overall; }
+    public List<ReviewScoreSummaryDTO> getDirections() { return directions; }
+    public List<ReviewScoreSummaryDTO> getDivisions() { return divisions; }
+}
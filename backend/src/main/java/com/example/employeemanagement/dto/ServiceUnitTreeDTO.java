@@ -0,0 +1,35 @@
+package com.example.employeemanagement.dto;
+
+import java.util.List;
+
+/** Service unit node of the organization tree, with its divisions in id order. */
+public class ServiceUnitTreeDTO {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final String address;
+    private final String managerName;
+    private final String missions;
+    private final String objectives;
+    private final List<DivisionTreeDTO> divisions;
+
+    public ServiceUnitTreeDTO(OrganizationUnitRowDTO row, List<DivisionTreeDTO> divisions) {
+        this.id = row.getId();
+        this.name = row.getName();
+        this.description = row.getDescription();
+        this.address = row.getAddress();
+        this.managerName = row.getManagerName();
+        this.missions = row.getMissions();
+        this.objectives = row.getObjectives();
+        this.divisions = List.copyOf(divisions);
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getDescription() { return description; }
+    public String getAddress() { return address; }
+    public String getManagerName() { return managerName; }
+    public String getMissions() { return missions; }
+    public String getObjectives() { return objectives; }
+    public List<DivisionTreeDTO> getDivisions() { return divisions; }
+}
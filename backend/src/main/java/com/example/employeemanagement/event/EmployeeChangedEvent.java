@@ -0,0 +1,33 @@
+package com.example.employeemanagement.event;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published by {@code EmployeeService} and {@code PositionService} whenever an employee row is written; other
+ * writers go through them. Listeners that maintain derived in-memory state should consume it with
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ *
+ * <p>Bulk writes (imports, moves of many employees) publish one event carrying every id, so listeners reload the
+ * rows in batches rather than once per employee.
+ */
+public class EmployeeChangedEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+    private final List<Long> employeeIds;
+
+    public EmployeeChangedEvent(Type type, Long employeeId) {
+        this(type, List.of(employeeId));
+    }
+
+    public EmployeeChangedEvent(Type type, Collection<Long> employeeIds) {
+        this.type = type;
+        this.employeeIds = List.copyOf(employeeIds);
+    }
+
+    public Type getType() { return type; }
+    /** Employees written, at least one. */
+    public List<Long> getEmployeeIds() { return employeeIds; }
+}
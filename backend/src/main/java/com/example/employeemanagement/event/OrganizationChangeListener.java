@@ -0,0 +1,52 @@
+package com.example.employeemanagement.event;
+
+import com.example.employeemanagement.model.Direction;
+import com.example.employeemanagement.model.Division;
+import com.example.employeemanagement.model.ServiceUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * JPA entity listener of the organization units. Hibernate instantiates it through Spring's bean container, so
+ * every write path (controllers, services, seeding) publishes an {@link OrganizationChangedEvent} without having
+ * to remember to. Update and delete callbacks run at flush time, still inside the transaction, so
+ * transactional listeners see the event after commit.
+ */
+public class OrganizationChangeListener {
+
+    @Autowired(required = false)
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    void onCreated(Object unit) {
+        publish(OrganizationChangedEvent.Type.CREATED, unit);
+    }
+
+    @PostUpdate
+    void onUpdated(Object unit) {
+        publish(OrganizationChangedEvent.Type.UPDATED, unit);
+    }
+
+    @PostRemove
+    void onDeleted(Object unit) {
+        publish(OrganizationChangedEvent.Type.DELETED, unit);
+    }
+
+    private void publish(OrganizationChangedEvent.Type type, Object unit) {
+        if (eventPublisher == null) {
+            // Created by Hibernate outside of a Spring context
+            return;
+        }
+        if (unit instanceof Direction) {
+            eventPublisher.publishEvent(new OrganizationChangedEvent(type, OrganizationChangedEvent.UnitType.DIRECTION, ((Direction) unit).getId()));
+        } else if (unit instanceof ServiceUnit) {
+            eventPublisher.publishEvent(new OrganizationChangedEvent(type, OrganizationChangedEvent.UnitType.SERVICE_UNIT, ((ServiceUnit) unit).getId()));
+        } else if (unit instanceof Division) {
+            eventPublisher.publishEvent(new OrganizationChangedEvent(type, OrganizationChangedEvent.UnitType.DIVISION, ((Division) unit).getId()));
+        }
+    }
+}
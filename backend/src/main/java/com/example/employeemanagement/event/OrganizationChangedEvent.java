@@ -0,0 +1,26 @@
+package com.example.employeemanagement.event;
+
+/**
+ * Published by {@link OrganizationChangeListener} whenever a direction, service unit or division row is written.
+ * Like {@link EmployeeChangedEvent}, consume it with {@code @TransactionalEventListener}.
+ */
+public class OrganizationChangedEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    public enum UnitType { DIRECTION, SERVICE_UNIT, DIVISION }
+
+    private final Type type;
+    private final UnitType unitType;
+    private final Long unitId;
+
+    public OrganizationChangedEvent(Type type, UnitType unitType, Long unitId) {
+        this.type = type;
+        this.unitType = unitType;
+        this.unitId = unitId;
+    }
+
+    public Type getType() { return type; }
+    public UnitType getUnitType() { return unitType; }
+    public Long getUnitId() { return unitId; }
+}
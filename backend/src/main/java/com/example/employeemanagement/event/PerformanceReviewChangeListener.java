@@ -0,0 +1,30 @@
+package com.example.employeemanagement.event;
+
+import com.example.employeemanagement.model.PerformanceReview;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * JPA entity listener of performance reviews, built like {@link OrganizationChangeListener}: every write path
+ * publishes a {@link PerformanceReviewChangedEvent}, including cascades from an employee deletion.
+ */
+public class PerformanceReviewChangeListener {
+
+    @Autowired(required = false)
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onWritten(PerformanceReview review) {
+        if (eventPublisher == null) {
+            // Created by Hibernate outside of a Spring context
+            return;
+        }
+        eventPublisher.publishEvent(new PerformanceReviewChangedEvent(review.getPeriod()));
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.employeemanagement.event;
+
+/**
+ * Published by {@link PerformanceReviewChangeListener} whenever a performance review row is written. Like
+ * {@link EmployeeChangedEvent}, consume it with {@code @TransactionalEventListener}.
+ */
+public class PerformanceReviewChangedEvent {
+
+    private final String period;
+
+    public PerformanceReviewChangedEvent(String period) {
+        this.period = period;
+    }
+
+    /**
+     * Period of the review as written. An update moving a review out of another period does not name that one:
+     * consumers drop every period on any event.
+     */
+    public String getPeriod() { return period; }
+}
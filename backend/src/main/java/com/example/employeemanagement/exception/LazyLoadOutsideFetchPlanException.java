@@ -0,0 +1,8 @@
+package com.example.employeemanagement.exception;
+
+/** Raised by {@code LazyLoadGuard} in fail mode when a read path lazily loads data its fetch plan did not declare. */
+public class LazyLoadOutsideFetchPlanException extends IllegalStateException {
+    public LazyLoadOutsideFetchPlanException(String message) {
+        super(message);
+    }
+}
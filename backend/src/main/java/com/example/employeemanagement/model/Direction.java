@@ -1,10 +1,12 @@
 package com.example.employeemanagement.model;
 
+import com.example.employeemanagement.event.OrganizationChangeListener;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import javax.persistence.*;
 import java.util.List;
 
 @Entity
+@EntityListeners(OrganizationChangeListener.class)
 @Table(name = "directions")
 public class Direction {
     @Id
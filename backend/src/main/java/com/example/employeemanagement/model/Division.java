@@ -1,5 +1,6 @@
 package com.example.employeemanagement.model;
 
+import com.example.employeemanagement.event.OrganizationChangeListener;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -8,6 +9,7 @@ import lombok.NoArgsConstructor;
 import javax.persistence.*;
 
 @Entity
+@EntityListeners(OrganizationChangeListener.class)
 @Table(name = "divisions")
 public class Division {
     @Id
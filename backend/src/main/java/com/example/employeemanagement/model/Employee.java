@@ -18,20 +18,62 @@ import com.example.employeemanagement.util.AttributeEncryptor;
 /**
  * This class represents an Employee entity. Each employee has an ID, first name, last name, email,
  * department, and age.
+ *
+ * <p>Every association is lazy; repository methods pick what to load through the named entity graphs below.
  */
+@NamedEntityGraph(name = Employee.GRAPH_LIST, attributeNodes = {
+    @NamedAttributeNode("direction"),
+    @NamedAttributeNode("serviceUnit"),
+    @NamedAttributeNode("division"),
+    @NamedAttributeNode("jobTemplate"),
+    @NamedAttributeNode("position")
+})
+@NamedEntityGraph(name = Employee.GRAPH_DETAIL, attributeNodes = {
+    @NamedAttributeNode("direction"),
+    @NamedAttributeNode("serviceUnit"),
+    @NamedAttributeNode("division"),
+    @NamedAttributeNode("jobTemplate"),
+    @NamedAttributeNode("position"),
+    @NamedAttributeNode("skills")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
 @Table(name = "employees", indexes = {
-    @Index(name = "idx_employee_division", columnList = "division_id")
+    @Index(name = "idx_employee_last_name_id", columnList = "last_name, id"),
+    @Index(name = "idx_employee_first_name_id", columnList = "first_name, id"),
+    @Index(name = "idx_employee_hire_date_id", columnList = "hire_date, id"),
+    // MAX(updated_at) for the collection ETag and /last-updated, answered from the index alone
+    @Index(name = "idx_employee_updated_at", columnList = "updated_at"),
+    // Facets of /api/employees/filter (EmployeeSpecifications): equality columns first, hire date range last
+    @Index(name = "idx_employee_direction_facets", columnList = "direction_id, status_category, administrative_status, hire_date"),
+    @Index(name = "idx_employee_service_unit_facets", columnList = "service_unit_id, status_category, administrative_status, hire_date"),
+    // Its leading division_id also serves division listings and the foreign key
+    @Index(name = "idx_employee_division_facets", columnList = "division_id, status_category, administrative_status, hire_date"),
+    // Subtree listings (EmployeeRepository.IN_SUBTREE_AFTER): one unit, then the (last name, first name, id) keyset
+    @Index(name = "idx_employee_division_name", columnList = "division_id, last_name, first_name, id"),
+    @Index(name = "idx_employee_service_unit_name", columnList = "service_unit_id, last_name, first_name, id"),
+    @Index(name = "idx_employee_direction_name", columnList = "direction_id, last_name, first_name, id"),
+    @Index(name = "idx_employee_category_status_hire", columnList = "status_category, administrative_status, hire_date"),
+    @Index(name = "idx_employee_status_hire", columnList = "administrative_status, hire_date"),
+    @Index(name = "idx_employee_diploma_hire", columnList = "highest_diploma, hire_date"),
+    @Index(name = "idx_employee_gender_birth", columnList = "gender, date_of_birth"),
+    @Index(name = "idx_employee_birth", columnList = "date_of_birth"),
+    @Index(name = "idx_employee_age", columnList = "age")
 })
 @EntityListeners(AuditingEntityListener.class)
 public class Employee {
 
+  /** Org units, job template and position: what list rows and division listings read. */
+  public static final String GRAPH_LIST = "Employee.list";
+
+  /** List graph plus skills; reviews and promotions are fetched by separate queries (see EmployeeRepository). */
+  public static final String GRAPH_DETAIL = "Employee.detail";
+
   /** The ID of the employee. It is unique and generated automatically. */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(generator = PooledIds.GENERATOR)
   private Long id;
 
   /** The first name of the employee. */
@@ -47,29 +89,29 @@ public class Employee {
   @Column(name = "gender", nullable = false)
   private String gender;
 
-  @ManyToOne(fetch = FetchType.EAGER)
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "direction_id")
   private Direction direction;
 
-  @ManyToOne(fetch = FetchType.EAGER)
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "service_unit_id")
   private ServiceUnit serviceUnit;
 
-  @ManyToOne(fetch = FetchType.EAGER)
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "division_id")
   @JsonBackReference
   private Division division;
 
-  @ManyToOne(fetch = FetchType.EAGER)
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "job_template_id")
   private JobTemplate jobTemplate;
 
-  @OneToOne(fetch = FetchType.EAGER)
+  @OneToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "position_id")
   @JsonIgnoreProperties({"employee"})
   private Position position;
 
-  @OneToOne
+  @OneToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "user_id")
   private User user;
 
@@ -149,13 +191,6 @@ public class Employee {
   @JsonManagedReference
   private List<Promotion> promotions;
 
-  @Lob
-  @Column(columnDefinition = "LONGBLOB")
-  private byte[] profilePhoto;
-
-  @Column(name = "photo_type")
-  private String photoType;
-
   @CreatedDate
   @Column(name = "created_at", updatable = false)
   private Instant createdAt;
@@ -227,10 +262,6 @@ public class Employee {
   public void setPerformanceReviews(List<PerformanceReview> performanceReviews) { this.performanceReviews = performanceReviews; }
   public List<Promotion> getPromotions() { return promotions; }
   public void setPromotions(List<Promotion> promotions) { this.promotions = promotions; }
-  public byte[] getProfilePhoto() { return profilePhoto; }
-  public void setProfilePhoto(byte[] profilePhoto) { this.profilePhoto = profilePhoto; }
-  public String getPhotoType() { return photoType; }
-  public void setPhotoType(String photoType) { this.photoType = photoType; }
   public Instant getCreatedAt() { return createdAt; }
   public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
   public Instant getUpdatedAt() { return updatedAt; }
@@ -13,11 +13,14 @@ import java.time.Instant;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "employee_actions")
+@Table(name = "employee_actions", indexes = {
+    // Actions still to fold into the headcount buckets (NULL or false), see HeadcountSeriesService
+    @Index(name = "idx_employee_action_in_series", columnList = "in_series, id")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class EmployeeAction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = PooledIds.GENERATOR)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -37,6 +40,10 @@ public class EmployeeAction {
     @Column(name = "created_at", updatable = false)
     private Instant createdAt;
 
+    /** Whether the action has been folded into the headcount buckets; NULL on rows logged before they existed. */
+    @Column(name = "in_series")
+    private Boolean inSeries;
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public Employee getEmployee() { return employee; }
@@ -49,4 +56,6 @@ public class EmployeeAction {
     public void setDetails(String details) { this.details = details; }
     public Instant getCreatedAt() { return createdAt; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Boolean getInSeries() { return inSeries; }
+    public void setInSeries(Boolean inSeries) { this.inSeries = inSeries; }
 }
@@ -0,0 +1,57 @@
+package com.example.employeemanagement.model;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * Profile photo of an employee, kept out of the employees table so that loading an employee never reads
+ * the image bytes. Keyed by the employee id; the SHA-256 of the content identifies the current version.
+ */
+@Entity
+@Table(name = "employee_photos")
+public class EmployeePhoto {
+
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Lob
+    @Column(name = "data", columnDefinition = "LONGBLOB", nullable = false)
+    private byte[] data;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "content_hash", length = 64, nullable = false)
+    private String contentHash;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    public EmployeePhoto() {}
+
+    public EmployeePhoto(Long employeeId, byte[] data, String contentType, String contentHash) {
+        this.employeeId = employeeId;
+        this.data = data;
+        this.contentType = contentType;
+        this.contentHash = contentHash;
+        this.sizeBytes = data.length;
+        this.updatedAt = Instant.now();
+    }
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+    public byte[] getData() { return data; }
+    public void setData(byte[] data) { this.data = data; }
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+    public long getSizeBytes() { return sizeBytes; }
+    public void setSizeBytes(long sizeBytes) { this.sizeBytes = sizeBytes; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,46 @@
+package com.example.employeemanagement.model;
+
+import javax.persistence.*;
+
+/**
+ * Downscaled copy of an employee photo, generated once per upload. {@code sourceHash} is the content hash
+ * of the photo it was derived from, so a thumbnail left over from a previous photo is never served.
+ */
+@Entity
+@Table(name = "employee_photo_thumbnails",
+        uniqueConstraints = @UniqueConstraint(name = "uk_photo_thumbnail_employee_size", columnNames = {"employee_id", "size_px"}))
+public class EmployeePhotoThumbnail {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "size_px", nullable = false)
+    private int sizePx;
+
+    @Lob
+    @Column(name = "data", columnDefinition = "MEDIUMBLOB", nullable = false)
+    private byte[] data;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "source_hash", length = 64, nullable = false)
+    private String sourceHash;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+    public int getSizePx() { return sizePx; }
+    public void setSizePx(int sizePx) { this.sizePx = sizePx; }
+    public byte[] getData() { return data; }
+    public void setData(byte[] data) { this.data = data; }
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+    public String getSourceHash() { return sourceHash; }
+    public void setSourceHash(String sourceHash) { this.sourceHash = sourceHash; }
+}
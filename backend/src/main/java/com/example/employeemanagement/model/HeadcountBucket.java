@@ -0,0 +1,78 @@
+package com.example.employeemanagement.model;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Daily headcount movements of one organization unit, pre-aggregated from the employee action log.
+ *
+ * <p>Rows with unit type {@code ALL} (unit id 0) cover the whole organization; there a division change counts
+ * as one transfer in and one transfer out, so it shows up as a move without changing the headcount. The
+ * headcount of a unit at a date is the sum of {@link #getNet()} over all earlier buckets. {@code adjustments}
+ * holds the corrections of the reconciliation pass, for employees written without a logged action.
+ */
+@Entity
+@Table(name = "headcount_buckets", uniqueConstraints = {
+    // Also the index of range queries: one unit type, a date range, then the units
+    @UniqueConstraint(name = "uk_headcount_bucket", columnNames = {"unit_type", "bucket_date", "unit_id"})
+})
+public class HeadcountBucket {
+
+    public enum UnitType { ALL, DIRECTION, SERVICE_UNIT, DIVISION }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "unit_type", nullable = false, length = 20)
+    private UnitType unitType;
+
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(name = "unit_id", nullable = false)
+    private Long unitId;
+
+    @Column(nullable = false)
+    private long hires;
+
+    @Column(nullable = false)
+    private long departures;
+
+    @Column(name = "transfers_in", nullable = false)
+    private long transfersIn;
+
+    @Column(name = "transfers_out", nullable = false)
+    private long transfersOut;
+
+    // With a default so that adding the column keeps existing rows valid
+    @Column(nullable = false, columnDefinition = "bigint default 0 not null")
+    private long adjustments;
+
+    public HeadcountBucket() {}
+
+    public Long getId() { return id; }
+    public UnitType getUnitType() { return unitType; }
+    public void setUnitType(UnitType unitType) { this.unitType = unitType; }
+    public LocalDate getBucketDate() { return bucketDate; }
+    public void setBucketDate(LocalDate bucketDate) { this.bucketDate = bucketDate; }
+    public Long getUnitId() { return unitId; }
+    public void setUnitId(Long unitId) { this.unitId = unitId; }
+    public long getHires() { return hires; }
+    public void setHires(long hires) { this.hires = hires; }
+    public long getDepartures() { return departures; }
+    public void setDepartures(long departures) { this.departures = departures; }
+    public long getTransfersIn() { return transfersIn; }
+    public void setTransfersIn(long transfersIn) { this.transfersIn = transfersIn; }
+    public long getTransfersOut() { return transfersOut; }
+    public void setTransfersOut(long transfersOut) { this.transfersOut = transfersOut; }
+
+    public long getAdjustments() { return adjustments; }
+    public void setAdjustments(long adjustments) { this.adjustments = adjustments; }
+
+    /** Headcount change of the unit over the day. */
+    public long getNet() {
+        return hires - departures + transfersIn - transfersOut + adjustments;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.employeemanagement.model;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Headcount movements queued for one {@link HeadcountBucket}, written in the transaction that logs the action and
+ * applied to the bucket afterwards by a single folder (see {@code HeadcountSeriesService}). Each write inserts its
+ * own rows, so writers never wait on one another's bucket rows.
+ */
+@Entity
+@Table(name = "headcount_deltas")
+public class HeadcountDelta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "unit_type", nullable = false, length = 20)
+    private HeadcountBucket.UnitType unitType;
+
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(name = "unit_id", nullable = false)
+    private Long unitId;
+
+    @Column(nullable = false)
+    private long hires;
+
+    @Column(nullable = false)
+    private long departures;
+
+    @Column(name = "transfers_in", nullable = false)
+    private long transfersIn;
+
+    @Column(name = "transfers_out", nullable = false)
+    private long transfersOut;
+
+    @Column(nullable = false)
+    private long adjustments;
+
+    public HeadcountDelta() {}
+
+    public Long getId() { return id; }
+    public HeadcountBucket.UnitType getUnitType() { return unitType; }
+    public void setUnitType(HeadcountBucket.UnitType unitType) { this.unitType = unitType; }
+    public LocalDate getBucketDate() { return bucketDate; }
+    public void setBucketDate(LocalDate bucketDate) { this.bucketDate = bucketDate; }
+    public Long getUnitId() { return unitId; }
+    public void setUnitId(Long unitId) { this.unitId = unitId; }
+    public long getHires() { return hires; }
+    public void setHires(long hires) { this.hires = hires; }
+    public long getDepartures() { return departures; }
+    public void setDepartures(long departures) { this.departures = departures; }
+    public long getTransfersIn() { return transfersIn; }
+    public void setTransfersIn(long transfersIn) { this.transfersIn = transfersIn; }
+    public long getTransfersOut() { return transfersOut; }
+    public void setTransfersOut(long transfersOut) { this.transfersOut = transfersOut; }
+    public long getAdjustments() { return adjustments; }
+    public void setAdjustments(long adjustments) { this.adjustments = adjustments; }
+}
@@ -0,0 +1,59 @@
+package com.example.employeemanagement.model;
+
+import javax.persistence.*;
+
+/**
+ * One ancestor/descendant pair of the organization tree, including each unit paired with itself (depth 0).
+ * A direction owns its service units (depth 1) and their divisions (depth 2), so every subtree is the set of
+ * rows of one ancestor. Derived from the unit tables and kept in sync by {@code OrganizationClosureService}.
+ */
+@Entity
+@Table(name = "org_unit_closure", uniqueConstraints = {
+    // Also the index of subtree queries: one ancestor, then the descendants of a type
+    @UniqueConstraint(name = "uk_org_unit_closure",
+        columnNames = {"ancestor_type", "ancestor_id", "descendant_type", "descendant_id"})
+}, indexes = {
+    @Index(name = "idx_org_unit_closure_descendant", columnList = "descendant_type, descendant_id")
+})
+public class OrgUnitClosure {
+
+    public enum UnitType { DIRECTION, SERVICE_UNIT, DIVISION }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ancestor_type", nullable = false, length = 20)
+    private UnitType ancestorType;
+
+    @Column(name = "ancestor_id", nullable = false)
+    private Long ancestorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "descendant_type", nullable = false, length = 20)
+    private UnitType descendantType;
+
+    @Column(name = "descendant_id", nullable = false)
+    private Long descendantId;
+
+    @Column(nullable = false)
+    private int depth;
+
+    public OrgUnitClosure() {}
+
+    public OrgUnitClosure(UnitType ancestorType, Long ancestorId, UnitType descendantType, Long descendantId, int depth) {
+        this.ancestorType = ancestorType;
+        this.ancestorId = ancestorId;
+        this.descendantType = descendantType;
+        this.descendantId = descendantId;
+        this.depth = depth;
+    }
+
+    public Long getId() { return id; }
+    public UnitType getAncestorType() { return ancestorType; }
+    public Long getAncestorId() { return ancestorId; }
+    public UnitType getDescendantType() { return descendantType; }
+    public Long getDescendantId() { return descendantId; }
+    public int getDepth() { return depth; }
+}
@@ -5,16 +5,21 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import javax.persistence.*;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.example.employeemanagement.event.PerformanceReviewChangeListener;
 import java.time.LocalDate;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "performance_reviews")
+@Table(name = "performance_reviews", indexes = {
+    // Review analytics read one period at a time and join each review to its employee
+    @Index(name = "idx_performance_review_period_employee", columnList = "period, employee_id")
+})
+@EntityListeners(PerformanceReviewChangeListener.class)
 public class PerformanceReview {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = PooledIds.GENERATOR)
     private Long id;
 
     @Column(name = "review_date")
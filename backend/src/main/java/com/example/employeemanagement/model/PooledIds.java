@@ -0,0 +1,35 @@
+package com.example.employeemanagement.model;
+
+import java.util.List;
+
+/**
+ * Table-backed id generation shared by the entities written in bulk, declared in {@code package-info.java}.
+ *
+ * <p>IDENTITY columns make Hibernate insert each row as soon as it is persisted to learn its id, which rules out
+ * JDBC batching. Ids come instead from one row per table in {@link #TABLE}: an allocation moves {@code next_val}
+ * by a block and the ids of the block ({@code [next_val, next_val + size)}, the pooled-lo layout) are then handed
+ * out from memory. JDBC writers reserve their ids the same way (see {@code IdBlockService}).
+ */
+public final class PooledIds {
+
+    /** Generator name used by the entities' {@code @GeneratedValue}. */
+    public static final String GENERATOR = "pooled-table";
+
+    public static final String TABLE = "id_generators";
+
+    /** Holds the entity table name, one row per table. */
+    public static final String SEGMENT_COLUMN = "segment_name";
+
+    /** First id of the next block. */
+    public static final String VALUE_COLUMN = "next_val";
+
+    /** Ids Hibernate reserves per allocation; matches {@code hibernate.jdbc.batch_size}. */
+    public static final int ALLOCATION_SIZE = 50;
+
+    /** Tables whose ids come from the generator. */
+    public static final List<String> SEGMENTS = List.of("employees", "employee_actions", "positions", "skills",
+            "trainings", "contracts", "performance_reviews", "promotions", "documents");
+
+    private PooledIds() {
+    }
+}
@@ -14,7 +14,7 @@ import java.time.LocalDate;
 @Table(name = "promotions")
 public class Promotion {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = PooledIds.GENERATOR)
     private Long id;
 
     @Column(name = "promotion_date")
@@ -1,5 +1,6 @@
 package com.example.employeemanagement.model;
 
+import com.example.employeemanagement.event.OrganizationChangeListener;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import lombok.AllArgsConstructor;
@@ -10,6 +11,7 @@ import javax.persistence.*;
 import java.util.List;
 
 @Entity
+@EntityListeners(OrganizationChangeListener.class)
 @Table(name = "service_units")
 public class ServiceUnit {
     @Id
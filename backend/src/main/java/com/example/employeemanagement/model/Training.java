@@ -14,7 +14,7 @@ import java.time.LocalDate;
 @Table(name = "trainings")
 public class Training {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = PooledIds.GENERATOR)
     private Long id;
 
     private String name;
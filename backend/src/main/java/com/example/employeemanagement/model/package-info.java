@@ -0,0 +1,17 @@
+/**
+ * JPA entities. Entities inserted in bulk take their ids from the pooled table generator declared here, see
+ * {@link com.example.employeemanagement.model.PooledIds}.
+ */
+@GenericGenerator(name = PooledIds.GENERATOR, strategy = "org.hibernate.id.enhanced.TableGenerator", parameters = {
+    @Parameter(name = "table_name", value = PooledIds.TABLE),
+    @Parameter(name = "segment_column_name", value = PooledIds.SEGMENT_COLUMN),
+    @Parameter(name = "value_column_name", value = PooledIds.VALUE_COLUMN),
+    // Segment = the entity's table name, so each table has its own counter
+    @Parameter(name = "prefer_entity_table_as_segment_value", value = "true"),
+    @Parameter(name = "increment_size", value = "" + PooledIds.ALLOCATION_SIZE),
+    @Parameter(name = "optimizer", value = "pooled-lo")
+})
+package com.example.employeemanagement.model;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
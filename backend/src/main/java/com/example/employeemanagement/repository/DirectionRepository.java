@@ -1,9 +1,27 @@
 package com.example.employeemanagement.repository;
 
+import com.example.employeemanagement.dto.OrganizationUnitRowDTO;
 import com.example.employeemanagement.model.Direction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface DirectionRepository extends JpaRepository<Direction, Long> {
+
+    /**
+     * Ids of the whole organization tree, one row per (direction, service, division) path. Services without
+     * divisions and directions without services appear with NULL children.
+     *
+     * @return Rows of [directionId, serviceUnitId, divisionId]
+     */
+    @Query("SELECT dir.id, s.id, d.id FROM Direction dir LEFT JOIN dir.serviceUnits s LEFT JOIN s.divisions d")
+    List<Object[]> findUnitTree();
+
+    /** Every direction as a flat row, without its service units, ordered by id. */
+    @Query("SELECT new com.example.employeemanagement.dto.OrganizationUnitRowDTO(d.id, d.name, d.description, "
+            + "d.address, d.managerName, d.missions, d.objectives) FROM Direction d ORDER BY d.id")
+    List<OrganizationUnitRowDTO> findAllRows();
 }
@@ -1,9 +1,32 @@
 package com.example.employeemanagement.repository;
 
+import com.example.employeemanagement.dto.DivisionHeadcountDTO;
+import com.example.employeemanagement.dto.OrganizationUnitRowDTO;
 import com.example.employeemanagement.model.Division;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface DivisionRepository extends JpaRepository<Division, Long> {
+
+    /**
+     * Headcount of every division, empty ones included, in one grouped query over the employee division index.
+     *
+     * @return One row per division, ordered by id
+     */
+    @Query("SELECT new com.example.employeemanagement.dto.DivisionHeadcountDTO(d.id, d.name, COUNT(e.id)) "
+            + "FROM Division d LEFT JOIN Employee e ON e.division = d GROUP BY d.id, d.name ORDER BY d.id")
+    List<DivisionHeadcountDTO> findHeadcounts();
+
+    /** Id and name of every division, ordered by id. */
+    @Query("SELECT d.id, d.name FROM Division d ORDER BY d.id")
+    List<Object[]> findIdsAndNames();
+
+    /** Every division as a flat row carrying its service unit id, ordered by id. */
+    @Query("SELECT new com.example.employeemanagement.dto.OrganizationUnitRowDTO(d.id, d.serviceUnit.id, d.name, "
+            + "d.description, d.address, d.managerName, d.missions, d.objectives) FROM Division d ORDER BY d.id")
+    List<OrganizationUnitRowDTO> findAllRows();
 }
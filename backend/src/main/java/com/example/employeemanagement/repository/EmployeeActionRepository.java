@@ -1,7 +1,10 @@
 package com.example.employeemanagement.repository;
 
 import com.example.employeemanagement.model.EmployeeAction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +12,18 @@ import java.util.List;
 @Repository
 public interface EmployeeActionRepository extends JpaRepository<EmployeeAction, Long> {
     List<EmployeeAction> findByEmployeeIdOrderByCreatedAtDesc(Long employeeId);
+
+    /**
+     * Next chunk of actions not yet folded into the headcount buckets, with the employee's current placement.
+     *
+     * @return Rows of [actionId, actionType, createdAt, directionId, serviceUnitId, divisionId]
+     */
+    @Query("SELECT a.id, a.actionType, a.createdAt, e.direction.id, e.serviceUnit.id, e.division.id "
+            + "FROM EmployeeAction a JOIN a.employee e "
+            + "WHERE a.id > :afterId AND (a.inSeries IS NULL OR a.inSeries = false) ORDER BY a.id")
+    List<Object[]> findUnfoldedAfter(Long afterId, Pageable chunk);
+
+    @Modifying
+    @Query("UPDATE EmployeeAction a SET a.inSeries = true WHERE a.id IN :ids")
+    int markFolded(List<Long> ids);
 }
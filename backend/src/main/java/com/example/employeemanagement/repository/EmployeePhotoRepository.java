@@ -0,0 +1,22 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.model.EmployeePhoto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EmployeePhotoRepository extends JpaRepository<EmployeePhoto, Long> {
+
+    /** Current content hash of an employee's photo, read without loading the image bytes. */
+    @Query("SELECT p.contentHash FROM EmployeePhoto p WHERE p.employeeId = :employeeId")
+    Optional<String> findContentHashByEmployeeId(Long employeeId);
+
+    /** Employees whose current photo lacks at least one of the given number of thumbnails. */
+    @Query("SELECT p.employeeId FROM EmployeePhoto p WHERE (SELECT COUNT(t) FROM EmployeePhotoThumbnail t "
+            + "WHERE t.employeeId = p.employeeId AND t.sourceHash = p.contentHash) < :sizes ORDER BY p.employeeId")
+    List<Long> findEmployeeIdsMissingThumbnails(long sizes);
+}
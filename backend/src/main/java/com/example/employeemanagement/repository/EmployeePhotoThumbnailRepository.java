@@ -0,0 +1,21 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.model.EmployeePhotoThumbnail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface EmployeePhotoThumbnailRepository extends JpaRepository<EmployeePhotoThumbnail, Long> {
+
+    Optional<EmployeePhotoThumbnail> findByEmployeeIdAndSizePx(Long employeeId, int sizePx);
+
+    Optional<EmployeePhotoThumbnail> findByEmployeeIdAndSizePxAndSourceHash(Long employeeId, int sizePx, String sourceHash);
+
+    @Modifying
+    @Query("DELETE FROM EmployeePhotoThumbnail t WHERE t.employeeId = :employeeId")
+    void deleteByEmployeeId(Long employeeId);
+}
@@ -1,38 +1,207 @@
 package com.example.employeemanagement.repository;
 
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import com.example.employeemanagement.dto.EmployeeStatsRowDTO;
+import com.example.employeemanagement.dto.EmployeeTotalsDTO;
+import com.example.employeemanagement.model.Direction;
+import com.example.employeemanagement.model.Division;
 import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.OrgUnitClosure;
+import com.example.employeemanagement.model.Position;
+import com.example.employeemanagement.model.ServiceUnit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-
-import org.springframework.data.jpa.repository.Modifying;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
 
 /** This interface represents a repository for employees. */
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>,
+    EmployeeRepositoryCustom {
 
-  @Modifying
-  @Query("UPDATE Employee e SET e.profilePhoto = :photo, e.photoType = :photoType WHERE e.id = :id")
-  void updatePhotoByEmployeeId(Long id, byte[] photo, String photoType);
+  /** Constructor expression shared by the list-view projections (see {@link EmployeeSummaryDTO}). */
+  String SUMMARY_SELECT = "SELECT new com.example.employeemanagement.dto.EmployeeSummaryDTO("
+      + "e.id, e.firstName, e.lastName, e.email, e.gender, e.age, e.dateOfBirth, e.matricule, e.jobTitle, jt.title, "
+      + "e.hireDate, e.administrativeStatus, e.statusCategory, d.id, d.name, s.id, s.name, dir.id, dir.name) "
+      + "FROM Employee e LEFT JOIN e.division d LEFT JOIN e.serviceUnit s "
+      + "LEFT JOIN e.direction dir LEFT JOIN e.jobTemplate jt ";
 
   /**
    * Find all employees with their divisions.
    *
    * @return List of all employees with their divisions
    */
-  @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.division")
+  @EntityGraph(Employee.GRAPH_LIST)
+  @Query("SELECT e FROM Employee e")
   List<Employee> findAllWithDivisions();
 
+  /**
+   * Load an employee with everything {@code EmployeeMapper.toDTO} reads. The two review/promotion bags are
+   * fetched by one extra query each rather than joined together, which would multiply rows.
+   * Must run inside a transaction so the three queries share one persistence context.
+   *
+   * @param id ID of the employee
+   * @return Fully initialized employee, if found
+   */
+  default Optional<Employee> findDetailById(Long id) {
+    Optional<Employee> employee = findWithDetailGraphById(id);
+    employee.ifPresent(e -> {
+      fetchPerformanceReviewsById(id);
+      fetchPromotionsById(id);
+    });
+    return employee;
+  }
+
+  @EntityGraph(Employee.GRAPH_DETAIL)
+  @Query("SELECT e FROM Employee e WHERE e.id = :id")
+  Optional<Employee> findWithDetailGraphById(Long id);
+
+  @EntityGraph(attributePaths = "performanceReviews")
+  @Query("SELECT e FROM Employee e WHERE e.id = :id")
+  Optional<Employee> fetchPerformanceReviewsById(Long id);
+
+  @EntityGraph(attributePaths = "promotions")
+  @Query("SELECT e FROM Employee e WHERE e.id = :id")
+  Optional<Employee> fetchPromotionsById(Long id);
+
+  @Query("SELECT e.position FROM Employee e WHERE e.id = :id")
+  Optional<Position> findPositionByEmployeeId(Long id);
+
+  /**
+   * Stream the list-view rows of all employees ordered by id, reading them from the driver in batches
+   * instead of buffering the whole result. Must be consumed inside a transaction and closed.
+   *
+   * @return Stream of employee summaries
+   */
+  @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+  @Query(SUMMARY_SELECT + "ORDER BY e.id")
+  Stream<EmployeeSummaryDTO> streamAllSummaries();
+
+  @EntityGraph(Employee.GRAPH_LIST)
   List<Employee> findByDivision_Id(Long divisionId);
 
+  /**
+   * List-view rows for all employees, without loading any entity.
+   *
+   * @return Employee summaries ordered by id
+   */
+  @Query(SUMMARY_SELECT + "ORDER BY e.id")
+  List<EmployeeSummaryDTO> findAllSummaries();
+
+  @Query(SUMMARY_SELECT + "WHERE d.id = :divisionId ORDER BY e.lastName, e.firstName")
+  List<EmployeeSummaryDTO> findSummariesByDivisionId(Long divisionId);
+
+  @Query(SUMMARY_SELECT + "WHERE e.id = :id")
+  Optional<EmployeeSummaryDTO> findSummaryById(Long id);
+
+  /**
+   * Seek predicate of the subtree listing: rows strictly after {@code (:lastName, :firstName, :afterId)} in
+   * name order. Spelled out rather than as a row comparison so that MySQL turns it into an index range.
+   */
+  String AFTER_NAME = "AND (e.last_name > :lastName OR (e.last_name = :lastName "
+      + "AND (e.first_name > :firstName OR (e.first_name = :firstName AND e.id > :afterId)))) "
+      + "ORDER BY e.last_name, e.first_name, e.id LIMIT :limit";
+
+  /**
+   * Employees whose most specific unit (division, else service unit, else direction) is in the subtree of the
+   * given unit according to {@link OrgUnitClosure}: one branch per level, each joining the closure rows of the
+   * ancestor to an employee index led by the unit column and followed by the name, concatenated with UNION ALL
+   * since an employee matches one branch only. Each branch seeks past the cursor and stops at the page size on
+   * its own, so a page reads the rows after the cursor instead of sorting the whole subtree.
+   * Binds {@code :type} (the ancestor's type name), {@code :id}, the cursor and {@code :limit}.
+   */
+  String IN_SUBTREE_AFTER = "(SELECT e.id, e.last_name, e.first_name FROM org_unit_closure c "
+      + "JOIN employees e ON e.division_id = c.descendant_id "
+      + "WHERE c.ancestor_type = :type AND c.ancestor_id = :id AND c.descendant_type = 'DIVISION' "
+      + AFTER_NAME + ") "
+      + "UNION ALL (SELECT e.id, e.last_name, e.first_name FROM org_unit_closure c "
+      + "JOIN employees e ON e.service_unit_id = c.descendant_id "
+      + "WHERE c.ancestor_type = :type AND c.ancestor_id = :id AND c.descendant_type = 'SERVICE_UNIT' "
+      + "AND e.division_id IS NULL " + AFTER_NAME + ") "
+      + "UNION ALL (SELECT e.id, e.last_name, e.first_name FROM org_unit_closure c "
+      + "JOIN employees e ON e.direction_id = c.descendant_id "
+      + "WHERE c.ancestor_type = :type AND c.ancestor_id = :id AND c.descendant_type = 'DIRECTION' "
+      + "AND e.division_id IS NULL AND e.service_unit_id IS NULL " + AFTER_NAME + ")";
+
+  /**
+   * List-view rows of the employees under a unit that come after the given name and id, ordered by last name,
+   * first name then id: the ids are read from the closure, then their rows are projected by id. Names are
+   * required, so the empty strings and id 0 start from the first row.
+   *
+   * @param type Unit type
+   * @param id Unit id
+   * @param lastName Last name of the previous row
+   * @param firstName First name of the previous row
+   * @param afterId Id of the previous row
+   * @param limit Maximum number of rows
+   * @return Employee summaries in name order
+   */
+  default List<EmployeeSummaryDTO> findSummariesInSubtreeAfter(OrgUnitClosure.UnitType type, Long id,
+      String lastName, String firstName, Long afterId, int limit) {
+    List<Long> ids = findIdsInSubtreeAfter(type.name(), id, lastName, firstName, afterId, limit);
+    Map<Long, EmployeeSummaryDTO> rows = new HashMap<>();
+    if (!ids.isEmpty()) {
+      findSummariesByIdIn(ids).forEach(row -> rows.put(row.getId(), row));
+    }
+    return ids.stream().map(rows::get).filter(Objects::nonNull).collect(Collectors.toList());
+  }
+
+  @Query(value = "SELECT u.id FROM (" + IN_SUBTREE_AFTER + ") u ORDER BY u.last_name, u.first_name, u.id "
+      + "LIMIT :limit", nativeQuery = true)
+  List<Long> findIdsInSubtreeAfter(String type, Long id, String lastName, String firstName, Long afterId, int limit);
+
+  /** Rows of the given employees, in no particular order; callers keep the IN list to a few hundred ids. */
+  @Query(SUMMARY_SELECT + "WHERE e.id IN :ids")
+  List<EmployeeSummaryDTO> findSummariesByIdIn(Collection<Long> ids);
+
+  /** Constructor expression of the rows feeding the dashboard aggregates (see {@link EmployeeStatsRowDTO}). */
+  String STATS_ROW_SELECT = "SELECT new com.example.employeemanagement.dto.EmployeeStatsRowDTO("
+      + "e.id, e.division.id, e.serviceUnit.id, e.direction.id, e.gender, e.age, e.createdAt, e.updatedAt) "
+      + "FROM Employee e ";
+
+  @Query(STATS_ROW_SELECT + "WHERE e.id = :id")
+  Optional<EmployeeStatsRowDTO> findStatsRowById(Long id);
+
+  @Query(STATS_ROW_SELECT + "WHERE e.id IN :ids")
+  List<EmployeeStatsRowDTO> findStatsRowsByIdIn(Collection<Long> ids);
+
+  /**
+   * Stream the aggregate rows of every employee, for rebuilding the dashboard counters. Must be consumed inside
+   * a transaction and closed.
+   *
+   * @return Stream of employee stats rows
+   */
+  @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+  @Query(STATS_ROW_SELECT + "ORDER BY e.id")
+  Stream<EmployeeStatsRowDTO> streamAllStatsRows();
+
   @Query("SELECT MAX(e.updatedAt) FROM Employee e")
   Instant findMaxUpdatedAt();
 
+  @Query("SELECT e.updatedAt FROM Employee e WHERE e.id = :id")
+  Optional<Instant> findUpdatedAtById(Long id);
+
   Optional<Employee> findByEmail(String email);
   Optional<Employee> findByMatricule(String matricule);
+
+  /** Uniqueness probes: answered from the unique indexes, without loading the employee. */
+  boolean existsByEmail(String email);
+  boolean existsByMatricule(String matricule);
+  boolean existsByEmailAndIdNot(String email, Long id);
+  boolean existsByMatriculeAndIdNot(String matricule, Long id);
   List<Employee> findAllByMatricule(String matricule);
   
   @Query("SELECT e.matricule FROM Employee e GROUP BY e.matricule HAVING COUNT(e) > 1")
@@ -40,16 +209,60 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
   Optional<Employee> findByPosition_Id(Long positionId);
 
+  /**
+   * Employee counts per organization placement, in one pass over the employees table.
+   *
+   * @return Rows of [directionId, serviceUnitId, divisionId, count], any id may be NULL
+   */
+  @Query("SELECT e.direction.id, e.serviceUnit.id, e.division.id, COUNT(e) FROM Employee e "
+      + "GROUP BY e.direction.id, e.serviceUnit.id, e.division.id")
+  List<Object[]> countByOrganizationUnit();
+
+  /** Lower-cased emails of every employee: the key set the bulk import checks uniqueness against. */
+  @Query("SELECT LOWER(e.email) FROM Employee e WHERE e.email IS NOT NULL")
+  List<String> findAllEmailKeys();
+
+  /** Lower-cased matricules of every employee, see {@link #findAllEmailKeys()}. */
+  @Query("SELECT LOWER(e.matricule) FROM Employee e WHERE e.matricule IS NOT NULL")
+  List<String> findAllMatriculeKeys();
+
+  @Query("SELECT e.id FROM Employee e WHERE e.division.id = :divisionId ORDER BY e.id")
+  List<Long> findIdsByDivisionId(Long divisionId);
+
+  @Query("SELECT e.id FROM Employee e WHERE e.jobTemplate.id = :jobTemplateId ORDER BY e.id")
+  List<Long> findIdsByJobTemplateId(Long jobTemplateId);
+
+  /**
+   * Current placement of the given employees, without loading them.
+   *
+   * @return Rows of [id, directionId, serviceUnitId, divisionId] for the ids that exist
+   */
+  @Query("SELECT e.id, e.direction.id, e.serviceUnit.id, e.division.id FROM Employee e WHERE e.id IN :ids")
+  List<Object[]> findPlacementsByIdIn(Collection<Long> ids);
+
+  /**
+   * Moves the given employees in one statement. Bypasses the entity lifecycle, so {@code updatedAt} is set here.
+   *
+   * @return Number of rows updated
+   */
+  @Modifying
+  @Query("UPDATE Employee e SET e.division = :division, e.serviceUnit = :serviceUnit, e.direction = :direction, "
+      + "e.updatedAt = :updatedAt WHERE e.id IN :ids")
+  int updatePlacement(Collection<Long> ids, Division division, ServiceUnit serviceUnit, Direction direction, Instant updatedAt);
+
   long countByDirection_Id(Long directionId);
   long countByServiceUnit_Id(Long serviceUnitId);
   long countByDivision_Id(Long divisionId);
   long countByJobTemplate_Id(Long jobTemplateId);
 
-  @Query("SELECT AVG(e.age) FROM Employee e")
-  Double findAverageAge();
-
-  @Query("SELECT e.gender, COUNT(e) FROM Employee e GROUP BY e.gender")
-  List<Object[]> countByGender();
+  /**
+   * Total, average age and gender split in a single pass. Gender codes are free text: M, H and HOMME count as
+   * male, F and FEMME as female, anything else (including NULL) as other.
+   */
+  @Query("SELECT new com.example.employeemanagement.dto.EmployeeTotalsDTO(COUNT(e), AVG(e.age), "
+      + "SUM(CASE WHEN UPPER(e.gender) IN ('M', 'H', 'HOMME') THEN 1 ELSE 0 END), "
+      + "SUM(CASE WHEN UPPER(e.gender) IN ('F', 'FEMME') THEN 1 ELSE 0 END)) FROM Employee e")
+  EmployeeTotalsDTO findTotals();
 
   @Query(value = "SELECT YEAR(created_at) AS yr, MONTH(created_at) AS mo, COUNT(*) AS cnt FROM employees GROUP BY YEAR(created_at), MONTH(created_at) ORDER BY YEAR(created_at), MONTH(created_at)", nativeQuery = true)
   List<Object[]> countByCreatedMonth();
@@ -0,0 +1,45 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import com.example.employeemanagement.model.Employee;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/** Hand-written queries for employees that cannot be expressed as derived or JPQL repository methods. */
+public interface EmployeeRepositoryCustom {
+
+  /**
+   * Page of list-view rows matching a specification.
+   *
+   * @param spec Filter on Employee (see {@link EmployeeSpecifications})
+   * @param pageable Page request, sortable on Employee attributes
+   * @return Page of employee summaries; the COUNT query is skipped when the first page is not full
+   */
+  Page<EmployeeSummaryDTO> findSummaries(Specification<Employee> spec, Pageable pageable);
+
+  /**
+   * Page of list-view rows matching a specification, without the companion COUNT query.
+   *
+   * @param spec Filter on Employee (see {@link EmployeeSpecifications})
+   * @param pageable Page request, sortable on Employee attributes
+   * @return Slice whose {@code hasNext} is computed by over-fetching one row
+   */
+  Slice<EmployeeSummaryDTO> findSummarySlice(Specification<Employee> spec, Pageable pageable);
+
+  /**
+   * Keyset page of employee list-view rows ordered by {@code sortField} then id, starting strictly after the given position.
+   *
+   * @param spec Filter on Employee (see {@link EmployeeSpecifications})
+   * @param sortField Sort attribute (one of {@code KeysetCursor.SORT_FIELDS})
+   * @param direction Sort direction, also applied to the id tie-breaker
+   * @param lastValue Sort key of the last row already returned, may be null
+   * @param lastId Id of the last row already returned, or null for the first page
+   * @param size Maximum number of rows to return
+   * @return Slice whose {@code hasNext} is computed by over-fetching one row, without a count query
+   */
+  Slice<EmployeeSummaryDTO> findSliceAfter(Specification<Employee> spec, String sortField, Sort.Direction direction,
+                                           Comparable<?> lastValue, Long lastId, int size);
+}
@@ -0,0 +1,156 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import com.example.employeemanagement.model.Direction;
+import com.example.employeemanagement.model.Division;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.JobTemplate;
+import com.example.employeemanagement.model.ServiceUnit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Criteria-based implementation of {@link EmployeeRepositoryCustom}, picked up by Spring Data through its name. */
+public class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  public Page<EmployeeSummaryDTO> findSummaries(Specification<Employee> spec, Pageable pageable) {
+    List<EmployeeSummaryDTO> rows = summaryQuery(spec, pageable)
+        .setFirstResult((int) pageable.getOffset())
+        .setMaxResults(pageable.getPageSize())
+        .getResultList();
+    return PageableExecutionUtils.getPage(rows, pageable, () -> count(spec));
+  }
+
+  @Override
+  public Slice<EmployeeSummaryDTO> findSummarySlice(Specification<Employee> spec, Pageable pageable) {
+    List<EmployeeSummaryDTO> rows = summaryQuery(spec, pageable)
+        .setFirstResult((int) pageable.getOffset())
+        .setMaxResults(pageable.getPageSize() + 1)
+        .getResultList();
+    return toSlice(rows, pageable);
+  }
+
+  @Override
+  public Slice<EmployeeSummaryDTO> findSliceAfter(Specification<Employee> spec, String sortField, Sort.Direction direction,
+                                                  Comparable<?> lastValue, Long lastId, int size) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<EmployeeSummaryDTO> query = cb.createQuery(EmployeeSummaryDTO.class);
+    Root<Employee> root = selectSummary(cb, query);
+    Path<Long> id = root.get("id");
+    boolean ascending = direction.isAscending();
+    boolean byId = "id".equals(sortField);
+
+    List<Predicate> predicates = new ArrayList<>();
+    addSpec(predicates, spec, root, query, cb);
+    if (lastId != null) {
+      predicates.add(byId ? after(cb, id, lastId, ascending) : seek(cb, root.get(sortField), id, lastValue, lastId, ascending));
+    }
+    query.where(predicates.toArray(new Predicate[0]));
+    if (byId) {
+      query.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+    } else {
+      Path<?> key = root.get(sortField);
+      query.orderBy(ascending ? cb.asc(key) : cb.desc(key), ascending ? cb.asc(id) : cb.desc(id));
+    }
+
+    List<EmployeeSummaryDTO> rows = entityManager.createQuery(query).setMaxResults(size + 1).getResultList();
+    return toSlice(rows, PageRequest.of(0, size, Sort.by(direction, sortField)));
+  }
+
+  private TypedQuery<EmployeeSummaryDTO> summaryQuery(Specification<Employee> spec, Pageable pageable) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<EmployeeSummaryDTO> query = cb.createQuery(EmployeeSummaryDTO.class);
+    Root<Employee> root = selectSummary(cb, query);
+    List<Predicate> predicates = new ArrayList<>();
+    addSpec(predicates, spec, root, query, cb);
+    query.where(predicates.toArray(new Predicate[0]));
+    if (pageable.getSort().isSorted()) {
+      query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+    }
+    return entityManager.createQuery(query);
+  }
+
+  private long count(Specification<Employee> spec) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Long> query = cb.createQuery(Long.class);
+    Root<Employee> root = query.from(Employee.class);
+    List<Predicate> predicates = new ArrayList<>();
+    addSpec(predicates, spec, root, query, cb);
+    query.select(cb.count(root)).where(predicates.toArray(new Predicate[0]));
+    return entityManager.createQuery(query).getSingleResult();
+  }
+
+  /** Same select list as EmployeeRepository.SUMMARY_SELECT. */
+  private Root<Employee> selectSummary(CriteriaBuilder cb, CriteriaQuery<EmployeeSummaryDTO> query) {
+    Root<Employee> root = query.from(Employee.class);
+    Join<Employee, Division> division = root.join("division", JoinType.LEFT);
+    Join<Employee, ServiceUnit> serviceUnit = root.join("serviceUnit", JoinType.LEFT);
+    Join<Employee, Direction> orgDirection = root.join("direction", JoinType.LEFT);
+    Join<Employee, JobTemplate> jobTemplate = root.join("jobTemplate", JoinType.LEFT);
+    query.select(cb.construct(EmployeeSummaryDTO.class,
+        root.get("id"), root.get("firstName"), root.get("lastName"), root.get("email"), root.get("gender"),
+        root.get("age"), root.get("dateOfBirth"), root.get("matricule"), root.get("jobTitle"), jobTemplate.get("title"),
+        root.get("hireDate"), root.get("administrativeStatus"), root.get("statusCategory"),
+        division.get("id"), division.get("name"), serviceUnit.get("id"), serviceUnit.get("name"),
+        orgDirection.get("id"), orgDirection.get("name")));
+    return root;
+  }
+
+  private static void addSpec(List<Predicate> predicates, Specification<Employee> spec, Root<Employee> root,
+                              CriteriaQuery<?> query, CriteriaBuilder cb) {
+    Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+    if (predicate != null) {
+      predicates.add(predicate);
+    }
+  }
+
+  private static Slice<EmployeeSummaryDTO> toSlice(List<EmployeeSummaryDTO> rows, Pageable pageable) {
+    boolean hasNext = rows.size() > pageable.getPageSize();
+    if (hasNext) {
+      rows = rows.subList(0, pageable.getPageSize());
+    }
+    return new SliceImpl<>(rows, pageable, hasNext);
+  }
+
+  /**
+   * Row-value comparison {@code (key, id) > (lastValue, lastId)} spelled out so the (key, id) index can be
+   * range-scanned. NULL keys sort first ascending and last descending on both MySQL and H2.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private Predicate seek(CriteriaBuilder cb, Path key, Path<Long> id, Comparable lastValue, Long lastId, boolean ascending) {
+    Predicate idAfter = after(cb, id, lastId, ascending);
+    if (lastValue == null) {
+      Predicate restOfNullBlock = cb.and(cb.isNull(key), idAfter);
+      return ascending ? cb.or(restOfNullBlock, cb.isNotNull(key)) : restOfNullBlock;
+    }
+    Predicate keyAfter = ascending ? cb.greaterThan(key, lastValue) : cb.lessThan(key, lastValue);
+    Predicate sameKey = cb.and(cb.equal(key, lastValue), idAfter);
+    return ascending ? cb.or(keyAfter, sameKey) : cb.or(keyAfter, sameKey, cb.isNull(key));
+  }
+
+  private Predicate after(CriteriaBuilder cb, Path<Long> id, Long lastId, boolean ascending) {
+    return ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+  }
+}
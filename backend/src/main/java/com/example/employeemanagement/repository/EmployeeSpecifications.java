@@ -0,0 +1,79 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.dto.EmployeeFilterDTO;
+import com.example.employeemanagement.model.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles {@link EmployeeFilterDTO} facets to a {@link Specification}. Org units are compared on the foreign
+ * key columns ({@code division.id} does not join), so each predicate maps onto the composite indexes declared on
+ * {@link Employee}.
+ */
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {}
+
+    public static Specification<Employee> matching(EmployeeFilterDTO filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getDirectionId() != null) {
+                predicates.add(cb.equal(root.get("direction").get("id"), filter.getDirectionId()));
+            }
+            if (filter.getServiceUnitId() != null) {
+                predicates.add(cb.equal(root.get("serviceUnit").get("id"), filter.getServiceUnitId()));
+            }
+            if (filter.getDivisionId() != null) {
+                predicates.add(cb.equal(root.get("division").get("id"), filter.getDivisionId()));
+            }
+            addEqual(predicates, cb, root.get("gender"), filter.getGender());
+            addEqual(predicates, cb, root.get("statusCategory"), filter.getStatusCategory());
+            addEqual(predicates, cb, root.get("administrativeStatus"), filter.getAdministrativeStatus());
+            addEqual(predicates, cb, root.get("highestDiploma"), filter.getHighestDiploma());
+            Path<LocalDate> hireDate = root.get("hireDate");
+            if (filter.getHiredFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(hireDate, filter.getHiredFrom()));
+            }
+            if (filter.getHiredTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(hireDate, filter.getHiredTo()));
+            }
+            if (filter.getMinAge() != null || filter.getMaxAge() != null) {
+                predicates.add(ageBetween(root, cb, filter.getMinAge(), filter.getMaxAge(), LocalDate.now()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static void addEqual(List<Predicate> predicates, CriteriaBuilder cb, Path<String> path, String value) {
+        if (value != null && !value.isBlank()) {
+            predicates.add(cb.equal(path, value));
+        }
+    }
+
+    /**
+     * Same rule as the displayed age (see EmployeeSummaryDTO): the date of birth when known, the stored age
+     * otherwise. The age bounds become a date-of-birth range so that branch can use an index.
+     */
+    private static Predicate ageBetween(Root<Employee> root, CriteriaBuilder cb, Integer minAge, Integer maxAge, LocalDate today) {
+        Path<LocalDate> dateOfBirth = root.get("dateOfBirth");
+        Path<Integer> storedAge = root.get("age");
+        List<Predicate> byBirth = new ArrayList<>(List.of(cb.isNotNull(dateOfBirth)));
+        List<Predicate> byStoredAge = new ArrayList<>(List.of(cb.isNull(dateOfBirth)));
+        if (minAge != null) {
+            byBirth.add(cb.lessThanOrEqualTo(dateOfBirth, today.minusYears(minAge)));
+            byStoredAge.add(cb.greaterThanOrEqualTo(storedAge, minAge));
+        }
+        if (maxAge != null) {
+            byBirth.add(cb.greaterThan(dateOfBirth, today.minusYears(maxAge + 1L)));
+            byStoredAge.add(cb.lessThanOrEqualTo(storedAge, maxAge));
+        }
+        return cb.or(cb.and(byBirth.toArray(new Predicate[0])), cb.and(byStoredAge.toArray(new Predicate[0])));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.model.HeadcountBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface HeadcountBucketRepository extends JpaRepository<HeadcountBucket, Long> {
+
+    String NET = "SUM(b.hires - b.departures + b.transfersIn - b.transfersOut + b.adjustments)";
+
+    /**
+     * Headcount of each unit of a type just before {@code from}, i.e. the sum of all earlier movements.
+     *
+     * @return Rows of [unitId, headcount]
+     */
+    @Query("SELECT b.unitId, " + NET + " FROM HeadcountBucket b "
+            + "WHERE b.unitType = :unitType AND b.bucketDate < :from GROUP BY b.unitId")
+    List<Object[]> sumNetBefore(HeadcountBucket.UnitType unitType, LocalDate from);
+
+    /** Same as {@link #sumNetBefore(HeadcountBucket.UnitType, LocalDate)} for a single unit. */
+    @Query("SELECT b.unitId, " + NET + " FROM HeadcountBucket b "
+            + "WHERE b.unitType = :unitType AND b.unitId = :unitId AND b.bucketDate < :from GROUP BY b.unitId")
+    List<Object[]> sumNetBefore(HeadcountBucket.UnitType unitType, Long unitId, LocalDate from);
+
+    /**
+     * Daily buckets of every unit of a type over a date range, both ends included.
+     *
+     * @return Buckets ordered by unit then day
+     */
+    @Query("SELECT b FROM HeadcountBucket b WHERE b.unitType = :unitType AND b.bucketDate BETWEEN :from AND :to "
+            + "ORDER BY b.unitId, b.bucketDate")
+    List<HeadcountBucket> findRange(HeadcountBucket.UnitType unitType, LocalDate from, LocalDate to);
+
+    /** Same as {@link #findRange(HeadcountBucket.UnitType, LocalDate, LocalDate)} for a single unit. */
+    @Query("SELECT b FROM HeadcountBucket b WHERE b.unitType = :unitType AND b.unitId = :unitId "
+            + "AND b.bucketDate BETWEEN :from AND :to ORDER BY b.bucketDate")
+    List<HeadcountBucket> findRange(HeadcountBucket.UnitType unitType, Long unitId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,20 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.model.OrgUnitClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrgUnitClosureRepository extends JpaRepository<OrgUnitClosure, Long> {
+
+    /** Every row below or at the unit, i.e. its subtree as currently stored. */
+    List<OrgUnitClosure> findByAncestorTypeAndAncestorId(OrgUnitClosure.UnitType ancestorType, Long ancestorId);
+
+    /** Ancestor rows of the given units of one type. */
+    @Query("SELECT c FROM OrgUnitClosure c WHERE c.descendantType = :descendantType AND c.descendantId IN :descendantIds")
+    List<OrgUnitClosure> findByDescendants(OrgUnitClosure.UnitType descendantType, Collection<Long> descendantIds);
+}
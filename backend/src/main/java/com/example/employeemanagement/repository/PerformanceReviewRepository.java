@@ -0,0 +1,89 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.dto.ReviewPeriodDTO;
+import com.example.employeemanagement.model.PerformanceReview;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PerformanceReviewRepository extends JpaRepository<PerformanceReview, Long> {
+
+    /** Reviews of one period with their employee, read through the (period, employee_id) index. */
+    String REVIEWS_OF_PERIOD = " FROM performance_reviews pr JOIN employees e ON e.id = pr.employee_id WHERE pr.period = :period";
+
+    /**
+     * Every period with its review count and average final score, most recently reviewed first.
+     *
+     * @return One row per non-null period
+     */
+    @Query("SELECT new com.example.employeemanagement.dto.ReviewPeriodDTO(pr.period, COUNT(pr), AVG(pr.finalScore), MAX(pr.reviewDate)) "
+            + "FROM PerformanceReview pr WHERE pr.period IS NOT NULL GROUP BY pr.period ORDER BY MAX(pr.reviewDate) DESC, pr.period DESC")
+    List<ReviewPeriodDTO> findPeriods();
+
+    /**
+     * Review count and score averages of a period for the whole organization, each direction and each division
+     * (employees are placed in their current unit).
+     *
+     * @param period Review period, e.g. 2024 or S1-2025
+     * @return Rows of [level (ALL, DIRECTION or DIVISION), unit id, unit name, review count, average final,
+     *         objectives, skills, discipline and productivity scores]; the ALL row is always present
+     */
+    @Query(value = "SELECT 'ALL' AS unit_level, NULL AS unit_id, NULL AS unit_name, COUNT(*) AS reviews, "
+            + "AVG(pr.final_score), AVG(pr.objectives_score * 1.0), AVG(pr.skills_score * 1.0), "
+            + "AVG(pr.discipline_score * 1.0), AVG(pr.productivity_score * 1.0)" + REVIEWS_OF_PERIOD
+            + " UNION ALL SELECT 'DIRECTION', e.direction_id, dir.name, COUNT(*), "
+            + "AVG(pr.final_score), AVG(pr.objectives_score * 1.0), AVG(pr.skills_score * 1.0), "
+            + "AVG(pr.discipline_score * 1.0), AVG(pr.productivity_score * 1.0)"
+            + " FROM performance_reviews pr JOIN employees e ON e.id = pr.employee_id"
+            + " LEFT JOIN directions dir ON dir.id = e.direction_id WHERE pr.period = :period"
+            + " GROUP BY e.direction_id, dir.name"
+            + " UNION ALL SELECT 'DIVISION', e.division_id, d.name, COUNT(*), "
+            + "AVG(pr.final_score), AVG(pr.objectives_score * 1.0), AVG(pr.skills_score * 1.0), "
+            + "AVG(pr.discipline_score * 1.0), AVG(pr.productivity_score * 1.0)"
+            + " FROM performance_reviews pr JOIN employees e ON e.id = pr.employee_id"
+            + " LEFT JOIN divisions d ON d.id = e.division_id WHERE pr.period = :period"
+            + " GROUP BY e.division_id, d.name", nativeQuery = true)
+    List<Object[]> findScoreAverages(@Param("period") String period);
+
+    /**
+     * Final scores sitting at the 25th, 50th, 75th and 90th nearest-rank percentile of a period, per level and
+     * unit. Scores are ranked with window functions, so only these few rows leave the database.
+     *
+     * @param period Review period
+     * @return Rows of [level, unit id, final score, rank, scored reviews in the unit]
+     */
+    @Query(value = "SELECT unit_level, unit_id, final_score, rn, cnt FROM ("
+            + "SELECT 'ALL' AS unit_level, NULL AS unit_id, pr.final_score, "
+            + "ROW_NUMBER() OVER (ORDER BY pr.final_score) AS rn, COUNT(*) OVER () AS cnt"
+            + REVIEWS_OF_PERIOD + " AND pr.final_score IS NOT NULL"
+            + " UNION ALL SELECT 'DIRECTION', e.direction_id, pr.final_score, "
+            + "ROW_NUMBER() OVER (PARTITION BY e.direction_id ORDER BY pr.final_score), "
+            + "COUNT(*) OVER (PARTITION BY e.direction_id)"
+            + REVIEWS_OF_PERIOD + " AND pr.final_score IS NOT NULL"
+            + " UNION ALL SELECT 'DIVISION', e.division_id, pr.final_score, "
+            + "ROW_NUMBER() OVER (PARTITION BY e.division_id ORDER BY pr.final_score), "
+            + "COUNT(*) OVER (PARTITION BY e.division_id)"
+            + REVIEWS_OF_PERIOD + " AND pr.final_score IS NOT NULL"
+            + ") ranked WHERE rn = CEIL(0.25 * cnt) OR rn = CEIL(0.5 * cnt) OR rn = CEIL(0.75 * cnt) OR rn = CEIL(0.9 * cnt)",
+            nativeQuery = true)
+    List<Object[]> findFinalScorePercentiles(@Param("period") String period);
+
+    /**
+     * Number of reviews of a period per whole point of final score, per level and unit.
+     *
+     * @param period Review period
+     * @return Rows of [level, unit id, score bucket (floor of the final score), review count]
+     */
+    @Query(value = "SELECT 'ALL' AS unit_level, NULL AS unit_id, FLOOR(pr.final_score) AS bucket, COUNT(*) AS reviews"
+            + REVIEWS_OF_PERIOD + " AND pr.final_score IS NOT NULL GROUP BY FLOOR(pr.final_score)"
+            + " UNION ALL SELECT 'DIRECTION', e.direction_id, FLOOR(pr.final_score), COUNT(*)"
+            + REVIEWS_OF_PERIOD + " AND pr.final_score IS NOT NULL GROUP BY e.direction_id, FLOOR(pr.final_score)"
+            + " UNION ALL SELECT 'DIVISION', e.division_id, FLOOR(pr.final_score), COUNT(*)"
+            + REVIEWS_OF_PERIOD + " AND pr.final_score IS NOT NULL GROUP BY e.division_id, FLOOR(pr.final_score)",
+            nativeQuery = true)
+    List<Object[]> findFinalScoreDistribution(@Param("period") String period);
+}
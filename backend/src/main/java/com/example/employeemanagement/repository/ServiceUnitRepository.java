@@ -1,9 +1,18 @@
 package com.example.employeemanagement.repository;
 
+import com.example.employeemanagement.dto.OrganizationUnitRowDTO;
 import com.example.employeemanagement.model.ServiceUnit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ServiceUnitRepository extends JpaRepository<ServiceUnit, Long> {
+
+    /** Every service unit as a flat row carrying its direction id, without its divisions, ordered by id. */
+    @Query("SELECT new com.example.employeemanagement.dto.OrganizationUnitRowDTO(s.id, s.direction.id, s.name, "
+            + "s.description, s.address, s.managerName, s.missions, s.objectives) FROM ServiceUnit s ORDER BY s.id")
+    List<OrganizationUnitRowDTO> findAllRows();
 }
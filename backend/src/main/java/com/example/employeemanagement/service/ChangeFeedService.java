@@ -0,0 +1,219 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.ChangeEventDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.OrganizationChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed employee and organization changes out to the browsers connected to /api/events.
+ *
+ * <p>Publishing never touches a socket: each subscriber owns a bounded buffer that is drained by a small
+ * writer pool, at most one writer per subscriber at a time. A subscriber whose buffer is full is too slow to
+ * keep up and is disconnected; its EventSource reconnects and the page reloads what it shows. A heartbeat
+ * comment keeps idle connections open through proxies and surfaces dead ones.
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    /** Delay the browser waits before reconnecting after the stream ends. */
+    private static final long RECONNECT_MILLIS = 5000;
+
+    @Value("${app.events.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${app.events.heartbeat-seconds:25}")
+    private long heartbeatSeconds;
+
+    @Value("${app.events.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${app.events.writer-threads:4}")
+    private int writerThreads;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ExecutorService writers;
+    private ScheduledExecutorService heartbeat;
+
+    @PostConstruct
+    void start() {
+        writers = Executors.newFixedThreadPool(writerThreads, daemonThreads("change-feed-writer-"));
+        heartbeat = Executors.newSingleThreadScheduledExecutor(daemonThreads("change-feed-heartbeat-"));
+        heartbeat.scheduleAtFixedRate(() -> broadcast(Frame.HEARTBEAT), heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeat.shutdownNow();
+        subscribers.forEach(Subscriber::close);
+        writers.shutdown();
+    }
+
+    /** Opens a new stream; the first frame only carries the reconnect delay so the browser sees the stream open. */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        subscriber.offer(Frame.CONNECTED);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        String type = "employee." + event.getType().name().toLowerCase(Locale.ROOT);
+        // One frame per write, bulk or not; clients reload rather than patch, so a bulk frame carries no id
+        List<Long> ids = event.getEmployeeIds();
+        publish(new ChangeEventDTO(type, ids.size() == 1 ? ids.get(0) : null, null, Instant.now()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizationChanged(OrganizationChangedEvent event) {
+        publish(new ChangeEventDTO("organization.changed", event.getUnitId(), event.getUnitType().name(), Instant.now()));
+    }
+
+    void publish(ChangeEventDTO change) {
+        broadcast(new Frame(sequence.incrementAndGet(), change));
+    }
+
+    private void broadcast(Frame frame) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Frame> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Frame frame) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(frame)) {
+                logger.info("Dropping slow change feed subscriber ({} events pending)", bufferSize);
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        /** Completion is left to the writer, which may currently be blocked on this subscriber's socket. */
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            buffer.clear();
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    writers.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Frame frame;
+                while (!closed && (frame = buffer.poll()) != null) {
+                    emitter.send(frame.toEvent());
+                }
+                if (closed) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away: the servlet container reports it to onError/onCompletion
+                closed = true;
+                subscribers.remove(this);
+                buffer.clear();
+            } finally {
+                draining.set(false);
+            }
+            // A frame offered after the last poll but before the flag was cleared would otherwise wait for the next one
+            if (!closed && !buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    /** Immutable message; SseEventBuilder is single-use, so one is built per subscriber at send time. */
+    private static final class Frame {
+        static final Frame HEARTBEAT = new Frame(0, null);
+        static final Frame CONNECTED = new Frame(0, null);
+
+        final long id;
+        final ChangeEventDTO change;
+
+        Frame(long id, ChangeEventDTO change) {
+            this.id = id;
+            this.change = change;
+        }
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (this == CONNECTED) {
+                return SseEmitter.event().comment("connected").reconnectTime(RECONNECT_MILLIS);
+            }
+            if (change == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event()
+                    .id(Long.toString(id))
+                    .name(change.getType())
+                    .data(change, MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.DashboardStatsDTO;
+import com.example.employeemanagement.dto.EmployeeStatsRowDTO;
+import com.example.employeemanagement.dto.MonthlyCountDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.OrganizationChangedEvent;
+import com.example.employeemanagement.repository.DivisionRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.util.HrAggregates;
+import com.example.employeemanagement.util.VersionedValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Serves the dashboard figures from {@link HrAggregates} kept in memory, so a dashboard refresh reads counters
+ * instead of scanning the employees table.
+ *
+ * <p>The counters are loaded once the application is ready, patched from committed {@link EmployeeChangedEvent}s
+ * and rebuilt from SQL on a fixed period, which corrects any drift (writes made outside the services, missed
+ * events). Until the first load completes {@link #getDashboardStats()} is empty and callers fall back to SQL.
+ */
+@Service
+public class DashboardAggregateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardAggregateService.class);
+
+    /** Ids per query when reloading the rows of a bulk change. */
+    private static final int RELOAD_BATCH_SIZE = 500;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DivisionRepository divisionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.stats.reconcile-minutes:15}")
+    private long reconcileMinutes;
+
+    private volatile HrAggregates aggregates;
+
+    /** Division id to name, in id order; only reloaded on organization changes. */
+    private volatile Map<Long, String> divisionNames = Map.of();
+
+    /** Figures built from the counters, invalidated on every applied change. */
+    private final VersionedValue<DashboardStatsDTO> stats = new VersionedValue<>();
+
+    private volatile boolean rebuilding;
+
+    /** Employees changed while a rebuild runs, re-read once the rebuilt counters are in place. */
+    private final Queue<Long> changedDuringRebuild = new ConcurrentLinkedQueue<>();
+
+    private ScheduledExecutorService reconciler;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        rebuild();
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcile, reconcileMinutes, reconcileMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+        }
+    }
+
+    /** Dashboard figures from the in-memory counters, or empty while they have not been loaded yet. */
+    public Optional<DashboardStatsDTO> getDashboardStats() {
+        if (aggregates == null) {
+            return Optional.empty();
+        }
+        // Counters read inside the load, after the generation, so a rebuild swapping them invalidates the result
+        return Optional.of(stats.get(generation -> toDashboardStats(aggregates, divisionNames)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (rebuilding) {
+            changedDuringRebuild.addAll(event.getEmployeeIds());
+        }
+        HrAggregates current = aggregates;
+        if (current != null) {
+            refresh(current, event.getEmployeeIds());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onOrganizationChanged(OrganizationChangedEvent event) {
+        if (event.getUnitType() == OrganizationChangedEvent.UnitType.DIVISION) {
+            divisionNames = loadDivisionNames();
+            stats.invalidate();
+        }
+    }
+
+    /** Rebuilds the counters from SQL and logs when they had drifted from the table. */
+    void reconcile() {
+        try {
+            HrAggregates previous = aggregates;
+            HrAggregates rebuilt = rebuild();
+            if (previous != null && (previous.total() != rebuilt.total()
+                    || !previous.createdByMonth().equals(rebuilt.createdByMonth()))) {
+                logger.warn("Dashboard aggregates had drifted from the employees table ({} counted, {} in table); rebuilt",
+                        previous.total(), rebuilt.total());
+            }
+        } catch (RuntimeException e) {
+            // Keep the scheduled task alive; the current counters stay in use until the next run
+            logger.error("Dashboard aggregate reconciliation failed", e);
+        }
+    }
+
+    private HrAggregates rebuild() {
+        rebuilding = true;
+        long start = System.currentTimeMillis();
+        HrAggregates fresh = new HrAggregates();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        try {
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<EmployeeStatsRowDTO> rows = employeeRepository.streamAllStatsRows()) {
+                    rows.forEach(fresh::apply);
+                }
+                divisionNames = loadDivisionNames();
+            });
+            aggregates = fresh;
+            stats.invalidate();
+        } finally {
+            rebuilding = false;
+        }
+        List<Long> changed = new ArrayList<>();
+        Long employeeId;
+        while ((employeeId = changedDuringRebuild.poll()) != null) {
+            changed.add(employeeId);
+        }
+        if (!changed.isEmpty()) {
+            readOnly.executeWithoutResult(status -> refresh(fresh, changed));
+        }
+        logger.info("Dashboard aggregates built from {} employees in {} ms", fresh.total(), System.currentTimeMillis() - start);
+        return fresh;
+    }
+
+    private void refresh(HrAggregates target, List<Long> employeeIds) {
+        // Re-read the committed rows rather than trusting the event, so replays are idempotent
+        for (int from = 0; from < employeeIds.size(); from += RELOAD_BATCH_SIZE) {
+            List<Long> batch = employeeIds.subList(from, Math.min(from + RELOAD_BATCH_SIZE, employeeIds.size()));
+            Set<Long> missing = new HashSet<>(batch);
+            for (EmployeeStatsRowDTO row : employeeRepository.findStatsRowsByIdIn(batch)) {
+                target.apply(row);
+                missing.remove(row.getId());
+            }
+            missing.forEach(target::remove);
+        }
+        stats.invalidate();
+    }
+
+    private Map<Long, String> loadDivisionNames() {
+        Map<Long, String> names = new LinkedHashMap<>();
+        for (Object[] row : divisionRepository.findIdsAndNames()) {
+            names.put(((Number) row[0]).longValue(), (String) row[1]);
+        }
+        return names;
+    }
+
+    /** Same figures and rounding as the SQL path of {@link StatsService}. */
+    private static DashboardStatsDTO toDashboardStats(HrAggregates aggregates, Map<Long, String> divisionNames) {
+        DashboardStatsDTO dto = new DashboardStatsDTO();
+        long totalEmployees = aggregates.total();
+        dto.setTotalEmployees(totalEmployees);
+
+        Double avgAge = aggregates.averageAge();
+        dto.setAverageAge(avgAge != null ? Math.round(avgAge * 100.0) / 100.0 : 0.0);
+
+        long orgCount = divisionNames.size();
+        dto.setTotalOrganizations(orgCount);
+        dto.setAverageTeamSize(orgCount > 0 ? Math.round((totalEmployees * 100.0) / orgCount) / 100.0 : 0.0);
+
+        Map<String, Long> employeesByOrg = new LinkedHashMap<>();
+        divisionNames.forEach((id, name) -> employeesByOrg.put(name, aggregates.countByDivision(id)));
+        dto.setEmployeesByOrganization(employeesByOrg);
+
+        List<MonthlyCountDTO> growthList = new ArrayList<>();
+        aggregates.createdByMonth().forEach((month, count) -> growthList.add(new MonthlyCountDTO(month.toString(), count)));
+        dto.setGrowthByMonth(growthList);
+
+        dto.setMaleCount(aggregates.count(HrAggregates.GenderBucket.MALE));
+        dto.setFemaleCount(aggregates.count(HrAggregates.GenderBucket.FEMALE));
+        dto.setOtherCount(aggregates.count(HrAggregates.GenderBucket.OTHER));
+        return dto;
+    }
+}
@@ -5,29 +5,110 @@ import com.example.employeemanagement.model.Employee;
 import com.example.employeemanagement.model.EmployeeAction;
 import com.example.employeemanagement.repository.EmployeeActionRepository;
 import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.util.OrgPlacement;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class EmployeeActionService {
+
+    private static final String INSERT_ACTION = "INSERT INTO employee_actions "
+            + "(id, employee_id, action_type, actor, details, created_at, in_series) VALUES (?, ?, ?, ?, ?, ?, true)";
+
     @Autowired
     private EmployeeActionRepository employeeActionRepository;
 
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private HeadcountSeriesService headcountSeriesService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IdBlockService idBlockService;
+
+    /** Logs an action that does not move the employee in the organization. */
     @Transactional
     public void logAction(Employee employee, String actionType, String actor, String details) {
+        logAction(employee, actionType, actor, details, OrgPlacement.of(employee));
+    }
+
+    /**
+     * Logs an action and queues its headcount movements in the same transaction.
+     *
+     * @param employee Employee, in its state after the action
+     * @param previousPlacement Placement of the employee before the action
+     */
+    @Transactional
+    public void logAction(Employee employee, String actionType, String actor, String details, OrgPlacement previousPlacement) {
         EmployeeAction action = new EmployeeAction();
         action.setEmployee(employee);
         action.setActionType(actionType);
         action.setActor(resolveActor(actor));
         action.setDetails(details);
-        employeeActionRepository.save(action);
+        action.setInSeries(true);
+        EmployeeAction saved = employeeActionRepository.save(action);
+        headcountSeriesService.record(actionType, saved.getCreatedAt() != null ? saved.getCreatedAt() : Instant.now(),
+                previousPlacement, OrgPlacement.of(employee));
+    }
+
+    /**
+     * Logs the same action for many employees with one JDBC batch, and queues their headcount movements with
+     * one more, in the caller's transaction.
+     *
+     * @param employeeIds Employees, all moved to {@code placement}
+     * @param previousPlacements Placement of each employee before the action, in the same order
+     * @param placement Placement of every employee after the action
+     */
+    @Transactional
+    public void logActions(List<Long> employeeIds, String actionType, String actor, String details,
+                           List<OrgPlacement> previousPlacements, OrgPlacement placement) {
+        logActions(employeeIds, actionType, actor, details, previousPlacements, Collections.nCopies(employeeIds.size(), placement));
+    }
+
+    /**
+     * Same as above when each employee ends up in its own placement, as for imported employees.
+     *
+     * @param placements Placement of each employee after the action, in the same order
+     */
+    @Transactional
+    public void logActions(List<Long> employeeIds, String actionType, String actor, String details,
+                           List<OrgPlacement> previousPlacements, List<OrgPlacement> placements) {
+        Instant now = Instant.now();
+        Timestamp createdAt = Timestamp.from(now);
+        String resolvedActor = resolveActor(actor);
+        long firstId = idBlockService.reserve("employee_actions", employeeIds.size());
+        jdbcTemplate.batchUpdate(INSERT_ACTION, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, firstId + i);
+                ps.setLong(2, employeeIds.get(i));
+                ps.setString(3, actionType);
+                ps.setString(4, resolvedActor);
+                ps.setString(5, details);
+                ps.setTimestamp(6, createdAt);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return employeeIds.size();
+            }
+        });
+        headcountSeriesService.recordAll(actionType, now, previousPlacements, placements);
     }
 
     @Transactional(readOnly = true)
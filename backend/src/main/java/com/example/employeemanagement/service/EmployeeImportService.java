@@ -0,0 +1,737 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.ImportJobDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.exception.BadRequestException;
+import com.example.employeemanagement.exception.ConflictException;
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.util.CsvRowReader;
+import com.example.employeemanagement.util.OrgAncestryIndex;
+import com.example.employeemanagement.util.OrgPlacement;
+import com.example.employeemanagement.util.RowReader;
+import com.example.employeemanagement.util.SqlErrors;
+import com.example.employeemanagement.util.XlsxRowReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.text.Normalizer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk creation of employees from a CSV or XLSX file, run as a background job that clients poll.
+ *
+ * <p>The file is streamed and handled in chunks. The rows of a chunk are parsed and validated in parallel
+ * (mandatory fields, formats, org units resolved through the tree snapshot's {@link OrgAncestryIndex}), then
+ * checked in file order against the email and matricule keys loaded once when the job starts and against the rows
+ * already accepted from the file. Accepted rows are written with one JDBC batch for {@code employees} and one for
+ * their CREATION audit rows, in one transaction per chunk. Refused rows are kept with their line and reason for
+ * the error report and never stop the job.
+ *
+ * <p>The unique constraints stay authoritative: a chunk hitting one (an employee created meanwhile through the
+ * API) is rolled back and its rows are reported as conflicts. The SSN is not imported, since a JDBC insert would
+ * bypass its encryption converter.
+ */
+@Service
+public class EmployeeImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeImportService.class);
+
+    private static final String INSERT_EMPLOYEE = "INSERT INTO employees (id, first_name, last_name, email, gender, age, "
+            + "date_of_birth, job_title, hire_date, matricule, direction_id, service_unit_id, division_id, "
+            + "administrative_status, status_category, highest_diploma, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String CREATION = "CREATION";
+
+    /** Length of the string columns of {@code employees}. */
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final DateTimeFormatter FRENCH_DATE = DateTimeFormatter.ofPattern("d/M/uuuu").withResolverStyle(ResolverStyle.STRICT);
+
+    /** Columns read from the file, with the header names they are recognised by (accents and case ignored). */
+    enum Column {
+        MATRICULE(false, "matricule"),
+        LAST_NAME(true, "nom", "last_name", "lastname"),
+        FIRST_NAME(true, "prenom", "first_name", "firstname"),
+        EMAIL(true, "email", "e_mail", "courriel", "mail"),
+        GENDER(true, "genre", "sexe", "gender"),
+        DATE_OF_BIRTH(true, "date_naissance", "date_de_naissance", "date_of_birth", "dateofbirth"),
+        JOB_TITLE(true, "poste", "fonction", "job_title", "jobtitle"),
+        HIRE_DATE(true, "date_embauche", "date_d_embauche", "hire_date", "hiredate"),
+        DIRECTION_ID(false, "direction_id", "id_direction", "directionid"),
+        SERVICE_UNIT_ID(false, "service_id", "id_service", "service_unit_id", "serviceunitid"),
+        DIVISION_ID(false, "division_id", "id_division", "divisionid"),
+        ADMINISTRATIVE_STATUS(false, "statut_administratif", "administrative_status", "administrativestatus"),
+        STATUS_CATEGORY(false, "categorie", "status_category", "statuscategory"),
+        HIGHEST_DIPLOMA(false, "diplome", "highest_diploma", "highestdiploma");
+
+        private final boolean required;
+        private final List<String> headers;
+
+        Column(boolean required, String... headers) {
+            this.required = required;
+            this.headers = List.of(headers);
+        }
+
+        String label() {
+            return headers.get(0);
+        }
+    }
+
+    private static final List<Column> UNIT_COLUMNS = List.of(Column.DIVISION_ID, Column.SERVICE_UNIT_ID, Column.DIRECTION_ID);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeActionService employeeActionService;
+
+    @Autowired
+    private OrganizationTreeService organizationTreeService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IdBlockService idBlockService;
+
+    @Autowired
+    private EmployeeKeyFilterService employeeKeyFilterService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.import.validation-threads:4}")
+    private int validationThreads;
+
+    @Value("${app.import.queue-capacity:4}")
+    private int queueCapacity;
+
+    @Value("${app.import.retained-jobs:20}")
+    private int retainedJobs;
+
+    @Value("${app.import.max-reported-errors:10000}")
+    private int maxReportedErrors;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor jobExecutor;
+
+    private ThreadPoolExecutor validationExecutor;
+
+    private TransactionTemplate chunkTransaction;
+
+    @PostConstruct
+    void start() {
+        // One import at a time: they would otherwise race on the same unique keys
+        jobExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads("employee-import"));
+        validationExecutor = new ThreadPoolExecutor(validationThreads, validationThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(validationThreads), daemonThreads("employee-import-validation"));
+        chunkTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void stop() {
+        jobExecutor.shutdownNow();
+        validationExecutor.shutdownNow();
+    }
+
+    /**
+     * Queues the import of a file. The first row holds the column headers; see {@link Column} for the names
+     * accepted. Each row needs at least one of the division, service or direction ids; the most specific one
+     * places the employee, as for a single creation.
+     *
+     * @param file CSV (comma or semicolon separated, UTF-8) or XLSX (first sheet) file
+     * @param actor User performing the import
+     * @return The queued job
+     * @throws IOException If the upload cannot be stored for the job
+     */
+    public ImportJobDTO submit(MultipartFile file, String actor) throws IOException {
+        checkAuthorization(actor);
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("Veuillez sélectionner un fichier à importer");
+        }
+        String fileName = file.getOriginalFilename() != null ? file.getOriginalFilename() : "import";
+        String extension = fileName.toLowerCase(Locale.ROOT);
+        boolean xlsx = extension.endsWith(".xlsx");
+        if (!xlsx && !extension.endsWith(".csv")) {
+            throw new BadRequestException("Format non supporté : fichier .csv ou .xlsx attendu");
+        }
+        Path path = Files.createTempFile("employee-import-", xlsx ? ".xlsx" : ".csv");
+        try {
+            file.transferTo(path);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(path);
+            throw e;
+        }
+
+        pruneFinishedJobs();
+        Job job = new Job(UUID.randomUUID().toString(), fileName);
+        jobs.put(job.id, job);
+        try {
+            jobExecutor.execute(() -> run(job, path, xlsx, actor));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            deleteQuietly(path);
+            throw new ConflictException("Trop d'imports en attente, réessayez plus tard");
+        }
+        logger.info("Employee import {} queued for {} ({} bytes)", job.id, fileName, file.getSize());
+        return job.toDTO();
+    }
+
+    public ImportJobDTO getJob(String jobId) {
+        return findJob(jobId).toDTO();
+    }
+
+    /**
+     * Rejected rows of a job as a semicolon separated CSV (line, matricule, email, reason), with a byte order
+     * mark so spreadsheet software reads it as UTF-8.
+     */
+    public String getErrorReport(String jobId) {
+        Job job = findJob(jobId);
+        StringBuilder report = new StringBuilder("\uFEFFligne;matricule;email;erreur\n");
+        List<RowError> errors;
+        synchronized (job.errors) {
+            errors = new ArrayList<>(job.errors);
+        }
+        for (RowError error : errors) {
+            report.append(error.line).append(';')
+                    .append(csvCell(error.matricule)).append(';')
+                    .append(csvCell(error.email)).append(';')
+                    .append(csvCell(error.message)).append('\n');
+        }
+        long omitted = job.rejected - errors.size();
+        if (omitted > 0) {
+            report.append(";;;").append(csvCell(omitted + " autres lignes rejetées non détaillées")).append('\n');
+        }
+        return report.toString();
+    }
+
+    private void run(Job job, Path path, boolean xlsx, String actor) {
+        long start = System.currentTimeMillis();
+        job.status = ImportJobDTO.Status.RUNNING;
+        try (RowReader reader = xlsx
+                ? new XlsxRowReader(path.toFile())
+                : new CsvRowReader(Files.newBufferedReader(path, StandardCharsets.UTF_8))) {
+            List<String> header = reader.next();
+            if (header == null) {
+                job.finish(ImportJobDTO.Status.FAILED, "Fichier vide");
+                return;
+            }
+            Map<Column, Integer> columns = columns(header);
+            List<String> missing = missingColumns(columns);
+            if (!missing.isEmpty()) {
+                job.finish(ImportJobDTO.Status.FAILED, "Colonnes manquantes : " + String.join(", ", missing));
+                return;
+            }
+
+            Keys keys = new Keys(employeeRepository.findAllEmailKeys(), employeeRepository.findAllMatriculeKeys());
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            List<String> cells;
+            while ((cells = reader.next()) != null) {
+                if (cells.stream().allMatch(String::isBlank)) {
+                    continue;
+                }
+                chunk.add(new ImportRow(reader.lineNumber(), cells));
+                job.rowsRead++;
+                if (chunk.size() == chunkSize) {
+                    importChunk(job, chunk, columns, keys, actor);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(job, chunk, columns, keys, actor);
+            }
+            job.finish(ImportJobDTO.Status.COMPLETED, null);
+            logger.info("Employee import {} completed: {} imported, {} rejected out of {} rows in {} ms",
+                    job.id, job.imported, job.rejected, job.rowsRead, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            logger.warn("Employee import {} could not read {}", job.id, job.fileName, e);
+            job.finish(ImportJobDTO.Status.FAILED, "Fichier illisible : " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish(ImportJobDTO.Status.FAILED, "Import interrompu après " + job.imported + " employés importés");
+        } catch (RuntimeException e) {
+            logger.error("Employee import {} failed after {} rows", job.id, job.rowsRead, e);
+            job.finish(ImportJobDTO.Status.FAILED, "Import interrompu après " + job.imported + " employés importés");
+        } finally {
+            deleteQuietly(path);
+        }
+    }
+
+    /** Validates a chunk, checks its keys and writes the accepted rows. */
+    private void importChunk(Job job, List<ImportRow> chunk, Map<Column, Integer> columns, Keys keys, String actor)
+            throws InterruptedException {
+        validate(chunk, columns, organizationTreeService.getSnapshot().getAncestry());
+
+        List<ImportRow> accepted = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (row.error == null) {
+                row.error = keys.claim(row);
+            }
+            if (row.error == null) {
+                accepted.add(row);
+            } else {
+                job.reject(row, maxReportedErrors);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        // Before the insert commits, so that a concurrent create does not skip its uniqueness probe meanwhile
+        accepted.forEach(row -> employeeKeyFilterService.add(row.email, row.matricule));
+        List<Long> ids = new ArrayList<>(accepted.size());
+        try {
+            insertOrSplit(job, accepted, actor, ids);
+        } finally {
+            // Halves committed before a failure are in the database and must be announced all the same
+            job.imported += ids.size();
+            if (!ids.isEmpty()) {
+                eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.CREATED, ids));
+            }
+        }
+    }
+
+    /**
+     * Inserts the rows in one transaction. If a unique key created meanwhile by another writer rejects the batch,
+     * it is rolled back and each half is retried on its own, down to the conflicting rows, which alone are rejected.
+     * Any other integrity violation (a null or oversized column, a broken foreign key) is not a race with another
+     * writer and fails the import instead of being reported against a row.
+     */
+    private void insertOrSplit(Job job, List<ImportRow> rows, String actor, List<Long> ids) {
+        try {
+            ids.addAll(chunkTransaction.execute(status -> insert(rows, actor)));
+        } catch (DataIntegrityViolationException e) {
+            if (!SqlErrors.isDuplicateKey(e)) {
+                throw e;
+            }
+            if (rows.size() == 1) {
+                ImportRow row = rows.get(0);
+                logger.warn("Employee import {} hit a unique constraint on line {}", job.id, row.line);
+                row.error = "Conflit à l'insertion : email ou matricule créé entre-temps";
+                job.reject(row, maxReportedErrors);
+                return;
+            }
+            int half = rows.size() / 2;
+            insertOrSplit(job, rows.subList(0, half), actor, ids);
+            insertOrSplit(job, rows.subList(half, rows.size()), actor, ids);
+        }
+    }
+
+    /** Parses the rows of a chunk on the validation pool, one slice per thread. */
+    private void validate(List<ImportRow> chunk, Map<Column, Integer> columns, OrgAncestryIndex ancestry)
+            throws InterruptedException {
+        LocalDate today = LocalDate.now();
+        int sliceSize = (chunk.size() + validationThreads - 1) / validationThreads;
+        List<Callable<Void>> slices = new ArrayList<>();
+        for (int start = 0; start < chunk.size(); start += sliceSize) {
+            List<ImportRow> slice = chunk.subList(start, Math.min(start + sliceSize, chunk.size()));
+            slices.add(() -> {
+                slice.forEach(row -> row.parse(columns, ancestry, today));
+                return null;
+            });
+        }
+        for (Future<Void> result : validationExecutor.invokeAll(slices)) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Import row validation failed", e.getCause());
+            }
+        }
+    }
+
+    /** Inserts the rows and their audit entries; returns the new ids in row order. */
+    private List<Long> insert(List<ImportRow> rows, String actor) {
+        Timestamp now = Timestamp.from(Instant.now());
+        long firstId = idBlockService.reserve("employees", rows.size());
+        List<Long> ids = new ArrayList<>(rows.size());
+        List<OrgPlacement> placements = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            ids.add(firstId + i);
+            placements.add(rows.get(i).placement);
+        }
+        jdbcTemplate.batchUpdate(INSERT_EMPLOYEE, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ImportRow row = rows.get(i);
+                ps.setLong(1, ids.get(i));
+                ps.setString(2, row.firstName);
+                ps.setString(3, row.lastName);
+                ps.setString(4, row.email);
+                ps.setString(5, row.gender);
+                ps.setInt(6, row.age);
+                ps.setDate(7, Date.valueOf(row.dateOfBirth));
+                ps.setString(8, row.jobTitle);
+                ps.setDate(9, Date.valueOf(row.hireDate));
+                ps.setString(10, row.matricule);
+                ps.setObject(11, row.placement.getDirectionId(), Types.BIGINT);
+                ps.setObject(12, row.placement.getServiceUnitId(), Types.BIGINT);
+                ps.setObject(13, row.placement.getDivisionId(), Types.BIGINT);
+                ps.setString(14, row.administrativeStatus);
+                ps.setString(15, row.statusCategory);
+                ps.setString(16, row.highestDiploma);
+                ps.setTimestamp(17, now);
+                ps.setTimestamp(18, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+        employeeActionService.logActions(ids, CREATION, actor, "Création de la fiche employé (import)",
+                Collections.nCopies(ids.size(), OrgPlacement.NONE), placements);
+        return ids;
+    }
+
+    private Job findJob(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import introuvable : " + jobId);
+        }
+        return job;
+    }
+
+    /** Keeps the most recent finished jobs only; queued and running ones are never dropped. */
+    private void pruneFinishedJobs() {
+        List<Job> finished = jobs.values().stream()
+                .filter(job -> job.finishedAt != null)
+                .sorted(Comparator.comparing((Job job) -> job.finishedAt).reversed())
+                .collect(Collectors.toList());
+        for (int i = Math.max(retainedJobs - 1, 0); i < finished.size(); i++) {
+            jobs.remove(finished.get(i).id);
+        }
+    }
+
+    private static Map<Column, Integer> columns(List<String> header) {
+        Map<String, Column> byName = new HashMap<>();
+        for (Column column : Column.values()) {
+            column.headers.forEach(name -> byName.put(name, column));
+        }
+        Map<Column, Integer> columns = new EnumMap<>(Column.class);
+        for (int i = 0; i < header.size(); i++) {
+            Column column = byName.get(normalizeHeader(header.get(i)));
+            if (column != null) {
+                columns.putIfAbsent(column, i);
+            }
+        }
+        return columns;
+    }
+
+    private static List<String> missingColumns(Map<Column, Integer> columns) {
+        List<String> missing = new ArrayList<>();
+        for (Column column : Column.values()) {
+            if (column.required && !columns.containsKey(column)) {
+                missing.add(column.label());
+            }
+        }
+        if (UNIT_COLUMNS.stream().noneMatch(columns::containsKey)) {
+            missing.add("division_id, service_id ou direction_id");
+        }
+        return missing;
+    }
+
+    /** {@code "Date d'embauche"} becomes {@code date_d_embauche}. */
+    static String normalizeHeader(String header) {
+        String plain = Normalizer.normalize(header, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return plain.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "_").replaceAll("^_|_$", "");
+    }
+
+    /** ISO ({@code 2024-01-31}), French ({@code 31/01/2024}) or spreadsheet serial dates. */
+    static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            // Try the other formats
+        }
+        try {
+            return LocalDate.parse(value, FRENCH_DATE);
+        } catch (DateTimeParseException e) {
+            return XlsxRowReader.excelDate(value);
+        }
+    }
+
+    private static String csvCell(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(';') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete import file {}", path, e);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private void checkAuthorization(String actor) {
+        if (actor == null || (!actor.equalsIgnoreCase("ADMIN") && !actor.equalsIgnoreCase("RH"))) {
+            throw new org.springframework.security.access.AccessDeniedException("Unauthorized: Only ADMIN and RH can perform this action.");
+        }
+    }
+
+    /** Lower-cased keys already taken, in the database or by an earlier row of the file (with its line). */
+    private static final class Keys {
+        private final Set<String> storedEmails;
+        private final Set<String> storedMatricules;
+        private final Map<String, Long> fileEmails = new HashMap<>();
+        private final Map<String, Long> fileMatricules = new HashMap<>();
+
+        Keys(List<String> emails, List<String> matricules) {
+            this.storedEmails = new HashSet<>(emails);
+            this.storedMatricules = new HashSet<>(matricules);
+        }
+
+        /** Takes the keys of a valid row, or returns why it cannot. */
+        String claim(ImportRow row) {
+            String email = row.email.toLowerCase(Locale.ROOT);
+            String matricule = row.matricule != null ? row.matricule.toLowerCase(Locale.ROOT) : null;
+            if (storedEmails.contains(email)) {
+                return "Un employé avec cet email existe déjà";
+            }
+            if (fileEmails.containsKey(email)) {
+                return "Email en double dans le fichier (ligne " + fileEmails.get(email) + ")";
+            }
+            if (matricule != null && storedMatricules.contains(matricule)) {
+                return "Un employé avec ce matricule existe déjà";
+            }
+            if (matricule != null && fileMatricules.containsKey(matricule)) {
+                return "Matricule en double dans le fichier (ligne " + fileMatricules.get(matricule) + ")";
+            }
+            fileEmails.put(email, row.line);
+            if (matricule != null) {
+                fileMatricules.put(matricule, row.line);
+            }
+            return null;
+        }
+    }
+
+    /** A data row: raw cells until parsed, then the values to insert or the reason it is refused. */
+    private static final class ImportRow {
+        private final long line;
+        private List<String> cells;
+        private String error;
+
+        private String matricule;
+        private String lastName;
+        private String firstName;
+        private String email;
+        private String gender;
+        private LocalDate dateOfBirth;
+        private int age;
+        private String jobTitle;
+        private LocalDate hireDate;
+        private OrgPlacement placement;
+        private String administrativeStatus;
+        private String statusCategory;
+        private String highestDiploma;
+
+        ImportRow(long line, List<String> cells) {
+            this.line = line;
+            this.cells = cells;
+        }
+
+        void parse(Map<Column, Integer> columns, OrgAncestryIndex ancestry, LocalDate today) {
+            try {
+                matricule = optional(columns, Column.MATRICULE);
+                email = text(columns, Column.EMAIL);
+                lastName = text(columns, Column.LAST_NAME);
+                firstName = text(columns, Column.FIRST_NAME);
+                gender = text(columns, Column.GENDER);
+                jobTitle = text(columns, Column.JOB_TITLE);
+                administrativeStatus = optional(columns, Column.ADMINISTRATIVE_STATUS);
+                statusCategory = optional(columns, Column.STATUS_CATEGORY);
+                highestDiploma = optional(columns, Column.HIGHEST_DIPLOMA);
+                if (!EMAIL.matcher(email).matches()) {
+                    throw new IllegalArgumentException("Email invalide : " + email);
+                }
+                dateOfBirth = date(columns, Column.DATE_OF_BIRTH);
+                hireDate = date(columns, Column.HIRE_DATE);
+                if (!dateOfBirth.isBefore(today)) {
+                    throw new IllegalArgumentException("La date de naissance doit être dans le passé");
+                }
+                if (hireDate.isBefore(dateOfBirth)) {
+                    throw new IllegalArgumentException("La date d'embauche précède la date de naissance");
+                }
+                age = Period.between(dateOfBirth, today).getYears();
+                placement = placement(columns, ancestry);
+            } catch (IllegalArgumentException e) {
+                error = e.getMessage();
+            } finally {
+                cells = null;
+            }
+        }
+
+        private OrgPlacement placement(Map<Column, Integer> columns, OrgAncestryIndex ancestry) {
+            for (Column column : UNIT_COLUMNS) {
+                String value = optional(columns, column);
+                if (value == null) {
+                    continue;
+                }
+                long id;
+                try {
+                    id = Long.parseLong(value);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Identifiant invalide (colonne " + column.label() + ") : " + value);
+                }
+                Optional<OrgPlacement> found = column == Column.DIVISION_ID ? ancestry.divisionPlacement(id)
+                        : column == Column.SERVICE_UNIT_ID ? ancestry.serviceUnitPlacement(id)
+                        : ancestry.directionPlacement(id);
+                return found.orElseThrow(() -> new IllegalArgumentException(
+                        "Unité organisationnelle introuvable (colonne " + column.label() + ") : " + id));
+            }
+            throw new IllegalArgumentException("Aucune unité organisationnelle renseignée");
+        }
+
+        private LocalDate date(Map<Column, Integer> columns, Column column) {
+            String value = text(columns, column);
+            LocalDate date = parseDate(value);
+            if (date == null) {
+                throw new IllegalArgumentException("Date invalide (colonne " + column.label() + ") : " + value);
+            }
+            return date;
+        }
+
+        private String text(Map<Column, Integer> columns, Column column) {
+            String value = optional(columns, column);
+            if (value == null) {
+                throw new IllegalArgumentException("Champ obligatoire manquant : " + column.label());
+            }
+            return value;
+        }
+
+        private String optional(Map<Column, Integer> columns, Column column) {
+            Integer index = columns.get(column);
+            String value = index != null && index < cells.size() ? cells.get(index).trim() : "";
+            if (value.length() > MAX_TEXT_LENGTH) {
+                throw new IllegalArgumentException("Valeur trop longue (colonne " + column.label() + ", "
+                        + MAX_TEXT_LENGTH + " caractères maximum)");
+            }
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    private static final class RowError {
+        private final long line;
+        private final String matricule;
+        private final String email;
+        private final String message;
+
+        RowError(long line, String matricule, String email, String message) {
+            this.line = line;
+            this.matricule = matricule;
+            this.email = email;
+            this.message = message;
+        }
+    }
+
+    /** Counters are written by the job thread only and read by status requests. */
+    private static final class Job {
+        private final String id;
+        private final String fileName;
+        private final Instant submittedAt = Instant.now();
+        private final List<RowError> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile ImportJobDTO.Status status = ImportJobDTO.Status.QUEUED;
+        private volatile long rowsRead;
+        private volatile long imported;
+        private volatile long rejected;
+        private volatile Instant finishedAt;
+        private volatile String message;
+
+        Job(String id, String fileName) {
+            this.id = id;
+            this.fileName = fileName;
+        }
+
+        void reject(ImportRow row, int maxReportedErrors) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RowError(row.line, row.matricule, row.email, row.error));
+            }
+        }
+
+        void finish(ImportJobDTO.Status status, String message) {
+            this.message = message;
+            this.finishedAt = Instant.now();
+            this.status = status;
+        }
+
+        ImportJobDTO toDTO() {
+            return new ImportJobDTO(id, fileName, status, rowsRead, imported, rejected, submittedAt, finishedAt, message);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.util.KeyBloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bloom filters of the lower-cased emails and matricules of the employees, so that the uniqueness checks of a
+ * create or update only query the database when the key may already be taken. A key missing from the filter is
+ * known to be free, short of a concurrent writer (another instance, a transaction still being committed): the
+ * unique constraints of the employees table remain the arbiter and catch those races.
+ *
+ * <p>Keys are added by the writers themselves, before commit, and only when new or changed; a rolled back or
+ * deleted key only costs an extra probe. The filters are sized for twice the table when built, and rebuilt in the
+ * background once they hold more keys than that, the saturated ones staying in use meanwhile. Until the first build
+ * every key is reported as possibly present.
+ */
+@Service
+public class EmployeeKeyFilterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeKeyFilterService.class);
+
+    private static final int MIN_CAPACITY = 1024;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Value("${app.employees.key-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile Filters filters;
+
+    /** Filters being built: keys added meanwhile go to both, as the load may read the table before they commit. */
+    private volatile Filters next;
+
+    private final AtomicBoolean building = new AtomicBoolean();
+
+    private ExecutorService rebuilder;
+
+    /** Set while a background rebuild is queued, so the writes that find the filters saturated share it. */
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    @PostConstruct
+    void init() {
+        rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-key-filter-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        rebuilder.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!building.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Filters fresh = new Filters(Math.max(MIN_CAPACITY, 2 * (int) employeeRepository.count()), falsePositiveRate);
+            next = fresh;
+            List<String> emails = employeeRepository.findAllEmailKeys();
+            List<String> matricules = employeeRepository.findAllMatriculeKeys();
+            emails.forEach(fresh.emails::add);
+            matricules.forEach(fresh.matricules::add);
+            filters = fresh;
+            logger.info("Employee key filters built with {} emails and {} matricules in {} ms",
+                    emails.size(), matricules.size(), System.currentTimeMillis() - start);
+        } finally {
+            next = null;
+            building.set(false);
+        }
+    }
+
+    public boolean mightContainEmail(String email) {
+        Filters current = filters;
+        return current == null || current.emails.mightContain(normalize(email));
+    }
+
+    public boolean mightContainMatricule(String matricule) {
+        Filters current = filters;
+        return current == null || current.matricules.mightContain(normalize(matricule));
+    }
+
+    /** Records the new or changed keys of an employee being written; null keys are skipped. */
+    public void add(String email, String matricule) {
+        if (email == null && matricule == null) {
+            return;
+        }
+        Filters current = filters;
+        Filters pending = next;
+        for (Filters target : new Filters[] {current, pending}) {
+            if (target != null) {
+                target.add(email, matricule);
+            }
+        }
+        if (current != null && (current.emails.isSaturated() || current.matricules.isSaturated())) {
+            scheduleRebuild();
+        }
+    }
+
+    private void scheduleRebuild() {
+        if (building.get() || !rebuildScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuilder.execute(this::rebuildInBackground);
+        } catch (RejectedExecutionException e) {
+            // Shutting down: the saturated filters only cost extra probes
+            rebuildScheduled.set(false);
+        }
+    }
+
+    private void rebuildInBackground() {
+        rebuildScheduled.set(false);
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // The saturated filters stay in use; the next write that finds them saturated retries
+            logger.warn("Could not rebuild the employee key filters", e);
+        }
+    }
+
+    private static String normalize(String key) {
+        // Same keys as LOWER() in findAllEmailKeys / findAllMatriculeKeys
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Filters {
+        private final KeyBloomFilter emails;
+        private final KeyBloomFilter matricules;
+
+        Filters(int capacity, double falsePositiveRate) {
+            this.emails = new KeyBloomFilter(capacity, falsePositiveRate);
+            this.matricules = new KeyBloomFilter(capacity, falsePositiveRate);
+        }
+
+        void add(String email, String matricule) {
+            if (email != null) {
+                emails.add(normalize(email));
+            }
+            if (matricule != null) {
+                matricules.add(normalize(matricule));
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.OrganizationChangedEvent;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.util.EmployeeSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Keeps the in-memory {@link EmployeeSearchIndex} in step with the employees table. The index is loaded once
+ * the application is ready and then patched from committed {@link EmployeeChangedEvent}s, and from
+ * {@link OrganizationChangedEvent}s for the employees placed under a unit, whose rows carry its name.
+ */
+@Service
+public class EmployeeSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSearchService.class);
+
+    public static final int MAX_LIMIT = 100;
+
+    /** Ids per query when reloading the rows of a bulk change. */
+    private static final int RELOAD_BATCH_SIZE = 500;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private volatile EmployeeSearchIndex index = new EmployeeSearchIndex();
+
+    private volatile boolean building;
+
+    /** Changes committed while the initial load runs, replayed on the freshly built index. */
+    private final Queue<Long> changedDuringBuild = new ConcurrentLinkedQueue<>();
+
+    /** Units changed while the initial load runs: rows read before the change still carry the old names. */
+    private final Queue<OrganizationChangedEvent> unitsChangedDuringBuild = new ConcurrentLinkedQueue<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        building = true;
+        long start = System.currentTimeMillis();
+        EmployeeSearchIndex fresh = new EmployeeSearchIndex();
+        try {
+            employeeService.forEachEmployee(fresh::put);
+            index = fresh;
+        } finally {
+            building = false;
+        }
+        List<Long> changed = new ArrayList<>();
+        Long employeeId;
+        while ((employeeId = changedDuringBuild.poll()) != null) {
+            changed.add(employeeId);
+        }
+        OrganizationChangedEvent unitChange;
+        while ((unitChange = unitsChangedDuringBuild.poll()) != null) {
+            changed.addAll(employeesUnder(unitChange));
+        }
+        refresh(changed);
+        logger.info("Employee search index built with {} employees in {} ms", fresh.size(), System.currentTimeMillis() - start);
+    }
+
+    public List<EmployeeSummaryDTO> search(String query, int limit) {
+        return index.search(query, Math.min(Math.max(limit, 1), MAX_LIMIT));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (building) {
+            changedDuringBuild.addAll(event.getEmployeeIds());
+        }
+        refresh(event.getEmployeeIds());
+    }
+
+    /** Re-reads the employees whose indexed row names the renamed, moved or deleted unit. */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onOrganizationChanged(OrganizationChangedEvent event) {
+        if (event.getType() == OrganizationChangedEvent.Type.CREATED) {
+            // No employee is placed under a unit yet
+            return;
+        }
+        if (building) {
+            unitsChangedDuringBuild.add(event);
+        }
+        refresh(employeesUnder(event));
+    }
+
+    private List<Long> employeesUnder(OrganizationChangedEvent event) {
+        Long unitId = event.getUnitId();
+        switch (event.getUnitType()) {
+            case DIRECTION:
+                return index.employeeIds(row -> unitId.equals(row.getDirectionId()));
+            case SERVICE_UNIT:
+                return index.employeeIds(row -> unitId.equals(row.getServiceUnitId()));
+            default:
+                return index.employeeIds(row -> unitId.equals(row.getDivisionId()));
+        }
+    }
+
+    private void refresh(List<Long> employeeIds) {
+        // Re-read the committed rows rather than trusting the event payload, so replays are idempotent
+        for (int from = 0; from < employeeIds.size(); from += RELOAD_BATCH_SIZE) {
+            List<Long> batch = employeeIds.subList(from, Math.min(from + RELOAD_BATCH_SIZE, employeeIds.size()));
+            Set<Long> missing = new HashSet<>(batch);
+            for (EmployeeSummaryDTO row : employeeRepository.findSummariesByIdIn(batch)) {
+                index.put(row);
+                missing.remove(row.getId());
+            }
+            missing.forEach(index::remove);
+        }
+    }
+}
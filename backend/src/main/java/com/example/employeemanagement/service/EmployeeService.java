@@ -1,27 +1,57 @@
 package com.example.employeemanagement.service;
 
+import com.example.employeemanagement.dto.BulkDivisionMoveDTO;
+import com.example.employeemanagement.dto.BulkMoveReportDTO;
+import com.example.employeemanagement.dto.CursorPageDTO;
 import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.EmployeeFilterDTO;
 import com.example.employeemanagement.dto.EmployeePhotoDTO;
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import com.example.employeemanagement.dto.PhotoContentDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.exception.BadRequestException;
 import com.example.employeemanagement.exception.ConflictException;
 import com.example.employeemanagement.exception.ResourceNotFoundException;
 import com.example.employeemanagement.mapper.EmployeeMapper;
 import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.EmployeePhoto;
+import com.example.employeemanagement.model.EmployeePhotoThumbnail;
 import com.example.employeemanagement.model.JobTemplate;
+import com.example.employeemanagement.repository.EmployeePhotoRepository;
+import com.example.employeemanagement.repository.EmployeePhotoThumbnailRepository;
 import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.EmployeeSpecifications;
 import com.example.employeemanagement.repository.JobTemplateRepository;
+import com.example.employeemanagement.util.ContentHash;
+import com.example.employeemanagement.util.KeysetCursor;
+import com.example.employeemanagement.util.OrgAncestryIndex;
+import com.example.employeemanagement.util.OrgPlacement;
+import com.example.employeemanagement.util.SqlErrors;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import javax.annotation.PostConstruct;
 
 /** This class represents the service for employees. */
@@ -37,12 +67,29 @@ public class EmployeeService {
 
   @Autowired private com.example.employeemanagement.repository.DirectionRepository directionRepository;
 
+  @Autowired private OrganizationTreeService organizationTreeService;
+
   @Autowired private JobTemplateRepository jobTemplateRepository;
 
+  @Autowired private EmployeePhotoRepository employeePhotoRepository;
+
+  @Autowired private EmployeePhotoThumbnailRepository photoThumbnailRepository;
+
+  @Autowired private PhotoThumbnailService photoThumbnailService;
+
   @Autowired private EmployeeMapper employeeMapper;
 
   @Autowired private EmployeeActionService employeeActionService;
 
+  @Autowired private ApplicationEventPublisher eventPublisher;
+
+  @Autowired private EmployeeVersionService employeeVersionService;
+
+  @Autowired private EmployeeKeyFilterService employeeKeyFilterService;
+
+  @Value("${app.employees.bulk-move-chunk-size:500}")
+  private int bulkMoveChunkSize;
+
   @PostConstruct
   public void cleanUpDuplicates() {
       List<String> duplicateMatricules = employeeRepository.findDuplicateMatricules();
@@ -71,12 +118,33 @@ public class EmployeeService {
   /**
    * Get all employees.
    *
-   * @return List of all employees
+   * @return List-view rows of all employees
+   */
+  public List<EmployeeSummaryDTO> getAllEmployees() {
+    return employeeRepository.findAllSummaries();
+  }
+
+  /**
+   * Get the list-view rows of the employees of a division.
+   *
+   * @param divisionId ID of the division
+   * @return Employee summaries ordered by name
+   */
+  public List<EmployeeSummaryDTO> getEmployeesByDivision(Long divisionId) {
+    return employeeRepository.findSummariesByDivisionId(divisionId);
+  }
+
+  /**
+   * Hand every employee's list-view row to {@code consumer} one at a time, in id order. Rows are streamed
+   * from the database as projections, so neither the heap nor the persistence context grows with the table.
+   *
+   * @param consumer Receives each employee summary
    */
-  public List<EmployeeDTO> getAllEmployees() {
-    return employeeRepository.findAllWithDivisions().stream()
-        .map(employeeMapper::toDTO)
-        .collect(Collectors.toList());
+  @Transactional(readOnly = true)
+  public void forEachEmployee(Consumer<EmployeeSummaryDTO> consumer) {
+    try (Stream<EmployeeSummaryDTO> employees = employeeRepository.streamAllSummaries()) {
+      employees.forEach(consumer);
+    }
   }
 
   /**
@@ -85,8 +153,25 @@ public class EmployeeService {
    * @param id ID of the employee to be retrieved
    * @return Employee with the specified ID
    */
+  @Transactional(readOnly = true)
   public Optional<EmployeeDTO> getEmployeeById(Long id) {
-    return employeeRepository.findById(id).map(employeeMapper::toDTO);
+    return employeeRepository.findDetailById(id).map(employee -> {
+      EmployeeDTO dto = employeeMapper.toDTO(employee);
+      dto.setPhotoHash(employeePhotoRepository.findContentHashByEmployeeId(id).orElse(null));
+      return dto;
+    });
+  }
+
+  /**
+   * Get employee by ID with the data rendered on the PDF sheet.
+   *
+   * @param id ID of the employee
+   * @return Employee with the specified ID
+   */
+  @Transactional(readOnly = true)
+  public Optional<EmployeeDTO> getEmployeeForPdf(Long id) {
+    // The sheet renders the same data as the detail view, so it shares its fetch plan
+    return employeeRepository.findDetailById(id).map(employeeMapper::toDTO);
   }
 
   /**
@@ -97,10 +182,12 @@ public class EmployeeService {
    */
   @Transactional
   public EmployeeDTO createEmployee(EmployeeDTO employeeDTO, String actor) {
-    if (employeeRepository.findByEmail(employeeDTO.getEmail()).isPresent()) {
+    if (employeeDTO.getEmail() != null && employeeKeyFilterService.mightContainEmail(employeeDTO.getEmail())
+        && employeeRepository.existsByEmail(employeeDTO.getEmail())) {
       throw new ConflictException("Un employé avec cet email existe déjà");
     }
-    if (employeeDTO.getMatricule() != null && employeeRepository.findByMatricule(employeeDTO.getMatricule()).isPresent()) {
+    if (employeeDTO.getMatricule() != null && employeeKeyFilterService.mightContainMatricule(employeeDTO.getMatricule())
+        && employeeRepository.existsByMatricule(employeeDTO.getMatricule())) {
       throw new ConflictException("Un employé avec ce matricule existe déjà");
     }
     Employee employee = employeeMapper.toEntity(employeeDTO);
@@ -113,8 +200,9 @@ public class EmployeeService {
       employee.setJobTemplate(jobTemplate);
     }
 
-    Employee savedEmployee = employeeRepository.save(employee);
+    Employee savedEmployee = saveUnique(employee, null, null);
     employeeActionService.logAction(savedEmployee, "CREATION", actor, "Création de la fiche employé");
+    eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.CREATED, savedEmployee.getId()));
     return employeeMapper.toDTO(savedEmployee);
   }
 
@@ -127,25 +215,24 @@ public class EmployeeService {
    */
   @Transactional
   public EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO, String actor) {
-    Employee existingEmployee = employeeRepository.findById(id)
+    Employee existingEmployee = employeeRepository.findDetailById(id)
         .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
 
-    if (employeeDTO.getEmail() != null && !employeeDTO.getEmail().equalsIgnoreCase(existingEmployee.getEmail())) {
-      employeeRepository.findByEmail(employeeDTO.getEmail())
-          .filter(emp -> !emp.getId().equals(id))
-          .ifPresent(emp -> {
-            throw new ConflictException("Un employé avec cet email existe déjà");
-          });
+    if (employeeDTO.getEmail() != null && !employeeDTO.getEmail().equalsIgnoreCase(existingEmployee.getEmail())
+        && employeeKeyFilterService.mightContainEmail(employeeDTO.getEmail())
+        && employeeRepository.existsByEmailAndIdNot(employeeDTO.getEmail(), id)) {
+      throw new ConflictException("Un employé avec cet email existe déjà");
     }
 
-    if (employeeDTO.getMatricule() != null && !employeeDTO.getMatricule().equalsIgnoreCase(existingEmployee.getMatricule())) {
-      employeeRepository.findByMatricule(employeeDTO.getMatricule())
-          .filter(emp -> !emp.getId().equals(id))
-          .ifPresent(emp -> {
-            throw new ConflictException("Un employé avec ce matricule existe déjà");
-          });
+    if (employeeDTO.getMatricule() != null && !employeeDTO.getMatricule().equalsIgnoreCase(existingEmployee.getMatricule())
+        && employeeKeyFilterService.mightContainMatricule(employeeDTO.getMatricule())
+        && employeeRepository.existsByMatriculeAndIdNot(employeeDTO.getMatricule(), id)) {
+      throw new ConflictException("Un employé avec ce matricule existe déjà");
     }
 
+    OrgPlacement previousPlacement = OrgPlacement.of(existingEmployee);
+    String previousEmail = existingEmployee.getEmail();
+    String previousMatricule = existingEmployee.getMatricule();
     employeeMapper.updateEntityFromDTO(employeeDTO, existingEmployee);
 
     applyOrganizationLinks(employeeDTO, existingEmployee);
@@ -158,11 +245,37 @@ public class EmployeeService {
       existingEmployee.setJobTemplate(null);
     }
 
-    Employee updatedEmployee = employeeRepository.save(existingEmployee);
-    employeeActionService.logAction(updatedEmployee, "MISE_A_JOUR", actor, "Mise à jour de la fiche employé");
+    Employee updatedEmployee = saveUnique(existingEmployee, previousEmail, previousMatricule);
+    employeeActionService.logAction(updatedEmployee, "MISE_A_JOUR", actor, "Mise à jour de la fiche employé", previousPlacement);
+    eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.UPDATED, id));
     return employeeMapper.toDTO(updatedEmployee);
   }
 
+  /**
+   * Flushes the employee so that a unique key taken since the checks (another request, another instance) is
+   * reported as a conflict rather than failing the commit; the keys that differ from the previous ones (none for a
+   * creation) are then recorded in the key filters.
+   */
+  private Employee saveUnique(Employee employee, String previousEmail, String previousMatricule) {
+    Employee saved;
+    try {
+      saved = employeeRepository.saveAndFlush(employee);
+    } catch (DataIntegrityViolationException e) {
+      if (SqlErrors.isDuplicateKey(e)) {
+        throw new ConflictException("Un employé avec cet email ou ce matricule existe déjà");
+      }
+      throw e;
+    }
+    employeeKeyFilterService.add(changedKey(saved.getEmail(), previousEmail),
+        changedKey(saved.getMatricule(), previousMatricule));
+    return saved;
+  }
+
+  /** The key if it differs from the previous one, ignoring case as the filters do; null otherwise. */
+  private static String changedKey(String key, String previousKey) {
+    return key != null && !key.equalsIgnoreCase(previousKey) ? key : null;
+  }
+
   /**
    * Delete an employee.
    *
@@ -173,7 +286,12 @@ public class EmployeeService {
     Employee employee = employeeRepository.findById(id)
         .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
     employeeActionService.logAction(employee, "SUPPRESSION", actor, "Suppression de la fiche employé");
+    photoThumbnailRepository.deleteByEmployeeId(id);
+    if (employeePhotoRepository.existsById(id)) {
+      employeePhotoRepository.deleteById(id);
+    }
     employeeRepository.deleteById(id);
+    eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.DELETED, id));
   }
 
   /**
@@ -188,57 +306,278 @@ public class EmployeeService {
       if (!employeeRepository.existsById(id)) {
            throw new ResourceNotFoundException("Employee not found with id: " + id);
       }
-      employeeRepository.updatePhotoByEmployeeId(id, file.getBytes(), file.getContentType());
+      byte[] data = file.getBytes();
+      String contentHash = ContentHash.sha256(data);
+      employeePhotoRepository.save(new EmployeePhoto(id, data, file.getContentType(), contentHash));
+      photoThumbnailService.scheduleAfterCommit(id, contentHash);
   }
 
   /**
-   * Get profile photo for an employee.
+   * Get profile photo for an employee. This is the only read path for photo bytes.
    *
    * @param id Employee ID
    * @return EmployeePhotoDTO containing base64 encoded image
    */
   @Transactional(readOnly = true)
   public EmployeePhotoDTO getPhoto(Long id) {
-      Employee employee = employeeRepository.findById(id)
-          .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
-      
-      if (employee.getProfilePhoto() == null) {
+      Optional<EmployeePhoto> photo = employeePhotoRepository.findById(id);
+      if (photo.isEmpty()) {
+          if (!employeeRepository.existsById(id)) {
+              throw new ResourceNotFoundException("Employee not found with id: " + id);
+          }
           return null;
       }
-      
+
       EmployeePhotoDTO dto = new EmployeePhotoDTO();
       dto.setEmployeeId(id);
-      dto.setBase64Image(Base64.getEncoder().encodeToString(employee.getProfilePhoto()));
-      dto.setContentType(employee.getPhotoType());
+      dto.setBase64Image(Base64.getEncoder().encodeToString(photo.get().getData()));
+      dto.setContentType(photo.get().getContentType());
+      dto.setContentHash(photo.get().getContentHash());
       return dto;
   }
 
+  /**
+   * Strong validator of the photo that {@link #getPhotoContent} would return, read without the image bytes.
+   *
+   * @param id Employee ID
+   * @param size Thumbnail size, or null for the original
+   * @return ETag value (unquoted), empty if the employee has no photo
+   */
+  @Transactional(readOnly = true)
+  public Optional<String> getPhotoEtag(Long id, Integer size) {
+      return employeePhotoRepository.findContentHashByEmployeeId(id)
+          .map(hash -> size == null ? hash : hash + "-" + size);
+  }
+
+  /**
+   * Raw photo bytes, either the original or the thumbnail of the requested size. Falls back to the original
+   * while the thumbnail for the current photo has not been generated yet.
+   *
+   * @param id Employee ID
+   * @param size Thumbnail size (one of {@link PhotoThumbnailService#SIZES}), or null for the original
+   * @return Photo content, empty if the employee has no photo
+   */
+  @Transactional(readOnly = true)
+  public Optional<PhotoContentDTO> getPhotoContent(Long id, Integer size) {
+      if (size != null && !PhotoThumbnailService.supports(size)) {
+          throw new BadRequestException("Taille de miniature non supportée : " + size);
+      }
+      Optional<String> hash = employeePhotoRepository.findContentHashByEmployeeId(id);
+      if (hash.isEmpty()) {
+          if (!employeeRepository.existsById(id)) {
+              throw new ResourceNotFoundException("Employee not found with id: " + id);
+          }
+          return Optional.empty();
+      }
+      if (size != null) {
+          Optional<EmployeePhotoThumbnail> thumbnail =
+              photoThumbnailRepository.findByEmployeeIdAndSizePxAndSourceHash(id, size, hash.get());
+          if (thumbnail.isPresent()) {
+              return thumbnail.map(t -> new PhotoContentDTO(t.getData(), t.getContentType(), hash.get() + "-" + size));
+          }
+      }
+      return employeePhotoRepository.findById(id)
+          .map(photo -> new PhotoContentDTO(photo.getData(), photo.getContentType(), photo.getContentHash()));
+  }
+
   public Instant getLastUpdatedAt() {
-    return employeeRepository.findMaxUpdatedAt();
+    return employeeVersionService.getLastUpdatedAt();
   }
 
-  public Page<EmployeeDTO> getEmployeesPage(Pageable pageable) {
-    return employeeRepository.findAll(pageable).map(employeeMapper::toDTO);
+  /**
+   * Get a page of employees matching the filter.
+   *
+   * @param filter Facets, all optional
+   * @param pageable Page request
+   * @return Page of employees
+   */
+  @Transactional(readOnly = true)
+  public Page<EmployeeSummaryDTO> getEmployeesPage(EmployeeFilterDTO filter, Pageable pageable) {
+    return employeeRepository.findSummaries(specificationOf(filter), pageable);
+  }
+
+  /**
+   * Get a page of employees matching the filter without counting the matches.
+   *
+   * @param filter Facets, all optional
+   * @param pageable Page request
+   * @return Slice of employees
+   */
+  @Transactional(readOnly = true)
+  public Slice<EmployeeSummaryDTO> getEmployeesSlice(EmployeeFilterDTO filter, Pageable pageable) {
+    return employeeRepository.findSummarySlice(specificationOf(filter), pageable);
+  }
+
+  /**
+   * Get the page of employees following a keyset cursor. The cursor does not carry the filter: clients send
+   * the same facets with every page.
+   *
+   * @param filter Facets, all optional
+   * @param sortField Sort attribute, must be one of {@link KeysetCursor#SORT_FIELDS}
+   * @param direction Sort direction
+   * @param after Cursor returned with the previous page, or null/blank for the first page
+   * @param size Page size
+   * @return Page content with the cursor of the next page, if any
+   */
+  @Transactional(readOnly = true)
+  public CursorPageDTO<EmployeeSummaryDTO> getEmployeesAfter(EmployeeFilterDTO filter, String sortField, Sort.Direction direction, String after, int size) {
+    if (!KeysetCursor.supports(sortField)) {
+      throw new BadRequestException("Tri non supporté en mode curseur : " + sortField);
+    }
+    KeysetCursor cursor = after == null || after.isBlank() ? null : KeysetCursor.decode(after);
+    if (cursor != null && (!cursor.getSortField().equals(sortField) || cursor.getDirection() != direction)) {
+      throw new BadRequestException("Le curseur ne correspond pas au tri demandé");
+    }
+
+    Slice<EmployeeSummaryDTO> slice = employeeRepository.findSliceAfter(specificationOf(filter),
+        sortField, direction, cursor != null ? cursor.getValue() : null, cursor != null ? cursor.getId() : null, size);
+    List<EmployeeSummaryDTO> rows = slice.getContent();
+    String nextCursor = slice.hasNext()
+        ? KeysetCursor.after(rows.get(rows.size() - 1), sortField, direction).encode()
+        : null;
+    return new CursorPageDTO<>(rows, size, nextCursor);
+  }
+
+  /**
+   * Move many employees to a division. Employees are read and updated by chunks of
+   * {@code app.employees.bulk-move-chunk-size} ids, each chunk with one UPDATE and one batch of audit rows; the
+   * whole move is one transaction.
+   *
+   * @param divisionId Target division
+   * @param request Employee ids, or the division whose employees all move
+   * @param actor User performing the move
+   * @return Outcome per requested employee: moved, already in the division, or not found
+   */
+  @Transactional
+  public BulkMoveReportDTO changeDivisions(Long divisionId, BulkDivisionMoveDTO request, String actor) {
+      checkAuthorization(actor);
+      boolean byIds = request.getEmployeeIds() != null && !request.getEmployeeIds().isEmpty();
+      if (byIds == (request.getFromDivisionId() != null)) {
+          throw new BadRequestException("Indiquez soit la liste des employés, soit la division d'origine");
+      }
+      OrgAncestryIndex ancestry = organizationTreeService.getSnapshot().getAncestry();
+      OrgPlacement placement = divisionPlacement(ancestry, divisionId);
+      String details = "Changement de division vers : " + divisionName(ancestry, divisionId);
+      List<Long> employeeIds = new ArrayList<>(byIds
+          ? new LinkedHashSet<>(request.getEmployeeIds())
+          : employeeRepository.findIdsByDivisionId(request.getFromDivisionId()));
+      employeeIds.removeIf(Objects::isNull);
+
+      com.example.employeemanagement.model.Division division = divisionRepository.getReferenceById(divisionId);
+      com.example.employeemanagement.model.ServiceUnit serviceUnit = placement.getServiceUnitId() != null
+          ? serviceUnitRepository.getReferenceById(placement.getServiceUnitId()) : null;
+      com.example.employeemanagement.model.Direction direction = placement.getDirectionId() != null
+          ? directionRepository.getReferenceById(placement.getDirectionId()) : null;
+      Instant now = Instant.now();
+
+      List<BulkMoveReportDTO.Outcome> outcomes = new ArrayList<>(employeeIds.size());
+      List<Long> moved = new ArrayList<>();
+      for (int start = 0; start < employeeIds.size(); start += bulkMoveChunkSize) {
+          List<Long> chunk = employeeIds.subList(start, Math.min(start + bulkMoveChunkSize, employeeIds.size()));
+          Map<Long, OrgPlacement> current = new HashMap<>();
+          for (Object[] row : employeeRepository.findPlacementsByIdIn(chunk)) {
+              current.put((Long) row[0], new OrgPlacement((Long) row[1], (Long) row[2], (Long) row[3]));
+          }
+          List<Long> toMove = new ArrayList<>();
+          List<OrgPlacement> previousPlacements = new ArrayList<>();
+          for (Long employeeId : chunk) {
+              OrgPlacement previous = current.get(employeeId);
+              BulkMoveReportDTO.Status status;
+              if (previous == null) {
+                  status = BulkMoveReportDTO.Status.NOT_FOUND;
+              } else if (previous.equals(placement)) {
+                  status = BulkMoveReportDTO.Status.UNCHANGED;
+              } else {
+                  status = BulkMoveReportDTO.Status.MOVED;
+                  toMove.add(employeeId);
+                  previousPlacements.add(previous);
+              }
+              outcomes.add(new BulkMoveReportDTO.Outcome(employeeId, status));
+          }
+          if (!toMove.isEmpty()) {
+              employeeRepository.updatePlacement(toMove, division, serviceUnit, direction, now);
+              employeeActionService.logActions(toMove, "CHANGEMENT_DIVISION", actor, details, previousPlacements, placement);
+              moved.addAll(toMove);
+          }
+      }
+      if (!moved.isEmpty()) {
+          eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.UPDATED, moved));
+      }
+      return new BulkMoveReportDTO(divisionId, outcomes);
   }
 
   @Transactional
   public void changeDivision(Long employeeId, Long divisionId, String actor) {
       checkAuthorization(actor);
+      moveToDivision(employeeId, divisionId, actor);
+  }
+
+  /**
+   * Assign an employee to a division (POST /api/divisions/{id}/assign/{employeeId}); the service unit and
+   * direction above the division follow.
+   *
+   * @param divisionId ID of the division
+   * @param employeeId ID of the employee
+   * @param actor User performing the move, for the action log
+   */
+  @Transactional
+  public void assignToDivision(Long divisionId, Long employeeId, String actor) {
+      moveToDivision(employeeId, divisionId, actor);
+  }
+
+  /**
+   * Take an employee out of a division. The service unit and direction are kept, the employee may still
+   * belong to the service.
+   *
+   * @param divisionId ID of the division the employee must be in
+   * @param employeeId ID of the employee
+   * @param actor User performing the move, for the action log
+   */
+  @Transactional
+  public void removeFromDivision(Long divisionId, Long employeeId, String actor) {
+      Employee employee = employeeRepository.findById(employeeId)
+          .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + employeeId));
+      if (employee.getDivision() == null || !employee.getDivision().getId().equals(divisionId)) {
+          throw new ResourceNotFoundException("Employee is not in this division");
+      }
+
+      String divisionName = divisionName(organizationTreeService.getSnapshot().getAncestry(), divisionId);
+      OrgPlacement previousPlacement = OrgPlacement.of(employee);
+      employee.setDivision(null);
+      employeeRepository.save(employee);
+      employeeActionService.logAction(employee, "CHANGEMENT_DIVISION", actor, "Retrait de la division : " + divisionName, previousPlacement);
+      eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.UPDATED, employeeId));
+  }
+
+  private void moveToDivision(Long employeeId, Long divisionId, String actor) {
       Employee employee = employeeRepository.findById(employeeId)
           .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + employeeId));
       
-      com.example.employeemanagement.model.Division division = divisionRepository.findById(divisionId)
-          .orElseThrow(() -> new ResourceNotFoundException("Division not found with id: " + divisionId));
-
-      employee.setDivision(division);
-      if (division.getServiceUnit() != null) {
-          employee.setServiceUnit(division.getServiceUnit());
-          if (division.getServiceUnit().getDirection() != null) {
-              employee.setDirection(division.getServiceUnit().getDirection());
+      OrgAncestryIndex ancestry = organizationTreeService.getSnapshot().getAncestry();
+      OrgPlacement placement = divisionPlacement(ancestry, divisionId);
+      String divisionName = divisionName(ancestry, divisionId);
+
+      OrgPlacement previousPlacement = OrgPlacement.of(employee);
+      employee.setDivision(divisionRepository.getReferenceById(divisionId));
+      if (placement.getServiceUnitId() != null) {
+          employee.setServiceUnit(serviceUnitRepository.getReferenceById(placement.getServiceUnitId()));
+          if (placement.getDirectionId() != null) {
+              employee.setDirection(directionRepository.getReferenceById(placement.getDirectionId()));
           }
       }
       employeeRepository.save(employee);
-      employeeActionService.logAction(employee, "CHANGEMENT_DIVISION", actor, "Changement de division vers : " + division.getName());
+      employeeActionService.logAction(employee, "CHANGEMENT_DIVISION", actor, "Changement de division vers : " + divisionName, previousPlacement);
+      eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.UPDATED, employeeId));
+  }
+
+  private Specification<Employee> specificationOf(EmployeeFilterDTO filter) {
+    if (filter.getMinAge() != null && filter.getMaxAge() != null && filter.getMinAge() > filter.getMaxAge()) {
+      throw new BadRequestException("L'âge minimum doit être inférieur ou égal à l'âge maximum");
+    }
+    if (filter.getHiredFrom() != null && filter.getHiredTo() != null && filter.getHiredFrom().isAfter(filter.getHiredTo())) {
+      throw new BadRequestException("La date d'embauche de début doit précéder la date de fin");
+    }
+    return EmployeeSpecifications.matching(filter);
   }
 
   private void checkAuthorization(String actor) {
@@ -252,36 +591,50 @@ public class EmployeeService {
     Long serviceUnitId = employeeDTO.getServiceUnitId() != null && employeeDTO.getServiceUnitId() > 0 ? employeeDTO.getServiceUnitId() : null;
     Long directionId = employeeDTO.getDirectionId() != null && employeeDTO.getDirectionId() > 0 ? employeeDTO.getDirectionId() : null;
 
+    OrgAncestryIndex ancestry = organizationTreeService.getSnapshot().getAncestry();
+    OrgPlacement placement = OrgPlacement.NONE;
     if (divisionId != null) {
-      com.example.employeemanagement.model.Division division = divisionRepository.findById(divisionId)
-          .orElseThrow(() -> new ResourceNotFoundException("Division not found with id: " + divisionId));
-      employee.setDivision(division);
-      com.example.employeemanagement.model.ServiceUnit serviceUnit = division.getServiceUnit();
-      employee.setServiceUnit(serviceUnit);
-      employee.setDirection(serviceUnit != null ? serviceUnit.getDirection() : null);
-      return;
+      placement = divisionPlacement(ancestry, divisionId);
+    } else if (serviceUnitId != null) {
+      placement = ancestry.serviceUnitPlacement(serviceUnitId)
+          .orElseGet(() -> placementOf(serviceUnitRepository.findById(serviceUnitId)
+              .orElseThrow(() -> new ResourceNotFoundException("ServiceUnit not found with id: " + serviceUnitId))));
+    } else if (directionId != null) {
+      placement = ancestry.directionPlacement(directionId)
+          .orElseGet(() -> new OrgPlacement(directionRepository.findById(directionId)
+              .orElseThrow(() -> new ResourceNotFoundException("Direction not found with id: " + directionId)).getId(), null, null));
     }
 
-    if (serviceUnitId != null) {
-      com.example.employeemanagement.model.ServiceUnit serviceUnit = serviceUnitRepository.findById(serviceUnitId)
-          .orElseThrow(() -> new ResourceNotFoundException("ServiceUnit not found with id: " + serviceUnitId));
-      employee.setServiceUnit(serviceUnit);
-      employee.setDivision(null);
-      employee.setDirection(serviceUnit.getDirection());
-      return;
-    }
+    // References by id: the index already proved the units exist, so no select is needed to link them
+    employee.setDivision(placement.getDivisionId() != null ? divisionRepository.getReferenceById(placement.getDivisionId()) : null);
+    employee.setServiceUnit(placement.getServiceUnitId() != null ? serviceUnitRepository.getReferenceById(placement.getServiceUnitId()) : null);
+    employee.setDirection(placement.getDirectionId() != null ? directionRepository.getReferenceById(placement.getDirectionId()) : null);
+  }
 
-    if (directionId != null) {
-      com.example.employeemanagement.model.Direction direction = directionRepository.findById(directionId)
-          .orElseThrow(() -> new ResourceNotFoundException("Direction not found with id: " + directionId));
-      employee.setDirection(direction);
-      employee.setServiceUnit(null);
-      employee.setDivision(null);
-      return;
-    }
+  private OrgPlacement divisionPlacement(OrgAncestryIndex ancestry, Long divisionId) {
+    return ancestry.divisionPlacement(divisionId)
+        .orElseGet(() -> placementOf(divisionRepository.findById(divisionId)
+            .orElseThrow(() -> new ResourceNotFoundException("Division not found with id: " + divisionId))));
+  }
+
+  private String divisionName(OrgAncestryIndex ancestry, Long divisionId) {
+    String name = ancestry.divisionName(divisionId);
+    return name != null ? name : divisionRepository.getReferenceById(divisionId).getName();
+  }
+
+  /**
+   * Placement read from the entities, for a unit missing from the ancestry index: one created by a transaction
+   * that committed after the current snapshot was built.
+   */
+  private static OrgPlacement placementOf(com.example.employeemanagement.model.Division division) {
+    com.example.employeemanagement.model.ServiceUnit serviceUnit = division.getServiceUnit();
+    com.example.employeemanagement.model.Direction direction = serviceUnit != null ? serviceUnit.getDirection() : null;
+    return new OrgPlacement(direction != null ? direction.getId() : null,
+        serviceUnit != null ? serviceUnit.getId() : null, division.getId());
+  }
 
-    employee.setDirection(null);
-    employee.setServiceUnit(null);
-    employee.setDivision(null);
+  private static OrgPlacement placementOf(com.example.employeemanagement.model.ServiceUnit serviceUnit) {
+    com.example.employeemanagement.model.Direction direction = serviceUnit.getDirection();
+    return new OrgPlacement(direction != null ? direction.getId() : null, serviceUnit.getId(), null);
   }
 }
@@ -0,0 +1,119 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.OrganizationChangedEvent;
+import com.example.employeemanagement.event.PerformanceReviewChangedEvent;
+import com.example.employeemanagement.repository.EmployeePhotoRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.util.VersionedValue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version stamps of the employee data, used as weak ETags by the employee read endpoints. The collection
+ * version is the latest {@code updatedAt} plus the row count, so deletions change it too. Both are kept in memory
+ * and re-read after a committed {@link EmployeeChangedEvent}, or once older than
+ * {@code app.employees.version-max-age-ms}, which bounds how long a write that announces none (another instance,
+ * direct SQL) goes unseen.
+ *
+ * <p>The views also embed data whose writes leave the employees row alone: organization unit and job template
+ * names, reviews, skills and promotions. Every tag therefore carries a related-data version, bumped after each
+ * committed {@link OrganizationChangedEvent}, {@link PerformanceReviewChangedEvent} and
+ * {@link EmployeeChangedEvent} (which job template changes and the cascaded skill and promotion writes publish),
+ * and prefixed with the start time of this instance so tags issued before a restart never match.
+ *
+ * <p>Tags also carry the current day: list rows and detail both expose an age computed from the date of
+ * birth, which changes without any write.
+ */
+@Service
+public class EmployeeVersionService {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeePhotoRepository employeePhotoRepository;
+
+    @Value("${app.employees.version-max-age-ms:30000}")
+    private long maxAgeMs;
+
+    /** Invalidated on every committed employee write. */
+    private final VersionedValue<CollectionVersion> collection = new VersionedValue<>();
+
+    private final long startedAt = System.currentTimeMillis();
+
+    private final AtomicLong relatedVersion = new AtomicLong();
+
+    /** Latest {@code updatedAt} of the employees, from memory unless a write or the maximum age expired it. */
+    public Instant getLastUpdatedAt() {
+        return collectionVersion().lastUpdatedAt;
+    }
+
+    /** Weak ETag of every collection view (/api/employees, /filter with any parameters). */
+    public String getCollectionEtag() {
+        CollectionVersion version = collectionVersion();
+        long lastUpdated = version.lastUpdatedAt != null ? version.lastUpdatedAt.toEpochMilli() : 0;
+        return "W/\"" + lastUpdated + "-" + version.count + "-" + relatedStamp() + "-"
+            + LocalDate.now().toEpochDay() + "\"";
+    }
+
+    /**
+     * Weak ETag of one employee's detail view, empty if the employee does not exist or was never stamped. The
+     * detail carries the photo hash, and a photo upload does not touch the employee row, so the hash is part of it.
+     */
+    public Optional<String> getEmployeeEtag(Long id) {
+        String photoHash = employeePhotoRepository.findContentHashByEmployeeId(id).orElse("none");
+        return employeeRepository.findUpdatedAtById(id)
+            .map(updatedAt -> "W/\"" + id + "-" + updatedAt.toEpochMilli() + "-" + photoHash + "-" + relatedStamp()
+                + "-" + LocalDate.now().toEpochDay() + "\"");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        collection.invalidate();
+        relatedVersion.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizationChanged(OrganizationChangedEvent event) {
+        if (event.getType() != OrganizationChangedEvent.Type.CREATED) {
+            // A new unit has no employee yet; a renamed or deleted one changes the names the views embed
+            relatedVersion.incrementAndGet();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPerformanceReviewChanged(PerformanceReviewChangedEvent event) {
+        relatedVersion.incrementAndGet();
+    }
+
+    private String relatedStamp() {
+        return startedAt + "." + relatedVersion.get();
+    }
+
+    private CollectionVersion collectionVersion() {
+        return collection.get(
+            generation -> new CollectionVersion(employeeRepository.findMaxUpdatedAt(), employeeRepository.count(),
+                System.currentTimeMillis()),
+            version -> System.currentTimeMillis() - version.loadedAt < maxAgeMs);
+    }
+
+    private static final class CollectionVersion {
+        final Instant lastUpdatedAt;
+        final long count;
+        final long loadedAt;
+
+        CollectionVersion(Instant lastUpdatedAt, long count, long loadedAt) {
+            this.lastUpdatedAt = lastUpdatedAt;
+            this.count = count;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,699 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.HeadcountPointDTO;
+import com.example.employeemanagement.exception.BadRequestException;
+import com.example.employeemanagement.model.HeadcountBucket;
+import com.example.employeemanagement.model.HeadcountDelta;
+import com.example.employeemanagement.model.HeadcountBucket.UnitType;
+import com.example.employeemanagement.repository.EmployeeActionRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.HeadcountBucketRepository;
+import com.example.employeemanagement.util.OrgPlacement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+/**
+ * Headcount time series per organization unit, answered from the daily {@link HeadcountBucket}s instead of the
+ * employee action log.
+ *
+ * <p>Hires ({@code CREATION}), departures ({@code SUPPRESSION}) and moves ({@code CHANGEMENT_DIVISION}, or an
+ * update that changes the placement) are queued as {@link HeadcountDelta} rows by {@link EmployeeActionService}
+ * in the transaction that logs the action, so the buckets keep departures even though deleting an employee also
+ * deletes its actions. Writers only insert their own rows: the buckets themselves, the organization-wide one of
+ * the day above all, are only written by the folder thread, which applies the queued deltas shortly after they
+ * commit. The series therefore lags committed writes by up to {@code app.headcount.fold-interval-ms}.
+ *
+ * <p>Actions logged before the buckets existed are folded once by a chunked backfill; for those the log holds no
+ * placement, so the employee's current placement is used and old moves only count as organization-wide moves.
+ * A periodic reconciliation then compares each unit's headcount with the employees table and queues an
+ * adjustment for any difference left by writes that logged no action.
+ */
+@Service
+public class HeadcountSeriesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeadcountSeriesService.class);
+
+    public enum Granularity { DAY, WEEK, MONTH }
+
+    static final String CREATION = "CREATION";
+    static final String SUPPRESSION = "SUPPRESSION";
+    static final String CHANGEMENT_DIVISION = "CHANGEMENT_DIVISION";
+
+    /** Unit id of the organization-wide buckets. */
+    static final long ALL_UNIT_ID = 0L;
+
+    /** Most periods returned per unit. */
+    static final int MAX_PERIODS = 2000;
+
+    // Adds a delta to its bucket, creating it if missing, in one statement whatever the batch update counts say
+    private static final String UPSERT_BUCKET_MYSQL = "INSERT INTO headcount_buckets "
+            + "(hires, departures, transfers_in, transfers_out, adjustments, unit_type, bucket_date, unit_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE hires = hires + VALUES(hires), "
+            + "departures = departures + VALUES(departures), transfers_in = transfers_in + VALUES(transfers_in), "
+            + "transfers_out = transfers_out + VALUES(transfers_out), adjustments = adjustments + VALUES(adjustments)";
+
+    // Standard SQL form of the same upsert, for H2 and other databases without ON DUPLICATE KEY UPDATE
+    private static final String UPSERT_BUCKET_MERGE = "MERGE INTO headcount_buckets b USING (VALUES (CAST(? AS BIGINT), "
+            + "CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS VARCHAR(20)), "
+            + "CAST(? AS DATE), CAST(? AS BIGINT))) "
+            + "AS d (hires, departures, transfers_in, transfers_out, adjustments, unit_type, bucket_date, unit_id) "
+            + "ON b.unit_type = d.unit_type AND b.bucket_date = d.bucket_date AND b.unit_id = d.unit_id "
+            + "WHEN MATCHED THEN UPDATE SET hires = b.hires + d.hires, departures = b.departures + d.departures, "
+            + "transfers_in = b.transfers_in + d.transfers_in, transfers_out = b.transfers_out + d.transfers_out, "
+            + "adjustments = b.adjustments + d.adjustments "
+            + "WHEN NOT MATCHED THEN INSERT "
+            + "(hires, departures, transfers_in, transfers_out, adjustments, unit_type, bucket_date, unit_id) "
+            + "VALUES (d.hires, d.departures, d.transfers_in, d.transfers_out, d.adjustments, d.unit_type, "
+            + "d.bucket_date, d.unit_id)";
+
+    private static final String INSERT_DELTA = "INSERT INTO headcount_deltas "
+            + "(hires, departures, transfers_in, transfers_out, adjustments, unit_type, bucket_date, unit_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Locked so that another instance folding at the same time waits, then skips the rows deleted here
+    private static final String SELECT_DELTAS = "SELECT id, unit_type, bucket_date, unit_id, hires, departures, "
+            + "transfers_in, transfers_out, adjustments FROM headcount_deltas ORDER BY id LIMIT ? FOR UPDATE";
+
+    private static final String DELETE_DELTA = "DELETE FROM headcount_deltas WHERE id = ?";
+
+    private static final String NET_BY_UNIT = "SELECT unit_type, unit_id, "
+            + "SUM(hires - departures + transfers_in - transfers_out + adjustments) FROM %s GROUP BY unit_type, unit_id";
+
+    @Autowired
+    private HeadcountBucketRepository bucketRepository;
+
+    @Autowired
+    private EmployeeActionRepository actionRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IdBlockService idBlockService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.headcount.backfill-chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.headcount.fold-interval-ms:2000}")
+    private long foldIntervalMs;
+
+    @Value("${app.headcount.reconcile-minutes:60}")
+    private long reconcileMinutes;
+
+    /** The only writer of the buckets; also runs the backfill and the reconciliation. */
+    private volatile ScheduledExecutorService folder;
+
+    /** Set while a drain requested after a commit waits in the folder's queue, so requests coalesce. */
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+
+    /** {@link #UPSERT_BUCKET_MYSQL} or {@link #UPSERT_BUCKET_MERGE}, depending on the database. */
+    private volatile String upsertBucket;
+
+    /**
+     * Queues the movements of one logged action, in the caller's transaction; they reach the buckets once it commits.
+     *
+     * @param actionType Action type of the log entry
+     * @param at Time the action was logged
+     * @param before Placement of the employee before the action
+     * @param after Placement of the employee after the action
+     */
+    public void record(String actionType, Instant at, OrgPlacement before, OrgPlacement after) {
+        Map<BucketKey, Delta> deltas = new HashMap<>();
+        collect(deltas, actionType, day(at), before, after);
+        enqueue(deltas);
+        drainAfterCommit();
+    }
+
+    /**
+     * Same as {@link #record} for actions of one type logged together, queued with a single batch.
+     *
+     * @param before Placement of each employee before the action
+     * @param after Placement of each employee after the action, in the same order
+     */
+    public void recordAll(String actionType, Instant at, List<OrgPlacement> before, List<OrgPlacement> after) {
+        Map<BucketKey, Delta> deltas = new HashMap<>();
+        LocalDate day = day(at);
+        for (int i = 0; i < before.size(); i++) {
+            collect(deltas, actionType, day, before.get(i), after.get(i));
+        }
+        enqueue(deltas);
+        drainAfterCommit();
+    }
+
+    /**
+     * Headcount series of every unit of a type, or of one unit. The first and last periods only cover the
+     * days inside the range; headcounts are taken at the end of each period.
+     */
+    @Transactional(readOnly = true)
+    public List<HeadcountPointDTO> getSeries(UnitType unitType, Long unitId, Granularity granularity, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("La date de début doit précéder la date de fin");
+        }
+        List<LocalDate> periods = periodStarts(granularity, from, to);
+        if (periods.size() > MAX_PERIODS) {
+            throw new BadRequestException("Période trop longue pour cette granularité (" + MAX_PERIODS + " points maximum)");
+        }
+        Long unit = unitType == UnitType.ALL ? Long.valueOf(ALL_UNIT_ID) : unitId;
+
+        Map<Long, Long> baseline = new TreeMap<>();
+        List<Object[]> baselineRows = unit != null
+                ? bucketRepository.sumNetBefore(unitType, unit, from)
+                : bucketRepository.sumNetBefore(unitType, from);
+        for (Object[] row : baselineRows) {
+            baseline.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        Map<Long, List<HeadcountBucket>> bucketsByUnit = new TreeMap<>();
+        List<HeadcountBucket> buckets = unit != null
+                ? bucketRepository.findRange(unitType, unit, from, to)
+                : bucketRepository.findRange(unitType, from, to);
+        for (HeadcountBucket bucket : buckets) {
+            bucketsByUnit.computeIfAbsent(bucket.getUnitId(), id -> new ArrayList<>()).add(bucket);
+        }
+        baseline.keySet().forEach(id -> bucketsByUnit.putIfAbsent(id, List.of()));
+        if (unit != null) {
+            bucketsByUnit.putIfAbsent(unit, List.of());
+        }
+
+        List<HeadcountPointDTO> points = new ArrayList<>();
+        bucketsByUnit.forEach((id, unitBuckets) -> {
+            long headcount = baseline.getOrDefault(id, 0L);
+            int next = 0;
+            for (int p = 0; p < periods.size(); p++) {
+                LocalDate periodEnd = p + 1 < periods.size() ? periods.get(p + 1) : to.plusDays(1);
+                long hires = 0;
+                long departures = 0;
+                long transfersIn = 0;
+                long transfersOut = 0;
+                while (next < unitBuckets.size() && unitBuckets.get(next).getBucketDate().isBefore(periodEnd)) {
+                    HeadcountBucket bucket = unitBuckets.get(next++);
+                    hires += bucket.getHires();
+                    departures += bucket.getDepartures();
+                    transfersIn += bucket.getTransfersIn();
+                    transfersOut += bucket.getTransfersOut();
+                    headcount += bucket.getNet();
+                }
+                points.add(new HeadcountPointDTO(id, periods.get(p), hires, departures, transfersIn, transfersOut, headcount));
+            }
+        });
+        return points;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "headcount-folder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Backfill first: the reconciliation counts on every logged action being folded
+        executor.execute(() -> {
+            backfill();
+            reconcile();
+        });
+        executor.scheduleWithFixedDelay(this::drainQuietly, foldIntervalMs, foldIntervalMs, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::reconcile, reconcileMinutes, reconcileMinutes, TimeUnit.MINUTES);
+        folder = executor;
+    }
+
+    @PreDestroy
+    void stop() {
+        if (folder != null) {
+            folder.shutdownNow();
+        }
+    }
+
+    /**
+     * Folds the actions logged before the buckets existed, by chunks of {@code app.headcount.backfill-chunk-size}
+     * in id order. Each chunk is queued and flagged in one transaction, so an interrupted run resumes where it
+     * stopped. Employees without a CREATION action (seeded data) first get one, dated from their record.
+     */
+    void backfill() {
+        try {
+            long start = System.currentTimeMillis();
+            int synthesized = addMissingCreations();
+            TransactionTemplate inTransaction = new TransactionTemplate(transactionManager);
+            long afterId = 0;
+            long folded = 0;
+            while (true) {
+                long from = afterId;
+                List<Object[]> chunk = inTransaction.execute(status -> foldChunk(from));
+                if (chunk == null || chunk.isEmpty()) {
+                    break;
+                }
+                afterId = ((Number) chunk.get(chunk.size() - 1)[0]).longValue();
+                folded += chunk.size();
+            }
+            drain();
+            if (folded > 0 || synthesized > 0) {
+                logger.info("Headcount buckets backfilled from {} actions ({} creations added) in {} ms",
+                        folded, synthesized, System.currentTimeMillis() - start);
+            }
+        } catch (RuntimeException e) {
+            // Not fatal: unfolded actions stay flagged as such and are picked up at the next start
+            logger.error("Headcount backfill failed", e);
+        }
+    }
+
+    /**
+     * Compares the headcount of every unit, as the buckets and the queued deltas add up, with the employees table,
+     * and queues an adjustment dated today for each difference: employees inserted or deleted without a logged
+     * action, or counted twice. Both sides are read in one repeatable-read transaction; an employee write and its
+     * deltas commit together, so a write in flight is either on both sides or on neither.
+     */
+    void reconcile() {
+        try {
+            drain();
+            TransactionTemplate consistentRead = new TransactionTemplate(transactionManager);
+            consistentRead.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+            Integer corrected = consistentRead.execute(status -> {
+                LocalDate today = LocalDate.now(ZoneOffset.UTC);
+                Map<BucketKey, Long> difference = new HashMap<>();
+                for (Object[] row : employeeRepository.countByOrganizationUnit()) {
+                    long count = ((Number) row[3]).longValue();
+                    difference.merge(new BucketKey(UnitType.ALL, today, ALL_UNIT_ID), count, Long::sum);
+                    forEachUnit(new OrgPlacement(id(row[0]), id(row[1]), id(row[2])),
+                            (type, unitId) -> difference.merge(new BucketKey(type, today, unitId), count, Long::sum));
+                }
+                for (String table : List.of("headcount_buckets", "headcount_deltas")) {
+                    jdbcTemplate.query(String.format(NET_BY_UNIT, table), (RowCallbackHandler) rs -> difference.merge(
+                            new BucketKey(UnitType.valueOf(rs.getString(1)), today, rs.getLong(2)), -rs.getLong(3), Long::sum));
+                }
+                Map<BucketKey, Delta> adjustments = new HashMap<>();
+                difference.forEach((key, missing) -> {
+                    if (missing != 0) {
+                        adjustments.computeIfAbsent(key, k -> new Delta()).adjustments = missing;
+                    }
+                });
+                enqueue(adjustments);
+                return adjustments.size();
+            });
+            if (corrected != null && corrected > 0) {
+                logger.warn("Headcount buckets of {} units had drifted from the employees table; adjusted", corrected);
+                drain();
+            }
+        } catch (RuntimeException e) {
+            // Keep the scheduled task alive; the next run compares again
+            logger.error("Headcount reconciliation failed", e);
+        }
+    }
+
+    /**
+     * Applies the queued deltas to the buckets, by chunks of {@code app.headcount.backfill-chunk-size}, each
+     * applied and removed from the queue in one transaction. Runs on the folder thread.
+     */
+    void drain() {
+        TransactionTemplate inTransaction = new TransactionTemplate(transactionManager);
+        while (true) {
+            Integer drained = inTransaction.execute(status -> drainChunk());
+            if (drained == null || drained < chunkSize) {
+                return;
+            }
+        }
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            // Keep the scheduled task alive: the deltas stay queued for the next run
+            logger.error("Applying queued headcount deltas failed", e);
+        }
+    }
+
+    private int drainChunk() {
+        List<Long> ids = new ArrayList<>();
+        Map<BucketKey, Delta> deltas = new HashMap<>();
+        jdbcTemplate.query(SELECT_DELTAS, (RowCallbackHandler) rs -> {
+            ids.add(rs.getLong(1));
+            Delta delta = delta(deltas, UnitType.valueOf(rs.getString(2)), rs.getDate(3).toLocalDate(), rs.getLong(4));
+            delta.hires += rs.getLong(5);
+            delta.departures += rs.getLong(6);
+            delta.transfersIn += rs.getLong(7);
+            delta.transfersOut += rs.getLong(8);
+            delta.adjustments += rs.getLong(9);
+        }, chunkSize);
+        upsert(deltas);
+        jdbcTemplate.batchUpdate(DELETE_DELTA, ids, ids.size(), (ps, id) -> ps.setLong(1, id));
+        return ids.size();
+    }
+
+    /** Asks the folder to apply the queued deltas once the current transaction has committed. */
+    private void drainAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requestDrain();
+                }
+            });
+        } else {
+            requestDrain();
+        }
+    }
+
+    private void requestDrain() {
+        ScheduledExecutorService executor = folder;
+        // Before start the scheduled drain picks the deltas up
+        if (executor == null || !drainQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                drainQueued.set(false);
+                drainQuietly();
+            });
+        } catch (RejectedExecutionException e) {
+            drainQueued.set(false);
+        }
+    }
+
+    private List<Object[]> foldChunk(long afterId) {
+        List<Object[]> rows = actionRepository.findUnfoldedAfter(afterId, PageRequest.of(0, chunkSize));
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        Map<BucketKey, Delta> deltas = new HashMap<>();
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ids.add(((Number) row[0]).longValue());
+            Instant createdAt = (Instant) row[2];
+            if (createdAt == null) {
+                continue;
+            }
+            OrgPlacement current = new OrgPlacement(id(row[3]), id(row[4]), id(row[5]));
+            String actionType = (String) row[1];
+            if (CREATION.equals(actionType) || SUPPRESSION.equals(actionType)) {
+                collect(deltas, actionType, day(createdAt), current, current);
+            } else {
+                // Where a legacy move came from and went to is not recorded
+                collect(deltas, actionType, day(createdAt), null, null);
+            }
+        }
+        enqueue(deltas);
+        actionRepository.markFolded(ids);
+        return rows;
+    }
+
+    /**
+     * Adds a CREATION action to employees that have none, by chunks, each checked and written in one transaction.
+     * The check is a locking read: an employee whose creation is still in flight holds its row lock, so the check
+     * waits for that transaction and then sees its CREATION instead of adding a second one, as does a concurrent
+     * backfill on another instance.
+     */
+    private int addMissingCreations() {
+        TransactionTemplate inTransaction = new TransactionTemplate(transactionManager);
+        int added = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<Map<String, Object>> rows = inTransaction.execute(status -> addCreations(from));
+            if (rows == null || rows.isEmpty()) {
+                return added;
+            }
+            added += rows.size();
+            afterId = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+        }
+    }
+
+    private List<Map<String, Object>> addCreations(long afterId) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT e.id, e.created_at FROM employees e WHERE e.id > ? AND NOT EXISTS ("
+                        + "SELECT 1 FROM employee_actions a WHERE a.employee_id = e.id AND a.action_type = '" + CREATION + "') "
+                        + "ORDER BY e.id LIMIT " + chunkSize + " FOR UPDATE",
+                afterId);
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        long firstId = idBlockService.reserve("employee_actions", rows.size());
+        jdbcTemplate.batchUpdate("INSERT INTO employee_actions (id, employee_id, action_type, actor, details, created_at) "
+                        + "VALUES (?, ?, '" + CREATION + "', 'SYSTEME', 'Reprise de l''historique des effectifs', ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Map<String, Object> row = rows.get(i);
+                        ps.setLong(1, firstId + i);
+                        ps.setLong(2, ((Number) row.get("id")).longValue());
+                        Object createdAt = row.get("created_at");
+                        ps.setTimestamp(3, createdAt instanceof Timestamp ? (Timestamp) createdAt
+                                : createdAt instanceof LocalDateTime ? Timestamp.valueOf((LocalDateTime) createdAt) : now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                });
+        return rows;
+    }
+
+    static void collect(Map<BucketKey, Delta> deltas, String actionType, LocalDate day, OrgPlacement before, OrgPlacement after) {
+        if (CREATION.equals(actionType)) {
+            delta(deltas, UnitType.ALL, day, ALL_UNIT_ID).hires++;
+            forEachUnit(after, (type, id) -> delta(deltas, type, day, id).hires++);
+        } else if (SUPPRESSION.equals(actionType)) {
+            delta(deltas, UnitType.ALL, day, ALL_UNIT_ID).departures++;
+            forEachUnit(before, (type, id) -> delta(deltas, type, day, id).departures++);
+        } else if (before == null || after == null) {
+            if (CHANGEMENT_DIVISION.equals(actionType)) {
+                countMove(deltas, day);
+            }
+        } else if (!before.equals(after)) {
+            countMove(deltas, day);
+            moveAt(deltas, UnitType.DIRECTION, day, before.getDirectionId(), after.getDirectionId());
+            moveAt(deltas, UnitType.SERVICE_UNIT, day, before.getServiceUnitId(), after.getServiceUnitId());
+            moveAt(deltas, UnitType.DIVISION, day, before.getDivisionId(), after.getDivisionId());
+        }
+    }
+
+    private static void countMove(Map<BucketKey, Delta> deltas, LocalDate day) {
+        Delta all = delta(deltas, UnitType.ALL, day, ALL_UNIT_ID);
+        all.transfersIn++;
+        all.transfersOut++;
+    }
+
+    private static void moveAt(Map<BucketKey, Delta> deltas, UnitType type, LocalDate day, Long from, Long to) {
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        if (from != null) {
+            delta(deltas, type, day, from).transfersOut++;
+        }
+        if (to != null) {
+            delta(deltas, type, day, to).transfersIn++;
+        }
+    }
+
+    private static void forEachUnit(OrgPlacement placement, BiConsumer<UnitType, Long> action) {
+        if (placement == null) {
+            return;
+        }
+        if (placement.getDirectionId() != null) {
+            action.accept(UnitType.DIRECTION, placement.getDirectionId());
+        }
+        if (placement.getServiceUnitId() != null) {
+            action.accept(UnitType.SERVICE_UNIT, placement.getServiceUnitId());
+        }
+        if (placement.getDivisionId() != null) {
+            action.accept(UnitType.DIVISION, placement.getDivisionId());
+        }
+    }
+
+    private static Delta delta(Map<BucketKey, Delta> deltas, UnitType type, LocalDate day, long unitId) {
+        return deltas.computeIfAbsent(new BucketKey(type, day, unitId), key -> new Delta());
+    }
+
+    /** Queues the deltas with one batched insert, in the caller's transaction. */
+    private void enqueue(Map<BucketKey, Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<BucketKey, Delta>> entries = new ArrayList<>(deltas.entrySet());
+        jdbcTemplate.batchUpdate(INSERT_DELTA, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                bind(ps, entries.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+    }
+
+    /**
+     * Adds the deltas with one batched upsert. Rows are written in key order so concurrent folders lock them in
+     * the same order. Nothing is read from the batch update counts: with rewriteBatchedStatements, MySQL
+     * Connector/J reports {@code SUCCESS_NO_INFO} for rewritten batches.
+     */
+    private void upsert(Map<BucketKey, Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<BucketKey, Delta>> entries = new ArrayList<>(deltas.entrySet());
+        entries.sort(Map.Entry.comparingByKey());
+        jdbcTemplate.batchUpdate(upsertBucket(), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                bind(ps, entries.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+    }
+
+    /** Upsert statement of the connected database, looked up on first use. */
+    private String upsertBucket() {
+        String statement = upsertBucket;
+        if (statement == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            boolean mysql = product != null && (product.startsWith("MySQL") || product.startsWith("MariaDB"));
+            statement = mysql ? UPSERT_BUCKET_MYSQL : UPSERT_BUCKET_MERGE;
+            upsertBucket = statement;
+        }
+        return statement;
+    }
+
+    /** Same parameter order for both upserts and INSERT_DELTA. */
+    private static void bind(PreparedStatement ps, Map.Entry<BucketKey, Delta> entry) throws SQLException {
+        Delta delta = entry.getValue();
+        BucketKey key = entry.getKey();
+        ps.setLong(1, delta.hires);
+        ps.setLong(2, delta.departures);
+        ps.setLong(3, delta.transfersIn);
+        ps.setLong(4, delta.transfersOut);
+        ps.setLong(5, delta.adjustments);
+        ps.setString(6, key.unitType.name());
+        ps.setDate(7, Date.valueOf(key.day));
+        ps.setLong(8, key.unitId);
+    }
+
+    static List<LocalDate> periodStarts(Granularity granularity, LocalDate from, LocalDate to) {
+        List<LocalDate> starts = new ArrayList<>();
+        starts.add(from);
+        LocalDate next = periodStart(granularity, from);
+        while (true) {
+            next = granularity == Granularity.DAY ? next.plusDays(1)
+                    : granularity == Granularity.WEEK ? next.plusWeeks(1) : next.plusMonths(1);
+            if (next.isAfter(to) || starts.size() > MAX_PERIODS) {
+                return starts;
+            }
+            starts.add(next);
+        }
+    }
+
+    private static LocalDate periodStart(Granularity granularity, LocalDate day) {
+        switch (granularity) {
+            case WEEK:
+                return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH:
+                return day.withDayOfMonth(1);
+            default:
+                return day;
+        }
+    }
+
+    private static LocalDate day(Instant at) {
+        return LocalDate.ofInstant(at, ZoneOffset.UTC);
+    }
+
+    private static Long id(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+
+    static final class BucketKey implements Comparable<BucketKey> {
+        private static final Comparator<BucketKey> ORDER = Comparator
+                .comparing((BucketKey key) -> key.unitType)
+                .thenComparing(key -> key.day)
+                .thenComparingLong(key -> key.unitId);
+
+        final UnitType unitType;
+        final LocalDate day;
+        final long unitId;
+
+        BucketKey(UnitType unitType, LocalDate day, long unitId) {
+            this.unitType = unitType;
+            this.day = day;
+            this.unitId = unitId;
+        }
+
+        @Override
+        public int compareTo(BucketKey other) {
+            return ORDER.compare(this, other);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof BucketKey)) {
+                return false;
+            }
+            BucketKey other = (BucketKey) o;
+            return unitType == other.unitType && day.equals(other.day) && unitId == other.unitId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(unitType, day, unitId);
+        }
+    }
+
+    static final class Delta {
+        long hires;
+        long departures;
+        long transfersIn;
+        long transfersOut;
+        long adjustments;
+    }
+}
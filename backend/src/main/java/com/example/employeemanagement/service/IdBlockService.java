@@ -0,0 +1,86 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.PooledIds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+
+/**
+ * Id blocks of the pooled table generator (see {@link PooledIds}) for rows inserted with JDBC rather than through
+ * Hibernate, so both writers draw from the same counters and never hand out the same id.
+ *
+ * <p>At startup every counter is moved past the largest id already in its table. This seeds the counters of a
+ * database whose ids came from IDENTITY columns, and repairs one written to by an older version since.
+ */
+@Service
+// The schema, generator table included, is created or updated with the entity manager factory
+@DependsOn("entityManagerFactory")
+public class IdBlockService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdBlockService.class);
+
+    private static final String SELECT_NEXT = "SELECT " + PooledIds.VALUE_COLUMN + " FROM " + PooledIds.TABLE
+            + " WHERE " + PooledIds.SEGMENT_COLUMN + " = ?";
+
+    private static final String UPDATE_NEXT = "UPDATE " + PooledIds.TABLE + " SET " + PooledIds.VALUE_COLUMN + " = ?"
+            + " WHERE " + PooledIds.SEGMENT_COLUMN + " = ?";
+
+    private static final String INSERT_SEGMENT = "INSERT INTO " + PooledIds.TABLE
+            + " (" + PooledIds.SEGMENT_COLUMN + ", " + PooledIds.VALUE_COLUMN + ") VALUES (?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate allocationTransaction;
+
+    @PostConstruct
+    void init() {
+        allocationTransaction = new TransactionTemplate(transactionManager);
+        // Like Hibernate's own allocations: the counter row is locked only for the allocation, not for the
+        // caller's whole transaction, and a block stays used even if the caller rolls back
+        allocationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        allocationTransaction.executeWithoutResult(status -> PooledIds.SEGMENTS.forEach(this::align));
+    }
+
+    /**
+     * Reserves {@code count} consecutive ids for a table.
+     *
+     * @param table One of {@link PooledIds#SEGMENTS}
+     * @return First id of the block; the block is {@code [first, first + count)}
+     */
+    public long reserve(String table, int count) {
+        if (!PooledIds.SEGMENTS.contains(table)) {
+            throw new IllegalArgumentException("No pooled id counter for table " + table);
+        }
+        return allocationTransaction.execute(status -> {
+            long next = jdbcTemplate.queryForObject(SELECT_NEXT + " FOR UPDATE", Long.class, table);
+            jdbcTemplate.update(UPDATE_NEXT, next + count, table);
+            return next;
+        });
+    }
+
+    /** Creates the counter of a table, or moves it, so that it starts above every id in the table. */
+    private void align(String table) {
+        long firstFree = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class) + 1;
+        List<Long> next = jdbcTemplate.queryForList(SELECT_NEXT + " FOR UPDATE", Long.class, table);
+        if (next.isEmpty()) {
+            jdbcTemplate.update(INSERT_SEGMENT, table, firstFree);
+            logger.info("Pooled id counter of {} created at {}", table, firstFree);
+        } else if (next.get(0) < firstFree) {
+            jdbcTemplate.update(UPDATE_NEXT, firstFree, table);
+            logger.warn("Pooled id counter of {} was behind the table, moved from {} to {}", table, next.get(0), firstFree);
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.employeemanagement.service;
 
+import com.example.employeemanagement.event.EmployeeChangedEvent;
 import com.example.employeemanagement.model.JobTemplate;
 import com.example.employeemanagement.repository.JobTemplateRepository;
 import com.example.employeemanagement.repository.EmployeeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,6 +21,9 @@ public class JobTemplateService {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<JobTemplate> getAllJobTemplates() {
         return jobTemplateRepository.findAll();
     }
@@ -26,8 +32,21 @@ public class JobTemplateService {
         return jobTemplateRepository.findById(id);
     }
 
+    /**
+     * Saves the template. Employee views embed its title, so an update is published as a change of the employees
+     * holding it, which reaches the search index, the ETags and the other readers of those views.
+     */
+    @Transactional
     public JobTemplate saveJobTemplate(JobTemplate jobTemplate) {
-        return jobTemplateRepository.save(jobTemplate);
+        boolean existing = jobTemplate.getId() != null;
+        JobTemplate saved = jobTemplateRepository.save(jobTemplate);
+        if (existing) {
+            List<Long> employeeIds = employeeRepository.findIdsByJobTemplateId(saved.getId());
+            if (!employeeIds.isEmpty()) {
+                eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.UPDATED, employeeIds));
+            }
+        }
+        return saved;
     }
 
     public void deleteJobTemplate(Long id) {
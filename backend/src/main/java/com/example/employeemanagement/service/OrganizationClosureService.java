@@ -0,0 +1,243 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.CursorPageDTO;
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import com.example.employeemanagement.event.OrganizationChangedEvent;
+import com.example.employeemanagement.exception.BadRequestException;
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.model.OrgUnitClosure;
+import com.example.employeemanagement.model.OrgUnitClosure.UnitType;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.OrgUnitClosureRepository;
+import com.example.employeemanagement.util.NameCursor;
+import com.example.employeemanagement.util.OrgAncestryIndex;
+import com.example.employeemanagement.util.OrgPlacement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Keeps the {@link OrgUnitClosure} table in step with the organization units and answers subtree queries from it.
+ *
+ * <p>After every committed organization change, the changed unit and everything below it (as stored and as it is
+ * now) get their ancestor rows recomputed from the tree snapshot's {@link OrgAncestryIndex}; only rows that differ
+ * are deleted or inserted, so renames write nothing. The whole table is reconciled the same way at startup, which
+ * fills it for existing data and repairs any update that failed.
+ *
+ * <p>Subtree employees are matched on their most specific unit (division, else service unit, else direction), so
+ * an employee whose division moved is listed under its new direction even if its denormalized columns lag.
+ */
+@Service
+public class OrganizationClosureService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrganizationClosureService.class);
+
+    /** Largest page returned by the subtree listing. */
+    static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private OrgUnitClosureRepository closureRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private OrganizationTreeService organizationTreeService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate writeTransaction;
+
+    @PostConstruct
+    void init() {
+        writeTransaction = new TransactionTemplate(transactionManager);
+        // Also used from after-commit listeners, where the finished transaction is still bound
+        writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Page of the employees placed anywhere under a unit, ordered by last name, first name then id, read by
+     * keyset: each page seeks past the last row of the previous one instead of skipping an offset.
+     *
+     * @param type {@code direction}, {@code service} or {@code division}
+     * @param id Unit id
+     * @param after Cursor returned with the previous page, {@code null} or empty for the first page
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<EmployeeSummaryDTO> getSubtreeEmployees(String type, Long id, String after, int size) {
+        UnitType unitType = parseType(type);
+        if (!exists(organizationTreeService.getSnapshot().getAncestry(), unitType, id)) {
+            throw new ResourceNotFoundException("Unité organisationnelle introuvable : " + type + " " + id);
+        }
+        if (size < 1) {
+            throw new BadRequestException("Taille de page invalide");
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        NameCursor cursor = NameCursor.decode(after);
+        // One extra row tells whether another page follows
+        List<EmployeeSummaryDTO> rows = employeeRepository.findSummariesInSubtreeAfter(unitType, id,
+                cursor.getLastName(), cursor.getFirstName(), cursor.getId(), pageSize + 1);
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = NameCursor.after(rows.get(pageSize - 1)).encode();
+        }
+        return new CursorPageDTO<>(rows, pageSize, nextCursor);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileAll() {
+        try {
+            long start = System.currentTimeMillis();
+            int[] changes = writeTransaction.execute(status -> {
+                OrgAncestryIndex ancestry = organizationTreeService.getSnapshot().getAncestry();
+                Map<UnitType, Set<Long>> units = new EnumMap<>(UnitType.class);
+                units.put(UnitType.DIRECTION, new LinkedHashSet<>(ancestry.directionIds()));
+                units.put(UnitType.SERVICE_UNIT, new LinkedHashSet<>(ancestry.serviceUnitIds()));
+                units.put(UnitType.DIVISION, new LinkedHashSet<>(ancestry.divisionIds()));
+                List<OrgUnitClosure> stored = closureRepository.findAll();
+                stored.forEach(row -> add(units, row.getDescendantType(), row.getDescendantId()));
+                return apply(expectedRows(ancestry, units), stored);
+            });
+            if (changes != null && changes[0] + changes[1] > 0) {
+                logger.info("Organization closure reconciled ({} rows added, {} removed) in {} ms",
+                        changes[0], changes[1], System.currentTimeMillis() - start);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Organization closure reconciliation failed", e);
+        }
+    }
+
+    /** Runs after the tree listener, so the snapshot read here already includes the change. */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onOrganizationChanged(OrganizationChangedEvent event) {
+        UnitType type = UnitType.valueOf(event.getUnitType().name());
+        try {
+            writeTransaction.executeWithoutResult(status -> update(type, event.getUnitId()));
+        } catch (RuntimeException e) {
+            // Not fatal: the table is reconciled at the next start
+            logger.error("Organization closure update failed for {} {}", type, event.getUnitId(), e);
+        }
+    }
+
+    private void update(UnitType type, Long id) {
+        OrgAncestryIndex ancestry = organizationTreeService.getSnapshot().getAncestry();
+        Map<UnitType, Set<Long>> units = new EnumMap<>(UnitType.class);
+        add(units, type, id);
+        for (OrgUnitClosure row : closureRepository.findByAncestorTypeAndAncestorId(type, id)) {
+            add(units, row.getDescendantType(), row.getDescendantId());
+        }
+        if (type == UnitType.DIRECTION) {
+            for (Long serviceUnitId : ancestry.serviceUnitIdsOf(id)) {
+                add(units, UnitType.SERVICE_UNIT, serviceUnitId);
+                ancestry.divisionIdsOf(serviceUnitId).forEach(divisionId -> add(units, UnitType.DIVISION, divisionId));
+            }
+        } else if (type == UnitType.SERVICE_UNIT) {
+            ancestry.divisionIdsOf(id).forEach(divisionId -> add(units, UnitType.DIVISION, divisionId));
+        }
+        List<OrgUnitClosure> stored = new ArrayList<>();
+        units.forEach((unitType, ids) -> stored.addAll(closureRepository.findByDescendants(unitType, ids)));
+        apply(expectedRows(ancestry, units), stored);
+    }
+
+    /** Rows the given units should have: themselves plus each existing ancestor. Deleted units get none. */
+    private static List<OrgUnitClosure> expectedRows(OrgAncestryIndex ancestry, Map<UnitType, Set<Long>> units) {
+        List<OrgUnitClosure> rows = new ArrayList<>();
+        units.forEach((type, ids) -> {
+            for (Long id : ids) {
+                Optional<OrgPlacement> placement = placement(ancestry, type, id);
+                if (placement.isEmpty()) {
+                    continue;
+                }
+                rows.add(new OrgUnitClosure(type, id, type, id, 0));
+                int depth = 1;
+                if (type == UnitType.DIVISION && placement.get().getServiceUnitId() != null) {
+                    rows.add(new OrgUnitClosure(UnitType.SERVICE_UNIT, placement.get().getServiceUnitId(), type, id, depth++));
+                }
+                if (type != UnitType.DIRECTION && placement.get().getDirectionId() != null) {
+                    rows.add(new OrgUnitClosure(UnitType.DIRECTION, placement.get().getDirectionId(), type, id, depth));
+                }
+            }
+        });
+        return rows;
+    }
+
+    /** Writes the difference between the expected and stored rows; returns {added, removed}. */
+    private int[] apply(List<OrgUnitClosure> expected, List<OrgUnitClosure> stored) {
+        Map<List<Object>, OrgUnitClosure> obsolete = new HashMap<>();
+        stored.forEach(row -> obsolete.put(key(row), row));
+        List<OrgUnitClosure> missing = new ArrayList<>();
+        for (OrgUnitClosure row : expected) {
+            if (obsolete.remove(key(row)) == null) {
+                missing.add(row);
+            }
+        }
+        if (!obsolete.isEmpty()) {
+            closureRepository.deleteAllInBatch(obsolete.values());
+        }
+        if (!missing.isEmpty()) {
+            closureRepository.saveAll(missing);
+        }
+        return new int[] {missing.size(), obsolete.size()};
+    }
+
+    private static List<Object> key(OrgUnitClosure row) {
+        return List.of(row.getAncestorType(), row.getAncestorId(), row.getDescendantType(), row.getDescendantId(), row.getDepth());
+    }
+
+    private static void add(Map<UnitType, Set<Long>> units, UnitType type, Long id) {
+        units.computeIfAbsent(type, t -> new LinkedHashSet<>()).add(id);
+    }
+
+    private static Optional<OrgPlacement> placement(OrgAncestryIndex ancestry, UnitType type, Long id) {
+        switch (type) {
+            case DIRECTION:
+                return ancestry.directionPlacement(id);
+            case SERVICE_UNIT:
+                return ancestry.serviceUnitPlacement(id);
+            default:
+                return ancestry.divisionPlacement(id);
+        }
+    }
+
+    private static boolean exists(OrgAncestryIndex ancestry, UnitType type, Long id) {
+        return placement(ancestry, type, id).isPresent();
+    }
+
+    /** Unit type of the {@code {type}} path segment shared by the organization endpoints. */
+    static UnitType parseType(String type) {
+        switch (type.toLowerCase(Locale.ROOT)) {
+            case "direction":
+                return UnitType.DIRECTION;
+            case "service":
+                return UnitType.SERVICE_UNIT;
+            case "division":
+                return UnitType.DIVISION;
+            default:
+                throw new BadRequestException("Type d'unité inconnu : " + type + " (direction, service ou division attendu)");
+        }
+    }
+}
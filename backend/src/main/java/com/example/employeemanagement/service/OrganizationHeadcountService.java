@@ -0,0 +1,179 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.OrganizationEmployeeCountsDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.OrganizationChangedEvent;
+import com.example.employeemanagement.repository.DirectionRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.util.VersionedValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Employee counts of every organization node for the org chart, computed from one grouped query over the
+ * employees table and rolled up along the current organization tree. The result is cached until the next
+ * committed employee or organization change, and recomputed on a fixed period: a write that publishes no event
+ * (another instance, a manual fix) would otherwise leave the counts and their ETag stale until the next one.
+ */
+@Service
+public class OrganizationHeadcountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrganizationHeadcountService.class);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DirectionRepository directionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.organization.headcount-reconcile-minutes:15}")
+    private long reconcileMinutes;
+
+    private final VersionedValue<OrganizationEmployeeCountsDTO> counts = new VersionedValue<>();
+
+    private ScheduledExecutorService reconciler;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "headcount-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcile, reconcileMinutes, reconcileMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+        }
+    }
+
+    /** Weak ETag of the current counts. */
+    public String getEtag() {
+        return counts.etag();
+    }
+
+    @Transactional(readOnly = true)
+    public OrganizationEmployeeCountsDTO getEmployeeCounts() {
+        return counts.get(generation -> computeCounts());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        counts.invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizationChanged(OrganizationChangedEvent event) {
+        counts.invalidate();
+    }
+
+    /** Recomputes the counts and drops the cached ones, changing the ETag, only when they differ. */
+    void reconcile() {
+        try {
+            long generation = counts.generation();
+            OrganizationEmployeeCountsDTO cached = counts.peek();
+            if (cached == null) {
+                // Nothing cached: the next read computes fresh counts anyway
+                return;
+            }
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            OrganizationEmployeeCountsDTO fresh = readOnly.execute(status -> computeCounts());
+            if (!sameCounts(cached, fresh) && counts.generation() == generation) {
+                logger.warn("Organization headcounts had drifted from the employees table; cache dropped");
+                counts.invalidate();
+            }
+        } catch (RuntimeException e) {
+            // Keep the scheduled task alive; the cached counts stay in use until the next run
+            logger.error("Organization headcount reconciliation failed", e);
+        }
+    }
+
+    private static boolean sameCounts(OrganizationEmployeeCountsDTO a, OrganizationEmployeeCountsDTO b) {
+        return a.getUnassigned() == b.getUnassigned() && a.getDirections().equals(b.getDirections())
+                && a.getServices().equals(b.getServices()) && a.getDivisions().equals(b.getDivisions());
+    }
+
+    private OrganizationEmployeeCountsDTO computeCounts() {
+        Map<Long, Long> directions = new LinkedHashMap<>();
+        Map<Long, Long> services = new LinkedHashMap<>();
+        Map<Long, Long> divisions = new LinkedHashMap<>();
+        Map<Long, Long> serviceOfDivision = new HashMap<>();
+        Map<Long, Long> directionOfService = new HashMap<>();
+
+        // Every node gets an entry, empty ones included
+        for (Object[] row : directionRepository.findUnitTree()) {
+            Long directionId = id(row[0]);
+            Long serviceUnitId = id(row[1]);
+            Long divisionId = id(row[2]);
+            directions.putIfAbsent(directionId, 0L);
+            if (serviceUnitId != null) {
+                services.putIfAbsent(serviceUnitId, 0L);
+                directionOfService.put(serviceUnitId, directionId);
+            }
+            if (divisionId != null) {
+                divisions.putIfAbsent(divisionId, 0L);
+                serviceOfDivision.put(divisionId, serviceUnitId);
+            }
+        }
+
+        long unassigned = 0;
+        for (Object[] row : employeeRepository.countByOrganizationUnit()) {
+            Long directionId = id(row[0]);
+            Long serviceUnitId = id(row[1]);
+            Long divisionId = id(row[2]);
+            long count = ((Number) row[3]).longValue();
+
+            if (divisionId == null && serviceUnitId == null && directionId == null) {
+                unassigned += count;
+                continue;
+            }
+            // Roll up along the current tree; the employee's own parent columns only serve for units missing from it
+            if (divisionId != null && serviceOfDivision.containsKey(divisionId)) {
+                serviceUnitId = serviceOfDivision.get(divisionId);
+                directionId = directionOfService.get(serviceUnitId);
+            } else if (serviceUnitId != null && directionOfService.containsKey(serviceUnitId)) {
+                directionId = directionOfService.get(serviceUnitId);
+            }
+            if (divisionId != null) {
+                divisions.merge(divisionId, count, Long::sum);
+            }
+            if (serviceUnitId != null) {
+                services.merge(serviceUnitId, count, Long::sum);
+            }
+            if (directionId != null) {
+                directions.merge(directionId, count, Long::sum);
+            }
+        }
+        return new OrganizationEmployeeCountsDTO(Collections.unmodifiableMap(directions),
+                Collections.unmodifiableMap(services), Collections.unmodifiableMap(divisions), unassigned);
+    }
+
+    private static Long id(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+}
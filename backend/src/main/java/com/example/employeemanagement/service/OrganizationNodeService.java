@@ -0,0 +1,75 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.DirectionTreeDTO;
+import com.example.employeemanagement.dto.DivisionTreeDTO;
+import com.example.employeemanagement.dto.OrganizationEmployeeCountsDTO;
+import com.example.employeemanagement.dto.OrganizationNodeDTO;
+import com.example.employeemanagement.dto.ServiceUnitTreeDTO;
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.model.OrgUnitClosure.UnitType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Org chart nodes served one level at a time, so the chart first loads the directions only and fetches the
+ * children of a node when it is expanded. Nodes are read from the organization tree snapshot and the cached
+ * headcounts: a level costs a hash lookup and no query.
+ */
+@Service
+public class OrganizationNodeService {
+
+    @Autowired
+    private OrganizationTreeService organizationTreeService;
+
+    @Autowired
+    private OrganizationHeadcountService organizationHeadcountService;
+
+    /** Top level of the chart: every direction. */
+    public List<OrganizationNodeDTO> getRootNodes() {
+        OrganizationEmployeeCountsDTO counts = organizationHeadcountService.getEmployeeCounts();
+        List<OrganizationNodeDTO> nodes = new ArrayList<>();
+        for (DirectionTreeDTO direction : organizationTreeService.getSnapshot().getDirections()) {
+            nodes.add(new OrganizationNodeDTO("direction", direction.getId(), direction.getName(), direction.getManagerName(),
+                    counts.getDirections().getOrDefault(direction.getId(), 0L), !direction.getServiceUnits().isEmpty()));
+        }
+        return nodes;
+    }
+
+    /**
+     * Direct children of a node: the service units of a direction, the divisions of a service unit, none for a
+     * division.
+     *
+     * @param type {@code direction}, {@code service} or {@code division}
+     * @param id Unit id
+     */
+    public List<OrganizationNodeDTO> getChildren(String type, Long id) {
+        UnitType unitType = OrganizationClosureService.parseType(type);
+        OrganizationTreeService.Snapshot snapshot = organizationTreeService.getSnapshot();
+        List<OrganizationNodeDTO> nodes = new ArrayList<>();
+        if (unitType == UnitType.DIRECTION) {
+            DirectionTreeDTO direction = snapshot.findDirection(id).orElseThrow(() -> notFound(type, id));
+            OrganizationEmployeeCountsDTO counts = organizationHeadcountService.getEmployeeCounts();
+            for (ServiceUnitTreeDTO service : direction.getServiceUnits()) {
+                nodes.add(new OrganizationNodeDTO("service", service.getId(), service.getName(), service.getManagerName(),
+                        counts.getServices().getOrDefault(service.getId(), 0L), !service.getDivisions().isEmpty()));
+            }
+        } else if (unitType == UnitType.SERVICE_UNIT) {
+            ServiceUnitTreeDTO service = snapshot.findServiceUnit(id).orElseThrow(() -> notFound(type, id));
+            OrganizationEmployeeCountsDTO counts = organizationHeadcountService.getEmployeeCounts();
+            for (DivisionTreeDTO division : service.getDivisions()) {
+                nodes.add(new OrganizationNodeDTO("division", division.getId(), division.getName(), division.getManagerName(),
+                        counts.getDivisions().getOrDefault(division.getId(), 0L), false));
+            }
+        } else if (snapshot.getAncestry().divisionPlacement(id).isEmpty()) {
+            throw notFound(type, id);
+        }
+        return nodes;
+    }
+
+    private static ResourceNotFoundException notFound(String type, Long id) {
+        return new ResourceNotFoundException("Unité organisationnelle introuvable : " + type + " " + id);
+    }
+}
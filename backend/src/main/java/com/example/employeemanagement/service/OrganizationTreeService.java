@@ -0,0 +1,218 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.DirectionTreeDTO;
+import com.example.employeemanagement.dto.DivisionTreeDTO;
+import com.example.employeemanagement.dto.OrganizationUnitRowDTO;
+import com.example.employeemanagement.dto.ServiceUnitTreeDTO;
+import com.example.employeemanagement.event.OrganizationChangedEvent;
+import com.example.employeemanagement.repository.DirectionRepository;
+import com.example.employeemanagement.repository.DivisionRepository;
+import com.example.employeemanagement.repository.ServiceUnitRepository;
+import com.example.employeemanagement.util.OrgAncestryIndex;
+import com.example.employeemanagement.util.VersionedValue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The organization tree (direction, service units, divisions) served by {@code GET /api/organization}.
+ *
+ * <p>The tree is read with one flat query per level, in one read-only transaction, and assembled into immutable
+ * DTOs together with their serialized JSON. That {@link Snapshot} is published through a single volatile
+ * reference, so readers get a consistent tree and its bytes without touching the database. Every committed
+ * organization change only bumps the generation; the snapshot is rebuilt by the first read that follows, or in the
+ * background {@code app.organization.tree-rebuild-delay-ms} after the change, so a burst of changes (an import of
+ * the organization chart) costs one rebuild rather than one per row. A snapshot built before a later change is
+ * never published over a newer one.
+ *
+ * <p>The same rows also feed the snapshot's {@link OrgAncestryIndex}, which employee writes use to resolve a unit's
+ * ancestors without querying. The first snapshot is built once the application is ready.
+ */
+@Service
+public class OrganizationTreeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrganizationTreeService.class);
+
+    @Autowired
+    private DirectionRepository directionRepository;
+
+    @Autowired
+    private ServiceUnitRepository serviceUnitRepository;
+
+    @Autowired
+    private DivisionRepository divisionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.organization.tree-rebuild-delay-ms:500}")
+    private long rebuildDelayMs;
+
+    /** Invalidated on every committed organization write. */
+    private final VersionedValue<Snapshot> snapshot = new VersionedValue<>();
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private ScheduledExecutorService rebuilder;
+
+    /** Set while a background rebuild is scheduled, so the changes of a burst share it. */
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        // Also used from after-commit listeners, where the finished transaction is still bound
+        readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "organization-tree-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        rebuilder.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        getSnapshot();
+    }
+
+    /** The current tree, rebuilt first if the organization changed since it was built. */
+    public Snapshot getSnapshot() {
+        return snapshot.get(this::rebuild);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizationChanged(OrganizationChangedEvent event) {
+        snapshot.invalidate();
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            try {
+                rebuilder.schedule(this::rebuildInBackground, rebuildDelayMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Shutting down: the next read rebuilds
+                rebuildScheduled.set(false);
+            }
+        }
+    }
+
+    private void rebuildInBackground() {
+        // Cleared first: a change committed during the rebuild schedules the next one
+        rebuildScheduled.set(false);
+        try {
+            getSnapshot();
+        } catch (RuntimeException e) {
+            // The writes are already committed; the next read retries the rebuild
+            logger.warn("Could not rebuild the organization tree after a change", e);
+        }
+    }
+
+    private Snapshot rebuild(long generation) {
+        return readOnlyTransaction.execute(status -> load(generation));
+    }
+
+    private Snapshot load(long generation) {
+        List<OrganizationUnitRowDTO> directionRows = directionRepository.findAllRows();
+        List<OrganizationUnitRowDTO> serviceUnitRows = serviceUnitRepository.findAllRows();
+        List<OrganizationUnitRowDTO> divisionRows = divisionRepository.findAllRows();
+
+        Map<Long, List<DivisionTreeDTO>> divisionsByService = new HashMap<>();
+        for (OrganizationUnitRowDTO row : divisionRows) {
+            if (row.getParentId() != null) {
+                divisionsByService.computeIfAbsent(row.getParentId(), id -> new ArrayList<>()).add(new DivisionTreeDTO(row));
+            }
+        }
+        Map<Long, List<ServiceUnitTreeDTO>> servicesByDirection = new HashMap<>();
+        for (OrganizationUnitRowDTO row : serviceUnitRows) {
+            if (row.getParentId() != null) {
+                servicesByDirection.computeIfAbsent(row.getParentId(), id -> new ArrayList<>())
+                        .add(new ServiceUnitTreeDTO(row, divisionsByService.getOrDefault(row.getId(), List.of())));
+            }
+        }
+        List<DirectionTreeDTO> directions = new ArrayList<>();
+        for (OrganizationUnitRowDTO row : directionRows) {
+            directions.add(new DirectionTreeDTO(row, servicesByDirection.getOrDefault(row.getId(), List.of())));
+        }
+        List<DirectionTreeDTO> tree = List.copyOf(directions);
+        return new Snapshot(generation, tree, serialize(tree), snapshot.etag(generation),
+                new OrgAncestryIndex(directionRows, serviceUnitRows, divisionRows));
+    }
+
+    private byte[] serialize(List<DirectionTreeDTO> directions) {
+        try {
+            return objectMapper.writeValueAsBytes(directions);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the organization tree", e);
+        }
+    }
+
+    /** Immutable organization tree of one generation, with its JSON, weak ETag, ancestry index and node lookups. */
+    public static final class Snapshot {
+        private final long generation;
+        private final List<DirectionTreeDTO> directions;
+        private final byte[] json;
+        private final String etag;
+        private final OrgAncestryIndex ancestry;
+        private final Map<Long, DirectionTreeDTO> directionsById = new HashMap<>();
+        private final Map<Long, ServiceUnitTreeDTO> serviceUnitsById = new HashMap<>();
+
+        public Snapshot(long generation, List<DirectionTreeDTO> directions, byte[] json, String etag,
+                        OrgAncestryIndex ancestry) {
+            this.generation = generation;
+            this.directions = directions;
+            this.json = json;
+            this.etag = etag;
+            this.ancestry = ancestry;
+            for (DirectionTreeDTO direction : directions) {
+                directionsById.put(direction.getId(), direction);
+                direction.getServiceUnits().forEach(serviceUnit -> serviceUnitsById.put(serviceUnit.getId(), serviceUnit));
+            }
+        }
+
+        public long getGeneration() { return generation; }
+        public List<DirectionTreeDTO> getDirections() { return directions; }
+        /** Shared buffer: write it out, never modify it. */
+        public byte[] getJson() { return json; }
+        public String getEtag() { return etag; }
+        public OrgAncestryIndex getAncestry() { return ancestry; }
+
+        /** Direction of the tree; empty if unknown. */
+        public Optional<DirectionTreeDTO> findDirection(Long id) {
+            return Optional.ofNullable(directionsById.get(id));
+        }
+
+        /** Service unit of the tree; empty if unknown or not attached to a direction. */
+        public Optional<ServiceUnitTreeDTO> findServiceUnit(Long id) {
+            return Optional.ofNullable(serviceUnitsById.get(id));
+        }
+    }
+}
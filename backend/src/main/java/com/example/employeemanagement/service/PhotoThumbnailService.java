@@ -0,0 +1,205 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.EmployeePhoto;
+import com.example.employeemanagement.model.EmployeePhotoThumbnail;
+import com.example.employeemanagement.repository.EmployeePhotoRepository;
+import com.example.employeemanagement.repository.EmployeePhotoThumbnailRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates the avatar-sized copies of employee photos. Work runs after the upload transaction commits, on a
+ * small fixed pool with a bounded queue so a burst of uploads cannot pile up image decoding on the heap.
+ * When the queue is full the request is dropped and the photo endpoint keeps serving the full-size image.
+ * Photos left without current thumbnails (legacy photos moved by the migration, dropped requests) are caught
+ * up once at startup.
+ */
+@Service
+public class PhotoThumbnailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PhotoThumbnailService.class);
+
+    /** Longest side, in pixels, of the generated thumbnails. */
+    public static final List<Integer> SIZES = List.of(48, 128, 512);
+
+    @Autowired
+    private EmployeePhotoRepository employeePhotoRepository;
+
+    @Autowired
+    private EmployeePhotoThumbnailRepository thumbnailRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.photos.thumbnail-workers:2}")
+    private int workers;
+
+    @Value("${app.photos.thumbnail-queue-capacity:100}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "photo-thumbnails-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /** Generates the missing thumbnails one photo at a time, off the request pool so uploads are not held up. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Thread thread = new Thread(() -> {
+            List<Long> employeeIds = employeePhotoRepository.findEmployeeIdsMissingThumbnails(SIZES.size());
+            if (employeeIds.isEmpty()) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            for (Long employeeId : employeeIds) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                employeePhotoRepository.findContentHashByEmployeeId(employeeId)
+                        .ifPresent(contentHash -> generate(employeeId, contentHash));
+            }
+            logger.info("Thumbnails backfilled for {} photos in {} ms", employeeIds.size(), System.currentTimeMillis() - start);
+        }, "photo-thumbnails-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public static boolean supports(int size) {
+        return SIZES.contains(size);
+    }
+
+    /**
+     * Queues thumbnail generation for the given photo version once the current transaction has committed, or
+     * right away when there is no transaction.
+     */
+    public void scheduleAfterCommit(Long employeeId, String contentHash) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(employeeId, contentHash);
+                }
+            });
+        } else {
+            submit(employeeId, contentHash);
+        }
+    }
+
+    private void submit(Long employeeId, String contentHash) {
+        try {
+            executor.execute(() -> generate(employeeId, contentHash));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Thumbnail queue full, skipping thumbnails for employee {}", employeeId);
+        }
+    }
+
+    private void generate(Long employeeId, String contentHash) {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                EmployeePhoto photo = employeePhotoRepository.findById(employeeId).orElse(null);
+                // A newer upload has its own task queued; let that one write the thumbnails
+                if (photo == null || !contentHash.equals(photo.getContentHash())) {
+                    return;
+                }
+                BufferedImage source = decode(photo.getData());
+                if (source == null) {
+                    logger.warn("Photo of employee {} is not a readable image, no thumbnails generated", employeeId);
+                    return;
+                }
+                String format = "image/png".equals(photo.getContentType()) ? "png" : "jpg";
+                for (int size : SIZES) {
+                    EmployeePhotoThumbnail thumbnail = thumbnailRepository.findByEmployeeIdAndSizePx(employeeId, size)
+                            .orElseGet(EmployeePhotoThumbnail::new);
+                    thumbnail.setEmployeeId(employeeId);
+                    thumbnail.setSizePx(size);
+                    thumbnail.setData(encode(scale(source, size, "png".equals(format)), format));
+                    thumbnail.setContentType("png".equals(format) ? "image/png" : "image/jpeg");
+                    thumbnail.setSourceHash(contentHash);
+                    thumbnailRepository.save(thumbnail);
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.error("Thumbnail generation failed for employee {}", employeeId, e);
+        }
+    }
+
+    private static BufferedImage decode(byte[] data) {
+        try {
+            return ImageIO.read(new ByteArrayInputStream(data));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static byte[] encode(BufferedImage image, String format) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, format, out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode thumbnail", e);
+        }
+    }
+
+    /** Fits the image in a {@code size} x {@code size} box, keeping its ratio and never upscaling. */
+    private static BufferedImage scale(BufferedImage source, int size, boolean keepAlpha) {
+        double ratio = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        // Halve step by step: a single bilinear pass over a large reduction drops most of the source pixels
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight,
+                    keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            graphics.dispose();
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.employeemanagement.service;
 
 import com.example.employeemanagement.dto.PositionDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
 import com.example.employeemanagement.model.Division;
 import com.example.employeemanagement.model.Employee;
 import com.example.employeemanagement.model.Position;
@@ -9,6 +10,7 @@ import com.example.employeemanagement.repository.EmployeeRepository;
 import com.example.employeemanagement.repository.PositionRepository;
 import com.example.employeemanagement.exception.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +29,9 @@ public class PositionService {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<PositionDTO> getAllPositions() {
         return positionRepository.findAll().stream()
                 .map(this::toDTO)
@@ -40,12 +45,9 @@ public class PositionService {
     }
 
     public List<PositionDTO> getPositionsByEmployeeId(Long employeeId) {
-        return employeeRepository.findById(employeeId)
-                .map(employee -> employee.getPosition() != null ? List.of(employee.getPosition()) : List.<Position>of())
-                .orElse(List.of())
-                .stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return employeeRepository.findPositionByEmployeeId(employeeId)
+                .map(position -> List.of(toDTO(position)))
+                .orElse(List.of());
     }
 
     @Transactional
@@ -91,6 +93,7 @@ public class PositionService {
         employee.setJobTitle(position.getTitle());
         employee.setPosition(position);
         employeeRepository.save(employee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.UPDATED, employeeId));
         
         return toDTO(positionRepository.save(position));
     }
@@ -105,6 +108,7 @@ public class PositionService {
         employeeRepository.findByPosition_Id(positionId).ifPresent(employee -> {
             employee.setPosition(null);
             employeeRepository.save(employee);
+            eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.UPDATED, employee.getId()));
         });
         
         return toDTO(positionRepository.save(position));
@@ -150,6 +154,7 @@ public class PositionService {
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
              employee.setPosition(position);
              employeeRepository.save(employee);
+             eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.UPDATED, employee.getId()));
              position.setStatus("OCCUPIED");
         } else {
              if (position.getStatus() == null) position.setStatus("VACANT");
@@ -0,0 +1,139 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.ReviewPeriodDTO;
+import com.example.employeemanagement.dto.ReviewScoreSummaryDTO;
+import com.example.employeemanagement.dto.ReviewStatsDTO;
+import com.example.employeemanagement.exception.BadRequestException;
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.repository.PerformanceReviewRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Performance-review analytics. Averages, final-score percentiles and distributions are computed by three
+ * grouped queries over the reviews of one period, whatever the number of units or reviews; the service only
+ * joins their rows per unit. Reviews are grouped by the current placement of their employee: the review rows
+ * keep no placement of their own, so closed periods follow later moves.
+ */
+@Service
+public class ReviewStatsService {
+
+    private static final String ALL = "ALL";
+    private static final String DIRECTION = "DIRECTION";
+    private static final String DIVISION = "DIVISION";
+
+    /** Percentiles returned by {@link PerformanceReviewRepository#findFinalScorePercentiles}. */
+    private static final double[] PERCENTILES = {0.25, 0.5, 0.75, 0.9};
+
+    private static final Comparator<ReviewScoreSummaryDTO> BY_UNIT_ID =
+            Comparator.comparing(ReviewScoreSummaryDTO::getUnitId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    @Autowired
+    private PerformanceReviewRepository performanceReviewRepository;
+
+    @Transactional(readOnly = true)
+    public List<ReviewPeriodDTO> getPeriods() {
+        return performanceReviewRepository.findPeriods();
+    }
+
+    /** The period holding the most recent review. */
+    @Transactional(readOnly = true)
+    public String getLatestPeriod() {
+        List<ReviewPeriodDTO> periods = performanceReviewRepository.findPeriods();
+        if (periods.isEmpty()) {
+            throw new ResourceNotFoundException("Aucune évaluation de performance enregistrée");
+        }
+        return periods.get(0).getPeriod();
+    }
+
+    @Transactional(readOnly = true)
+    public ReviewStatsDTO computeReviewStats(String period) {
+        if (period == null || period.isBlank() || period.length() > 50) {
+            throw new BadRequestException("Période d'évaluation invalide");
+        }
+        Map<UnitKey, double[]> percentiles = new HashMap<>();
+        for (Object[] row : performanceReviewRepository.findFinalScorePercentiles(period)) {
+            double[] values = percentiles.computeIfAbsent(unitKey(row), key -> new double[PERCENTILES.length]);
+            double score = ((Number) row[2]).doubleValue();
+            long rank = ((Number) row[3]).longValue();
+            long count = ((Number) row[4]).longValue();
+            // With few reviews one row can hold several percentiles
+            for (int p = 0; p < PERCENTILES.length; p++) {
+                if (rank == (long) Math.ceil(PERCENTILES[p] * count)) {
+                    values[p] = score;
+                }
+            }
+        }
+        Map<UnitKey, Map<Integer, Long>> distributions = new HashMap<>();
+        for (Object[] row : performanceReviewRepository.findFinalScoreDistribution(period)) {
+            distributions.computeIfAbsent(unitKey(row), key -> new TreeMap<>())
+                    .put(((Number) row[2]).intValue(), ((Number) row[3]).longValue());
+        }
+
+        ReviewScoreSummaryDTO overall = null;
+        List<ReviewScoreSummaryDTO> directions = new ArrayList<>();
+        List<ReviewScoreSummaryDTO> divisions = new ArrayList<>();
+        for (Object[] row : performanceReviewRepository.findScoreAverages(period)) {
+            UnitKey key = unitKey(row);
+            double[] unitPercentiles = percentiles.get(key);
+            ReviewScoreSummaryDTO summary = new ReviewScoreSummaryDTO(key.unitId, (String) row[2],
+                    ((Number) row[3]).longValue(), average(row[4]), average(row[5]), average(row[6]), average(row[7]),
+                    average(row[8]),
+                    unitPercentiles != null ? unitPercentiles[0] : null,
+                    unitPercentiles != null ? unitPercentiles[1] : null,
+                    unitPercentiles != null ? unitPercentiles[2] : null,
+                    unitPercentiles != null ? unitPercentiles[3] : null,
+                    distributions.getOrDefault(key, Map.of()));
+            if (ALL.equals(key.level)) {
+                overall = summary;
+            } else if (DIRECTION.equals(key.level)) {
+                directions.add(summary);
+            } else if (DIVISION.equals(key.level)) {
+                divisions.add(summary);
+            }
+        }
+        directions.sort(BY_UNIT_ID);
+        divisions.sort(BY_UNIT_ID);
+        return new ReviewStatsDTO(period, overall, directions, divisions);
+    }
+
+    private static UnitKey unitKey(Object[] row) {
+        return new UnitKey(((String) row[0]).trim(), row[1] != null ? ((Number) row[1]).longValue() : null);
+    }
+
+    private static Double average(Object value) {
+        return value != null ? Math.round(((Number) value).doubleValue() * 100.0) / 100.0 : null;
+    }
+
+    private static final class UnitKey {
+        final String level;
+        final Long unitId;
+
+        UnitKey(String level, Long unitId) {
+            this.level = level;
+            this.unitId = unitId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof UnitKey)) return false;
+            UnitKey other = (UnitKey) o;
+            return level.equals(other.level) && Objects.equals(unitId, other.unitId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(level, unitId);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.DashboardStatsDTO;
+import com.example.employeemanagement.dto.ReviewStatsDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.event.OrganizationChangedEvent;
+import com.example.employeemanagement.event.PerformanceReviewChangedEvent;
+import com.example.employeemanagement.util.SingleFlightCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache in front of {@link StatsService}. Each figure is computed at most once at a time: requests arriving while
+ * it is being computed wait for that computation, and entries close to expiry are refreshed in the background
+ * while the current value is still served. Every committed employee or organization change invalidates the
+ * cache; the listeners run last so the in-memory aggregates have already applied the change.
+ *
+ * <p>Review analytics are cached per period for much longer, since a closed period no longer changes: review
+ * writes and organization changes invalidate them, while employee moves between units only show up once the
+ * entry expires.
+ *
+ * <p>Hits, misses and load times are published as {@code stats.cache.gets}, {@code stats.cache.loads} and
+ * {@code stats.cache.load.failures}, tagged with the cache name.
+ */
+@Service
+public class StatsCacheService {
+
+    private static final String DASHBOARD = "dashboard";
+
+    @Autowired
+    private StatsService statsService;
+
+    @Autowired
+    private ReviewStatsService reviewStatsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.stats.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${app.stats.cache.refresh-ahead-seconds:15}")
+    private long refreshAheadSeconds;
+
+    @Value("${app.stats.reviews.cache-ttl-minutes:360}")
+    private long reviewsTtlMinutes;
+
+    private ThreadPoolExecutor refresher;
+
+    private SingleFlightCache<String, DashboardStatsDTO> dashboardCache;
+
+    private SingleFlightCache<String, ReviewStatsDTO> reviewsCache;
+
+    @PostConstruct
+    void start() {
+        refresher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(8), runnable -> {
+            Thread thread = new Thread(runnable, "stats-cache-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Partial results (sections past their timeout) are returned but not kept for a whole TTL
+        dashboardCache = new SingleFlightCache<>(key -> statsService.getDashboardStats(),
+                stats -> stats.getStaleSections().isEmpty(), refresher,
+                TimeUnit.SECONDS.toNanos(ttlSeconds), TimeUnit.SECONDS.toNanos(refreshAheadSeconds));
+        registerMetrics(DASHBOARD, dashboardCache);
+        // Only periods that have reviews are kept, so arbitrary period parameters cannot grow the cache
+        reviewsCache = new SingleFlightCache<>(reviewStatsService::computeReviewStats,
+                stats -> stats.getOverall().getReviewCount() > 0, refresher,
+                TimeUnit.MINUTES.toNanos(reviewsTtlMinutes), TimeUnit.SECONDS.toNanos(refreshAheadSeconds));
+        registerMetrics("reviews", reviewsCache);
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+    }
+
+    public DashboardStatsDTO getDashboardStats() {
+        return dashboardCache.get(DASHBOARD);
+    }
+
+    /** Review analytics of a period, or of the most recently reviewed period when none is given. */
+    public ReviewStatsDTO getReviewStats(String period) {
+        return reviewsCache.get(period != null ? period : reviewStatsService.getLatestPeriod());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        dashboardCache.invalidateAll();
+        // Reviews are grouped by the current placement of their employee, which an update may have moved
+        if (event.getType() != EmployeeChangedEvent.Type.CREATED) {
+            reviewsCache.invalidateAll();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onOrganizationChanged(OrganizationChangedEvent event) {
+        dashboardCache.invalidateAll();
+        reviewsCache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPerformanceReviewChanged(PerformanceReviewChangedEvent event) {
+        reviewsCache.invalidateAll();
+    }
+
+    private void registerMetrics(String name, SingleFlightCache<?, ?> cache) {
+        FunctionCounter.builder("stats.cache.gets", cache, SingleFlightCache::hitCount)
+                .tag("cache", name).tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("stats.cache.gets", cache, SingleFlightCache::missCount)
+                .tag("cache", name).tag("result", "miss")
+                .register(meterRegistry);
+        FunctionTimer.builder("stats.cache.loads", cache, SingleFlightCache::loadCount,
+                        SingleFlightCache::totalLoadNanos, TimeUnit.NANOSECONDS)
+                .tag("cache", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("stats.cache.load.failures", cache, SingleFlightCache::loadFailureCount)
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+}
@@ -1,50 +1,142 @@
 package com.example.employeemanagement.service;
 
 import com.example.employeemanagement.dto.DashboardStatsDTO;
+import com.example.employeemanagement.dto.DivisionHeadcountDTO;
+import com.example.employeemanagement.dto.EmployeeTotalsDTO;
 import com.example.employeemanagement.dto.MonthlyCountDTO;
-import com.example.employeemanagement.model.Division;
 import com.example.employeemanagement.repository.DivisionRepository;
 import com.example.employeemanagement.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * Dashboard figures. They are normally served from the in-memory {@link DashboardAggregateService}; until its
+ * counters are loaded they are computed with a fixed number of aggregate queries, whatever the size of the
+ * organization.
+ *
+ * <p>The queries behind the independent sections (totals with gender split, headcount per division, growth per
+ * month) run side by side on a small bounded pool, each in its own read-only transaction, so the response waits
+ * for the slowest of them rather than their sum. A section that does not answer within
+ * {@code app.stats.section-timeout-ms} is served from its last good value and listed in
+ * {@link DashboardStatsDTO#getStaleSections()}; its query keeps running and refreshes that value for the next call
+ * instead of being started again. A section that has no good value yet is also listed in
+ * {@link DashboardStatsDTO#getUnavailableSections()} and its figures are left null, so they are not read as zeros.
+ */
 @Service
 public class StatsService {
 
+    private static final Logger logger = LoggerFactory.getLogger(StatsService.class);
+
+    static final String TOTALS = "totals";
+    static final String ORGANIZATIONS = "organizations";
+    static final String GROWTH = "growth";
+
     @Autowired
     private EmployeeRepository employeeRepository;
 
     @Autowired
     private DivisionRepository divisionRepository;
 
-    public DashboardStatsDTO getDashboardStats() {
-        DashboardStatsDTO dto = new DashboardStatsDTO();
+    @Autowired
+    private DashboardAggregateService dashboardAggregateService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.stats.query-threads:3}")
+    private int queryThreads;
+
+    @Value("${app.stats.query-queue-capacity:12}")
+    private int queueCapacity;
+
+    @Value("${app.stats.section-timeout-ms:2000}")
+    private long sectionTimeoutMs;
+
+    private ThreadPoolExecutor executor;
+
+    private TransactionTemplate readOnlyTransaction;
 
-        long totalEmployees = employeeRepository.count();
-        dto.setTotalEmployees(totalEmployees);
+    private final Section<EmployeeTotalsDTO> totals = new Section<>(TOTALS, () -> employeeRepository.findTotals());
 
-        Double avgAge = employeeRepository.findAverageAge();
-        dto.setAverageAge(avgAge != null ? Math.round(avgAge * 100.0) / 100.0 : 0.0);
+    private final Section<List<DivisionHeadcountDTO>> headcounts =
+            new Section<>(ORGANIZATIONS, () -> divisionRepository.findHeadcounts());
 
-        long orgCount = divisionRepository.count();
-        dto.setTotalOrganizations(orgCount);
-        dto.setAverageTeamSize(orgCount > 0 ? Math.round((totalEmployees * 100.0) / orgCount) / 100.0 : 0.0);
+    private final Section<List<MonthlyCountDTO>> growth = new Section<>(GROWTH, this::loadGrowth);
 
-        Map<String, Long> employeesByOrg = new LinkedHashMap<>();
-        List<Division> divisions = divisionRepository.findAll();
-        for (Division division : divisions) {
-            long count = employeeRepository.countByDivision_Id(division.getId());
-            employeesByOrg.put(division.getName(), count);
+    @PostConstruct
+    void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(queryThreads, queryThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-queries-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public DashboardStatsDTO getDashboardStats() {
+        return dashboardAggregateService.getDashboardStats().orElseGet(this::computeDashboardStats);
+    }
+
+    /** Reads the dashboard figures from SQL: totals with gender split, headcount per division, growth per month. */
+    public DashboardStatsDTO computeDashboardStats() {
+        CompletableFuture<EmployeeTotalsDTO> totalsQuery = totals.start();
+        CompletableFuture<List<DivisionHeadcountDTO>> headcountsQuery = headcounts.start();
+        CompletableFuture<List<MonthlyCountDTO>> growthQuery = growth.start();
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMs);
+        List<String> stale = new ArrayList<>();
+        EmployeeTotalsDTO totalsValue = totals.await(totalsQuery, deadline, stale);
+        List<DivisionHeadcountDTO> headcountsValue = headcounts.await(headcountsQuery, deadline, stale);
+        List<MonthlyCountDTO> growthValue = growth.await(growthQuery, deadline, stale);
+
+        List<String> unavailable = new ArrayList<>();
+        if (totalsValue == null) {
+            unavailable.add(TOTALS);
+        }
+        if (headcountsValue == null) {
+            unavailable.add(ORGANIZATIONS);
+        }
+        if (growthValue == null) {
+            unavailable.add(GROWTH);
         }
-        dto.setEmployeesByOrganization(employeesByOrg);
+        DashboardStatsDTO dto = toDashboardStats(totalsValue, headcountsValue, growthValue);
+        dto.setStaleSections(stale);
+        dto.setUnavailableSections(unavailable);
+        return dto;
+    }
 
-        List<Object[]> growthRows = employeeRepository.countByCreatedMonth();
-        List<MonthlyCountDTO> growthList = growthRows.stream()
+    private List<MonthlyCountDTO> loadGrowth() {
+        return employeeRepository.countByCreatedMonth().stream()
                 .map(row -> {
                     int year = ((Number) row[0]).intValue();
                     int month = ((Number) row[1]).intValue();
@@ -53,28 +145,84 @@ public class StatsService {
                     return new MonthlyCountDTO(label, count);
                 })
                 .collect(Collectors.toList());
-        dto.setGrowthByMonth(growthList);
-
-        long male = 0;
-        long female = 0;
-        long other = 0;
-        List<Object[]> genderRows = employeeRepository.countByGender();
-        for (Object[] row : genderRows) {
-            String gender = row[0] != null ? row[0].toString() : "";
-            long count = ((Number) row[1]).longValue();
-            if ("M".equalsIgnoreCase(gender) || "H".equalsIgnoreCase(gender) || "HOMME".equalsIgnoreCase(gender)) {
-                male += count;
-            } else if ("F".equalsIgnoreCase(gender) || "FEMME".equalsIgnoreCase(gender)) {
-                female += count;
-            } else {
-                other += count;
-            }
+    }
+
+    /** Figures of the sections given; those of a null section, which has no known value, stay null. */
+    private static DashboardStatsDTO toDashboardStats(EmployeeTotalsDTO totals, List<DivisionHeadcountDTO> headcounts,
+                                                      List<MonthlyCountDTO> growth) {
+        DashboardStatsDTO dto = new DashboardStatsDTO();
+
+        if (totals != null) {
+            dto.setTotalEmployees(totals.getTotal());
+            Double avgAge = totals.getAverageAge();
+            dto.setAverageAge(avgAge != null ? Math.round(avgAge * 100.0) / 100.0 : 0.0);
+            dto.setMaleCount(totals.getMaleCount());
+            dto.setFemaleCount(totals.getFemaleCount());
+            dto.setOtherCount(totals.getOtherCount());
         }
 
-        dto.setMaleCount(male);
-        dto.setFemaleCount(female);
-        dto.setOtherCount(other);
+        if (headcounts != null) {
+            long orgCount = headcounts.size();
+            dto.setTotalOrganizations(orgCount);
+            Map<String, Long> employeesByOrg = new LinkedHashMap<>();
+            for (DivisionHeadcountDTO headcount : headcounts) {
+                employeesByOrg.put(headcount.getDivisionName(), headcount.getHeadcount());
+            }
+            dto.setEmployeesByOrganization(employeesByOrg);
+            if (totals != null) {
+                dto.setAverageTeamSize(orgCount > 0 ? Math.round((totals.getTotal() * 100.0) / orgCount) / 100.0 : 0.0);
+            }
+        }
 
+        dto.setGrowthByMonth(growth);
         return dto;
     }
+
+    /** One independent dashboard query, with at most one run in flight and the last value it returned. */
+    private final class Section<T> {
+
+        private final String name;
+        private final Supplier<T> query;
+        private CompletableFuture<T> inFlight;
+        private volatile T lastGood;
+
+        Section(String name, Supplier<T> query) {
+            this.name = name;
+            this.query = query;
+        }
+
+        /** Starts the query, or joins the run still in flight so a slow query is not piled up on the pool. */
+        synchronized CompletableFuture<T> start() {
+            if (inFlight != null && !inFlight.isDone()) {
+                return inFlight;
+            }
+            try {
+                inFlight = CompletableFuture
+                        .supplyAsync(() -> readOnlyTransaction.execute(status -> query.get()), executor)
+                        .whenComplete((value, error) -> {
+                            if (error == null) {
+                                lastGood = value;
+                            }
+                        });
+            } catch (RejectedExecutionException e) {
+                inFlight = CompletableFuture.failedFuture(e);
+            }
+            return inFlight;
+        }
+
+        /** Value of the run if it completes before the deadline, else the last good value (null if none yet). */
+        T await(CompletableFuture<T> run, long deadline, List<String> stale) {
+            try {
+                return run.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                logger.warn("Dashboard section {} took more than {} ms, serving its last value", name, sectionTimeoutMs);
+            } catch (ExecutionException e) {
+                logger.warn("Dashboard section {} failed, serving its last value", name, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            stale.add(name);
+            return lastGood;
+        }
+    }
 }
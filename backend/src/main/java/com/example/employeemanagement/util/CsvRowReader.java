@@ -0,0 +1,130 @@
+package com.example.employeemanagement.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader: quoted cells may contain separators, doubled quotes and line breaks. The separator
+ * is taken from the header line, {@code ;} if it has more of them than commas (French spreadsheet exports use it),
+ * otherwise {@code ,}. A leading byte order mark is skipped.
+ */
+public class CsvRowReader implements RowReader {
+
+    /** Longest header line the separator detection looks at. */
+    private static final int HEADER_LOOKAHEAD = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final StringBuilder cell = new StringBuilder();
+    private char separator;
+    private int pushedBack = -1;
+    private boolean hasPushedBack;
+    private long line;
+    private long nextLine = 1;
+
+    public CsvRowReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    @Override
+    public List<String> next() throws IOException {
+        if (separator == 0) {
+            separator = detectSeparator();
+        }
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        line = nextLine;
+        List<String> row = new ArrayList<>();
+        boolean quoted = false;
+        cell.setLength(0);
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Guillemet non fermé à partir de la ligne " + line);
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following != '"') {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                    cell.append('"');
+                } else {
+                    if (c == '\n') {
+                        nextLine++;
+                    }
+                    cell.append((char) c);
+                }
+            } else if (c == '"' && cell.length() == 0) {
+                quoted = true;
+            } else if (c == separator) {
+                row.add(cell.toString());
+                cell.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        unread(following);
+                    }
+                }
+                if (c != -1) {
+                    nextLine++;
+                }
+                row.add(cell.toString());
+                return row;
+            } else {
+                cell.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    @Override
+    public long lineNumber() {
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private char detectSeparator() throws IOException {
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+        reader.mark(HEADER_LOOKAHEAD);
+        int semicolons = 0;
+        int commas = 0;
+        int c = reader.read();
+        for (int read = 1; c != -1 && c != '\n' && c != '\r' && read < HEADER_LOOKAHEAD; read++) {
+            if (c == ';') {
+                semicolons++;
+            } else if (c == ',') {
+                commas++;
+            }
+            c = reader.read();
+        }
+        reader.reset();
+        return semicolons > commas ? ';' : ',';
+    }
+
+    private int read() throws IOException {
+        if (hasPushedBack) {
+            hasPushedBack = false;
+            return pushedBack;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+        hasPushedBack = true;
+    }
+}
@@ -0,0 +1,324 @@
+package com.example.employeemanagement.util;
+
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory employee search over names, matricule, email, job title and organization unit names.
+ *
+ * <p>Two structures share the same internal document ids: a sorted token map answers type-ahead prefix queries
+ * with a range scan, and trigram posting lists give typo-tolerant matches when prefixes find too few rows.
+ * Text is lower-cased and stripped of accents on both sides. Updates replace the document under a write lock;
+ * removed documents are skipped at query time and reclaimed by a rebuild once they make up a quarter of the index.
+ */
+public class EmployeeSearchIndex {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    /** Share of the query trigrams a document must contain to count as a fuzzy match. */
+    private static final double MIN_TRIGRAM_OVERLAP = 0.5;
+
+    /** Most shared trigrams first, then oldest document, so ranking never has to compare strings. */
+    private static final Comparator<Hit> BEST_FIRST = Comparator
+            .comparingInt((Hit hit) -> hit.score).reversed()
+            .thenComparingInt(hit -> hit.doc);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<EmployeeSummaryDTO> docs = new ArrayList<>();
+    private final Map<Long, Integer> docByEmployeeId = new HashMap<>();
+    private final TreeMap<String, IntList> tokens = new TreeMap<>();
+    private final Map<String, IntList> trigrams = new HashMap<>();
+    private int removedDocs;
+
+    /** Adds the row, replacing any previous version of the same employee. */
+    public void put(EmployeeSummaryDTO row) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(row.getId());
+            addDoc(row);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long employeeId) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(employeeId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Employees whose indexed row matches {@code filter}, such as the ones placed under a renamed unit. */
+    public List<Long> employeeIds(Predicate<? super EmployeeSummaryDTO> filter) {
+        lock.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>();
+            for (EmployeeSummaryDTO row : docs) {
+                if (row != null && filter.test(row)) {
+                    ids.add(row.getId());
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByEmployeeId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best matches for {@code query}. Rows where every query word prefixes one of their words come first, in the
+     * alphabetical order of the matched word (so exact words precede longer ones); trigram matches fill the rest
+     * of the page when prefixes found fewer than {@code limit} rows.
+     */
+    public List<EmployeeSummaryDTO> search(String query, int limit) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            BitSet returned = new BitSet(docs.size());
+            List<EmployeeSummaryDTO> results = prefixMatches(queryTokens, limit, returned);
+            if (results.size() < limit) {
+                results.addAll(fuzzyMatches(queryTokens, returned, limit - results.size()));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Walks the token map from the longest query word, which is usually the most selective, and stops as soon
+     * as {@code limit} rows also match the other words. The cost follows the page size, not the match count.
+     */
+    private List<EmployeeSummaryDTO> prefixMatches(List<String> queryTokens, int limit, BitSet returned) {
+        int driver = 0;
+        for (int t = 1; t < queryTokens.size(); t++) {
+            if (queryTokens.get(t).length() > queryTokens.get(driver).length()) {
+                driver = t;
+            }
+        }
+        List<BitSet> filters = new ArrayList<>();
+        for (int t = 0; t < queryTokens.size(); t++) {
+            if (t != driver) {
+                BitSet tokenMatches = new BitSet(docs.size());
+                for (IntList postings : prefixRange(queryTokens.get(t)).values()) {
+                    postings.addTo(tokenMatches);
+                }
+                filters.add(tokenMatches);
+            }
+        }
+        List<EmployeeSummaryDTO> results = new ArrayList<>(limit);
+        for (IntList postings : prefixRange(queryTokens.get(driver)).values()) {
+            for (int i = 0; i < postings.size; i++) {
+                int doc = postings.values[i];
+                if (returned.get(doc) || docs.get(doc) == null || !matchesAll(filters, doc)) {
+                    continue;
+                }
+                returned.set(doc);
+                results.add(docs.get(doc));
+                if (results.size() == limit) {
+                    return results;
+                }
+            }
+        }
+        return results;
+    }
+
+    private SortedMap<String, IntList> prefixRange(String prefix) {
+        return tokens.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static boolean matchesAll(List<BitSet> filters, int doc) {
+        for (BitSet filter : filters) {
+            if (!filter.get(doc)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<EmployeeSummaryDTO> fuzzyMatches(List<String> queryTokens, BitSet exclude, int limit) {
+        Set<String> queryTrigrams = new LinkedHashSet<>();
+        for (String token : queryTokens) {
+            addTrigrams(token, queryTrigrams);
+        }
+        int[] shared = new int[docs.size()];
+        for (String trigram : queryTrigrams) {
+            IntList postings = trigrams.get(trigram);
+            if (postings != null) {
+                for (int i = 0; i < postings.size; i++) {
+                    shared[postings.values[i]]++;
+                }
+            }
+        }
+        int threshold = (int) Math.ceil(queryTrigrams.size() * MIN_TRIGRAM_OVERLAP);
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        for (int doc = 0; doc < shared.length; doc++) {
+            if (shared[doc] >= threshold && !exclude.get(doc) && docs.get(doc) != null) {
+                offer(top, new Hit(doc, docs.get(doc), shared[doc]), limit);
+            }
+        }
+        return drain(top);
+    }
+
+    private static void offer(PriorityQueue<Hit> top, Hit hit, int limit) {
+        top.offer(hit);
+        if (top.size() > limit) {
+            top.poll();
+        }
+    }
+
+    private static List<EmployeeSummaryDTO> drain(PriorityQueue<Hit> top) {
+        Hit[] hits = top.toArray(new Hit[0]);
+        Arrays.sort(hits, BEST_FIRST);
+        List<EmployeeSummaryDTO> rows = new ArrayList<>(hits.length);
+        for (Hit hit : hits) {
+            rows.add(hit.row);
+        }
+        return rows;
+    }
+
+    private void addDoc(EmployeeSummaryDTO row) {
+        int doc = docs.size();
+        docs.add(row);
+        docByEmployeeId.put(row.getId(), doc);
+        Set<String> docTokens = documentTokens(row);
+        Set<String> docTrigrams = new LinkedHashSet<>();
+        for (String token : docTokens) {
+            tokens.computeIfAbsent(token, key -> new IntList()).add(doc);
+            addTrigrams(token, docTrigrams);
+        }
+        for (String trigram : docTrigrams) {
+            trigrams.computeIfAbsent(trigram, key -> new IntList()).add(doc);
+        }
+    }
+
+    private void removeDoc(Long employeeId) {
+        Integer doc = docByEmployeeId.remove(employeeId);
+        if (doc != null) {
+            docs.set(doc, null);
+            removedDocs++;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (removedDocs < 1024 || removedDocs * 4 < docs.size()) {
+            return;
+        }
+        List<EmployeeSummaryDTO> live = new ArrayList<>(docByEmployeeId.size());
+        for (EmployeeSummaryDTO row : docs) {
+            if (row != null) {
+                live.add(row);
+            }
+        }
+        docs.clear();
+        docByEmployeeId.clear();
+        tokens.clear();
+        trigrams.clear();
+        removedDocs = 0;
+        live.forEach(this::addDoc);
+    }
+
+    private static Set<String> documentTokens(EmployeeSummaryDTO row) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String field : new String[] {
+                row.getFirstName(), row.getLastName(), row.getMatricule(), row.getEmail(), row.getJobTitle(),
+                row.getJobTemplateTitle(), row.getDivisionName(), row.getServiceUnitName(), row.getDirectionName()}) {
+            result.addAll(tokenize(field));
+        }
+        // Matricules are typed with or without their separators ("EMP-0042" or "emp0042")
+        List<String> matriculeParts = tokenize(row.getMatricule());
+        if (matriculeParts.size() > 1) {
+            result.add(String.join("", matriculeParts));
+        }
+        return result;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> result = new ArrayList<>();
+        for (String part : SEPARATORS.split(folded)) {
+            if (!part.isEmpty()) {
+                result.add(part);
+            }
+        }
+        return result;
+    }
+
+    /** Trigrams of the token padded with a boundary marker, so short tokens and word starts still produce some. */
+    private static void addTrigrams(String token, Set<String> target) {
+        String padded = "$" + token + "$";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            target.add(padded.substring(i, i + 3));
+        }
+    }
+
+    private static final class Hit {
+        final int doc;
+        final EmployeeSummaryDTO row;
+        final int score;
+
+        Hit(int doc, EmployeeSummaryDTO row, int score) {
+            this.doc = doc;
+            this.row = row;
+            this.score = score;
+        }
+    }
+
+    /** Growable list of document ids; ids are appended in increasing order. */
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addTo(BitSet target) {
+            for (int i = 0; i < size; i++) {
+                target.set(values[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.employeemanagement.util;
+
+import com.example.employeemanagement.dto.EmployeeStatsRowDTO;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running dashboard counters: headcount per division, service unit and direction, gender buckets, age sum and
+ * employees created per month.
+ *
+ * <p>Each employee's last applied row is kept so that an update or a delete can subtract exactly what that
+ * employee contributed before. Changes to one employee are serialized by the per-key lock of
+ * {@link ConcurrentHashMap#compute}; counters are {@link LongAdder}s, so readers never block writers and see
+ * each counter at most one in-flight change behind.
+ */
+public class HrAggregates {
+
+    public enum GenderBucket { MALE, FEMALE, OTHER }
+
+    private final Map<Long, Contribution> contributions = new ConcurrentHashMap<>();
+
+    private final LongAdder total = new LongAdder();
+    private final LongAdder ageSum = new LongAdder();
+    private final LongAdder ageCount = new LongAdder();
+    private final Map<GenderBucket, LongAdder> byGender = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> byDivision = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> byServiceUnit = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> byDirection = new ConcurrentHashMap<>();
+    private final Map<YearMonth, LongAdder> createdByMonth = new ConcurrentHashMap<>();
+
+    /** Same classification as {@code EmployeeRepository.findTotals}. */
+    public static GenderBucket genderBucket(String gender) {
+        String code = gender != null ? gender.toUpperCase(Locale.ROOT) : "";
+        switch (code) {
+            case "M":
+            case "H":
+            case "HOMME":
+                return GenderBucket.MALE;
+            case "F":
+            case "FEMME":
+                return GenderBucket.FEMALE;
+            default:
+                return GenderBucket.OTHER;
+        }
+    }
+
+    /**
+     * Adds or replaces an employee. A row older than the one already applied (by {@code updatedAt}) is ignored,
+     * so re-reads that complete out of order cannot roll the counters back.
+     */
+    public void apply(EmployeeStatsRowDTO row) {
+        Contribution next = new Contribution(row);
+        contributions.compute(row.getId(), (id, previous) -> {
+            if (previous != null && previous.isNewerThan(next)) {
+                return previous;
+            }
+            if (previous != null) {
+                previous.addTo(this, -1);
+            }
+            next.addTo(this, 1);
+            return next;
+        });
+    }
+
+    public void remove(Long employeeId) {
+        contributions.computeIfPresent(employeeId, (id, previous) -> {
+            previous.addTo(this, -1);
+            return null;
+        });
+    }
+
+    public boolean contains(Long employeeId) {
+        return contributions.containsKey(employeeId);
+    }
+
+    public long total() {
+        return total.sum();
+    }
+
+    /** Average of the known ages, or null when there is none (as SQL AVG). */
+    public Double averageAge() {
+        long count = ageCount.sum();
+        return count > 0 ? (double) ageSum.sum() / count : null;
+    }
+
+    public long count(GenderBucket bucket) {
+        return sum(byGender, bucket);
+    }
+
+    public long countByDivision(Long divisionId) {
+        return sum(byDivision, divisionId);
+    }
+
+    public long countByServiceUnit(Long serviceUnitId) {
+        return sum(byServiceUnit, serviceUnitId);
+    }
+
+    public long countByDirection(Long directionId) {
+        return sum(byDirection, directionId);
+    }
+
+    /** Employees per creation month, oldest first, skipping empty months. */
+    public SortedMap<YearMonth, Long> createdByMonth() {
+        SortedMap<YearMonth, Long> result = new TreeMap<>();
+        createdByMonth.forEach((month, count) -> {
+            long value = count.sum();
+            if (value > 0) {
+                result.put(month, value);
+            }
+        });
+        return result;
+    }
+
+    public Set<Long> employeeIds() {
+        return contributions.keySet();
+    }
+
+    private static <K> long sum(Map<K, LongAdder> counters, K key) {
+        LongAdder counter = key != null ? counters.get(key) : null;
+        return counter != null ? counter.sum() : 0;
+    }
+
+    private static <K> void add(Map<K, LongAdder> counters, K key, int delta) {
+        if (key != null) {
+            counters.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+        }
+    }
+
+    /** What one employee row adds to the counters. */
+    private static final class Contribution {
+        final Long divisionId;
+        final Long serviceUnitId;
+        final Long directionId;
+        final GenderBucket gender;
+        final Integer age;
+        final YearMonth createdMonth;
+        final long updatedAt;
+
+        Contribution(EmployeeStatsRowDTO row) {
+            divisionId = row.getDivisionId();
+            serviceUnitId = row.getServiceUnitId();
+            directionId = row.getDirectionId();
+            gender = genderBucket(row.getGender());
+            age = row.getAge();
+            createdMonth = row.getCreatedAt() != null ? YearMonth.from(row.getCreatedAt().atOffset(ZoneOffset.UTC)) : null;
+            updatedAt = row.getUpdatedAt() != null ? row.getUpdatedAt().toEpochMilli() : Long.MIN_VALUE;
+        }
+
+        boolean isNewerThan(Contribution other) {
+            return other.updatedAt != Long.MIN_VALUE && updatedAt > other.updatedAt;
+        }
+
+        void addTo(HrAggregates aggregates, int delta) {
+            aggregates.total.add(delta);
+            if (age != null) {
+                aggregates.ageSum.add((long) age * delta);
+                aggregates.ageCount.add(delta);
+            }
+            add(aggregates.byGender, gender, delta);
+            add(aggregates.byDivision, divisionId, delta);
+            add(aggregates.byServiceUnit, serviceUnitId, delta);
+            add(aggregates.byDirection, directionId, delta);
+            add(aggregates.createdByMonth, createdMonth, delta);
+        }
+    }
+}
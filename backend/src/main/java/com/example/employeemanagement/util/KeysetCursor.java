@@ -0,0 +1,106 @@
+package com.example.employeemanagement.util;
+
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import com.example.employeemanagement.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Opaque keyset cursor for employee listings. It carries the sort field, its direction, the sort key of the
+ * last row returned and that row's id, so the next page can be fetched with a seek predicate instead of an
+ * OFFSET scan.
+ */
+public final class KeysetCursor {
+
+    /** Sort fields backed by an index ending with the primary key (see the indexes on Employee). */
+    public static final Set<String> SORT_FIELDS = Set.of("id", "lastName", "firstName", "matricule", "hireDate");
+
+    private static final String VERSION = "v1";
+
+    private final String sortField;
+    private final Sort.Direction direction;
+    private final Comparable<?> value;
+    private final Long id;
+
+    private KeysetCursor(String sortField, Sort.Direction direction, Comparable<?> value, Long id) {
+        this.sortField = sortField;
+        this.direction = direction;
+        this.value = value;
+        this.id = id;
+    }
+
+    public static boolean supports(String sortField) {
+        return SORT_FIELDS.contains(sortField);
+    }
+
+    /** Builds the cursor pointing just after the given employee row. */
+    public static KeysetCursor after(EmployeeSummaryDTO employee, String sortField, Sort.Direction direction) {
+        return new KeysetCursor(sortField, direction, sortValue(employee, sortField), employee.getId());
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The value goes last so it may itself contain the separator
+            String[] parts = raw.split("\\|", 6);
+            if (parts.length != 6 || !VERSION.equals(parts[0]) || !supports(parts[1])) {
+                throw new BadRequestException("Curseur de pagination invalide");
+            }
+            Sort.Direction direction = Sort.Direction.fromString(parts[2]);
+            Long id = Long.valueOf(parts[3]);
+            return new KeysetCursor(parts[1], direction, parseValue(parts[4], parts[5]), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Curseur de pagination invalide");
+        }
+    }
+
+    public String encode() {
+        String type;
+        String text;
+        if (value == null) {
+            type = "n";
+            text = "";
+        } else if (value instanceof LocalDate) {
+            type = "d";
+            text = value.toString();
+        } else if (value instanceof Long) {
+            type = "l";
+            text = value.toString();
+        } else {
+            type = "s";
+            text = value.toString();
+        }
+        String raw = String.join("|", VERSION, sortField, direction.name(), String.valueOf(id), type, text);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getSortField() { return sortField; }
+    public Sort.Direction getDirection() { return direction; }
+    public Comparable<?> getValue() { return value; }
+    public Long getId() { return id; }
+
+    private static Comparable<?> sortValue(EmployeeSummaryDTO employee, String sortField) {
+        switch (sortField) {
+            case "lastName": return employee.getLastName();
+            case "firstName": return employee.getFirstName();
+            case "matricule": return employee.getMatricule();
+            case "hireDate": return employee.getHireDate();
+            default: return employee.getId();
+        }
+    }
+
+    private static Comparable<?> parseValue(String type, String text) {
+        switch (type) {
+            case "n": return null;
+            case "d": return LocalDate.parse(text);
+            case "l": return Long.valueOf(text);
+            case "s": return text;
+            default: throw new IllegalArgumentException("Unknown cursor value type: " + type);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.employeemanagement.util;
+
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import com.example.employeemanagement.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for listings ordered by last name, first name then id (see the name indexes on
+ * Employee). It carries those three keys of the last row returned; {@link #FIRST} starts from the beginning.
+ */
+public final class NameCursor {
+
+    /** Sorts before every stored row: names are required and ids start at 1. */
+    public static final NameCursor FIRST = new NameCursor("", "", 0L);
+
+    private static final String VERSION = "n1";
+
+    private final String lastName;
+    private final String firstName;
+    private final Long id;
+
+    private NameCursor(String lastName, String firstName, Long id) {
+        this.lastName = lastName;
+        this.firstName = firstName;
+        this.id = id;
+    }
+
+    /** Builds the cursor pointing just after the given employee row. */
+    public static NameCursor after(EmployeeSummaryDTO employee) {
+        return new NameCursor(employee.getLastName(), employee.getFirstName(), employee.getId());
+    }
+
+    /** Decodes a cursor token; {@code null} or blank means the first page. */
+    public static NameCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The names go last, split by the length of the last name, so they may contain the separator
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new BadRequestException("Curseur de pagination invalide");
+            }
+            int lastNameLength = Integer.parseInt(parts[2]);
+            return new NameCursor(parts[3].substring(0, lastNameLength), parts[3].substring(lastNameLength),
+                    Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Curseur de pagination invalide");
+        }
+    }
+
+    public String encode() {
+        String raw = String.join("|", VERSION, String.valueOf(id), String.valueOf(lastName.length()), lastName + firstName);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getLastName() { return lastName; }
+    public String getFirstName() { return firstName; }
+    public Long getId() { return id; }
+}
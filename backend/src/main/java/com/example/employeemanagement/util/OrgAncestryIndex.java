@@ -0,0 +1,106 @@
+package com.example.employeemanagement.util;
+
+import com.example.employeemanagement.dto.OrganizationUnitRowDTO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Immutable id index of the organization: the service unit and direction above each division, the direction
+ * above each service unit, and every unit's name. Resolving an employee placement from a unit id is then a
+ * couple of hash lookups. Units whose parent link is empty are indexed too, with a null ancestor, exactly as
+ * walking the entities would return them. The reverse links (children of a unit) are kept as well, in row order.
+ */
+public final class OrgAncestryIndex {
+
+    public static final OrgAncestryIndex EMPTY = new OrgAncestryIndex(List.of(), List.of(), List.of());
+
+    private final Map<Long, String> directionNames = new LinkedHashMap<>();
+    private final Map<Long, String> serviceUnitNames = new LinkedHashMap<>();
+    private final Map<Long, String> divisionNames = new LinkedHashMap<>();
+    private final Map<Long, List<Long>> serviceUnitsByDirection = new HashMap<>();
+    private final Map<Long, List<Long>> divisionsByServiceUnit = new HashMap<>();
+    private final Map<Long, OrgPlacement> serviceUnitPlacements = new HashMap<>();
+    private final Map<Long, OrgPlacement> divisionPlacements = new HashMap<>();
+
+    /** Rows as returned by the {@code findAllRows} queries of the three unit repositories. */
+    public OrgAncestryIndex(List<OrganizationUnitRowDTO> directions, List<OrganizationUnitRowDTO> serviceUnits,
+                            List<OrganizationUnitRowDTO> divisions) {
+        for (OrganizationUnitRowDTO row : directions) {
+            directionNames.put(row.getId(), row.getName());
+        }
+        for (OrganizationUnitRowDTO row : serviceUnits) {
+            serviceUnitNames.put(row.getId(), row.getName());
+            serviceUnitPlacements.put(row.getId(), new OrgPlacement(row.getParentId(), row.getId(), null));
+            if (row.getParentId() != null) {
+                serviceUnitsByDirection.computeIfAbsent(row.getParentId(), id -> new ArrayList<>()).add(row.getId());
+            }
+        }
+        for (OrganizationUnitRowDTO row : divisions) {
+            divisionNames.put(row.getId(), row.getName());
+            OrgPlacement service = row.getParentId() != null ? serviceUnitPlacements.get(row.getParentId()) : null;
+            Long directionId = service != null ? service.getDirectionId() : null;
+            divisionPlacements.put(row.getId(), new OrgPlacement(directionId, row.getParentId(), row.getId()));
+            if (row.getParentId() != null) {
+                divisionsByServiceUnit.computeIfAbsent(row.getParentId(), id -> new ArrayList<>()).add(row.getId());
+            }
+        }
+    }
+
+    /** Division, its service unit and that unit's direction; empty if the division does not exist. */
+    public Optional<OrgPlacement> divisionPlacement(Long divisionId) {
+        return Optional.ofNullable(divisionPlacements.get(divisionId));
+    }
+
+    /** Service unit and its direction, no division; empty if the service unit does not exist. */
+    public Optional<OrgPlacement> serviceUnitPlacement(Long serviceUnitId) {
+        return Optional.ofNullable(serviceUnitPlacements.get(serviceUnitId));
+    }
+
+    /** Direction only; empty if the direction does not exist. */
+    public Optional<OrgPlacement> directionPlacement(Long directionId) {
+        return directionNames.containsKey(directionId)
+                ? Optional.of(new OrgPlacement(directionId, null, null))
+                : Optional.empty();
+    }
+
+    public Set<Long> directionIds() {
+        return Collections.unmodifiableSet(directionNames.keySet());
+    }
+
+    public Set<Long> serviceUnitIds() {
+        return Collections.unmodifiableSet(serviceUnitNames.keySet());
+    }
+
+    public Set<Long> divisionIds() {
+        return Collections.unmodifiableSet(divisionNames.keySet());
+    }
+
+    /** Service units attached to the direction, empty for an unknown direction. */
+    public List<Long> serviceUnitIdsOf(Long directionId) {
+        return serviceUnitsByDirection.getOrDefault(directionId, List.of());
+    }
+
+    /** Divisions attached to the service unit, empty for an unknown service unit. */
+    public List<Long> divisionIdsOf(Long serviceUnitId) {
+        return divisionsByServiceUnit.getOrDefault(serviceUnitId, List.of());
+    }
+
+    public String directionName(Long directionId) {
+        return directionNames.get(directionId);
+    }
+
+    public String serviceUnitName(Long serviceUnitId) {
+        return serviceUnitNames.get(serviceUnitId);
+    }
+
+    public String divisionName(Long divisionId) {
+        return divisionNames.get(divisionId);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.employeemanagement.util;
+
+import com.example.employeemanagement.model.Employee;
+
+import java.util.Objects;
+
+/** Where an employee sits in the organization: direction, service unit and division ids, any of them null. */
+public final class OrgPlacement {
+
+    public static final OrgPlacement NONE = new OrgPlacement(null, null, null);
+
+    private final Long directionId;
+    private final Long serviceUnitId;
+    private final Long divisionId;
+
+    public OrgPlacement(Long directionId, Long serviceUnitId, Long divisionId) {
+        this.directionId = directionId;
+        this.serviceUnitId = serviceUnitId;
+        this.divisionId = divisionId;
+    }
+
+    /** Current placement of the employee; reading the ids does not initialize lazy units. */
+    public static OrgPlacement of(Employee employee) {
+        return new OrgPlacement(
+                employee.getDirection() != null ? employee.getDirection().getId() : null,
+                employee.getServiceUnit() != null ? employee.getServiceUnit().getId() : null,
+                employee.getDivision() != null ? employee.getDivision().getId() : null);
+    }
+
+    public Long getDirectionId() { return directionId; }
+    public Long getServiceUnitId() { return serviceUnitId; }
+    public Long getDivisionId() { return divisionId; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrgPlacement)) {
+            return false;
+        }
+        OrgPlacement other = (OrgPlacement) o;
+        return Objects.equals(directionId, other.directionId)
+                && Objects.equals(serviceUnitId, other.serviceUnitId)
+                && Objects.equals(divisionId, other.divisionId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(directionId, serviceUnitId, divisionId);
+    }
+}
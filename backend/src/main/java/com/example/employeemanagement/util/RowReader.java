@@ -0,0 +1,19 @@
+package com.example.employeemanagement.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/** Forward-only reader of a tabular file, one row of cell strings at a time. */
+public interface RowReader extends Closeable {
+
+    /**
+     * Next row, with empty strings for blank cells; null at the end of the file.
+     *
+     * @throws IOException If the file cannot be read or is malformed
+     */
+    List<String> next() throws IOException;
+
+    /** 1-based line (CSV) or row number (XLSX) of the row last returned by {@link #next()}. */
+    long lineNumber();
+}
@@ -0,0 +1,197 @@
+package com.example.employeemanagement.util;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Read-through cache where each key has at most one load in flight: callers that miss while a load runs wait
+ * for that load instead of starting their own, so an expiry or an invalidation costs one computation however
+ * many requests arrive at that moment.
+ *
+ * <p>An entry is served for {@code ttlNanos}. Once it is within {@code refreshAheadNanos} of expiring, the first
+ * hit starts a reload on {@code refresher} and keeps serving the current value, so busy keys are renewed before
+ * any caller has to wait. {@link #invalidateAll()} bumps a generation: entries and loads started before it are no
+ * longer served. A caller that misses after an invalidation starts a new load rather than joining one begun
+ * before it; the older load still answers the callers already waiting on it, but its value is not stored. A failed
+ * background refresh leaves the current value in place until it expires. Values rejected by {@code cacheable}
+ * (partial results, for instance) are handed to the callers waiting for them but never stored.
+ */
+public class SingleFlightCache<K, V> {
+
+    private final Function<K, V> loader;
+    private final Predicate<? super V> cacheable;
+    private final Executor refresher;
+    private final long ttlNanos;
+    private final long refreshAheadNanos;
+    private final LongSupplier clock;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, Flight<V>> loads = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    public SingleFlightCache(Function<K, V> loader, Predicate<? super V> cacheable, Executor refresher,
+                             long ttlNanos, long refreshAheadNanos) {
+        this(loader, cacheable, refresher, ttlNanos, refreshAheadNanos, System::nanoTime);
+    }
+
+    SingleFlightCache(Function<K, V> loader, Predicate<? super V> cacheable, Executor refresher,
+                      long ttlNanos, long refreshAheadNanos, LongSupplier clock) {
+        this.loader = loader;
+        this.cacheable = cacheable;
+        this.refresher = refresher;
+        this.ttlNanos = ttlNanos;
+        this.refreshAheadNanos = Math.min(refreshAheadNanos, ttlNanos);
+        this.clock = clock;
+    }
+
+    /** Cached value, or the result of the single load running for this key (started by this call if none runs). */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        long now = clock.getAsLong();
+        if (entry != null && entry.generation == generation.get() && now - entry.expiresAt < 0) {
+            hits.increment();
+            if (now - (entry.expiresAt - refreshAheadNanos) >= 0) {
+                load(key, true);
+            }
+            return entry.value;
+        }
+        misses.increment();
+        return await(load(key, false));
+    }
+
+    /** Drops every entry; loads already running still answer their waiters but are neither cached nor joined. */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long loadCount() {
+        return loadCount.sum();
+    }
+
+    public long loadFailureCount() {
+        return loadFailures.sum();
+    }
+
+    /** Time spent in the loader, successful or not. */
+    public long totalLoadNanos() {
+        return loadNanos.sum();
+    }
+
+    private CompletableFuture<V> load(K key, boolean inBackground) {
+        Flight<V> flight;
+        while (true) {
+            flight = new Flight<>(generation.get());
+            Flight<V> running = loads.putIfAbsent(key, flight);
+            if (running == null) {
+                break;
+            }
+            // A load begun before the last invalidation may return the value that invalidation was meant to drop
+            if (running.generation == flight.generation) {
+                return running.future;
+            }
+            if (loads.replace(key, running, flight)) {
+                break;
+            }
+        }
+        Flight<V> started = flight;
+        Runnable task = () -> run(key, started);
+        if (!inBackground) {
+            task.run();
+            return started.future;
+        }
+        try {
+            refresher.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Refresh-ahead is best effort: the entry is still valid and the next hit tries again
+            loads.remove(key, started);
+            started.future.completeExceptionally(e);
+        }
+        return started.future;
+    }
+
+    private void run(K key, Flight<V> flight) {
+        long start = clock.getAsLong();
+        try {
+            V value = loader.apply(key);
+            long end = clock.getAsLong();
+            loadNanos.add(end - start);
+            loadCount.increment();
+            // Skipped if an invalidation happened since the load started: the value may predate that write
+            if (generation.get() == flight.generation && cacheable.test(value)) {
+                entries.put(key, new Entry<>(value, flight.generation, end + ttlNanos));
+            }
+            flight.future.complete(value);
+        } catch (RuntimeException | Error e) {
+            loadNanos.add(clock.getAsLong() - start);
+            loadCount.increment();
+            loadFailures.increment();
+            flight.future.completeExceptionally(e);
+        } finally {
+            loads.remove(key, flight);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    private static final class Flight<V> {
+        final CompletableFuture<V> future = new CompletableFuture<>();
+        final long generation;
+
+        Flight(long generation) {
+            this.generation = generation;
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long generation;
+        final long expiresAt;
+
+        Entry(V value, long generation, long expiresAt) {
+            this.value = value;
+            this.generation = generation;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.employeemanagement.util;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+/** Classification of the database errors that callers recover from. */
+public final class SqlErrors {
+
+    private SqlErrors() {
+    }
+
+    /** Unique violation as reported by MySQL (error 1062) or by SQL-standard databases such as H2 (state 23505). */
+    public static boolean isDuplicateKey(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                SQLException sqlException = (SQLException) cause;
+                return sqlException.getErrorCode() == 1062 || "23505".equals(sqlException.getSQLState());
+            }
+        }
+        return false;
+    }
+}
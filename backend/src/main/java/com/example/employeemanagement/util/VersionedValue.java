@@ -0,0 +1,87 @@
+package com.example.employeemanagement.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+/**
+ * In-memory value derived from the database, cached per generation: {@link #invalidate()} bumps the generation
+ * (typically from an after-commit listener) and the next {@link #get} loads the value again. Loads run one at a
+ * time; callers arriving during a load wait for it and share its result.
+ *
+ * <p>{@link #etag()} is a weak ETag of the current generation, prefixed with the creation time of this holder so
+ * tags issued before a restart, when the generation starts again from zero, never match.
+ */
+public final class VersionedValue<T> {
+
+    private final long startedAt = System.currentTimeMillis();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Stamped<T> current;
+
+    /** Drops the cached value; returns the new generation. */
+    public long invalidate() {
+        return generation.incrementAndGet();
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    /** Weak ETag of the current generation. */
+    public String etag() {
+        return etag(generation.get());
+    }
+
+    /** Weak ETag of the given generation, for values that embed the tag they were loaded with. */
+    public String etag(long generation) {
+        return "W/\"" + startedAt + "-" + generation + "\"";
+    }
+
+    /** The cached value if it belongs to the current generation, without loading; null otherwise. */
+    public T peek() {
+        Stamped<T> stamped = current;
+        return stamped != null && stamped.generation == generation.get() ? stamped.value : null;
+    }
+
+    /** The value of the current generation, loaded by {@code loader} (given that generation) if not cached yet. */
+    public T get(LongFunction<? extends T> loader) {
+        return get(loader, value -> true);
+    }
+
+    /**
+     * As {@link #get(LongFunction)}, and also reloads a cached value of the current generation that
+     * {@code fresh} rejects, for values that can go stale without an invalidation.
+     */
+    public T get(LongFunction<? extends T> loader, Predicate<? super T> fresh) {
+        Stamped<T> stamped = current;
+        if (stamped != null && stamped.generation == generation.get() && fresh.test(stamped.value)) {
+            return stamped.value;
+        }
+        return load(loader, fresh);
+    }
+
+    private synchronized T load(LongFunction<? extends T> loader, Predicate<? super T> fresh) {
+        long loading = generation.get();
+        Stamped<T> stamped = current;
+        if (stamped != null && stamped.generation == loading && fresh.test(stamped.value)) {
+            // Loaded by another caller while we waited for the lock
+            return stamped.value;
+        }
+        // Read after the generation so a write committing meanwhile invalidates what we are about to cache
+        T value = loader.apply(loading);
+        current = new Stamped<>(loading, value);
+        return value;
+    }
+
+    private static final class Stamped<T> {
+        final long generation;
+        final T value;
+
+        Stamped(long generation, T value) {
+            this.generation = generation;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.example.employeemanagement.util;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Streaming reader of the first worksheet of an .xlsx workbook, using the JDK zip and StAX parsers: rows are
+ * pulled from the sheet XML one at a time, so memory is bounded by the shared string table and not by the
+ * row count. Shared, inline and numeric cells are read; cells styled as dates are not told apart from numbers,
+ * so callers parse date-like integers with {@link #excelDate(String)}.
+ *
+ * <p>The first sheet is the first one listed in {@code xl/workbook.xml}, located through the workbook
+ * relationships like the shared string table, since neither part has a fixed name. The shared string table is
+ * held in memory, so it is read through a cap on its decompressed size and on its entry count: a small upload
+ * may inflate to far more than the heap.
+ */
+public class XlsxRowReader implements RowReader {
+
+    private static final String WORKBOOK = "xl/workbook.xml";
+    private static final String WORKBOOK_RELATIONSHIPS = "xl/_rels/workbook.xml.rels";
+    /** Relationship namespaces and types end the same way in transitional and strict OOXML. */
+    private static final String RELATIONSHIPS_NS_SUFFIX = "/relationships";
+    private static final String WORKSHEET_TYPE_SUFFIX = "/worksheet";
+    private static final String SHARED_STRINGS_TYPE_SUFFIX = "/sharedStrings";
+    /** Metadata parts (workbook, relationships) are a few kilobytes even with many sheets. */
+    private static final long MAX_METADATA_BYTES = 1024 * 1024;
+    /** Far above the strings of the largest imports (a few distinct values per employee). */
+    static final long MAX_SHARED_STRINGS_BYTES = 64L * 1024 * 1024;
+    static final int MAX_SHARED_STRINGS = 2_000_000;
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+
+    private final ZipFile zip;
+    private final InputStream sheetStream;
+    private final XMLStreamReader sheet;
+    private final List<String> sharedStrings;
+    private long line;
+
+    public XlsxRowReader(File file) throws IOException {
+        this(file, MAX_SHARED_STRINGS_BYTES, MAX_SHARED_STRINGS);
+    }
+
+    XlsxRowReader(File file, long maxSharedStringsBytes, int maxSharedStrings) throws IOException {
+        zip = new ZipFile(file);
+        try {
+            Map<String, Relationship> relationships = readRelationships();
+            Relationship firstSheet = relationships.get(firstSheetRelationshipId());
+            ZipEntry sheetEntry = firstSheet != null && firstSheet.hasType(WORKSHEET_TYPE_SUFFIX)
+                    ? zip.getEntry(firstSheet.target) : null;
+            if (sheetEntry == null) {
+                throw new IOException("Classeur sans feuille de calcul");
+            }
+            String sharedStringsPart = relationships.values().stream()
+                    .filter(relationship -> relationship.hasType(SHARED_STRINGS_TYPE_SUFFIX))
+                    .map(relationship -> relationship.target)
+                    .findFirst().orElse(null);
+            sharedStrings = readSharedStrings(sharedStringsPart, maxSharedStringsBytes, maxSharedStrings);
+            sheetStream = zip.getInputStream(sheetEntry);
+            sheet = factory().createXMLStreamReader(sheetStream);
+        } catch (IOException | XMLStreamException | RuntimeException e) {
+            zip.close();
+            throw e instanceof IOException ? (IOException) e : new IOException("Classeur illisible", e);
+        }
+    }
+
+    @Override
+    public List<String> next() throws IOException {
+        try {
+            while (sheet.hasNext()) {
+                if (sheet.next() == XMLStreamConstants.START_ELEMENT && "row".equals(sheet.getLocalName())) {
+                    String number = sheet.getAttributeValue(null, "r");
+                    line = number != null ? Long.parseLong(number) : line + 1;
+                    return readRow();
+                }
+            }
+            return null;
+        } catch (XMLStreamException | NumberFormatException e) {
+            throw new IOException("Feuille de calcul illisible après la ligne " + line, e);
+        }
+    }
+
+    @Override
+    public long lineNumber() {
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sheet.close();
+        } catch (XMLStreamException e) {
+            // The zip close below releases the stream anyway
+        } finally {
+            sheetStream.close();
+            zip.close();
+        }
+    }
+
+    /**
+     * Date of an Excel serial day number (1900 date system), or null if the value is not a positive integer.
+     */
+    public static LocalDate excelDate(String value) {
+        try {
+            BigDecimal serial = new BigDecimal(value.trim()).stripTrailingZeros();
+            if (serial.signum() <= 0 || serial.scale() > 0) {
+                return null;
+            }
+            return EXCEL_EPOCH.plusDays(serial.longValueExact());
+        } catch (NumberFormatException | ArithmeticException e) {
+            return null;
+        }
+    }
+
+    /** Cells of the current row, placed by their column reference so skipped blank cells stay empty. */
+    private List<String> readRow() throws XMLStreamException {
+        List<String> row = new ArrayList<>();
+        int column = 0;
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "row".equals(sheet.getLocalName())) {
+                return row;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(sheet.getLocalName())) {
+                String reference = sheet.getAttributeValue(null, "r");
+                if (reference != null) {
+                    column = columnIndex(reference);
+                }
+                String type = sheet.getAttributeValue(null, "t");
+                String value = readCell(type);
+                while (row.size() < column) {
+                    row.add("");
+                }
+                row.add(value);
+                column++;
+            }
+        }
+        return row;
+    }
+
+    private String readCell(String type) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "c".equals(sheet.getLocalName())) {
+                break;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT
+                    && ("v".equals(sheet.getLocalName()) || "t".equals(sheet.getLocalName()))) {
+                text.append(sheet.getElementText());
+            }
+        }
+        String value = text.toString();
+        if ("s".equals(type) && !value.isEmpty()) {
+            int index = Integer.parseInt(value.trim());
+            return index < sharedStrings.size() ? sharedStrings.get(index) : "";
+        }
+        if ("b".equals(type)) {
+            return "1".equals(value) ? "true" : "false";
+        }
+        return value;
+    }
+
+    /** Zero-based column of a cell reference such as {@code AB12}. */
+    private static int columnIndex(String reference) {
+        int column = 0;
+        for (int i = 0; i < reference.length() && Character.isLetter(reference.charAt(i)); i++) {
+            column = column * 26 + (Character.toUpperCase(reference.charAt(i)) - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    /** Relationship id of the first sheet listed by the workbook, or null if it lists none. */
+    private String firstSheetRelationshipId() throws IOException, XMLStreamException {
+        ZipEntry entry = zip.getEntry(WORKBOOK);
+        if (entry == null) {
+            return null;
+        }
+        try (InputStream in = new BoundedInputStream(zip.getInputStream(entry), MAX_METADATA_BYTES)) {
+            XMLStreamReader reader = factory().createXMLStreamReader(in);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && "sheet".equals(reader.getLocalName())) {
+                        for (int i = 0; i < reader.getAttributeCount(); i++) {
+                            String namespace = reader.getAttributeNamespace(i);
+                            if ("id".equals(reader.getAttributeLocalName(i))
+                                    && namespace != null && namespace.endsWith(RELATIONSHIPS_NS_SUFFIX)) {
+                                return reader.getAttributeValue(i);
+                            }
+                        }
+                        return null;
+                    }
+                }
+                return null;
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    /** Workbook relationships by id, with their targets resolved to zip entry names. */
+    private Map<String, Relationship> readRelationships() throws IOException, XMLStreamException {
+        Map<String, Relationship> relationships = new HashMap<>();
+        ZipEntry entry = zip.getEntry(WORKBOOK_RELATIONSHIPS);
+        if (entry == null) {
+            return relationships;
+        }
+        try (InputStream in = new BoundedInputStream(zip.getInputStream(entry), MAX_METADATA_BYTES)) {
+            XMLStreamReader reader = factory().createXMLStreamReader(in);
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && "Relationship".equals(reader.getLocalName())
+                        && !"External".equals(reader.getAttributeValue(null, "TargetMode"))) {
+                    String id = reader.getAttributeValue(null, "Id");
+                    String target = reader.getAttributeValue(null, "Target");
+                    if (id != null && target != null) {
+                        relationships.put(id, new Relationship(reader.getAttributeValue(null, "Type"), partName(target)));
+                    }
+                }
+            }
+            reader.close();
+        }
+        return relationships;
+    }
+
+    /** Zip entry name of a relationship target, which is relative to {@code xl/} unless it starts with a slash. */
+    private static String partName(String target) {
+        String path = URI.create("/" + WORKBOOK).resolve(target).normalize().getPath();
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+
+    private List<String> readSharedStrings(String part, long maxBytes, int maxCount) throws IOException, XMLStreamException {
+        List<String> strings = new ArrayList<>();
+        ZipEntry entry = part != null ? zip.getEntry(part) : null;
+        if (entry == null) {
+            return strings;
+        }
+        BoundedInputStream in = new BoundedInputStream(zip.getInputStream(entry), maxBytes);
+        try (in) {
+            XMLStreamReader reader = factory().createXMLStreamReader(in);
+            StringBuilder text = null;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if ("si".equals(reader.getLocalName())) {
+                        text = new StringBuilder();
+                    } else if ("t".equals(reader.getLocalName()) && text != null) {
+                        text.append(reader.getElementText());
+                    } else if ("rPh".equals(reader.getLocalName())) {
+                        skip(reader, "rPh");
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "si".equals(reader.getLocalName()) && text != null) {
+                    if (strings.size() >= maxCount) {
+                        throw new IOException("Table des chaînes partagées trop volumineuse (plus de " + maxCount + " entrées)");
+                    }
+                    strings.add(text.toString());
+                    text = null;
+                }
+            }
+            reader.close();
+        } catch (XMLStreamException e) {
+            // The parser wraps the read error of the bounded stream
+            if (in.exceeded()) {
+                throw new IOException("Table des chaînes partagées trop volumineuse (plus de " + maxBytes + " octets)");
+            }
+            throw e;
+        }
+        return strings;
+    }
+
+    /** Skips phonetic runs, which would otherwise be appended to the cell text. */
+    private static void skip(XMLStreamReader reader, String element) throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.END_ELEMENT && element.equals(reader.getLocalName())) {
+                return;
+            }
+        }
+    }
+
+    private static XMLInputFactory factory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // Uploaded files: no DTDs, no external entities
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private static final class Relationship {
+        final String type;
+        final String target;
+
+        Relationship(String type, String target) {
+            this.type = type;
+            this.target = target;
+        }
+
+        boolean hasType(String suffix) {
+            return type != null && type.endsWith(suffix);
+        }
+    }
+
+    /** Fails the read once more than {@code limit} bytes have come out of the underlying stream. */
+    private static final class BoundedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+
+        BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        boolean exceeded() {
+            return count > limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                consumed(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                consumed(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            consumed(skipped);
+            return skipped;
+        }
+
+        private void consumed(long n) throws IOException {
+            count += n;
+            if (count > limit) {
+                throw new IOException("Partie du classeur trop volumineuse une fois décompressée");
+            }
+        }
+    }
+}
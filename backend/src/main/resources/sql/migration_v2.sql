@@ -9,3 +9,15 @@ SET e.position_id = (
 
 ALTER TABLE employees DROP COLUMN IF EXISTS department_id;
 ALTER TABLE positions DROP COLUMN IF EXISTS employee_id;
+
+-- Redundant with idx_employee_division_facets, whose leading column is division_id. MySQL has no
+-- DROP INDEX IF EXISTS: the statement is only run when the index is still there.
+SET @drop_division_index = (
+    SELECT IF(COUNT(*) > 0, 'DROP INDEX idx_employee_division ON employees', 'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'employees' AND index_name = 'idx_employee_division'
+);
+PREPARE drop_division_index FROM @drop_division_index;
+EXECUTE drop_division_index;
+DEALLOCATE PREPARE drop_division_index;
+
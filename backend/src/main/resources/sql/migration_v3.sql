@@ -0,0 +1,20 @@
+-- Drops the legacy employees.profile_photo / photo_type columns, whose photos EmployeePhotoMigration copies into
+-- employee_photos at startup. Run only once every instance runs a version reading employee_photos: older ones
+-- still read and write the legacy columns, and a rollback to them needs the columns back.
+
+-- Photos written by older instances since their last copy
+INSERT INTO employee_photos (employee_id, data, content_type, content_hash, size_bytes, updated_at)
+SELECT e.id, e.profile_photo, e.photo_type, SHA2(e.profile_photo, 256), LENGTH(e.profile_photo), NOW()
+FROM employees e
+LEFT JOIN employee_photos p ON p.employee_id = e.id
+WHERE e.profile_photo IS NOT NULL AND p.employee_id IS NULL;
+
+-- MySQL has no DROP COLUMN IF EXISTS: the statement is only run when the columns are still there.
+SET @drop_legacy_photo = (
+    SELECT IF(COUNT(*) > 0, 'ALTER TABLE employees DROP COLUMN profile_photo, DROP COLUMN photo_type', 'DO 0')
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'employees' AND column_name = 'profile_photo'
+);
+PREPARE drop_legacy_photo FROM @drop_legacy_photo;
+EXECUTE drop_legacy_photo;
+DEALLOCATE PREPARE drop_legacy_photo;
@@ -0,0 +1,97 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import com.example.employeemanagement.util.EmployeeSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of {@link EmployeeSearchIndex} on a synthetic population. Sample-time mode reports the p99 the
+ * search endpoint is held to (under 10 ms for the top 20 at 100k employees).
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.employeemanagement.benchmark.EmployeeSearchIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSearchIndexBenchmark {
+
+    private static final String[] FIRST_NAMES = {
+            "Aina", "Hery", "Faly", "Tiana", "Nirina", "Lova", "Mamy", "Voahirana", "Andry", "Hanitra",
+            "Jean", "Marie", "Rado", "Zo", "Fanja", "Tahina", "Miora", "Tojo", "Sitraka", "Onja"};
+    private static final String[] LAST_NAMES = {
+            "Rakoto", "Rabe", "Randria", "Rasoa", "Razafy", "Andriamanana", "Ravelo", "Rajaona", "Ramanantsoa",
+            "Rakotomalala", "Rasolofo", "Randrianarisoa", "Ratsimba", "Rafidy", "Rabenja", "Razanakoto"};
+    private static final String[] JOB_TITLES = {
+            "Inspecteur des impôts", "Contrôleur", "Agent de recouvrement", "Chef de service", "Analyste",
+            "Secrétaire", "Juriste fiscaliste", "Auditeur", "Informaticien", "Comptable"};
+    private static final String[] DIVISIONS = {
+            "Division Contentieux", "Division Recouvrement", "Division Gestion", "Division Contrôle",
+            "Division Informatique", "Division Budget"};
+
+    @Param({"100000"})
+    private int employees;
+
+    private EmployeeSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new EmployeeSearchIndex();
+        for (long id = 1; id <= employees; id++) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            int division = random.nextInt(DIVISIONS.length);
+            index.put(new EmployeeSummaryDTO(id, firstName, lastName,
+                    firstName.toLowerCase() + "." + lastName.toLowerCase() + id + "@dgi.local", random.nextBoolean() ? "M" : "F",
+                    30, null, String.format("EMP-%06d", id), JOB_TITLES[random.nextInt(JOB_TITLES.length)], null,
+                    LocalDate.of(2000 + random.nextInt(24), 1, 1), "Titulaire", "Actif",
+                    (long) division, DIVISIONS[division], (long) division / 2, "Service " + division / 2, 1L, "DGI"));
+        }
+    }
+
+    @Benchmark
+    public List<EmployeeSummaryDTO> prefixOneWord() {
+        return index.search("rak", 20);
+    }
+
+    @Benchmark
+    public List<EmployeeSummaryDTO> prefixTwoWords() {
+        return index.search("aina rako", 20);
+    }
+
+    @Benchmark
+    public List<EmployeeSummaryDTO> matricule() {
+        return index.search("emp0042", 20);
+    }
+
+    @Benchmark
+    public List<EmployeeSummaryDTO> fuzzyTypo() {
+        return index.search("rakotomallala", 20);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EmployeeSearchIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.EmployeeManagementApplication;
+import com.example.employeemanagement.config.DataInitializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seeding time of employees through the seed path of {@link DataInitializer} (employee, position, contract, skill,
+ * training, review, document and one promotion out of two: about 7.5 inserts and one update per employee), through
+ * Hibernate on an in-memory H2 database. {@code pooled} is the current mapping (table-backed pooled ids, JDBC
+ * batches of 50); {@code identity} overrides the ids back to IDENTITY columns with
+ * {@code benchmark/orm-identity.xml}, which makes Hibernate insert row by row. Inserts per second are about
+ * {@code 7.5 * employees} divided by the reported time.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.employeemanagement.benchmark.EmployeeSeedBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EmployeeSeedBenchmark {
+
+    private static final int CHUNK_SIZE = 500;
+
+    @Param({"identity", "pooled"})
+    private String ids;
+
+    @Param({"10000"})
+    private int employees;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private DataInitializer dataInitializer;
+
+    /** Last employee and position ids of the startup seed, kept across iterations. */
+    private long seededEmployeeId;
+    private long seededPositionId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Command-line arguments, so that they win over application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:seed-" + ids + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"));
+        if ("identity".equals(ids)) {
+            args.add("--spring.jpa.mapping-resources=benchmark/orm-identity.xml");
+        }
+        // Seeds the organization, the job templates and the demo employees on startup
+        context = new SpringApplicationBuilder(EmployeeManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(new String[0]));
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        dataInitializer = context.getBean(DataInitializer.class);
+        transactionTemplate.executeWithoutResult(status -> {
+            seededEmployeeId = maxId("Employee");
+            seededPositionId = maxId("Position");
+        });
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (String entity : List.of("Contract", "Skill", "Training", "Promotion", "PerformanceReview", "Document")) {
+                entityManager.createQuery("DELETE FROM " + entity + " c WHERE c.employee.id > :id")
+                        .setParameter("id", seededEmployeeId).executeUpdate();
+            }
+            entityManager.createQuery("DELETE FROM Employee e WHERE e.id > :id")
+                    .setParameter("id", seededEmployeeId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Position p WHERE p.id > :id")
+                    .setParameter("id", seededPositionId).executeUpdate();
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int seed() {
+        // Numbered after the startup seed, whose emails and matricules stay in place
+        int offset = 1_000_000;
+        for (int from = 0; from < employees; from += CHUNK_SIZE) {
+            int first = offset + from;
+            int last = offset + Math.min(from + CHUNK_SIZE, employees) - 1;
+            transactionTemplate.executeWithoutResult(status -> {
+                dataInitializer.seedFakeEmployees(first, last);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        return employees;
+    }
+
+    private long maxId(String entity) {
+        Long max = entityManager.createQuery("SELECT MAX(x.id) FROM " + entity + " x", Long.class).getSingleResult();
+        return max != null ? max : 0L;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EmployeeSeedBenchmark.class.getSimpleName()).build()).run();
+    }
+}
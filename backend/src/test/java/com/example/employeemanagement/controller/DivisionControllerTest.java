@@ -0,0 +1,65 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.security.CustomUserDetailsService;
+import com.example.employeemanagement.security.JwtTokenUtil;
+import com.example.employeemanagement.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Division moves go through EmployeeService, which logs them and publishes the EmployeeChangedEvent. */
+@WebMvcTest(DivisionController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class DivisionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @MockBean
+    private JwtTokenUtil jwtTokenUtil;
+
+    @MockBean
+    private CustomUserDetailsService customUserDetailsService;
+
+    @MockBean
+    private JpaMetamodelMappingContext jpaMetamodelMappingContext;
+
+    @Test
+    void assignEmployeeToDivision_ShouldMoveThroughTheEmployeeService() throws Exception {
+        mockMvc.perform(post("/api/divisions/4/assign/7").header("X-Actor", "RH"))
+                .andExpect(status().isOk());
+
+        verify(employeeService).assignToDivision(4L, 7L, "RH");
+    }
+
+    @Test
+    void removeEmployeeFromDivision_ShouldMoveThroughTheEmployeeService() throws Exception {
+        mockMvc.perform(delete("/api/divisions/4/remove/7").header("X-Actor", "RH"))
+                .andExpect(status().isOk());
+
+        verify(employeeService).removeFromDivision(4L, 7L, "RH");
+    }
+
+    @Test
+    void removeEmployeeFromDivision_ShouldReturnNotFoundForAnotherDivision() throws Exception {
+        doThrow(new ResourceNotFoundException("Employee is not in this division"))
+                .when(employeeService).removeFromDivision(4L, 7L, null);
+
+        mockMvc.perform(delete("/api/divisions/4/remove/7"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -1,8 +1,16 @@
 package com.example.employeemanagement.controller;
 
+import com.example.employeemanagement.dto.BulkMoveReportDTO;
+import com.example.employeemanagement.dto.EmployeeDTO;
 import com.example.employeemanagement.dto.EmployeePhotoDTO;
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import com.example.employeemanagement.dto.ImportJobDTO;
+import com.example.employeemanagement.dto.PhotoContentDTO;
+import com.example.employeemanagement.service.EmployeeImportService;
 import com.example.employeemanagement.service.EmployeeService;
 import com.example.employeemanagement.service.EmployeeActionService;
+import com.example.employeemanagement.service.EmployeeSearchService;
+import com.example.employeemanagement.service.EmployeeVersionService;
 import com.example.employeemanagement.service.PdfGeneratorService;
 import com.example.employeemanagement.security.JwtTokenUtil;
 import com.example.employeemanagement.security.CustomUserDetailsService;
@@ -11,16 +19,33 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(EmployeeController.class)
@@ -39,6 +64,15 @@ class EmployeeControllerTest {
     @MockBean
     private PdfGeneratorService pdfGeneratorService;
 
+    @MockBean
+    private EmployeeSearchService employeeSearchService;
+
+    @MockBean
+    private EmployeeVersionService employeeVersionService;
+
+    @MockBean
+    private EmployeeImportService employeeImportService;
+
     @MockBean
     private JwtTokenUtil jwtTokenUtil;
 
@@ -103,4 +137,144 @@ class EmployeeControllerTest {
         mockMvc.perform(get("/api/employees/{id}/photo", employeeId))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void getPhotoImage_ShouldReturnBytesWithStrongEtag() throws Exception {
+        Long employeeId = 1L;
+        byte[] bytes = "thumbnail".getBytes();
+
+        when(employeeService.getPhotoEtag(employeeId, 48)).thenReturn(Optional.of("abc123-48"));
+        when(employeeService.getPhotoContent(employeeId, 48))
+                .thenReturn(Optional.of(new PhotoContentDTO(bytes, "image/jpeg", "abc123-48")));
+
+        mockMvc.perform(get("/api/employees/{id}/photo/image", employeeId).param("size", "48").param("v", "abc123"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc123-48\""))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public"))
+                .andExpect(content().bytes(bytes));
+    }
+
+    @Test
+    void getPhotoImage_ShouldReturnNotModified_WhenEtagMatches() throws Exception {
+        Long employeeId = 1L;
+
+        when(employeeService.getPhotoEtag(employeeId, null)).thenReturn(Optional.of("abc123"));
+
+        mockMvc.perform(get("/api/employees/{id}/photo/image", employeeId).header("If-None-Match", "\"abc123\""))
+                .andExpect(status().isNotModified());
+
+        verify(employeeService, never()).getPhotoContent(any(), any());
+    }
+
+    @Test
+    void getAllEmployees_ShouldReturnNotModified_WithoutLoadingRows_WhenEtagMatches() throws Exception {
+        when(employeeVersionService.getCollectionEtag()).thenReturn("W/\"1700000000000-42-19700\"");
+
+        mockMvc.perform(get("/api/employees").header("If-None-Match", "W/\"1700000000000-42-19700\""))
+                .andExpect(status().isNotModified());
+
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    void getEmployeeById_ShouldReturnWeakEtag() throws Exception {
+        Long employeeId = 1L;
+        EmployeeDTO dto = new EmployeeDTO();
+        dto.setId(employeeId);
+
+        when(employeeVersionService.getEmployeeEtag(employeeId)).thenReturn(Optional.of("W/\"1-1700000000000-19700\""));
+        when(employeeService.getEmployeeById(employeeId)).thenReturn(Optional.of(dto));
+
+        mockMvc.perform(get("/api/employees/{id}", employeeId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"1-1700000000000-19700\""));
+    }
+
+    @Test
+    void changeEmployeesDivision_ShouldReturnTheOutcomePerEmployee() throws Exception {
+        when(employeeService.changeDivisions(eq(7L), any(), eq("RH"))).thenReturn(new BulkMoveReportDTO(7L, List.of(
+                new BulkMoveReportDTO.Outcome(1L, BulkMoveReportDTO.Status.MOVED),
+                new BulkMoveReportDTO.Outcome(2L, BulkMoveReportDTO.Status.NOT_FOUND))));
+
+        mockMvc.perform(put("/api/employees/change-division/{divisionId}", 7L)
+                        .header("X-Actor", "RH")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"employeeIds\":[1,2]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.moved").value(1))
+                .andExpect(jsonPath("$.notFound").value(1))
+                .andExpect(jsonPath("$.outcomes[1].status").value("NOT_FOUND"));
+    }
+
+    @Test
+    void importEmployees_ShouldQueueTheFileAndReturnAccepted() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "agents.csv", "text/csv", "nom;prenom\n".getBytes());
+        when(employeeImportService.submit(any(), eq("RH"))).thenReturn(new ImportJobDTO("job-1", "agents.csv",
+                ImportJobDTO.Status.QUEUED, 0, 0, 0, Instant.now(), null, null));
+
+        mockMvc.perform(multipart("/api/employees/import").file(file).header("X-Actor", "RH"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void getImportErrors_ShouldServeTheReportAsCsv() throws Exception {
+        when(employeeImportService.getErrorReport("job-1")).thenReturn("ligne;matricule;email;erreur\n3;;a@dgi.local;Email invalide\n");
+
+        mockMvc.perform(get("/api/employees/import/{jobId}/errors", "job-1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=import_job-1_erreurs.csv"));
+    }
+
+    @Test
+    void streamEmployees_ShouldWriteOneJsonLinePerEmployee() throws Exception {
+        streamTwoEmployees();
+
+        MvcResult result = mockMvc.perform(get("/api/employees/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(body.endsWith("\n"));
+        assertTrue(lines[0].startsWith("{") && lines[0].contains("\"matricule\":\"EMP-1\""), lines[0]);
+        assertTrue(lines[1].startsWith("{") && lines[1].contains("\"matricule\":\"EMP-2\""), lines[1]);
+    }
+
+    @Test
+    void streamEmployees_ShouldWriteAJsonArrayOnRequest() throws Exception {
+        streamTwoEmployees();
+
+        MvcResult result = mockMvc.perform(get("/api/employees/stream").param("format", "json"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].matricule").value("EMP-2"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamTwoEmployees() {
+        doAnswer(invocation -> {
+            Consumer<EmployeeSummaryDTO> consumer = invocation.getArgument(0);
+            consumer.accept(summary(1L, "Rakoto", "EMP-1"));
+            consumer.accept(summary(2L, "Rabe", "EMP-2"));
+            return null;
+        }).when(employeeService).forEachEmployee(any(Consumer.class));
+    }
+
+    private static EmployeeSummaryDTO summary(Long id, String lastName, String matricule) {
+        return new EmployeeSummaryDTO(id, "Aina", lastName, matricule.toLowerCase() + "@dgi.local", "F", 30, null,
+                matricule, "Analyste", null, null, "A", "Actif", null, null, null, null, null, null);
+    }
 }
@@ -1,9 +1,17 @@
 package com.example.employeemanagement.controller;
 
+import com.example.employeemanagement.dto.OrganizationEmployeeCountsDTO;
+import com.example.employeemanagement.dto.OrganizationNodeDTO;
 import com.example.employeemanagement.model.Direction;
 import com.example.employeemanagement.model.Division;
 import com.example.employeemanagement.model.ServiceUnit;
+import com.example.employeemanagement.service.EmployeeService;
+import com.example.employeemanagement.service.OrganizationClosureService;
+import com.example.employeemanagement.service.OrganizationHeadcountService;
+import com.example.employeemanagement.service.OrganizationNodeService;
 import com.example.employeemanagement.service.OrganizationService;
+import com.example.employeemanagement.service.OrganizationTreeService;
+import com.example.employeemanagement.util.OrgAncestryIndex;
 import com.example.employeemanagement.security.JwtTokenUtil;
 import com.example.employeemanagement.security.CustomUserDetailsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -16,10 +24,20 @@ import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -36,6 +54,21 @@ class OrganizationControllerTest {
     @MockBean
     private OrganizationService organizationService;
 
+    @MockBean
+    private EmployeeService employeeService;
+
+    @MockBean
+    private OrganizationHeadcountService organizationHeadcountService;
+
+    @MockBean
+    private OrganizationTreeService organizationTreeService;
+
+    @MockBean
+    private OrganizationClosureService organizationClosureService;
+
+    @MockBean
+    private OrganizationNodeService organizationNodeService;
+
     @MockBean
     private JwtTokenUtil jwtTokenUtil;
 
@@ -102,4 +135,82 @@ class OrganizationControllerTest {
                 .andExpect(jsonPath("$.address").value("789 Java St"))
                 .andExpect(jsonPath("$.managerName").value("Bob Java"));
     }
+
+    @Test
+    void getEmployeeCounts_ShouldReturnCountsOfEveryNode() throws Exception {
+        OrganizationEmployeeCountsDTO counts = new OrganizationEmployeeCountsDTO(
+                Map.of(1L, 7L), Map.of(2L, 5L), Map.of(3L, 4L), 1L);
+        when(organizationHeadcountService.getEtag()).thenReturn("W/\"1-0\"");
+        when(organizationHeadcountService.getEmployeeCounts()).thenReturn(counts);
+
+        mockMvc.perform(get("/api/organization/employee-counts"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"1-0\""))
+                .andExpect(jsonPath("$.directions.1").value(7))
+                .andExpect(jsonPath("$.services.2").value(5))
+                .andExpect(jsonPath("$.divisions.3").value(4))
+                .andExpect(jsonPath("$.unassigned").value(1));
+    }
+
+    @Test
+    void getEmployeeCounts_ShouldReturnNotModifiedForTheCurrentEtag() throws Exception {
+        when(organizationHeadcountService.getEtag()).thenReturn("W/\"1-0\"");
+
+        mockMvc.perform(get("/api/organization/employee-counts").header("If-None-Match", "W/\"1-0\""))
+                .andExpect(status().isNotModified());
+
+        verify(organizationHeadcountService, never()).getEmployeeCounts();
+    }
+
+    @Test
+    void getOrganizationStructure_ShouldWriteTheSnapshotBytes() throws Exception {
+        byte[] json = "[{\"id\":1,\"name\":\"Direction Generale\",\"serviceUnits\":[]}]".getBytes(StandardCharsets.UTF_8);
+        when(organizationTreeService.getSnapshot()).thenReturn(new OrganizationTreeService.Snapshot(3, List.of(), json, "W/\"1-3\"", OrgAncestryIndex.EMPTY));
+
+        mockMvc.perform(get("/api/organization"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"1-3\""))
+                .andExpect(jsonPath("$[0].name").value("Direction Generale"))
+                .andExpect(jsonPath("$[0].serviceUnits").isEmpty());
+    }
+
+    @Test
+    void getOrganizationStructure_ShouldReturnNotModifiedForTheCurrentEtag() throws Exception {
+        when(organizationTreeService.getSnapshot()).thenReturn(new OrganizationTreeService.Snapshot(3, List.of(), new byte[0], "W/\"1-3\"", OrgAncestryIndex.EMPTY));
+
+        mockMvc.perform(get("/api/organization").header("If-None-Match", "W/\"1-3\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getChildNodes_ShouldReturnCompactNodes() throws Exception {
+        when(organizationNodeService.getChildren("direction", 1L)).thenReturn(List.of(
+                new OrganizationNodeDTO("service", 10L, "Service Paie", "M. Alami", 12, true)));
+
+        mockMvc.perform(get("/api/organization/nodes/direction/1/children"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("service"))
+                .andExpect(jsonPath("$[0].name").value("Service Paie"))
+                .andExpect(jsonPath("$[0].headcount").value(12))
+                .andExpect(jsonPath("$[0].hasChildren").value(true))
+                .andExpect(jsonPath("$[0].missions").doesNotExist());
+    }
+
+    @Test
+    void assignEmployeeToDivision_ShouldMoveThroughTheEmployeeService() throws Exception {
+        mockMvc.perform(post("/api/organization/divisions/4/assign/7").header("X-Actor", "RH"))
+                .andExpect(status().isOk());
+
+        verify(employeeService).assignToDivision(4L, 7L, "RH");
+        verifyNoInteractions(organizationService);
+    }
+
+    @Test
+    void removeEmployeeFromDivision_ShouldMoveThroughTheEmployeeService() throws Exception {
+        mockMvc.perform(delete("/api/organization/divisions/4/remove/7").header("X-Actor", "RH"))
+                .andExpect(status().isOk());
+
+        verify(employeeService).removeFromDivision(4L, 7L, "RH");
+        verifyNoInteractions(organizationService);
+    }
 }
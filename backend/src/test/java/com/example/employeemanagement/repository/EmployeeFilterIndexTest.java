@@ -0,0 +1,171 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.dto.EmployeeFilterDTO;
+import com.example.employeemanagement.model.Employee;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Runs EXPLAIN on the SQL generated for each supported facet combination of /api/employees/filter, both the
+ * count and the summary page the endpoint returns, and checks that none of them scans the employees table.
+ * Criteria literals are inlined so the captured SQL can be explained as is; only dates stay bound and are
+ * replaced by a fixed date literal, and the bound page limit is dropped.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.criteria.literal_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.employeemanagement.repository.EmployeeFilterIndexTest$SqlCapture"
+})
+class EmployeeFilterIndexTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Employee employee = new Employee();
+            employee.setFirstName("Prenom" + i);
+            employee.setLastName("Nom" + i);
+            employee.setEmail("employe" + i + "@dgi.local");
+            employee.setGender(i % 2 == 0 ? "F" : "M");
+            employee.setMatricule("EMP-" + i);
+            employee.setStatusCategory(i % 3 == 0 ? "A" : "B");
+            employee.setAdministrativeStatus(i % 4 == 0 ? "DETACHE" : "ACTIF");
+            employee.setHighestDiploma(i % 5 == 0 ? "MASTER" : "LICENCE");
+            employee.setHireDate(LocalDate.of(2000 + i % 20, 1, 1));
+            employee.setDateOfBirth(i % 7 == 0 ? null : LocalDate.of(1970 + i % 30, 6, 1));
+            employee.setAge(40);
+            employees.add(employee);
+        }
+        employeeRepository.saveAll(employees);
+        employeeRepository.flush();
+    }
+
+    static Stream<Arguments> supportedCombinations() {
+        return Stream.of(
+                combination("direction", f -> f.setDirectionId(1L)),
+                combination("direction + category + status + hire range", f -> {
+                    f.setDirectionId(1L);
+                    f.setStatusCategory("A");
+                    f.setAdministrativeStatus("ACTIF");
+                    f.setHiredFrom(LocalDate.of(2015, 1, 1));
+                    f.setHiredTo(LocalDate.of(2020, 12, 31));
+                }),
+                combination("service unit + category", f -> {
+                    f.setServiceUnitId(1L);
+                    f.setStatusCategory("A");
+                }),
+                combination("division + status", f -> {
+                    f.setDivisionId(1L);
+                    f.setAdministrativeStatus("ACTIF");
+                }),
+                combination("category + status", f -> {
+                    f.setStatusCategory("A");
+                    f.setAdministrativeStatus("ACTIF");
+                }),
+                combination("status + hire range", f -> {
+                    f.setAdministrativeStatus("ACTIF");
+                    f.setHiredFrom(LocalDate.of(2015, 1, 1));
+                }),
+                combination("diploma", f -> f.setHighestDiploma("MASTER")),
+                combination("gender + age range", f -> {
+                    f.setGender("F");
+                    f.setMinAge(30);
+                    f.setMaxAge(45);
+                }),
+                combination("hire range", f -> {
+                    f.setHiredFrom(LocalDate.of(2015, 1, 1));
+                    f.setHiredTo(LocalDate.of(2020, 12, 31));
+                }),
+                combination("direction + age range", f -> {
+                    f.setDirectionId(1L);
+                    f.setMinAge(30);
+                }));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("supportedCombinations")
+    void filter_ShouldUseAnIndex(String name, EmployeeFilterDTO filter) {
+        SqlCapture.clear();
+        employeeRepository.count(EmployeeSpecifications.matching(filter));
+        String sql = SqlCapture.last();
+        assertNotNull(sql);
+
+        assertUsesAnIndex(name, sql);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("supportedCombinations")
+    void summaryPage_ShouldUseAnIndex(String name, EmployeeFilterDTO filter) {
+        SqlCapture.clear();
+        // The endpoint's default page: sorted by last name, without the count
+        employeeRepository.findSummarySlice(EmployeeSpecifications.matching(filter),
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "lastName")));
+        String sql = SqlCapture.last();
+        assertNotNull(sql);
+
+        assertUsesAnIndex(name, sql.replaceAll("(?i)\\s+limit\\s+\\?(\\s+offset\\s+\\?)?\\s*$", ""));
+    }
+
+    private void assertUsesAnIndex(String name, String sql) {
+        Object plan = entityManager.createNativeQuery("EXPLAIN " + sql.replace("?", "DATE '2000-01-01'")).getSingleResult();
+
+        // The joined org units and job template are read by primary key, so any scan is one of employees
+        assertFalse(plan.toString().contains("tableScan"), () -> name + " scans employees:\n" + plan);
+    }
+
+    private static Arguments combination(String name, Consumer<EmployeeFilterDTO> facets) {
+        EmployeeFilterDTO filter = new EmployeeFilterDTO();
+        facets.accept(filter);
+        return Arguments.of(name, filter);
+    }
+
+    /** Records the SQL Hibernate sends to the database. */
+    public static class SqlCapture implements StatementInspector {
+
+        private static final List<String> statements = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (statements) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+
+        static void clear() {
+            synchronized (statements) {
+                statements.clear();
+            }
+        }
+
+        static String last() {
+            synchronized (statements) {
+                return statements.isEmpty() ? null : statements.get(statements.size() - 1);
+            }
+        }
+    }
+}
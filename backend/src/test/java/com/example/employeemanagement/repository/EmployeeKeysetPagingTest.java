@@ -0,0 +1,107 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.util.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Walks the cursor mode of /api/employees/filter page by page, each cursor going through its encoded form, and
+ * checks the concatenated pages against the full ordering: ties on the sort key are broken by id and NULL keys
+ * sort first ascending, last descending, with no row skipped or repeated at page boundaries.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class EmployeeKeysetPagingTest {
+
+    private static final String[] LAST_NAMES = {"Rabe", "Rakoto", null, "Rabe", "Andry", "Rakoto", null, "Rabe", "Zafy"};
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private List<Employee> employees;
+
+    @BeforeEach
+    void setUp() {
+        employees = new ArrayList<>();
+        for (int i = 0; i < LAST_NAMES.length; i++) {
+            Employee employee = new Employee();
+            employee.setFirstName("Prenom" + i);
+            employee.setLastName(LAST_NAMES[i]);
+            employee.setEmail("employe" + i + "@dgi.local");
+            employee.setGender("F");
+            employee.setMatricule("EMP-" + i);
+            // Shared hire dates, and none for every third employee
+            employee.setHireDate(i % 3 == 0 ? null : LocalDate.of(2010 + i % 2, 1, 1));
+            employees.add(employee);
+        }
+        employeeRepository.saveAll(employees);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @ParameterizedTest
+    @EnumSource(Sort.Direction.class)
+    void findSliceAfter_ShouldWalkLastNamesWithIdTieBreaks(Sort.Direction direction) {
+        assertEquals(expectedIds("lastName", Employee::getLastName, direction), walk("lastName", direction, 2));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Sort.Direction.class)
+    void findSliceAfter_ShouldWalkHireDatesAcrossTheNullBlock(Sort.Direction direction) {
+        assertEquals(expectedIds("hireDate", Employee::getHireDate, direction), walk("hireDate", direction, 2));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Sort.Direction.class)
+    void findSliceAfter_ShouldWalkIds(Sort.Direction direction) {
+        assertEquals(expectedIds("id", Employee::getId, direction), walk("id", direction, 4));
+    }
+
+    private List<Long> walk(String sortField, Sort.Direction direction, int size) {
+        List<Long> ids = new ArrayList<>();
+        KeysetCursor cursor = null;
+        for (int page = 0; page <= employees.size(); page++) {
+            Slice<EmployeeSummaryDTO> slice = employeeRepository.findSliceAfter(null, sortField, direction,
+                    cursor != null ? cursor.getValue() : null, cursor != null ? cursor.getId() : null, size);
+            slice.getContent().forEach(row -> ids.add(row.getId()));
+            if (!slice.hasNext()) {
+                return ids;
+            }
+            EmployeeSummaryDTO last = slice.getContent().get(slice.getContent().size() - 1);
+            cursor = KeysetCursor.decode(KeysetCursor.after(last, sortField, direction).encode());
+        }
+        return fail("Paging did not terminate");
+    }
+
+    private <T extends Comparable<? super T>> List<Long> expectedIds(String sortField, Function<Employee, T> key,
+                                                             Sort.Direction direction) {
+        Comparator<Employee> order = Comparator.comparing(key, Comparator.nullsFirst(Comparator.naturalOrder()));
+        if (!"id".equals(sortField)) {
+            order = order.thenComparing(Employee::getId);
+        }
+        if (direction.isDescending()) {
+            order = order.reversed();
+        }
+        return employees.stream().sorted(order).map(Employee::getId).collect(Collectors.toList());
+    }
+}
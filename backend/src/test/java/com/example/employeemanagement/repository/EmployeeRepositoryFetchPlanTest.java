@@ -0,0 +1,104 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.config.LazyLoadGuard;
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.exception.LazyLoadOutsideFetchPlanException;
+import com.example.employeemanagement.mapper.EmployeeMapper;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.PerformanceReview;
+import com.example.employeemanagement.model.Promotion;
+import com.example.employeemanagement.model.Skill;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the lazy load guard in fail mode: every read path must be covered by the entity graph of the
+ * repository method it uses.
+ */
+@DataJpaTest(properties = {
+        "app.jpa.lazy-load-guard=fail",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({LazyLoadGuard.class, EmployeeMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeRepositoryFetchPlanTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeMapper employeeMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+
+    private Long employeeId;
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Employee employee = new Employee();
+        employee.setFirstName("Aina");
+        employee.setLastName("Rakoto");
+        employee.setEmail("aina.rakoto@dgi.local");
+        employee.setGender("F");
+        employee.setMatricule("EMP-0001");
+
+        Skill skill = new Skill();
+        skill.setName("SQL");
+        skill.setEmployee(employee);
+        employee.setSkills(new ArrayList<>(List.of(skill)));
+
+        PerformanceReview review = new PerformanceReview();
+        review.setPeriod("2024");
+        review.setEmployee(employee);
+        employee.setPerformanceReviews(new ArrayList<>(List.of(review)));
+
+        Promotion promotion = new Promotion();
+        promotion.setPromotionDate(LocalDate.of(2023, 1, 1));
+        promotion.setEmployee(employee);
+        employee.setPromotions(new ArrayList<>(List.of(promotion)));
+
+        employeeId = employeeRepository.save(employee).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void findDetailById_ShouldLoadEverythingTheMapperReads() {
+        EmployeeDTO dto = readOnly.execute(status ->
+                employeeMapper.toDTO(employeeRepository.findDetailById(employeeId).orElseThrow()));
+
+        assertNotNull(dto);
+        assertEquals(1, dto.getSkills().size());
+        assertEquals(1, dto.getPerformanceReviews().size());
+        assertEquals(1, dto.getPromotions().size());
+    }
+
+    @Test
+    void findById_ShouldFail_WhenMappingReadsUnplannedAssociations() {
+        assertThrows(LazyLoadOutsideFetchPlanException.class, () -> readOnly.execute(status ->
+                employeeMapper.toDTO(employeeRepository.findById(employeeId).orElseThrow())));
+    }
+}
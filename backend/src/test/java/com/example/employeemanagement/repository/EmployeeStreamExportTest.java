@@ -0,0 +1,66 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import com.example.employeemanagement.model.Employee;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Data path of GET /api/employees/stream: projected rows in id order, nothing attached to the persistence context. */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class EmployeeStreamExportTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void streamAllSummaries_ShouldReturnEveryRowInIdOrderWithoutManagingEntities() {
+        List<Employee> employees = new ArrayList<>();
+        // More rows than the 500-row fetch size, so the driver has to fetch more than once
+        for (int i = 0; i < 1_200; i++) {
+            Employee employee = new Employee();
+            employee.setFirstName("Prenom" + i);
+            employee.setLastName("Nom" + i);
+            employee.setEmail("employe" + i + "@dgi.local");
+            employee.setGender(i % 2 == 0 ? "F" : "M");
+            employee.setMatricule("EMP-" + i);
+            employees.add(employee);
+        }
+        employeeRepository.saveAll(employees);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> streamed;
+        try (Stream<EmployeeSummaryDTO> rows = employeeRepository.streamAllSummaries()) {
+            streamed = rows.map(EmployeeSummaryDTO::getId).collect(Collectors.toList());
+        }
+
+        assertEquals(employees.stream().map(Employee::getId).sorted().collect(Collectors.toList()), streamed);
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void datasourceUrl_ShouldEnableCursorFetchForTheFetchSize() throws IOException {
+        // Without it Connector/J ignores the fetch size and buffers the whole result set
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+
+        assertTrue(properties.getProperty("spring.datasource.url").contains("useCursorFetch=true"));
+    }
+}
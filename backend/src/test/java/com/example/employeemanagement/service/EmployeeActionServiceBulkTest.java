@@ -0,0 +1,129 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.Direction;
+import com.example.employeemanagement.model.Division;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.EmployeeAction;
+import com.example.employeemanagement.model.HeadcountBucket;
+import com.example.employeemanagement.model.ServiceUnit;
+import com.example.employeemanagement.repository.DirectionRepository;
+import com.example.employeemanagement.repository.DivisionRepository;
+import com.example.employeemanagement.repository.EmployeeActionRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.HeadcountBucketRepository;
+import com.example.employeemanagement.repository.ServiceUnitRepository;
+import com.example.employeemanagement.util.OrgPlacement;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/** Data path of the bulk division move: placement read, set-based UPDATE, batched audit rows and buckets. */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({EmployeeActionService.class, HeadcountSeriesService.class, IdBlockService.class})
+class EmployeeActionServiceBulkTest {
+
+    @Autowired
+    private EmployeeActionService employeeActionService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeActionRepository employeeActionRepository;
+
+    @Autowired
+    private HeadcountBucketRepository bucketRepository;
+
+    @Autowired
+    private DirectionRepository directionRepository;
+
+    @Autowired
+    private ServiceUnitRepository serviceUnitRepository;
+
+    @Autowired
+    private DivisionRepository divisionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void logActions_ShouldWriteOneAuditRowPerEmployeeAndFoldTheMoves() {
+        Direction direction = new Direction();
+        direction.setName("Direction Generale");
+        directionRepository.save(direction);
+        ServiceUnit serviceUnit = new ServiceUnit();
+        serviceUnit.setName("Service Paie");
+        serviceUnit.setDirection(direction);
+        serviceUnitRepository.save(serviceUnit);
+        Division target = new Division();
+        target.setName("Division Salaires");
+        target.setServiceUnit(serviceUnit);
+        divisionRepository.save(target);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Employee employee = new Employee();
+            employee.setFirstName("Prenom" + i);
+            employee.setLastName("Nom" + i);
+            employee.setEmail("employe" + i + "@dgi.local");
+            employee.setMatricule("EMP-" + i);
+            employee.setGender("F");
+            ids.add(employeeRepository.save(employee).getId());
+        }
+        entityManager.flush();
+        List<OrgPlacement> previous = new ArrayList<>();
+        for (Object[] row : employeeRepository.findPlacementsByIdIn(ids)) {
+            previous.add(new OrgPlacement((Long) row[1], (Long) row[2], (Long) row[3]));
+        }
+        OrgPlacement placement = new OrgPlacement(direction.getId(), serviceUnit.getId(), target.getId());
+
+        int updated = employeeRepository.updatePlacement(ids, target, serviceUnit, direction, Instant.now());
+        employeeActionService.logActions(ids, "CHANGEMENT_DIVISION", "RH", "Changement de division vers : Division Salaires",
+                previous, placement);
+        entityManager.clear();
+
+        assertEquals(3, updated);
+        assertEquals(3, previous.size());
+        for (Long id : ids) {
+            assertEquals(target.getId(), employeeRepository.findById(id).orElseThrow().getDivision().getId());
+            List<EmployeeAction> actions = employeeActionRepository.findByEmployeeIdOrderByCreatedAtDesc(id);
+            assertEquals(1, actions.size());
+            assertEquals("RH", actions.get(0).getActor());
+        }
+        HeadcountBucket divisionBucket = bucketRepository.findAll().stream()
+                .filter(bucket -> bucket.getUnitType() == HeadcountBucket.UnitType.DIVISION)
+                .findFirst().orElseThrow();
+        assertEquals(3, divisionBucket.getTransfersIn());
+    }
+
+    @Test
+    void updatePlacement_ShouldClearMissingAncestors() {
+        Division orphan = new Division();
+        orphan.setName("Division isolee");
+        divisionRepository.save(orphan);
+        Employee employee = new Employee();
+        employee.setFirstName("Prenom");
+        employee.setLastName("Nom");
+        employee.setEmail("employe@dgi.local");
+        employee.setMatricule("EMP-1");
+        employee.setGender("F");
+        Long id = employeeRepository.save(employee).getId();
+        entityManager.flush();
+
+        employeeRepository.updatePlacement(List.of(id), orphan, null, null, Instant.now());
+        entityManager.clear();
+
+        Object[] row = employeeRepository.findPlacementsByIdIn(List.of(id)).get(0);
+        assertEquals(orphan.getId(), row[3]);
+        assertNull(row[2]);
+        assertNull(row[1]);
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.ImportJobDTO;
+import com.example.employeemanagement.exception.BadRequestException;
+import com.example.employeemanagement.model.Direction;
+import com.example.employeemanagement.model.Division;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.EmployeeAction;
+import com.example.employeemanagement.model.ServiceUnit;
+import com.example.employeemanagement.repository.DirectionRepository;
+import com.example.employeemanagement.repository.DivisionRepository;
+import com.example.employeemanagement.repository.EmployeeActionRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.HeadcountBucketRepository;
+import com.example.employeemanagement.repository.ServiceUnitRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Jobs run on their own thread and commit per chunk, so the fixture is committed rather than rolled back. */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.import.chunk-size=2"
+})
+@Import({EmployeeImportService.class, EmployeeActionService.class, HeadcountSeriesService.class, IdBlockService.class,
+        EmployeeKeyFilterService.class, OrganizationTreeService.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeImportServiceTest {
+
+    private static final String HEADER = "Matricule;Nom;Prénom;Email;Genre;Date de naissance;Poste;Date d'embauche;Division_ID\n";
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeActionRepository employeeActionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private HeadcountBucketRepository bucketRepository;
+
+    @Autowired
+    private DirectionRepository directionRepository;
+
+    @Autowired
+    private ServiceUnitRepository serviceUnitRepository;
+
+    @Autowired
+    private DivisionRepository divisionRepository;
+
+    private Direction direction;
+    private ServiceUnit serviceUnit;
+    private Division division;
+
+    @BeforeEach
+    void setUp() {
+        direction = new Direction();
+        direction.setName("Direction Generale");
+        directionRepository.save(direction);
+        serviceUnit = new ServiceUnit();
+        serviceUnit.setName("Service Paie");
+        serviceUnit.setDirection(direction);
+        serviceUnitRepository.save(serviceUnit);
+        division = new Division();
+        division.setName("Division Salaires");
+        division.setServiceUnit(serviceUnit);
+        divisionRepository.save(division);
+
+        Employee existing = new Employee();
+        existing.setFirstName("Prenom");
+        existing.setLastName("Existant");
+        existing.setEmail("existant@dgi.local");
+        existing.setMatricule("EMP-0");
+        existing.setGender("F");
+        employeeRepository.save(existing);
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeActionRepository.deleteAllInBatch();
+        bucketRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+        divisionRepository.deleteAllInBatch();
+        serviceUnitRepository.deleteAllInBatch();
+        directionRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void submit_ShouldImportValidRowsAndReportTheOthers() throws Exception {
+        Long divisionId = division.getId();
+        String csv = HEADER
+                + "EMP-1;Alaoui;Sara;sara.alaoui@dgi.local;F;1990-01-31;Comptable;15/03/2015;" + divisionId + "\n"
+                + "EMP-2;Bennani;Omar;Existant@DGI.local;M;1985-06-01;Auditeur;2010-09-01;" + divisionId + "\n"
+                + "EMP-3;Chraibi;Nadia;nadia@dgi.local;F;31/02/1990;Juriste;2012-01-01;" + divisionId + "\n"
+                + ";;;;;;;;\n"
+                + "EMP-4;Daoudi;Karim;karim@dgi.local;M;1988-04-12;Analyste;2014-05-05;" + divisionId + "\n"
+                + "emp-1;Idrissi;Leila;leila@dgi.local;F;1992-02-02;Analyste;2016-01-04;" + divisionId + "\n"
+                + "EMP-5;Fassi;Youssef;youssef@dgi.local;M;1991-07-07;Analyste;2016-01-04;999999\n";
+
+        ImportJobDTO job = awaitCompletion(employeeImportService.submit(csvFile(csv), "RH"));
+
+        assertEquals(ImportJobDTO.Status.COMPLETED, job.getStatus());
+        assertEquals(6, job.getRowsRead());
+        assertEquals(2, job.getImported());
+        assertEquals(4, job.getRejected());
+
+        Employee sara = employeeRepository.findByEmail("sara.alaoui@dgi.local").orElseThrow();
+        assertEquals(Period.between(LocalDate.of(1990, 1, 31), LocalDate.now()).getYears(), sara.getAge());
+        assertEquals(LocalDate.of(2015, 3, 15), sara.getHireDate());
+        assertArrayEquals(new Object[] {sara.getId(), direction.getId(), serviceUnit.getId(), divisionId},
+                employeeRepository.findPlacementsByIdIn(List.of(sara.getId())).get(0));
+        List<EmployeeAction> actions = employeeActionRepository.findByEmployeeIdOrderByCreatedAtDesc(sara.getId());
+        assertEquals(1, actions.size());
+        assertEquals("CREATION", actions.get(0).getActionType());
+
+        String report = employeeImportService.getErrorReport(job.getId());
+        assertTrue(report.contains("3;EMP-2;Existant@DGI.local;Un employé avec cet email existe déjà\n"));
+        assertTrue(report.contains("4;EMP-3;nadia@dgi.local;Date invalide (colonne date_naissance) : 31/02/1990\n"));
+        assertTrue(report.contains("7;emp-1;leila@dgi.local;Matricule en double dans le fichier (ligne 2)\n"));
+        assertTrue(report.contains("8;EMP-5;youssef@dgi.local;Unité organisationnelle introuvable (colonne division_id) : 999999\n"));
+    }
+
+    @Test
+    void submit_ShouldFailTheJobWhenMandatoryColumnsAreMissing() throws Exception {
+        ImportJobDTO job = awaitCompletion(employeeImportService.submit(csvFile("nom,prenom,email\nAlaoui,Sara,sara@dgi.local\n"), "ADMIN"));
+
+        assertEquals(ImportJobDTO.Status.FAILED, job.getStatus());
+        assertTrue(job.getMessage().startsWith("Colonnes manquantes : genre, date_naissance, poste, date_embauche"));
+        assertEquals(1, employeeRepository.count());
+    }
+
+    @Test
+    void submit_ShouldFailTheJobOnAViolationOtherThanADuplicateKey() throws Exception {
+        jdbcTemplate.execute("ALTER TABLE employees ADD CONSTRAINT chk_test_job_title CHECK (job_title <> 'Interdit')");
+        try {
+            Long divisionId = division.getId();
+            String csv = HEADER
+                    + "EMP-1;Alaoui;Sara;sara.alaoui@dgi.local;F;1990-01-31;Comptable;2015-03-15;" + divisionId + "\n"
+                    + "EMP-2;Bennani;Omar;omar@dgi.local;M;1985-06-01;Interdit;2010-09-01;" + divisionId + "\n";
+
+            ImportJobDTO job = awaitCompletion(employeeImportService.submit(csvFile(csv), "RH"));
+
+            // Not split down to the row and reported as a conflict: the whole chunk is rolled back
+            assertEquals(ImportJobDTO.Status.FAILED, job.getStatus());
+            assertEquals(0, job.getImported());
+            assertEquals(1, employeeRepository.count());
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE employees DROP CONSTRAINT chk_test_job_title");
+        }
+    }
+
+    @Test
+    void submit_ShouldRejectOtherActorsAndFormats() {
+        assertThrows(AccessDeniedException.class, () -> employeeImportService.submit(csvFile(HEADER), "MANAGER"));
+        assertThrows(BadRequestException.class, () -> employeeImportService.submit(
+                new MockMultipartFile("file", "agents.xls", "application/vnd.ms-excel", new byte[] {1}), "RH"));
+    }
+
+    private ImportJobDTO awaitCompletion(ImportJobDTO job) throws InterruptedException {
+        for (int attempt = 0; attempt < 200 && job.getFinishedAt() == null; attempt++) {
+            Thread.sleep(50);
+            job = employeeImportService.getJob(job.getId());
+        }
+        return job;
+    }
+
+    private static MockMultipartFile csvFile(String content) {
+        return new MockMultipartFile("file", "agents.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
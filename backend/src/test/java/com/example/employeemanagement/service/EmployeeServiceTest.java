@@ -0,0 +1,255 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.EmployeeDTO;
+import com.example.employeemanagement.dto.OrganizationUnitRowDTO;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.exception.ConflictException;
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.mapper.EmployeeMapper;
+import com.example.employeemanagement.model.Direction;
+import com.example.employeemanagement.model.Division;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.ServiceUnit;
+import com.example.employeemanagement.repository.DirectionRepository;
+import com.example.employeemanagement.repository.DivisionRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.ServiceUnitRepository;
+import com.example.employeemanagement.util.OrgAncestryIndex;
+import com.example.employeemanagement.util.OrgPlacement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private DivisionRepository divisionRepository;
+
+    @Mock
+    private ServiceUnitRepository serviceUnitRepository;
+
+    @Mock
+    private DirectionRepository directionRepository;
+
+    @Mock
+    private EmployeeActionService employeeActionService;
+
+    @Mock
+    private OrganizationTreeService organizationTreeService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EmployeeMapper employeeMapper;
+
+    @Mock
+    private EmployeeKeyFilterService employeeKeyFilterService;
+
+    @InjectMocks
+    private EmployeeService employeeService;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = new Employee();
+        employee.setId(7L);
+        employee.setFirstName("Aina");
+        employee.setLastName("Rakoto");
+    }
+
+    @Test
+    void assignToDivision_ShouldMoveTheEmployeeWithItsUnitsAndPublishTheChange() {
+        OrgAncestryIndex ancestry = new OrgAncestryIndex(
+                List.of(new OrganizationUnitRowDTO(1L, "Direction", null, null, null, null, null)),
+                List.of(new OrganizationUnitRowDTO(2L, 1L, "Service", null, null, null, null, null)),
+                List.of(new OrganizationUnitRowDTO(4L, 2L, "Division 4", null, null, null, null, null)));
+        when(organizationTreeService.getSnapshot())
+                .thenReturn(new OrganizationTreeService.Snapshot(1, List.of(), new byte[0], "W/\"1-1\"", ancestry));
+        when(employeeRepository.findById(7L)).thenReturn(Optional.of(employee));
+        when(divisionRepository.getReferenceById(4L)).thenReturn(division(4L));
+        when(serviceUnitRepository.getReferenceById(2L)).thenReturn(serviceUnit(2L));
+        when(directionRepository.getReferenceById(1L)).thenReturn(direction(1L));
+
+        employeeService.assignToDivision(4L, 7L, "RH");
+
+        assertEquals(new OrgPlacement(1L, 2L, 4L), OrgPlacement.of(employee));
+        verify(employeeRepository).save(employee);
+        verify(employeeActionService).logAction(eq(employee), eq("CHANGEMENT_DIVISION"), eq("RH"),
+                eq("Changement de division vers : Division 4"), eq(OrgPlacement.NONE));
+        assertPublishedUpdateOf(7L);
+    }
+
+    @Test
+    void removeFromDivision_ShouldKeepTheUnitsAndPublishTheChange() {
+        employee.setDivision(division(4L));
+        employee.setServiceUnit(serviceUnit(2L));
+        employee.setDirection(direction(1L));
+        when(organizationTreeService.getSnapshot())
+                .thenReturn(new OrganizationTreeService.Snapshot(1, List.of(), new byte[0], "W/\"1-1\"", OrgAncestryIndex.EMPTY));
+        when(employeeRepository.findById(7L)).thenReturn(Optional.of(employee));
+        when(divisionRepository.getReferenceById(4L)).thenReturn(division(4L));
+
+        employeeService.removeFromDivision(4L, 7L, "RH");
+
+        assertEquals(new OrgPlacement(1L, 2L, null), OrgPlacement.of(employee));
+        verify(employeeActionService).logAction(eq(employee), eq("CHANGEMENT_DIVISION"), eq("RH"),
+                eq("Retrait de la division : Division 4"), eq(new OrgPlacement(1L, 2L, 4L)));
+        assertPublishedUpdateOf(7L);
+    }
+
+    @Test
+    void removeFromDivision_ShouldRejectAnEmployeeOfAnotherDivision() {
+        employee.setDivision(division(5L));
+        when(employeeRepository.findById(7L)).thenReturn(Optional.of(employee));
+
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.removeFromDivision(4L, 7L, "RH"));
+
+        verify(employeeRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void createEmployee_ShouldOnlyQueryTheKeysTheFiltersMayContain() {
+        EmployeeDTO dto = employeeDTO("aina@dgi.local", "EMP-7");
+        when(employeeKeyFilterService.mightContainEmail("aina@dgi.local")).thenReturn(false);
+        when(employeeKeyFilterService.mightContainMatricule("EMP-7")).thenReturn(true);
+        when(employeeRepository.existsByMatricule("EMP-7")).thenReturn(false);
+        stubEmptyOrganization();
+        employee.setEmail("aina@dgi.local");
+        employee.setMatricule("EMP-7");
+        when(employeeMapper.toEntity(dto)).thenReturn(employee);
+        when(employeeRepository.saveAndFlush(employee)).thenReturn(employee);
+
+        employeeService.createEmployee(dto, "RH");
+
+        verify(employeeRepository, never()).existsByEmail(any());
+        verify(employeeKeyFilterService).add("aina@dgi.local", "EMP-7");
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1062, 23000", "23505, 23505"})
+    void createEmployee_ShouldReportAKeyTakenBeforeTheFlushAsAConflict(int errorCode, String sqlState) {
+        EmployeeDTO dto = employeeDTO("aina@dgi.local", "EMP-7");
+        stubEmptyOrganization();
+        when(employeeMapper.toEntity(dto)).thenReturn(employee);
+        when(employeeRepository.saveAndFlush(employee)).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("Duplicate entry", sqlState, errorCode)));
+
+        assertThrows(ConflictException.class, () -> employeeService.createEmployee(dto, "RH"));
+
+        verify(employeeKeyFilterService, never()).add(any(), any());
+        verifyNoInteractions(employeeActionService, eventPublisher);
+    }
+
+    @Test
+    void createEmployee_ShouldRethrowAnIntegrityViolationOtherThanADuplicateKey() {
+        EmployeeDTO dto = employeeDTO("aina@dgi.local", "EMP-7");
+        stubEmptyOrganization();
+        when(employeeMapper.toEntity(dto)).thenReturn(employee);
+        when(employeeRepository.saveAndFlush(employee)).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("Column 'gender' cannot be null", "23000", 1048)));
+
+        assertThrows(DataIntegrityViolationException.class, () -> employeeService.createEmployee(dto, "RH"));
+    }
+
+    @Test
+    void updateEmployee_ShouldRejectAnEmailTakenByAnotherEmployee() {
+        employee.setEmail("aina@dgi.local");
+        when(employeeRepository.findDetailById(7L)).thenReturn(Optional.of(employee));
+        when(employeeKeyFilterService.mightContainEmail("rabe@dgi.local")).thenReturn(true);
+        when(employeeRepository.existsByEmailAndIdNot("rabe@dgi.local", 7L)).thenReturn(true);
+
+        assertThrows(ConflictException.class,
+                () -> employeeService.updateEmployee(7L, employeeDTO("rabe@dgi.local", null), "RH"));
+
+        verify(employeeRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void updateEmployee_ShouldCheckAndRecordOnlyTheChangedKeys() {
+        employee.setEmail("aina@dgi.local");
+        employee.setMatricule("EMP-7");
+        EmployeeDTO dto = employeeDTO("AINA@dgi.local", "EMP-8");
+        when(employeeRepository.findDetailById(7L)).thenReturn(Optional.of(employee));
+        when(employeeKeyFilterService.mightContainMatricule("EMP-8")).thenReturn(true);
+        when(employeeRepository.existsByMatriculeAndIdNot("EMP-8", 7L)).thenReturn(false);
+        doAnswer(invocation -> {
+            employee.setEmail(dto.getEmail());
+            employee.setMatricule(dto.getMatricule());
+            return null;
+        }).when(employeeMapper).updateEntityFromDTO(dto, employee);
+        stubEmptyOrganization();
+        when(employeeRepository.saveAndFlush(employee)).thenReturn(employee);
+
+        employeeService.updateEmployee(7L, dto, "RH");
+
+        // Only the case of the email changed: neither probed nor queried, and not added again
+        verify(employeeKeyFilterService, never()).mightContainEmail(any());
+        verify(employeeRepository, never()).existsByEmailAndIdNot(any(), any());
+        verify(employeeKeyFilterService).add(null, "EMP-8");
+        assertPublishedUpdateOf(7L);
+    }
+
+    private void stubEmptyOrganization() {
+        when(organizationTreeService.getSnapshot())
+                .thenReturn(new OrganizationTreeService.Snapshot(1, List.of(), new byte[0], "W/\"1-1\"", OrgAncestryIndex.EMPTY));
+    }
+
+    private static EmployeeDTO employeeDTO(String email, String matricule) {
+        EmployeeDTO dto = new EmployeeDTO();
+        dto.setFirstName("Aina");
+        dto.setLastName("Rakoto");
+        dto.setEmail(email);
+        dto.setMatricule(matricule);
+        return dto;
+    }
+
+    private void assertPublishedUpdateOf(Long employeeId) {
+        ArgumentCaptor<EmployeeChangedEvent> event = ArgumentCaptor.forClass(EmployeeChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(EmployeeChangedEvent.Type.UPDATED, event.getValue().getType());
+        assertEquals(List.of(employeeId), event.getValue().getEmployeeIds());
+    }
+
+    private static Division division(Long id) {
+        Division division = new Division();
+        division.setId(id);
+        division.setName("Division " + id);
+        return division;
+    }
+
+    private static ServiceUnit serviceUnit(Long id) {
+        ServiceUnit serviceUnit = new ServiceUnit();
+        serviceUnit.setId(id);
+        return serviceUnit;
+    }
+
+    private static Direction direction(Long id) {
+        Direction direction = new Direction();
+        direction.setId(id);
+        return direction;
+    }
+}
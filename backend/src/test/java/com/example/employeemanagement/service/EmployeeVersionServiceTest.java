@@ -0,0 +1,92 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.event.OrganizationChangedEvent;
+import com.example.employeemanagement.event.PerformanceReviewChangedEvent;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/** Writes below go straight through the repository, publishing no EmployeeChangedEvent. */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.employees.version-max-age-ms=0"
+})
+@Import(EmployeeVersionService.class)
+class EmployeeVersionServiceTest {
+
+    @Autowired
+    private EmployeeVersionService employeeVersionService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = employeeRepository.saveAndFlush(employee("EMP-1", Instant.parse("2024-01-01T08:00:00Z")));
+    }
+
+    @Test
+    void getCollectionEtag_ShouldChangeWithAnUnannouncedUpdate() {
+        String before = employeeVersionService.getCollectionEtag();
+        assertEquals(before, employeeVersionService.getCollectionEtag());
+
+        employee.setUpdatedAt(Instant.parse("2024-01-02T08:00:00Z"));
+        employeeRepository.saveAndFlush(employee);
+
+        assertNotEquals(before, employeeVersionService.getCollectionEtag());
+        assertEquals(Instant.parse("2024-01-02T08:00:00Z"), employeeVersionService.getLastUpdatedAt());
+    }
+
+    @Test
+    void getCollectionEtag_ShouldChangeWithAnUnannouncedDeletionOnceTheCountExpires() {
+        employeeRepository.saveAndFlush(employee("EMP-2", Instant.parse("2023-01-01T08:00:00Z")));
+        String before = employeeVersionService.getCollectionEtag();
+
+        // The latest updatedAt stays the same: only the row count tells the deletion
+        employeeRepository.deleteAll(employeeRepository.findAll().stream()
+                .filter(e -> "EMP-2".equals(e.getMatricule())).toList());
+        employeeRepository.flush();
+
+        assertNotEquals(before, employeeVersionService.getCollectionEtag());
+    }
+
+    @Test
+    void getEmployeeEtag_ShouldChangeWithARenamedUnitOrAReviewWrite() {
+        String before = employeeVersionService.getEmployeeEtag(employee.getId()).orElseThrow();
+
+        // A new unit has no employee to embed it
+        employeeVersionService.onOrganizationChanged(new OrganizationChangedEvent(
+                OrganizationChangedEvent.Type.CREATED, OrganizationChangedEvent.UnitType.DIVISION, 9L));
+        assertEquals(before, employeeVersionService.getEmployeeEtag(employee.getId()).orElseThrow());
+
+        employeeVersionService.onOrganizationChanged(new OrganizationChangedEvent(
+                OrganizationChangedEvent.Type.UPDATED, OrganizationChangedEvent.UnitType.DIVISION, 9L));
+        String renamed = employeeVersionService.getEmployeeEtag(employee.getId()).orElseThrow();
+        assertNotEquals(before, renamed);
+
+        employeeVersionService.onPerformanceReviewChanged(new PerformanceReviewChangedEvent("2024"));
+        assertNotEquals(renamed, employeeVersionService.getEmployeeEtag(employee.getId()).orElseThrow());
+    }
+
+    private static Employee employee(String matricule, Instant updatedAt) {
+        Employee employee = new Employee();
+        employee.setFirstName("Aina");
+        employee.setLastName("Rakoto");
+        employee.setEmail(matricule.toLowerCase() + "@dgi.local");
+        employee.setGender("F");
+        employee.setMatricule(matricule);
+        employee.setUpdatedAt(updatedAt);
+        return employee;
+    }
+}
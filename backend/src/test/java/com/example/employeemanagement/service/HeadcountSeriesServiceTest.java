@@ -0,0 +1,167 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.HeadcountPointDTO;
+import com.example.employeemanagement.model.Direction;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.HeadcountBucket.UnitType;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.service.HeadcountSeriesService.Granularity;
+import com.example.employeemanagement.util.OrgPlacement;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({HeadcountSeriesService.class, IdBlockService.class})
+class HeadcountSeriesServiceTest {
+
+    private static final OrgPlacement FIRST = new OrgPlacement(1L, 10L, 100L);
+    private static final OrgPlacement SECOND = new OrgPlacement(2L, 20L, 200L);
+
+    @Autowired
+    private HeadcountSeriesService headcountSeriesService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void getSeries_ShouldFollowHiresMovesAndDeparturesPerUnit() {
+        recordHistory();
+
+        List<HeadcountPointDTO> points = headcountSeriesService.getSeries(UnitType.DIRECTION, null, Granularity.MONTH,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31));
+
+        assertEquals(List.of(2L, 1L, 1L), headcounts(points, 1L));
+        assertEquals(List.of(0L, 1L, 0L), headcounts(points, 2L));
+        HeadcountPointDTO february = points.stream()
+                .filter(point -> point.getUnitId() == 1L && point.getPeriodStart().equals(LocalDate.of(2024, 2, 1)))
+                .findFirst().orElseThrow();
+        assertEquals(1, february.getTransfersOut());
+    }
+
+    @Test
+    void getSeries_ShouldStartFromTheHeadcountBeforeTheRange() {
+        recordHistory();
+
+        List<HeadcountPointDTO> points = headcountSeriesService.getSeries(UnitType.DIVISION, 100L, Granularity.WEEK,
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 14));
+
+        // Thursday 1st, then the weeks starting Monday 5th and Monday 12th
+        assertEquals(List.of(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 5), LocalDate.of(2024, 2, 12)),
+                points.stream().map(HeadcountPointDTO::getPeriodStart).collect(Collectors.toList()));
+        assertEquals(List.of(2L, 1L, 1L), headcounts(points, 100L));
+    }
+
+    @Test
+    void getSeries_ShouldCountMovesWithoutChangingTheOrganizationHeadcount() {
+        recordHistory();
+
+        List<HeadcountPointDTO> points = headcountSeriesService.getSeries(UnitType.ALL, null, Granularity.MONTH,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31));
+
+        assertEquals(List.of(2L, 2L, 1L), headcounts(points, 0L));
+        assertEquals(1, points.get(1).getTransfersIn());
+        assertEquals(1, points.get(2).getDepartures());
+    }
+
+    @Test
+    void record_ShouldOnlyReachTheBucketsOnceDrained() {
+        headcountSeriesService.record("CREATION", Instant.parse("2024-01-10T09:00:00Z"), FIRST, FIRST);
+
+        assertEquals(List.of(0L), headcounts(januaryOfFirstDirection(), 1L));
+
+        headcountSeriesService.drain();
+
+        assertEquals(List.of(1L), headcounts(januaryOfFirstDirection(), 1L));
+    }
+
+    @Test
+    void drain_ShouldAddToABucketThatAlreadyExists() {
+        headcountSeriesService.record("CREATION", Instant.parse("2024-01-10T09:00:00Z"), FIRST, FIRST);
+        headcountSeriesService.drain();
+        headcountSeriesService.record("CREATION", Instant.parse("2024-01-10T15:00:00Z"), FIRST, FIRST);
+        headcountSeriesService.drain();
+
+        assertEquals(List.of(2L), headcounts(januaryOfFirstDirection(), 1L));
+    }
+
+    @Test
+    void backfill_ShouldFoldEmployeesWithoutLoggedActions() {
+        Direction direction = persistEmployeeInNewDirection();
+
+        headcountSeriesService.backfill();
+        headcountSeriesService.backfill();
+
+        List<HeadcountPointDTO> points = lastYear(direction);
+        assertEquals(1, points.get(points.size() - 1).getHeadcount());
+        assertEquals(1, points.stream().mapToLong(HeadcountPointDTO::getHires).sum());
+    }
+
+    @Test
+    void reconcile_ShouldAdjustForEmployeesWrittenWithoutAnAction() {
+        Direction direction = persistEmployeeInNewDirection();
+
+        headcountSeriesService.reconcile();
+        headcountSeriesService.reconcile();
+
+        List<HeadcountPointDTO> points = lastYear(direction);
+        assertEquals(1, points.get(points.size() - 1).getHeadcount());
+        // An adjustment, not a hire
+        assertEquals(0, points.stream().mapToLong(HeadcountPointDTO::getHires).sum());
+    }
+
+    private Direction persistEmployeeInNewDirection() {
+        Direction direction = new Direction();
+        direction.setName("Direction des impôts");
+        entityManager.persist(direction);
+        Employee employee = new Employee();
+        employee.setFirstName("Aina");
+        employee.setLastName("Rakoto");
+        employee.setEmail("aina.rakoto@dgi.local");
+        employee.setGender("F");
+        employee.setMatricule("EMP-1");
+        employee.setDirection(direction);
+        employeeRepository.saveAndFlush(employee);
+        return direction;
+    }
+
+    private List<HeadcountPointDTO> lastYear(Direction direction) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        return headcountSeriesService.getSeries(UnitType.DIRECTION, direction.getId(), Granularity.DAY,
+                today.minusYears(1), today);
+    }
+
+    private List<HeadcountPointDTO> januaryOfFirstDirection() {
+        return headcountSeriesService.getSeries(UnitType.DIRECTION, 1L, Granularity.MONTH,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+    }
+
+    private void recordHistory() {
+        headcountSeriesService.record("CREATION", Instant.parse("2024-01-10T09:00:00Z"), FIRST, FIRST);
+        headcountSeriesService.record("CREATION", Instant.parse("2024-01-11T09:00:00Z"), FIRST, FIRST);
+        headcountSeriesService.record("MISE_A_JOUR", Instant.parse("2024-01-12T09:00:00Z"), FIRST, FIRST);
+        headcountSeriesService.record("CHANGEMENT_DIVISION", Instant.parse("2024-02-05T09:00:00Z"), FIRST, SECOND);
+        headcountSeriesService.record("SUPPRESSION", Instant.parse("2024-03-01T09:00:00Z"), SECOND, SECOND);
+        headcountSeriesService.drain();
+    }
+
+    private static List<Long> headcounts(List<HeadcountPointDTO> points, long unitId) {
+        return points.stream()
+                .filter(point -> point.getUnitId() == unitId)
+                .map(HeadcountPointDTO::getHeadcount)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.PooledIds;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(IdBlockService.class)
+class IdBlockServiceTest {
+
+    @Autowired
+    private IdBlockService idBlockService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    void reserve_ShouldHandOutBlocksDisjointFromHibernateIds() {
+        Employee employee = new Employee();
+        employee.setFirstName("Prenom");
+        employee.setLastName("Nom");
+        employee.setEmail("employe@dgi.local");
+        employee.setMatricule("EMP-1");
+        employee.setGender("F");
+        long hibernateId = employeeRepository.save(employee).getId();
+
+        long first = idBlockService.reserve("employees", 3);
+        long second = idBlockService.reserve("employees", 2);
+
+        // Hibernate holds the whole block its id was taken from
+        assertTrue(first >= hibernateId + PooledIds.ALLOCATION_SIZE);
+        assertEquals(first + 3, second);
+    }
+
+    @Test
+    void reserve_ShouldRejectTablesWithoutCounter() {
+        assertThrows(IllegalArgumentException.class, () -> idBlockService.reserve("directions", 1));
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.CursorPageDTO;
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import com.example.employeemanagement.exception.BadRequestException;
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.model.Direction;
+import com.example.employeemanagement.model.Division;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.ServiceUnit;
+import com.example.employeemanagement.repository.DirectionRepository;
+import com.example.employeemanagement.repository.DivisionRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.repository.OrgUnitClosureRepository;
+import com.example.employeemanagement.repository.ServiceUnitRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Organization writes commit and fire the closure listener, as in the application, so the fixture is committed
+ * rather than kept in the test transaction.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({OrganizationClosureService.class, OrganizationTreeService.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrganizationClosureServiceTest {
+
+    @Autowired
+    private OrganizationClosureService organizationClosureService;
+
+    @Autowired
+    private OrgUnitClosureRepository closureRepository;
+
+    @Autowired
+    private DirectionRepository directionRepository;
+
+    @Autowired
+    private ServiceUnitRepository serviceUnitRepository;
+
+    @Autowired
+    private DivisionRepository divisionRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private Direction north;
+    private Direction south;
+    private ServiceUnit payroll;
+    private Division salaries;
+
+    @BeforeEach
+    void setUp() {
+        north = direction("Direction Nord");
+        south = direction("Direction Sud");
+        payroll = serviceUnit("Service Paie", north);
+        ServiceUnit audit = serviceUnit("Service Audit", south);
+        salaries = new Division();
+        salaries.setName("Division Salaires");
+        salaries.setServiceUnit(payroll);
+        divisionRepository.save(salaries);
+
+        // Denormalized direction left pointing to the old branch on purpose
+        employee("Alaoui", north, null, salaries);
+        employee("Bennani", null, payroll, null);
+        employee("Chraibi", north, null, null);
+        employee("Daoudi", null, audit, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAllInBatch();
+        divisionRepository.deleteAllInBatch();
+        serviceUnitRepository.deleteAllInBatch();
+        directionRepository.deleteAllInBatch();
+        closureRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void getSubtreeEmployees_ShouldListEveryLevelBelowTheUnit() {
+        assertEquals(List.of("Alaoui", "Bennani", "Chraibi"), lastNames("direction", north.getId()));
+        assertEquals(List.of("Alaoui", "Bennani"), lastNames("service", payroll.getId()));
+        assertEquals(List.of("Alaoui"), lastNames("division", salaries.getId()));
+        assertEquals(List.of("Daoudi"), lastNames("direction", south.getId()));
+    }
+
+    @Test
+    void getSubtreeEmployees_ShouldPageByCursorAcrossLevels() {
+        CursorPageDTO<EmployeeSummaryDTO> first = organizationClosureService.getSubtreeEmployees("direction", north.getId(), null, 2);
+
+        assertEquals(List.of("Alaoui", "Bennani"), lastNames(first));
+        assertTrue(first.isHasNext());
+
+        CursorPageDTO<EmployeeSummaryDTO> second =
+                organizationClosureService.getSubtreeEmployees("direction", north.getId(), first.getNextCursor(), 2);
+
+        assertEquals(List.of("Chraibi"), lastNames(second));
+        assertFalse(second.isHasNext());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void onOrganizationChanged_ShouldMoveTheWholeBranch() {
+        payroll.setDirection(south);
+        serviceUnitRepository.save(payroll);
+
+        assertEquals(List.of("Chraibi"), lastNames("direction", north.getId()));
+        assertEquals(List.of("Alaoui", "Bennani", "Daoudi"), lastNames("direction", south.getId()));
+    }
+
+    @Test
+    void reconcileAll_ShouldRebuildAWipedTable() {
+        long rows = closureRepository.count();
+        closureRepository.deleteAllInBatch();
+
+        organizationClosureService.reconcileAll();
+
+        assertEquals(rows, closureRepository.count());
+        assertEquals(List.of("Alaoui", "Bennani", "Chraibi"), lastNames("direction", north.getId()));
+    }
+
+    @Test
+    void getSubtreeEmployees_ShouldRejectUnknownTypesAndUnits() {
+        assertThrows(BadRequestException.class, () -> organizationClosureService.getSubtreeEmployees("pole", north.getId(), null, 20));
+        assertThrows(ResourceNotFoundException.class, () -> organizationClosureService.getSubtreeEmployees("division", -1L, null, 20));
+        assertThrows(BadRequestException.class, () -> organizationClosureService.getSubtreeEmployees("direction", north.getId(), "forged", 20));
+    }
+
+    private List<String> lastNames(String type, Long id) {
+        return lastNames(organizationClosureService.getSubtreeEmployees(type, id, null, 20));
+    }
+
+    private static List<String> lastNames(CursorPageDTO<EmployeeSummaryDTO> page) {
+        return page.getContent().stream()
+                .map(EmployeeSummaryDTO::getLastName)
+                .collect(Collectors.toList());
+    }
+
+    private Direction direction(String name) {
+        Direction direction = new Direction();
+        direction.setName(name);
+        return directionRepository.save(direction);
+    }
+
+    private ServiceUnit serviceUnit(String name, Direction direction) {
+        ServiceUnit serviceUnit = new ServiceUnit();
+        serviceUnit.setName(name);
+        serviceUnit.setDirection(direction);
+        return serviceUnitRepository.save(serviceUnit);
+    }
+
+    private void employee(String lastName, Direction direction, ServiceUnit serviceUnit, Division division) {
+        Employee employee = new Employee();
+        employee.setFirstName("Prenom");
+        employee.setLastName(lastName);
+        employee.setEmail(lastName.toLowerCase() + "@dgi.local");
+        employee.setMatricule("EMP-" + lastName);
+        employee.setGender("F");
+        employee.setDirection(direction);
+        employee.setServiceUnit(serviceUnit);
+        employee.setDivision(division);
+        employeeRepository.save(employee);
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.DirectionTreeDTO;
+import com.example.employeemanagement.dto.ServiceUnitTreeDTO;
+import com.example.employeemanagement.event.OrganizationChangedEvent;
+import com.example.employeemanagement.model.Direction;
+import com.example.employeemanagement.model.Division;
+import com.example.employeemanagement.model.ServiceUnit;
+import com.example.employeemanagement.repository.DirectionRepository;
+import com.example.employeemanagement.repository.DivisionRepository;
+import com.example.employeemanagement.repository.ServiceUnitRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The tree is read in its own transaction, so the fixture is committed rather than kept in the test transaction.
+ * The background rebuild is pushed out of the tests' reach so that statement counts only reflect reads.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.organization.tree-rebuild-delay-ms=600000"
+})
+@Import({OrganizationTreeService.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrganizationTreeServiceTest {
+
+    @Autowired
+    private OrganizationTreeService organizationTreeService;
+
+    @Autowired
+    private DirectionRepository directionRepository;
+
+    @Autowired
+    private ServiceUnitRepository serviceUnitRepository;
+
+    @Autowired
+    private DivisionRepository divisionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Direction direction;
+
+    @BeforeEach
+    void setUp() {
+        direction = new Direction();
+        direction.setName("Direction Generale");
+        directionRepository.save(direction);
+        for (int s = 0; s < 3; s++) {
+            ServiceUnit service = new ServiceUnit();
+            service.setName("Service " + s);
+            service.setDirection(direction);
+            serviceUnitRepository.save(service);
+            for (int d = 0; d < 2; d++) {
+                Division division = new Division();
+                division.setName("Division " + s + "-" + d);
+                division.setServiceUnit(service);
+                divisionRepository.save(division);
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        divisionRepository.deleteAllInBatch();
+        serviceUnitRepository.deleteAllInBatch();
+        directionRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void getSnapshot_ShouldRebuildABurstOfChangesOnceWithOneQueryPerLevel() throws Exception {
+        organizationTreeService.getSnapshot();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        for (int i = 0; i < 10; i++) {
+            organizationTreeService.onOrganizationChanged(changed(direction.getId()));
+        }
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        OrganizationTreeService.Snapshot snapshot = organizationTreeService.getSnapshot();
+        assertEquals(3, statistics.getPrepareStatementCount());
+        organizationTreeService.getSnapshot();
+        assertEquals(3, statistics.getPrepareStatementCount());
+        List<DirectionTreeDTO> directions = snapshot.getDirections();
+        assertEquals(1, directions.size());
+        assertEquals(3, directions.get(0).getServiceUnits().size());
+        ServiceUnitTreeDTO firstService = directions.get(0).getServiceUnits().get(0);
+        assertEquals("Service 0", firstService.getName());
+        assertEquals(List.of("Division 0-0", "Division 0-1"),
+                List.of(firstService.getDivisions().get(0).getName(), firstService.getDivisions().get(1).getName()));
+
+        JsonNode json = objectMapper.readTree(snapshot.getJson());
+        assertEquals("Direction Generale", json.get(0).get("name").asText());
+        assertEquals("Division 2-1", json.get(0).get("serviceUnits").get(2).get("divisions").get(1).get("name").asText());
+        Long divisionId = firstService.getDivisions().get(0).getId();
+        assertEquals(direction.getId(), snapshot.getAncestry().divisionPlacement(divisionId).orElseThrow().getDirectionId());
+        assertEquals(firstService.getId(), snapshot.getAncestry().divisionPlacement(divisionId).orElseThrow().getServiceUnitId());
+    }
+
+    @Test
+    void getSnapshot_ShouldServeTheSameSnapshotUntilTheOrganizationChanges() {
+        OrganizationTreeService.Snapshot first = organizationTreeService.getSnapshot();
+        assertSame(first, organizationTreeService.getSnapshot());
+
+        ServiceUnit service = new ServiceUnit();
+        service.setName("Service 3");
+        service.setDirection(direction);
+        serviceUnitRepository.save(service);
+        organizationTreeService.onOrganizationChanged(changed(direction.getId()));
+
+        OrganizationTreeService.Snapshot second = organizationTreeService.getSnapshot();
+        assertNotSame(first, second);
+        assertTrue(second.getGeneration() > first.getGeneration());
+        assertNotEquals(first.getEtag(), second.getEtag());
+        assertEquals(4, second.getDirections().get(0).getServiceUnits().size());
+    }
+
+    private static OrganizationChangedEvent changed(Long directionId) {
+        return new OrganizationChangedEvent(OrganizationChangedEvent.Type.UPDATED,
+                OrganizationChangedEvent.UnitType.DIRECTION, directionId);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.ReviewScoreSummaryDTO;
+import com.example.employeemanagement.dto.ReviewStatsDTO;
+import com.example.employeemanagement.model.Direction;
+import com.example.employeemanagement.model.Division;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.model.PerformanceReview;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(ReviewStatsService.class)
+class ReviewStatsServiceTest {
+
+    @Autowired
+    private ReviewStatsService reviewStatsService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Direction direction;
+    private Division northDivision;
+    private Division southDivision;
+
+    @BeforeEach
+    void setUp() {
+        direction = new Direction();
+        direction.setName("Direction des opérations");
+        entityManager.persist(direction);
+        northDivision = division("Division Nord");
+        southDivision = division("Division Sud");
+
+        // Final scores 1.5 to 4.5 in the north, 3.0 in the south
+        review(employee(1, northDivision), "2024", LocalDate.of(2024, 12, 1), 1.5, 60);
+        review(employee(2, northDivision), "2024", LocalDate.of(2024, 12, 2), 2.5, 70);
+        review(employee(3, northDivision), "2024", LocalDate.of(2024, 12, 3), 3.5, 80);
+        review(employee(4, northDivision), "2024", LocalDate.of(2024, 12, 4), 4.5, 90);
+        review(employee(5, southDivision), "2024", LocalDate.of(2024, 12, 5), 3.0, 75);
+        review(employee(6, southDivision), "S1-2025", LocalDate.of(2025, 6, 30), 4.0, 85);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void computeReviewStats_ShouldAggregateThePeriodPerUnit() {
+        ReviewStatsDTO stats = reviewStatsService.computeReviewStats("2024");
+
+        ReviewScoreSummaryDTO overall = stats.getOverall();
+        assertNull(overall.getUnitId());
+        assertEquals(5, overall.getReviewCount());
+        assertEquals(3.0, overall.getAverageFinalScore());
+        assertEquals(75.0, overall.getAverageObjectivesScore());
+        assertEquals(2.5, overall.getFinalScoreP25());
+        assertEquals(3.0, overall.getFinalScoreMedian());
+        assertEquals(3.5, overall.getFinalScoreP75());
+        assertEquals(4.5, overall.getFinalScoreP90());
+        assertEquals(Map.of(1, 1L, 2, 1L, 3, 2L, 4, 1L), overall.getFinalScoreDistribution());
+
+        assertEquals(1, stats.getDirections().size());
+        assertEquals(direction.getId(), stats.getDirections().get(0).getUnitId());
+        assertEquals(5, stats.getDirections().get(0).getReviewCount());
+
+        assertEquals(2, stats.getDivisions().size());
+        ReviewScoreSummaryDTO north = stats.getDivisions().get(0);
+        assertEquals("Division Nord", north.getUnitName());
+        assertEquals(4, north.getReviewCount());
+        assertEquals(1.5, north.getFinalScoreP25());
+        assertEquals(2.5, north.getFinalScoreMedian());
+        assertEquals(4.5, north.getFinalScoreP90());
+        ReviewScoreSummaryDTO south = stats.getDivisions().get(1);
+        assertEquals(1, south.getReviewCount());
+        assertEquals(3.0, south.getFinalScoreP25());
+        assertEquals(3.0, south.getFinalScoreP90());
+    }
+
+    @Test
+    void computeReviewStats_ShouldReturnAnEmptySummaryForAPeriodWithoutReviews() {
+        ReviewStatsDTO stats = reviewStatsService.computeReviewStats("2019");
+
+        assertEquals(0, stats.getOverall().getReviewCount());
+        assertNull(stats.getOverall().getFinalScoreMedian());
+        assertEquals(0, stats.getDivisions().size());
+    }
+
+    @Test
+    void getLatestPeriod_ShouldReturnThePeriodWithTheMostRecentReview() {
+        assertEquals("S1-2025", reviewStatsService.getLatestPeriod());
+        assertEquals(2, reviewStatsService.getPeriods().size());
+    }
+
+    private Division division(String name) {
+        Division division = new Division();
+        division.setName(name);
+        entityManager.persist(division);
+        return division;
+    }
+
+    private Employee employee(int index, Division division) {
+        Employee employee = new Employee();
+        employee.setFirstName("Prenom" + index);
+        employee.setLastName("Nom" + index);
+        employee.setEmail("employe" + index + "@dgi.local");
+        employee.setMatricule("EMP-" + index);
+        employee.setGender("F");
+        employee.setDirection(direction);
+        employee.setDivision(division);
+        entityManager.persist(employee);
+        return employee;
+    }
+
+    private void review(Employee employee, String period, LocalDate date, double finalScore, int criteriaScore) {
+        PerformanceReview review = new PerformanceReview();
+        review.setEmployee(employee);
+        review.setPeriod(period);
+        review.setReviewDate(date);
+        review.setFinalScore(finalScore);
+        review.setObjectivesScore(criteriaScore);
+        review.setSkillsScore(criteriaScore);
+        review.setDisciplineScore(criteriaScore);
+        review.setProductivityScore(criteriaScore);
+        entityManager.persist(review);
+    }
+}
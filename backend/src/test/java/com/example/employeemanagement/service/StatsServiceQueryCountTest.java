@@ -0,0 +1,98 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.DashboardStatsDTO;
+import com.example.employeemanagement.model.Division;
+import com.example.employeemanagement.model.Employee;
+import com.example.employeemanagement.repository.DivisionRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the SQL path of /api/stats/dashboard runs the same small number of statements however many
+ * divisions exist. The sections are queried from the service's own threads, so the fixture is committed rather
+ * than kept in the test transaction.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.stats.section-timeout-ms=30000"
+})
+@Import(StatsService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StatsServiceQueryCountTest {
+
+    /** Totals with gender split, headcount per division, growth per month. */
+    private static final long DASHBOARD_STATEMENTS = 3;
+
+    @Autowired
+    private StatsService statsService;
+
+    @MockBean
+    private DashboardAggregateService dashboardAggregateService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DivisionRepository divisionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ParameterizedTest(name = "{0} divisions")
+    @ValueSource(ints = {1, 5, 40})
+    void getDashboardStats_ShouldRunAConstantNumberOfStatements(int divisionCount) {
+        for (int d = 0; d < divisionCount; d++) {
+            Division division = new Division();
+            division.setName("Division " + d);
+            divisionRepository.save(division);
+            for (int e = 0; e < 3; e++) {
+                Employee employee = new Employee();
+                employee.setFirstName("Prenom" + e);
+                employee.setLastName("Nom" + d);
+                employee.setEmail("employe" + d + "-" + e + "@dgi.local");
+                employee.setMatricule("EMP-" + d + "-" + e);
+                employee.setGender(e == 0 ? "F" : e == 1 ? "H" : "X");
+                employee.setAge(30 + e);
+                employee.setDivision(division);
+                employeeRepository.save(employee);
+            }
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        DashboardStatsDTO stats = statsService.computeDashboardStats();
+
+        assertEquals(DASHBOARD_STATEMENTS, statistics.getPrepareStatementCount());
+        assertEquals(divisionCount * 3L, stats.getTotalEmployees());
+        assertEquals(divisionCount, stats.getTotalOrganizations());
+        assertEquals(divisionCount, stats.getEmployeesByOrganization().size());
+        assertEquals(3L, stats.getEmployeesByOrganization().get("Division 0"));
+        assertEquals(divisionCount, stats.getFemaleCount());
+        assertEquals(divisionCount, stats.getMaleCount());
+        assertEquals(divisionCount, stats.getOtherCount());
+        assertEquals(31.0, stats.getAverageAge());
+        assertEquals(List.of(), stats.getStaleSections());
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAllInBatch();
+        divisionRepository.deleteAllInBatch();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.DashboardStatsDTO;
+import com.example.employeemanagement.dto.DivisionHeadcountDTO;
+import com.example.employeemanagement.dto.EmployeeTotalsDTO;
+import com.example.employeemanagement.repository.DivisionRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatsServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private DivisionRepository divisionRepository;
+
+    @Mock
+    private DashboardAggregateService dashboardAggregateService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private StatsService statsService;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(statsService, "queryThreads", 3);
+        ReflectionTestUtils.setField(statsService, "queueCapacity", 12);
+        ReflectionTestUtils.setField(statsService, "sectionTimeoutMs", 200L);
+        statsService.start();
+        when(dashboardAggregateService.getDashboardStats()).thenReturn(Optional.empty());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        statsService.stop();
+    }
+
+    @Test
+    void getDashboardStats_ShouldServeLastGrowthValue_WhenGrowthQueryIsSlow() throws Exception {
+        when(employeeRepository.findTotals()).thenReturn(new EmployeeTotalsDTO(4L, 40.0, 2L, 2L));
+        when(divisionRepository.findHeadcounts()).thenReturn(List.of(new DivisionHeadcountDTO(1L, "Division A", 4L)));
+        when(employeeRepository.countByCreatedMonth())
+                .thenReturn(List.<Object[]>of(new Object[] {2024, 1, 4L}))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return List.<Object[]>of(new Object[] {2024, 2, 1L});
+                });
+        assertEquals(List.of(), statsService.getDashboardStats().getStaleSections());
+
+        DashboardStatsDTO stats = statsService.getDashboardStats();
+
+        assertEquals(List.of(StatsService.GROWTH), stats.getStaleSections());
+        assertEquals(List.of(), stats.getUnavailableSections());
+        assertEquals("2024-01", stats.getGrowthByMonth().get(0).getMonth());
+        assertEquals(4L, stats.getTotalEmployees());
+        assertEquals(4L, stats.getEmployeesByOrganization().get("Division A"));
+    }
+
+    @Test
+    void getDashboardStats_ShouldFlagASectionWithoutKnownValueInsteadOfZeros() {
+        when(employeeRepository.findTotals()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new EmployeeTotalsDTO(4L, 40.0, 2L, 2L);
+        });
+        when(divisionRepository.findHeadcounts()).thenReturn(List.of(new DivisionHeadcountDTO(1L, "Division A", 4L)));
+        when(employeeRepository.countByCreatedMonth()).thenReturn(List.of());
+
+        DashboardStatsDTO stats = statsService.getDashboardStats();
+
+        assertEquals(List.of(StatsService.TOTALS), stats.getUnavailableSections());
+        assertNull(stats.getTotalEmployees());
+        assertNull(stats.getMaleCount());
+        assertNull(stats.getAverageTeamSize());
+        assertEquals(1L, stats.getTotalOrganizations());
+    }
+
+    @Test
+    void getDashboardStats_ShouldNotRestartASectionStillRunning() {
+        when(employeeRepository.findTotals()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new EmployeeTotalsDTO(0L, null, 0L, 0L);
+        });
+        when(divisionRepository.findHeadcounts()).thenReturn(List.of());
+        when(employeeRepository.countByCreatedMonth()).thenReturn(List.of());
+
+        DashboardStatsDTO first = statsService.getDashboardStats();
+        DashboardStatsDTO second = statsService.getDashboardStats();
+
+        assertEquals(List.of(StatsService.TOTALS), first.getStaleSections());
+        assertEquals(List.of(StatsService.TOTALS), second.getStaleSections());
+        assertNull(second.getTotalEmployees());
+        verify(employeeRepository, times(1)).findTotals();
+    }
+}
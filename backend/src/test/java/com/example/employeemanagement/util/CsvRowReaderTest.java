@@ -0,0 +1,44 @@
+package com.example.employeemanagement.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvRowReaderTest {
+
+    @Test
+    void next_ShouldDetectSemicolonsAndUnquoteCells() throws IOException {
+        CsvRowReader reader = new CsvRowReader(new StringReader(
+                "\uFEFFnom;prenom;poste\r\nAlaoui;\"Sara; Imane\";\"Chef \"\"Paie\"\"\"\r\n\"Bennani\";Omar;\r\n"));
+
+        assertEquals(List.of("nom", "prenom", "poste"), reader.next());
+        assertEquals(List.of("Alaoui", "Sara; Imane", "Chef \"Paie\""), reader.next());
+        assertEquals(List.of("Bennani", "Omar", ""), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_ShouldKeepLineBreaksInQuotedCellsAndCountPhysicalLines() throws IOException {
+        CsvRowReader reader = new CsvRowReader(new StringReader("nom,adresse\nAlaoui,\"12 rue A\nRabat\"\nBennani,Fes"));
+
+        reader.next();
+        assertEquals(List.of("Alaoui", "12 rue A\nRabat"), reader.next());
+        assertEquals(2, reader.lineNumber());
+        assertEquals(List.of("Bennani", "Fes"), reader.next());
+        assertEquals(4, reader.lineNumber());
+    }
+
+    @Test
+    void next_ShouldRejectAnUnclosedQuote() throws IOException {
+        CsvRowReader reader = new CsvRowReader(new StringReader("nom\n\"Alaoui\n"));
+
+        reader.next();
+        assertThrows(IOException.class, reader::next);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.employeemanagement.util;
+
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeSearchIndexTest {
+
+    private EmployeeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmployeeSearchIndex();
+        index.put(row(1L, "Aina", "Rakoto", "EMP-0001", "Division Contrôle"));
+        index.put(row(2L, "Hery", "Rakotomalala", "EMP-0002", "Division Budget"));
+        index.put(row(3L, "Léa", "Rabe", "EMP-0003", "Division Contrôle"));
+    }
+
+    @Test
+    void search_ShouldMatchWordPrefixes_ExactWordFirst() {
+        assertEquals(List.of(1L, 2L), ids(index.search("rakoto", 20)));
+    }
+
+    @Test
+    void search_ShouldIgnoreCaseAccentsAndMatriculeSeparators() {
+        assertEquals(List.of(3L), ids(index.search("LEA", 20)));
+        assertEquals(List.of(2L), ids(index.search("emp0002", 1)));
+        assertEquals(1L, index.search("controle aina", 20).get(0).getId());
+    }
+
+    @Test
+    void search_ShouldFallBackToTrigrams_WhenNoPrefixMatches() {
+        assertEquals(2L, index.search("rakotomallala", 20).get(0).getId());
+    }
+
+    @Test
+    void putAndRemove_ShouldReplacePreviousVersion() {
+        index.put(row(1L, "Aina", "Randria", "EMP-0001", "Division Budget"));
+        index.remove(3L);
+
+        assertEquals(List.of(2L), ids(index.search("rakoto", 20)));
+        assertTrue(index.search("lea", 20).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void employeeIds_ShouldListTheLiveRowsMatchingTheFilter() {
+        index.put(row(4L, "Hery", "Rabe", "EMP-0004", "Division Budget"));
+        index.remove(3L);
+
+        assertEquals(List.of(2L, 4L), index.employeeIds(row -> "Division Budget".equals(row.getDivisionName())));
+    }
+
+    private static List<Long> ids(List<EmployeeSummaryDTO> rows) {
+        return rows.stream().map(EmployeeSummaryDTO::getId).collect(Collectors.toList());
+    }
+
+    private static EmployeeSummaryDTO row(Long id, String firstName, String lastName, String matricule, String division) {
+        return new EmployeeSummaryDTO(id, firstName, lastName, firstName.toLowerCase() + "@dgi.local", "F", 30, null,
+                matricule, null, null, null, null, null, 1L, division, null, null, null, null);
+    }
+}
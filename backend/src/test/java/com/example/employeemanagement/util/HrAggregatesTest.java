@@ -0,0 +1,80 @@
+package com.example.employeemanagement.util;
+
+import com.example.employeemanagement.dto.EmployeeStatsRowDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class HrAggregatesTest {
+
+    private static final Instant JANUARY = Instant.parse("2024-01-15T10:00:00Z");
+    private static final Instant MARCH = Instant.parse("2024-03-02T10:00:00Z");
+
+    @Test
+    void apply_ShouldCountEveryDimension() {
+        HrAggregates aggregates = new HrAggregates();
+
+        aggregates.apply(row(1L, 10L, "F", 30, JANUARY, JANUARY));
+        aggregates.apply(row(2L, 10L, "homme", 40, JANUARY, JANUARY));
+        aggregates.apply(row(3L, 20L, null, 50, MARCH, MARCH));
+
+        assertEquals(3, aggregates.total());
+        assertEquals(40.0, aggregates.averageAge());
+        assertEquals(1, aggregates.count(HrAggregates.GenderBucket.FEMALE));
+        assertEquals(1, aggregates.count(HrAggregates.GenderBucket.MALE));
+        assertEquals(1, aggregates.count(HrAggregates.GenderBucket.OTHER));
+        assertEquals(2, aggregates.countByDivision(10L));
+        assertEquals(3, aggregates.countByDirection(100L));
+        assertEquals(Map.of(YearMonth.of(2024, 1), 2L, YearMonth.of(2024, 3), 1L), aggregates.createdByMonth());
+    }
+
+    @Test
+    void apply_ShouldReplaceThePreviousVersionOfTheEmployee() {
+        HrAggregates aggregates = new HrAggregates();
+        aggregates.apply(row(1L, 10L, "F", 30, JANUARY, JANUARY));
+
+        aggregates.apply(row(1L, 20L, "F", 31, JANUARY, MARCH));
+
+        assertEquals(1, aggregates.total());
+        assertEquals(0, aggregates.countByDivision(10L));
+        assertEquals(1, aggregates.countByDivision(20L));
+        assertEquals(31.0, aggregates.averageAge());
+    }
+
+    @Test
+    void apply_ShouldIgnoreAnOlderVersionOfTheEmployee() {
+        HrAggregates aggregates = new HrAggregates();
+        aggregates.apply(row(1L, 20L, "F", 31, JANUARY, MARCH));
+
+        aggregates.apply(row(1L, 10L, "F", 30, JANUARY, JANUARY));
+
+        assertEquals(1, aggregates.countByDivision(20L));
+        assertEquals(0, aggregates.countByDivision(10L));
+    }
+
+    @Test
+    void remove_ShouldSubtractWhatTheEmployeeContributed() {
+        HrAggregates aggregates = new HrAggregates();
+        aggregates.apply(row(1L, 10L, "F", 30, JANUARY, JANUARY));
+
+        aggregates.remove(1L);
+        aggregates.remove(1L);
+
+        assertEquals(0, aggregates.total());
+        assertEquals(0, aggregates.countByDivision(10L));
+        assertEquals(0, aggregates.count(HrAggregates.GenderBucket.FEMALE));
+        assertNull(aggregates.averageAge());
+        assertFalse(aggregates.contains(1L));
+        assertEquals(Map.of(), aggregates.createdByMonth());
+    }
+
+    private static EmployeeStatsRowDTO row(Long id, Long divisionId, String gender, int age, Instant createdAt, Instant updatedAt) {
+        return new EmployeeStatsRowDTO(id, divisionId, divisionId + 1000, 100L, gender, age, createdAt, updatedAt);
+    }
+}
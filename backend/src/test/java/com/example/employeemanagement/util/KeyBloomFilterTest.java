@@ -0,0 +1,55 @@
+package com.example.employeemanagement.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeyBloomFilterTest {
+
+    @Test
+    void mightContain_ShouldNeverMissAnAddedKey() {
+        KeyBloomFilter filter = new KeyBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("employe" + i + "@dgi.local");
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("employe" + i + "@dgi.local"));
+        }
+        assertFalse(filter.isSaturated());
+    }
+
+    @Test
+    void mightContain_ShouldKeepFalsePositivesNearTheConfiguredRate() {
+        KeyBloomFilter filter = new KeyBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(String.format("emp-%06d", i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 10_000; i < 110_000; i++) {
+            if (filter.mightContain(String.format("emp-%06d", i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void isSaturated_ShouldTurnTrueBeyondTheExpectedKeys() {
+        KeyBloomFilter filter = new KeyBloomFilter(2, 0.01);
+        filter.add("a");
+        filter.add("b");
+        assertFalse(filter.isSaturated());
+        filter.add("c");
+        assertTrue(filter.isSaturated());
+    }
+
+    @Test
+    void constructor_ShouldRejectInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> new KeyBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new KeyBloomFilter(100, 1));
+    }
+}
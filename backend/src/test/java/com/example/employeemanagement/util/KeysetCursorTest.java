@@ -0,0 +1,71 @@
+package com.example.employeemanagement.util;
+
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import com.example.employeemanagement.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeysetCursorTest {
+
+    private static final EmployeeSummaryDTO ROW = new EmployeeSummaryDTO(42L, "Aina", "Rakoto|Rabe",
+            "aina@dgi.local", "F", 30, null, "EMP-0042", "Analyste", null, LocalDate.of(2015, 3, 1), "A", "Actif",
+            1L, "Division", 2L, "Service", 3L, "Direction");
+
+    @Test
+    void decode_ShouldRoundTripEachValueType() {
+        KeysetCursor byName = KeysetCursor.decode(KeysetCursor.after(ROW, "lastName", Sort.Direction.DESC).encode());
+        assertEquals("lastName", byName.getSortField());
+        assertEquals(Sort.Direction.DESC, byName.getDirection());
+        // The separator inside the value survives, the value being the last field of the token
+        assertEquals("Rakoto|Rabe", byName.getValue());
+        assertEquals(42L, byName.getId());
+
+        KeysetCursor byDate = KeysetCursor.decode(KeysetCursor.after(ROW, "hireDate", Sort.Direction.ASC).encode());
+        assertEquals(LocalDate.of(2015, 3, 1), byDate.getValue());
+
+        KeysetCursor byId = KeysetCursor.decode(KeysetCursor.after(ROW, "id", Sort.Direction.ASC).encode());
+        assertEquals(42L, byId.getValue());
+        assertEquals(42L, byId.getId());
+    }
+
+    @Test
+    void decode_ShouldKeepANullSortKeyAndItsTieBreaker() {
+        EmployeeSummaryDTO withoutHireDate = new EmployeeSummaryDTO(7L, "Aina", "Rakoto", "aina@dgi.local", "F", 30,
+                null, "EMP-0007", "Analyste", null, null, "A", "Actif", null, null, null, null, null, null);
+
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.after(withoutHireDate, "hireDate", Sort.Direction.ASC).encode());
+
+        assertNull(cursor.getValue());
+        assertEquals(7L, cursor.getId());
+    }
+
+    @Test
+    void encode_ShouldBeUrlSafe() {
+        String token = KeysetCursor.after(ROW, "lastName", Sort.Direction.ASC).encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void decode_ShouldRejectMalformedOrForgedTokens() {
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("not a cursor"));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode(token("v2|lastName|ASC|1|s|Rakoto")));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode(token("v1|ssn|ASC|1|s|123")));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode(token("v1|lastName|UP|1|s|Rakoto")));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode(token("v1|hireDate|ASC|1|d|2015-13-01")));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode(token("v1|lastName|ASC|x|s|Rakoto")));
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.employeemanagement.util;
+
+import com.example.employeemanagement.dto.EmployeeSummaryDTO;
+import com.example.employeemanagement.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NameCursorTest {
+
+    private static final EmployeeSummaryDTO ROW = new EmployeeSummaryDTO(42L, "Aina|Soa", "Rakoto|Rabe",
+            "aina@dgi.local", "F", 30, null, "EMP-0042", "Analyste", null, LocalDate.of(2015, 3, 1), "A", "Actif",
+            1L, "Division", 2L, "Service", 3L, "Direction");
+
+    @Test
+    void decode_ShouldRoundTripNamesContainingTheSeparator() {
+        String token = NameCursor.after(ROW).encode();
+
+        NameCursor cursor = NameCursor.decode(token);
+
+        assertEquals("Rakoto|Rabe", cursor.getLastName());
+        assertEquals("Aina|Soa", cursor.getFirstName());
+        assertEquals(42L, cursor.getId());
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void decode_ShouldStartFromTheFirstRowWithoutAToken() {
+        assertSame(NameCursor.FIRST, NameCursor.decode(null));
+        assertSame(NameCursor.FIRST, NameCursor.decode(""));
+    }
+
+    @Test
+    void decode_ShouldRejectMalformedOrForgedTokens() {
+        assertThrows(BadRequestException.class, () -> NameCursor.decode("not a cursor"));
+        assertThrows(BadRequestException.class, () -> NameCursor.decode(token("n2|1|6|RakotoAina")));
+        assertThrows(BadRequestException.class, () -> NameCursor.decode(token("n1|x|6|RakotoAina")));
+        assertThrows(BadRequestException.class, () -> NameCursor.decode(token("n1|1|60|RakotoAina")));
+        assertThrows(BadRequestException.class, () -> NameCursor.decode(token("n1|1|-1|RakotoAina")));
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
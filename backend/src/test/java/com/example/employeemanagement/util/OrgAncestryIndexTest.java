@@ -0,0 +1,44 @@
+package com.example.employeemanagement.util;
+
+import com.example.employeemanagement.dto.OrganizationUnitRowDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class OrgAncestryIndexTest {
+
+    private final OrgAncestryIndex index = new OrgAncestryIndex(
+            List.of(row(1L, null, "Direction Generale")),
+            List.of(row(10L, 1L, "Service RH"), row(11L, null, "Service orphelin")),
+            List.of(row(100L, 10L, "Division Paie"), row(101L, 11L, "Division isolee"), row(102L, null, "Division seule")));
+
+    @Test
+    void divisionPlacement_ShouldResolveServiceUnitAndDirection() {
+        assertEquals(Optional.of(new OrgPlacement(1L, 10L, 100L)), index.divisionPlacement(100L));
+        assertEquals("Division Paie", index.divisionName(100L));
+    }
+
+    @Test
+    void placements_ShouldKeepMissingAncestorsNull() {
+        assertEquals(Optional.of(new OrgPlacement(null, 11L, 101L)), index.divisionPlacement(101L));
+        assertEquals(Optional.of(new OrgPlacement(null, null, 102L)), index.divisionPlacement(102L));
+        assertEquals(Optional.of(new OrgPlacement(null, 11L, null)), index.serviceUnitPlacement(11L));
+    }
+
+    @Test
+    void placements_ShouldBeEmptyForUnknownUnits() {
+        assertEquals(Optional.empty(), index.divisionPlacement(999L));
+        assertEquals(Optional.empty(), index.serviceUnitPlacement(100L));
+        assertEquals(Optional.empty(), index.directionPlacement(10L));
+        assertEquals(Optional.of(new OrgPlacement(1L, null, null)), index.directionPlacement(1L));
+        assertNull(index.serviceUnitName(999L));
+    }
+
+    private static OrganizationUnitRowDTO row(Long id, Long parentId, String name) {
+        return new OrganizationUnitRowDTO(id, parentId, name, null, null, null, null, null);
+    }
+}
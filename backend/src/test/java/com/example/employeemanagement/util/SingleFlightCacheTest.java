@@ -0,0 +1,164 @@
+package com.example.employeemanagement.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightCacheTest {
+
+    private static final long TTL = 60;
+    private static final long REFRESH_AHEAD = 15;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<Runnable> refreshes = new ArrayList<>();
+
+    private final SingleFlightCache<String, Integer> cache = new SingleFlightCache<>(
+            key -> loads.incrementAndGet(), value -> value > 0, refreshes::add, TTL, REFRESH_AHEAD, clock::get);
+
+    @Test
+    void get_ShouldLoadOnceAndServeHitsUntilExpiry() {
+        assertEquals(1, cache.get("dashboard"));
+        clock.set(TTL - REFRESH_AHEAD - 1);
+        assertEquals(1, cache.get("dashboard"));
+        clock.set(TTL);
+        assertEquals(2, cache.get("dashboard"));
+
+        assertEquals(1, cache.hitCount());
+        assertEquals(2, cache.missCount());
+        assertEquals(2, cache.loadCount());
+    }
+
+    @Test
+    void get_ShouldRefreshAheadWhileServingTheCurrentValue() {
+        cache.get("dashboard");
+        clock.set(TTL - REFRESH_AHEAD);
+
+        assertEquals(1, cache.get("dashboard"));
+        assertEquals(1, cache.get("dashboard"));
+        assertEquals(1, refreshes.size());
+
+        refreshes.get(0).run();
+        clock.set(TTL + 1);
+        assertEquals(2, cache.get("dashboard"));
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void invalidateAll_ShouldForceALoad() {
+        cache.get("dashboard");
+
+        cache.invalidateAll();
+
+        assertEquals(2, cache.get("dashboard"));
+    }
+
+    @Test
+    void get_ShouldNotStoreValuesRejectedAsPartial() {
+        AtomicInteger calls = new AtomicInteger();
+        SingleFlightCache<String, Integer> partial = new SingleFlightCache<>(
+                key -> calls.incrementAndGet() == 1 ? -1 : 7, value -> value > 0, refreshes::add, TTL, REFRESH_AHEAD, clock::get);
+
+        assertEquals(-1, partial.get("dashboard"));
+        assertEquals(7, partial.get("dashboard"));
+        assertEquals(7, partial.get("dashboard"));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void get_ShouldPropagateLoaderFailuresWithoutCaching() {
+        AtomicInteger calls = new AtomicInteger();
+        SingleFlightCache<String, Integer> failing = new SingleFlightCache<>(key -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("database down");
+            }
+            return 3;
+        }, value -> true, refreshes::add, TTL, REFRESH_AHEAD, clock::get);
+
+        assertThrows(IllegalStateException.class, () -> failing.get("dashboard"));
+        assertEquals(3, failing.get("dashboard"));
+        assertEquals(1, failing.loadFailureCount());
+    }
+
+    @Test
+    void get_ShouldShareOneLoadBetweenConcurrentMisses() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        SingleFlightCache<String, Integer> slow = new SingleFlightCache<>(key -> {
+            calls.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 42;
+        }, value -> true, Runnable::run, TimeUnit.SECONDS.toNanos(60), 0);
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            results.add(callers.submit(() -> slow.get("dashboard")));
+            loading.await(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 7; i++) {
+                results.add(callers.submit(() -> slow.get("dashboard")));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertEquals(42, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calls.get());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_ShouldNotJoinALoadStartedBeforeAnInvalidation() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        SingleFlightCache<String, Integer> slow = new SingleFlightCache<>(key -> {
+            if (calls.incrementAndGet() == 1) {
+                loading.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return 1;
+            }
+            return 2;
+        }, value -> true, Runnable::run, TimeUnit.SECONDS.toNanos(60), 0);
+
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> beforeWrite = callers.submit(() -> slow.get("dashboard"));
+            loading.await(5, TimeUnit.SECONDS);
+
+            slow.invalidateAll();
+
+            assertEquals(2, slow.get("dashboard"));
+            release.countDown();
+            assertEquals(1, beforeWrite.get(5, TimeUnit.SECONDS));
+            assertEquals(2, slow.get("dashboard"));
+            assertEquals(2, calls.get());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+}
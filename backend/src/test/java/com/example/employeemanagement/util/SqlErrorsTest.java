@@ -0,0 +1,31 @@
+package com.example.employeemanagement.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlErrorsTest {
+
+    @Test
+    void isDuplicateKey_ShouldRecognizeMySqlAndSqlStandardUniqueViolations() {
+        assertTrue(SqlErrors.isDuplicateKey(violation(new SQLException("Duplicate entry", "23000", 1062))));
+        assertTrue(SqlErrors.isDuplicateKey(violation(new SQLException("Unique index violation", "23505", 23505))));
+    }
+
+    @Test
+    void isDuplicateKey_ShouldRejectOtherViolations() {
+        // MySQL shares state 23000 between duplicates and, for instance, foreign key failures (1452)
+        assertFalse(SqlErrors.isDuplicateKey(violation(new SQLException("Cannot add a child row", "23000", 1452))));
+        assertFalse(SqlErrors.isDuplicateKey(violation(new SQLException("Check constraint violated", "23513", 23513))));
+        assertFalse(SqlErrors.isDuplicateKey(new DataIntegrityViolationException("no SQL cause")));
+    }
+
+    private static DataIntegrityViolationException violation(SQLException cause) {
+        // Wrapped as Hibernate does, so the SQLException is not the direct cause
+        return new DataIntegrityViolationException("could not execute statement", new RuntimeException(cause));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.employeemanagement.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class VersionedValueTest {
+
+    @Test
+    void get_ShouldLoadOncePerGeneration() {
+        VersionedValue<String> value = new VersionedValue<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v0", value.get(generation -> { loads.incrementAndGet(); return "v" + generation; }));
+        assertEquals("v0", value.get(generation -> { loads.incrementAndGet(); return "v" + generation; }));
+        value.invalidate();
+        assertEquals("v1", value.get(generation -> { loads.incrementAndGet(); return "v" + generation; }));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldReloadAValueRejectedAsStale() {
+        VersionedValue<String> value = new VersionedValue<>();
+        value.get(generation -> "old");
+
+        assertEquals("new", value.get(generation -> "new", cached -> !"old".equals(cached)));
+    }
+
+    @Test
+    void peek_ShouldNotServeAnInvalidatedValue() {
+        VersionedValue<String> value = new VersionedValue<>();
+        assertNull(value.peek());
+        value.get(generation -> "v0");
+        assertEquals("v0", value.peek());
+
+        value.invalidate();
+
+        assertNull(value.peek());
+    }
+
+    @Test
+    void etag_ShouldChangeWithTheGenerationAndAcrossRestarts() throws InterruptedException {
+        VersionedValue<String> value = new VersionedValue<>();
+        String first = value.etag();
+        value.invalidate();
+        assertNotEquals(first, value.etag());
+        assertEquals(value.etag(), value.etag(value.generation()));
+
+        Thread.sleep(2);
+        assertNotEquals(first, new VersionedValue<String>().etag());
+    }
+}
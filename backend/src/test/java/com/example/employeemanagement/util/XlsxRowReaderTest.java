@@ -0,0 +1,128 @@
+package com.example.employeemanagement.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XlsxRowReaderTest {
+
+    private static final String RELATIONSHIPS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void next_ShouldResolveSharedStringsAndKeepSkippedCellsEmpty() throws IOException {
+        File workbook = workbook(
+                "<sst><si><t>nom</t></si><si><t>date_naissance</t></si><si><r><t>Ala</t></r><r><t>oui</t></r></si></sst>",
+                "<worksheet><sheetData>"
+                        + "<row r=\"1\"><c r=\"A1\" t=\"s\"><v>0</v></c><c r=\"B1\" t=\"s\"><v>1</v></c></row>"
+                        + "<row r=\"3\"><c r=\"A3\" t=\"s\"><v>2</v></c><c r=\"C3\"><v>32874</v></c>"
+                        + "<c r=\"D3\" t=\"inlineStr\"><is><t>note</t></is></c></row>"
+                        + "</sheetData></worksheet>");
+
+        try (XlsxRowReader reader = new XlsxRowReader(workbook)) {
+            assertEquals(List.of("nom", "date_naissance"), reader.next());
+            assertEquals(List.of("Alaoui", "", "32874", "note"), reader.next());
+            assertEquals(3, reader.lineNumber());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void next_ShouldReadTheFirstSheetListedByTheWorkbook() throws IOException {
+        // Tabs reordered in Excel: the first tab is stored in sheet2.xml, under a relationship id out of order
+        File workbook = workbook(Map.of(
+                "xl/workbook.xml", "<workbook xmlns:r=\"" + RELATIONSHIPS + "\"><sheets>"
+                        + "<sheet name=\"Agents\" sheetId=\"2\" r:id=\"rId3\"/>"
+                        + "<sheet name=\"Notes\" sheetId=\"1\" r:id=\"rId1\"/></sheets></workbook>",
+                "xl/_rels/workbook.xml.rels", "<Relationships>"
+                        + relationship("rId1", "worksheet", "worksheets/sheet1.xml")
+                        + relationship("rId2", "sharedStrings", "/xl/strings.xml")
+                        + relationship("rId3", "worksheet", "worksheets/sheet2.xml") + "</Relationships>",
+                "xl/strings.xml", "<sst><si><t>agent</t></si></sst>",
+                "xl/worksheets/sheet1.xml", sheet("<row r=\"1\"><c t=\"inlineStr\"><is><t>note</t></is></c></row>"),
+                "xl/worksheets/sheet2.xml", sheet("<row r=\"1\"><c t=\"s\"><v>0</v></c></row>")));
+
+        try (XlsxRowReader reader = new XlsxRowReader(workbook)) {
+            assertEquals(List.of("agent"), reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void constructor_ShouldRejectAWorkbookWithoutSheets() throws IOException {
+        File workbook = workbook(Map.of("xl/worksheets/sheet1.xml", sheet("")));
+
+        IOException e = assertThrows(IOException.class, () -> new XlsxRowReader(workbook));
+
+        assertEquals("Classeur sans feuille de calcul", e.getMessage());
+    }
+
+    @Test
+    void constructor_ShouldCapTheSharedStringTable() throws IOException {
+        File workbook = workbook("<sst><si><t>a</t></si><si><t>b</t></si><si><t>"
+                + "x".repeat(4096) + "</t></si></sst>", sheet(""));
+
+        IOException tooMany = assertThrows(IOException.class, () -> new XlsxRowReader(workbook, 1024 * 1024, 2));
+        assertTrue(tooMany.getMessage().contains("plus de 2 entrées"), tooMany.getMessage());
+
+        IOException tooLarge = assertThrows(IOException.class, () -> new XlsxRowReader(workbook, 1024, 100));
+        assertTrue(tooLarge.getMessage().contains("plus de 1024 octets"), tooLarge.getMessage());
+    }
+
+    @Test
+    void excelDate_ShouldOnlyAcceptWholePositiveSerials() {
+        assertEquals(LocalDate.of(1990, 1, 1), XlsxRowReader.excelDate("32874"));
+        assertEquals(LocalDate.of(1990, 1, 1), XlsxRowReader.excelDate("32874.0"));
+        assertNull(XlsxRowReader.excelDate("32874.5"));
+        assertNull(XlsxRowReader.excelDate("1990-01-01"));
+    }
+
+    /** Single-sheet workbook laid out as Excel saves it. */
+    private File workbook(String sharedStrings, String sheet) throws IOException {
+        return workbook(Map.of(
+                "xl/workbook.xml", "<workbook xmlns:r=\"" + RELATIONSHIPS + "\"><sheets>"
+                        + "<sheet name=\"Feuil1\" sheetId=\"1\" r:id=\"rId1\"/></sheets></workbook>",
+                "xl/_rels/workbook.xml.rels", "<Relationships>"
+                        + relationship("rId1", "worksheet", "worksheets/sheet1.xml")
+                        + relationship("rId2", "sharedStrings", "sharedStrings.xml") + "</Relationships>",
+                "xl/sharedStrings.xml", sharedStrings,
+                "xl/worksheets/sheet1.xml", sheet));
+    }
+
+    private File workbook(Map<String, String> parts) throws IOException {
+        Path path = folder.resolve("agents.xlsx");
+        try (OutputStream out = Files.newOutputStream(path); ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (Map.Entry<String, String> part : parts.entrySet()) {
+                zip.putNextEntry(new ZipEntry(part.getKey()));
+                zip.write(part.getValue().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return path.toFile();
+    }
+
+    private static String sheet(String rows) {
+        return "<worksheet><sheetData>" + rows + "</sheetData></worksheet>";
+    }
+
+    private static String relationship(String id, String type, String target) {
+        return "<Relationship Id=\"" + id + "\" Type=\"" + RELATIONSHIPS + "/" + type + "\" Target=\"" + target + "\"/>";
+    }
+}
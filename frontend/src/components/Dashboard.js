@@ -3,6 +3,7 @@ import { useNavigate } from 'react-router-dom';
 import { Bar, Pie, Line } from 'react-chartjs-2';
 import { getEmployeesLastUpdated } from '../services/employeeService';
 import { getDashboardStats } from '../services/statsService';
+import { subscribeToChanges } from '../services/eventService';
 import { Chart, CategoryScale, LinearScale, BarElement, LineElement, PointElement, Title, Tooltip, Legend, ArcElement } from 'chart.js';
 import { Card, CardContent, Grid, Typography, Box, CircularProgress, Button, Stack } from '@mui/material';
 import AddCircleOutlineIcon from '@mui/icons-material/AddCircleOutline';
@@ -36,21 +37,21 @@ const Dashboard = () => {
   };
 
   useEffect(() => {
-    const fetchData = async () => {
-      setLoading(true);
+    let cancelled = false;
+    let refreshTimer = null;
+
+    const fetchStats = async () => {
       try {
         const payload = await getDashboardStats();
-        setStats(payload);
+        if (!cancelled) {
+          setStats(payload);
+        }
       } finally {
-        setLoading(false);
+        if (!cancelled) {
+          setLoading(false);
+        }
       }
     };
-    fetchData();
-  }, []);
-
-  useEffect(() => {
-    const refreshInterval = 15 * 60 * 1000;
-    let cancelled = false;
 
     const fetchLastUpdated = async () => {
       try {
@@ -65,12 +66,35 @@ const Dashboard = () => {
       }
     };
 
+    // Regroupe les rafales de modifications en un seul rechargement des statistiques
+    const scheduleStatsRefresh = () => {
+      clearTimeout(refreshTimer);
+      refreshTimer = setTimeout(fetchStats, 2000);
+    };
+
+    setLoading(true);
+    fetchStats();
     fetchLastUpdated();
-    const intervalId = setInterval(fetchLastUpdated, refreshInterval);
+
+    const unsubscribe = subscribeToChanges(
+      change => {
+        if (change.type.startsWith('employee.')) {
+          setLastUpdated(change.occurredAt);
+        }
+        scheduleStatsRefresh();
+      },
+      {
+        onReconnect: () => {
+          fetchLastUpdated();
+          scheduleStatsRefresh();
+        },
+      }
+    );
 
     return () => {
       cancelled = true;
-      clearInterval(intervalId);
+      clearTimeout(refreshTimer);
+      unsubscribe();
     };
   }, []);
 
@@ -100,10 +124,16 @@ const Dashboard = () => {
   ];
 
   const username = localStorage.getItem('EMSusername') || 'there';
-  const employeeCount = stats?.totalEmployees || 0;
-  const averageAge = stats?.averageAge || 0;
-  const organizationCount = stats?.totalOrganizations || 0;
-  const averageTeamSize = stats?.averageTeamSize || 0;
+  // Sections sans aucune valeur connue : leurs chiffres sont absents, pas nuls
+  const unavailable = new Set(stats?.unavailableSections || []);
+  const totalsAvailable = !unavailable.has('totals');
+  const organizationsAvailable = !unavailable.has('organizations');
+  const growthAvailable = !unavailable.has('growth');
+  const employeeCount = totalsAvailable ? stats?.totalEmployees || 0 : null;
+  const averageAge = totalsAvailable ? stats?.averageAge || 0 : null;
+  const organizationCount = organizationsAvailable ? stats?.totalOrganizations || 0 : null;
+  const averageTeamSize = totalsAvailable && organizationsAvailable ? stats?.averageTeamSize || 0 : null;
+  const unavailableMessage = 'Statistique indisponible pour le moment';
   const genderValues = [
     stats?.maleCount || 0,
     stats?.femaleCount || 0,
@@ -252,6 +282,16 @@ const Dashboard = () => {
       <Typography variant="h4" component="h1" sx={{ marginBottom: '1rem', textAlign: 'center', fontWeight: 600 }}>
         Tableau de bord général
       </Typography>
+      {stats?.staleSections?.length > unavailable.size && (
+        <Typography variant="body2" color="text.secondary" textAlign="center" sx={{ marginBottom: '1rem' }}>
+          Certaines statistiques sont en cours de calcul ; les dernières valeurs connues sont affichées.
+        </Typography>
+      )}
+      {unavailable.size > 0 && (
+        <Typography variant="body2" color="text.secondary" textAlign="center" sx={{ marginBottom: '1rem' }}>
+          Certaines statistiques sont en cours de calcul et ne sont pas encore disponibles.
+        </Typography>
+      )}
       <Grid container spacing={3}>
         {/* Metric Cards */}
         <Grid item xs={12} sm={6} md={3}>
@@ -305,7 +345,7 @@ const Dashboard = () => {
                 Organismes
               </Typography>
               <Typography variant="h4" component="div" sx={{ color: 'white', fontWeight: 700, mb: 1 }}>
-                {organizationCount}
+                {formatNumberFR(organizationCount)}
               </Typography>
               <Box sx={{ display: 'flex', alignItems: 'center', color: 'rgba(255,255,255,0.9)' }}>
                 <GroupWorkIcon sx={{ fontSize: '1rem', mr: 0.5 }} />
@@ -341,7 +381,13 @@ const Dashboard = () => {
           <Card sx={{ ...cardBase }}>
             <CardContent>
               <Typography variant="h6">Croissance des effectifs</Typography>
-              {employeeGrowthData ? <Bar data={employeeGrowthData} /> : <Typography>Aucune donnée disponible</Typography>}
+              {!growthAvailable ? (
+                <Typography>{unavailableMessage}</Typography>
+              ) : employeeGrowthData ? (
+                <Bar data={employeeGrowthData} />
+              ) : (
+                <Typography>Aucune donnée disponible</Typography>
+              )}
             </CardContent>
           </Card>
         </Grid>
@@ -350,7 +396,13 @@ const Dashboard = () => {
           <Card sx={{ ...cardBase }}>
             <CardContent>
               <Typography variant="h6">Tendance d’évolution</Typography>
-              {lineChartData ? <Line data={lineChartData} /> : <Typography>Aucune donnée disponible</Typography>}
+              {!growthAvailable ? (
+                <Typography>{unavailableMessage}</Typography>
+              ) : lineChartData ? (
+                <Line data={lineChartData} />
+              ) : (
+                <Typography>Aucune donnée disponible</Typography>
+              )}
             </CardContent>
           </Card>
         </Grid>
@@ -359,7 +411,11 @@ const Dashboard = () => {
           <Card sx={{ ...cardBase }}>
             <CardContent>
               <Typography variant="h6">Répartition par genre</Typography>
-              <Bar data={genderChartData} options={{ scales: { y: { beginAtZero: true } } }} />
+              {totalsAvailable ? (
+                <Bar data={genderChartData} options={{ scales: { y: { beginAtZero: true } } }} />
+              ) : (
+                <Typography>{unavailableMessage}</Typography>
+              )}
             </CardContent>
           </Card>
         </Grid>
@@ -368,7 +424,13 @@ const Dashboard = () => {
           <Card sx={{ ...cardBase }}>
             <CardContent>
               <Typography variant="h6">Employés par organisme</Typography>
-              {organizationMixData ? <Pie data={organizationMixData} /> : <Typography>Aucune donnée disponible</Typography>}
+              {!organizationsAvailable ? (
+                <Typography>{unavailableMessage}</Typography>
+              ) : organizationMixData ? (
+                <Pie data={organizationMixData} />
+              ) : (
+                <Typography>Aucune donnée disponible</Typography>
+              )}
             </CardContent>
           </Card>
         </Grid>
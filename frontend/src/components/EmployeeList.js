@@ -1,6 +1,6 @@
 import React, { useEffect, useState } from 'react';
 import { Link, useNavigate } from 'react-router-dom';
-import { getAllEmployees, deleteEmployee } from '../services/employeeService';
+import { getAllEmployees, deleteEmployee, searchEmployees } from '../services/employeeService';
 import { getOrganizationStructure } from '../services/organizationService';
 import {
   Table,
@@ -37,6 +37,7 @@ const EmployeeList = () => {
   const navigate = useNavigate();
   const [employees, setEmployees] = useState([]);
   const [searchTerm, setSearchTerm] = useState('');
+  const [searchResults, setSearchResults] = useState(null);
   const [page, setPage] = useState(0);
   const [rowsPerPage, setRowsPerPage] = useState(5);
   const [loading, setLoading] = useState(false);
@@ -83,11 +84,28 @@ const EmployeeList = () => {
     }
   }, [isLoggedIn]);
 
+  // Search runs on the server index; debounce so each keystroke does not fire a request
+  useEffect(() => {
+    const term = searchTerm.trim();
+    if (!term) {
+      setSearchResults(null);
+      return undefined;
+    }
+    const timer = setTimeout(async () => {
+      try {
+        setSearchResults(await searchEmployees(term, 100));
+      } catch (error) {
+      }
+    }, 250);
+    return () => clearTimeout(timer);
+  }, [searchTerm]);
+
   const handleDelete = async id => {
     setDeletingEmployeeId(id);
     try {
       await deleteEmployee(id);
       setEmployees(prevEmployees => prevEmployees.filter(employee => employee.id !== id));
+      setSearchResults(prevResults => prevResults && prevResults.filter(employee => employee.id !== id));
     } catch (error) {
     }
     setDeletingEmployeeId(null);
@@ -140,22 +158,15 @@ const EmployeeList = () => {
     navigator.clipboard.writeText(email);
   };
 
-  const filteredEmployees = employees
+  const filteredEmployees = (searchResults || employees)
     .filter(employee => {
-      const firstName = employee.firstName || '';
-      const lastName = employee.lastName || '';
-      const email = employee.email || '';
-      const matchesSearch =
-        firstName.toLowerCase().includes(searchTerm.toLowerCase()) ||
-        lastName.toLowerCase().includes(searchTerm.toLowerCase()) ||
-        email.toLowerCase().includes(searchTerm.toLowerCase());
       const matchesDivision = divisionFilter === 'all' || String(employee.divisionId) === divisionFilter;
       const matchesAge =
         ageFilter === 'all' ||
         (ageFilter === 'under30' && employee.age < 30) ||
         (ageFilter === '30to45' && employee.age >= 30 && employee.age <= 45) ||
         (ageFilter === '45plus' && employee.age > 45);
-      return matchesSearch && matchesDivision && matchesAge;
+      return matchesDivision && matchesAge;
     })
     .sort((a, b) => {
       if (sortBy === 'age') {
@@ -338,7 +349,7 @@ const EmployeeList = () => {
 
       <Paper sx={{ padding: 2, marginBottom: 2, boxShadow: 3, borderRadius: 2 }}>
         <Stack spacing={2}>
-          <TextField label="Rechercher par nom ou email..." variant="outlined" value={searchTerm} onChange={handleSearchChange} fullWidth />
+          <TextField label="Rechercher par nom, matricule, email ou service..." variant="outlined" value={searchTerm} onChange={handleSearchChange} fullWidth />
           <Stack direction={{ xs: 'column', md: 'row' }} spacing={2}>
             <FormControl fullWidth>
               <InputLabel id="division-filter-label">Organisme</InputLabel>
@@ -1,7 +1,7 @@
 import React, { useEffect, useState } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
 // import jsPDF from 'jspdf'; // Removed as we use backend generation
-import { getEmployeeById, getProfilePhoto, uploadProfilePhoto, getEmployeeActions, downloadEmployeePdf } from '../services/employeeService';
+import { getEmployeeById, getProfilePhotoUrl, uploadProfilePhoto, getEmployeeActions, downloadEmployeePdf } from '../services/employeeService';
 import { getContractsByEmployeeId } from '../services/contractService';
 import ContractsTab from './tabs/ContractsTab';
 import PositionTab from './tabs/PositionTab';
@@ -62,21 +62,22 @@ const EmployeeProfile = () => {
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, [id]);
 
+  // No URL without a photo: the avatar falls back to the default image instead of requesting a 404
+  const profilePhotoUrl = (empData) =>
+    empData && empData.photoHash ? getProfilePhotoUrl(id, { size: 512, version: empData.photoHash }) : null;
+
   const fetchData = async () => {
     try {
       setLoading(true);
-      const [empData, photoData, contractData, actionData] = await Promise.all([
+      const [empData, contractData, actionData] = await Promise.all([
         getEmployeeById(id),
-        getProfilePhoto(id),
         getContractsByEmployeeId(id),
         getEmployeeActions(id)
       ]);
       setEmployee(empData);
       setContracts(contractData || []);
       setActions(actionData || []);
-      if (photoData && photoData.base64Image) {
-        setPhoto(`data:${photoData.contentType};base64,${photoData.base64Image}`);
-      }
+      setPhoto(profilePhotoUrl(empData));
       setLoading(false);
     } catch (err) {
       console.error(err);
@@ -101,11 +102,8 @@ const EmployeeProfile = () => {
       
       await uploadProfilePhoto(id, file);
       
-      // Refresh photo
-      const photoData = await getProfilePhoto(id);
-      if (photoData && photoData.base64Image) {
-        setPhoto(`data:${photoData.contentType};base64,${photoData.base64Image}`);
-      }
+      // The profile carries the new hash, which versions the photo URL
+      setPhoto(profilePhotoUrl(await getEmployeeById(id)));
       setUploadSuccess("Photo mise à jour avec succès !");
     } catch (err) {
       console.error(err);
@@ -1,5 +1,5 @@
 import React, { useEffect, useState } from 'react';
-import { getOrganizationStructure } from '../services/organizationService';
+import { getRootNodes, getChildNodes } from '../services/organizationService';
 import notificationService from '../utils/notificationService';
 import {
   Box,
@@ -15,6 +15,34 @@ import {
 } from '@mui/material';
 import { ExpandLess, ExpandMore, AccountBalance, Business, FolderShared } from '@mui/icons-material';
 
+// Only the directions are loaded up front; each level is fetched the first time its parent is expanded
+const useChildNodes = (node) => {
+  const [children, setChildren] = useState(null);
+  const [loading, setLoading] = useState(false);
+
+  const load = async () => {
+    if (children !== null || loading || !node.hasChildren) {
+      return;
+    }
+    setLoading(true);
+    try {
+      setChildren(await getChildNodes(node.type, node.id));
+    } catch (error) {
+      console.error("Error fetching organization nodes", error);
+      notificationService.error("Erreur lors du chargement des unités rattachées");
+    } finally {
+      setLoading(false);
+    }
+  };
+
+  return { children: children || [], loaded: children !== null, loading, load };
+};
+
+const nodeCaption = (node) => {
+  const headcount = `${node.headcount} agent${node.headcount > 1 ? 's' : ''}`;
+  return node.managerName ? `${node.managerName} · ${headcount}` : headcount;
+};
+
 const OrganizationChart = () => {
   const [structure, setStructure] = useState([]);
   const [loading, setLoading] = useState(true);
@@ -22,7 +50,7 @@ const OrganizationChart = () => {
   useEffect(() => {
     const fetchStructure = async () => {
       try {
-        const data = await getOrganizationStructure();
+        const data = await getRootNodes();
         setStructure(data);
       } catch (error) {
         console.error("Error fetching organization structure", error);
@@ -63,22 +91,26 @@ const OrganizationChart = () => {
 };
 
 const DirectionCard = ({ direction }) => {
-  const [open, setOpen] = useState(true);
+  const [open, setOpen] = useState(false);
+  const services = useChildNodes(direction);
 
   const handleClick = () => {
+    if (!open) {
+      services.load();
+    }
     setOpen(!open);
   };
 
   return (
     <Paper elevation={3} sx={{ borderRadius: 2, overflow: 'hidden' }}>
-        <Box 
+        <Box
             onClick={handleClick}
-            sx={{ 
-                p: 2, 
-                bgcolor: '#e3f2fd', 
-                cursor: 'pointer', 
-                display: 'flex', 
-                alignItems: 'center', 
+            sx={{
+                p: 2,
+                bgcolor: '#e3f2fd',
+                cursor: 'pointer',
+                display: 'flex',
+                alignItems: 'center',
                 justifyContent: 'space-between'
             }}
         >
@@ -89,7 +121,7 @@ const DirectionCard = ({ direction }) => {
                         {direction.name}
                     </Typography>
                     <Typography variant="caption" color="text.secondary">
-                        {direction.description}
+                        {nodeCaption(direction)}
                     </Typography>
                 </Box>
             </Box>
@@ -97,9 +129,11 @@ const DirectionCard = ({ direction }) => {
         </Box>
         <Collapse in={open} timeout="auto" unmountOnExit>
             <Box sx={{ p: 2 }}>
-                {direction.serviceUnits && direction.serviceUnits.length > 0 ? (
+                {services.loading ? (
+                    <CircularProgress size={24} />
+                ) : services.children.length > 0 ? (
                     <Grid container spacing={2}>
-                        {direction.serviceUnits.map(service => (
+                        {services.children.map(service => (
                             <Grid item xs={12} md={6} key={service.id}>
                                 <ServiceCard service={service} />
                             </Grid>
@@ -117,33 +151,46 @@ const DirectionCard = ({ direction }) => {
 };
 
 const ServiceCard = ({ service }) => {
+    const divisions = useChildNodes(service);
+
     return (
         <Card variant="outlined" sx={{ height: '100%' }}>
             <CardContent>
-                <Box sx={{ display: 'flex', alignItems: 'center', mb: 1 }}>
+                <Box
+                    onClick={divisions.load}
+                    sx={{ display: 'flex', alignItems: 'center', mb: 1, cursor: service.hasChildren ? 'pointer' : 'default' }}
+                >
                     <Business color="secondary" sx={{ mr: 1, fontSize: 20 }} />
-                    <Typography variant="subtitle1" sx={{ fontWeight: 600 }}>
-                        {service.name}
-                    </Typography>
+                    <Box sx={{ flexGrow: 1 }}>
+                        <Typography variant="subtitle1" sx={{ fontWeight: 600 }}>
+                            {service.name}
+                        </Typography>
+                        <Typography variant="caption" color="text.secondary">
+                            {nodeCaption(service)}
+                        </Typography>
+                    </Box>
+                    {service.hasChildren && !divisions.loaded && <ExpandMore fontSize="small" />}
                 </Box>
-                {service.divisions && service.divisions.length > 0 ? (
+                {divisions.loading ? (
+                    <CircularProgress size={20} />
+                ) : divisions.children.length > 0 ? (
                     <Box sx={{ mt: 1, display: 'flex', flexWrap: 'wrap', gap: 1 }}>
-                        {service.divisions.map(division => (
-                            <Chip 
-                                key={division.id} 
-                                icon={<FolderShared sx={{ fontSize: 16 }} />} 
-                                label={division.name} 
-                                size="small" 
-                                variant="outlined" 
+                        {divisions.children.map(division => (
+                            <Chip
+                                key={division.id}
+                                icon={<FolderShared sx={{ fontSize: 16 }} />}
+                                label={`${division.name} (${division.headcount})`}
+                                size="small"
+                                variant="outlined"
                                 color="default"
                             />
                         ))}
                     </Box>
-                ) : (
+                ) : !service.hasChildren ? (
                     <Typography variant="caption" color="text.secondary">
                         Pas de division
                     </Typography>
-                )}
+                ) : null}
             </CardContent>
         </Card>
     );
@@ -31,6 +31,7 @@ import {
   Edit
 } from '@mui/icons-material';
 import { getDivisionEmployees, removeEmployeeFromDivision } from '../../services/organizationService';
+import { getProfilePhotoUrl } from '../../services/employeeService';
 import notificationService from '../../utils/notificationService';
 import AssignEmployeeModal from './AssignEmployeeModal';
 import ChangeDivisionModal from './ChangeDivisionModal';
@@ -180,7 +181,7 @@ const DivisionEmployeesModal = ({ open, onClose, division }) => {
                       <TableRow key={employee.id} hover>
                         <TableCell>
                           <Avatar 
-                            src={employee.photoUrl} 
+                            src={getProfilePhotoUrl(employee.id, { size: 48 })} 
                             alt={employee.lastName}
                           >
                             {employee.firstName ? employee.firstName.charAt(0) : ''}
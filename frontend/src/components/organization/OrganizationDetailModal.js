@@ -29,7 +29,7 @@ import {
   Delete
 } from '@mui/icons-material';
 import DivisionEmployeesModal from './DivisionEmployeesModal';
-import { getDirectionEmployeeCount, getServiceEmployeeCount, getDivisionEmployeeCount } from '../../services/organizationService';
+import { getEmployeeCounts } from '../../services/organizationService';
 import { 
   getJobTemplatesByDirection, 
   getJobTemplatesByService, 
@@ -72,19 +72,22 @@ const OrganizationDetailModal = ({ open, onClose, entity, type }) => {
       if (!entity) return;
       setLoading(true);
       try {
-        // Fetch Employee Count
-        let count = 0;
+        // Fetch Employee Count (one cached call for the whole tree)
+        const countsPromise = getEmployeeCounts();
         let templates = [];
+        let countsKey = null;
         if (type === 'DIRECTION') {
-          count = await getDirectionEmployeeCount(entity.id);
           templates = await getJobTemplatesByDirection(entity.id);
+          countsKey = 'directions';
         } else if (type === 'SERVICE') {
-          count = await getServiceEmployeeCount(entity.id);
           templates = await getJobTemplatesByService(entity.id);
+          countsKey = 'services';
         } else if (type === 'DIVISION') {
-          count = await getDivisionEmployeeCount(entity.id);
           templates = await getJobTemplatesByDivision(entity.id);
+          countsKey = 'divisions';
         }
+        const counts = await countsPromise;
+        const count = countsKey ? counts?.[countsKey]?.[entity.id] ?? 0 : 0;
         setEmployeeCount(count);
         setJobTemplates(templates);
       } catch (error) {
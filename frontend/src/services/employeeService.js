@@ -40,9 +40,26 @@ export const deleteEmployee = async id => {
   });
 };
 
-export const getEmployeesPage = async ({ page = 0, size = 20, sort = 'lastName,asc' } = {}) => {
+// filters: directionId, serviceUnitId, divisionId, gender, statusCategory, administrativeStatus,
+// highestDiploma, hiredFrom, hiredTo (YYYY-MM-DD), minAge, maxAge; unset keys are ignored
+export const getEmployeesPage = async ({ page = 0, size = 20, sort = 'lastName,asc', withTotal = true, filters = {} } = {}) => {
   const response = await axios.get(`${API_URL}/filter`, {
-    params: { page, size, sort },
+    params: { ...filters, page, size, sort, withTotal },
+  });
+  return response.data;
+};
+
+// Cursor mode: pass the previous response's nextCursor, or '' for the first page, with the same filters
+export const getEmployeesAfter = async ({ after = '', size = 20, sort = 'lastName,asc', filters = {} } = {}) => {
+  const response = await axios.get(`${API_URL}/filter`, {
+    params: { ...filters, after, size, sort },
+  });
+  return response.data;
+};
+
+export const searchEmployees = async (q, limit = 20) => {
+  const response = await axios.get(`${API_URL}/search`, {
+    params: { q, limit },
   });
   return response.data;
 };
@@ -76,6 +93,15 @@ export const getProfilePhoto = async (id) => {
   }
 };
 
+// Binary photo URL for <img>/<Avatar>; size is 48, 128 or 512 for a thumbnail, version the photo's contentHash
+export const getProfilePhotoUrl = (id, { size, version } = {}) => {
+  const params = new URLSearchParams();
+  if (size) params.append('size', size);
+  if (version) params.append('v', version);
+  const query = params.toString();
+  return `${API_URL}/${id}/photo/image${query ? `?${query}` : ''}`;
+};
+
 export const getEmployeeActions = async id => {
   const response = await axios.get(`${API_URL}/${id}/actions`);
   return response.data;
@@ -89,6 +115,42 @@ export const changeEmployeeDivision = async (employeeId, divisionId) => {
   });
 };
 
+// Déplacement groupé : { employeeIds: [...] } ou { fromDivisionId }, renvoie le résultat par employé
+export const changeEmployeesDivision = async (divisionId, selection) => {
+  const response = await axios.put(`${API_URL}/change-division/${divisionId}`, selection, {
+    headers: {
+      'X-Actor': resolveActor(),
+    },
+  });
+  return response.data;
+};
+
+// Import runs as a background job: poll getImportJob until finishedAt is set
+export const importEmployees = async file => {
+  const formData = new FormData();
+  formData.append('file', file);
+
+  const response = await axios.post(`${API_URL}/import`, formData, {
+    headers: {
+      'Content-Type': 'multipart/form-data',
+      'X-Actor': resolveActor(),
+    },
+  });
+  return response.data;
+};
+
+export const getImportJob = async jobId => {
+  const response = await axios.get(`${API_URL}/import/${jobId}`);
+  return response.data;
+};
+
+export const downloadImportErrors = async jobId => {
+  const response = await axios.get(`${API_URL}/import/${jobId}/errors`, {
+    responseType: 'blob',
+  });
+  return response.data;
+};
+
 export const downloadEmployeePdf = async (id) => {
   const response = await axios.get(`${API_URL}/${id}/pdf`, {
     responseType: 'blob',
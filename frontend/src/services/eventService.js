@@ -0,0 +1,36 @@
+import { API_URLS } from '../config/api';
+
+const EVENTS_URL = `${API_URLS.BASE}/api/events`;
+
+export const CHANGE_EVENT_TYPES = [
+  'employee.created',
+  'employee.updated',
+  'employee.deleted',
+  'organization.changed',
+];
+
+// Ouvre le flux des modifications (Server-Sent Events) ; le navigateur se reconnecte seul après une coupure.
+// onChange reçoit le contenu JSON de chaque événement ; retourne la fonction de désabonnement.
+export const subscribeToChanges = (onChange, { onReconnect } = {}) => {
+  const source = new EventSource(EVENTS_URL);
+  let opened = false;
+
+  const listener = message => {
+    try {
+      onChange(JSON.parse(message.data));
+    } catch {
+      // Événement illisible : ignoré
+    }
+  };
+  CHANGE_EVENT_TYPES.forEach(type => source.addEventListener(type, listener));
+
+  // Les événements émis pendant une coupure sont perdus : l'appelant recharge ses données à la reconnexion
+  source.onopen = () => {
+    if (opened && onReconnect) {
+      onReconnect();
+    }
+    opened = true;
+  };
+
+  return () => source.close();
+};
@@ -10,6 +10,18 @@ export const getOrganizationStructure = async () => {
   return response.data;
 };
 
+// --- Org chart nodes ---
+// Nœuds compacts (id, nom, responsable, effectif, hasChildren), chargés un niveau à la fois
+export const getRootNodes = async () => {
+  const response = await axios.get(`${API_URL}/nodes`);
+  return response.data;
+};
+
+export const getChildNodes = async (type, id) => {
+  const response = await axios.get(`${API_URL}/nodes/${type}/${id}/children`);
+  return response.data;
+};
+
 // --- Directions ---
 export const addDirection = async (direction) => {
   const response = await axios.post(`${API_URL}/directions`, direction);
@@ -56,6 +68,12 @@ export const deleteDivision = async (id) => {
 };
 
 // --- Employee Counts ---
+// Effectifs de tous les nœuds en un seul appel (services et directions incluent leurs sous-unités)
+export const getEmployeeCounts = async () => {
+  const response = await axios.get(`${API_URL}/employee-counts`);
+  return response.data;
+};
+
 export const getDirectionEmployeeCount = async (id) => {
   const response = await axios.get(`${API_URL}/directions/${id}/employee-count`);
   return response.data;